@@ -121,12 +121,12 @@ public final class RaftMemberContext {
   private void openReader(final RaftLog log) {
     switch (member.getType()) {
       case PASSIVE:
-        reader = log.openCommittedReader();
+        reader = log.openReplicationReader(true);
         resetReaderAtEndOfLog(reader);
         break;
       case PROMOTABLE:
       case ACTIVE:
-        reader = log.openUncommittedReader();
+        reader = log.openReplicationReader(false);
         resetReaderAtEndOfLog(reader);
         break;
       default:
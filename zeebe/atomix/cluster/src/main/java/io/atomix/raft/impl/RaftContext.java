@@ -212,6 +212,9 @@ public class RaftContext implements AutoCloseable, HealthMonitorable {
             () ->
                 createThreadContext(
                     "raft-log", partitionId, threadContextFactory, localMemberId.id()));
+    // if flushes are pipelined, the roles commit and acknowledge entries only once flushed
+    raftLog.setFlushListener(
+        flushedIndex -> threadContext.execute(() -> role.onLogFlushed(flushedIndex)));
 
     // Open the snapshot store.
     persistedSnapshotStore = storage.getPersistedSnapshotStore();
@@ -30,12 +30,18 @@ public class RaftStorageConfig {
   private static final int DEFAULT_JOURNAL_INDEX_DENSITY = 100;
 
   private static final boolean DEFAULT_PREALLOCATE_SEGMENT_FILES = true;
+  private static final boolean DEFAULT_PERSIST_SEGMENT_INDEX = false;
+  private static final int DEFAULT_SEGMENT_POOL_SIZE = 1;
+  private static final boolean DEFAULT_COMPRESS_SEALED_SEGMENTS = false;
 
   private long segmentSize = DEFAULT_MAX_SEGMENT_SIZE;
   private RaftLogFlusher.Factory flusherFactory = DEFAULT_FLUSHER_FACTORY;
   private long freeDiskSpace = DEFAULT_FREE_DISK_SPACE;
   private int journalIndexDensity = DEFAULT_JOURNAL_INDEX_DENSITY;
   private boolean preallocateSegmentFiles = DEFAULT_PREALLOCATE_SEGMENT_FILES;
+  private boolean persistSegmentIndex = DEFAULT_PERSIST_SEGMENT_INDEX;
+  private int segmentPoolSize = DEFAULT_SEGMENT_POOL_SIZE;
+  private boolean compressSealedSegments = DEFAULT_COMPRESS_SEALED_SEGMENTS;
 
   /**
    * Returns the Raft log segment size.
@@ -125,6 +131,58 @@ public class RaftStorageConfig {
     this.preallocateSegmentFiles = preallocateSegmentFiles;
   }
 
+  /**
+   * @return true to persist the index of sealed segments, false otherwise
+   */
+  public boolean isPersistSegmentIndex() {
+    return persistSegmentIndex;
+  }
+
+  /**
+   * Sets whether the index of a segment is persisted next to it once the log rolls over to the
+   * next segment, so that it can be restored instead of rebuilt when the log is opened again.
+   *
+   * @param persistSegmentIndex true to persist the index of sealed segments, false otherwise
+   */
+  public void setPersistSegmentIndex(final boolean persistSegmentIndex) {
+    this.persistSegmentIndex = persistSegmentIndex;
+  }
+
+  /**
+   * @return the number of segments prepared ahead of time
+   */
+  public int getSegmentPoolSize() {
+    return segmentPoolSize;
+  }
+
+  /**
+   * Sets how many segments are prepared ahead of time in the background, such that rolling over to
+   * the next segment does not block appends. Files of deleted segments are recycled to prepare new
+   * segments.
+   *
+   * @param segmentPoolSize the number of segments to prepare ahead of time; 0 to disable it
+   */
+  public void setSegmentPoolSize(final int segmentPoolSize) {
+    this.segmentPoolSize = segmentPoolSize;
+  }
+
+  /**
+   * @return true if sealed segments are compressed in the background, false otherwise
+   */
+  public boolean isCompressSealedSegments() {
+    return compressSealedSegments;
+  }
+
+  /**
+   * Sets whether sealed segments are compressed in the background, reducing the disk space used
+   * by the log at the cost of decompressing them again when they are read.
+   *
+   * @param compressSealedSegments true to compress sealed segments, false otherwise
+   */
+  public void setCompressSealedSegments(final boolean compressSealedSegments) {
+    this.compressSealedSegments = compressSealedSegments;
+  }
+
   @Override
   public String toString() {
     return "RaftStorageConfig{"
@@ -138,6 +196,12 @@ public class RaftStorageConfig {
         + journalIndexDensity
         + ", preallocateSegmentFiles="
         + preallocateSegmentFiles
+        + ", persistSegmentIndex="
+        + persistSegmentIndex
+        + ", segmentPoolSize="
+        + segmentPoolSize
+        + ", compressSealedSegments="
+        + compressSealedSegments
         + '}';
   }
 }
@@ -304,6 +304,9 @@ public class RaftPartitionServer implements HealthMonitorable {
         .withSnapshotStore(persistedSnapshotStore)
         .withJournalIndexDensity(storageConfig.getJournalIndexDensity())
         .withPreallocateSegmentFiles(storageConfig.isPreallocateSegmentFiles())
+        .withPersistSegmentIndex(storageConfig.isPersistSegmentIndex())
+        .withSegmentPoolSize(storageConfig.getSegmentPoolSize())
+        .withCompressSealedSegments(storageConfig.isCompressSealedSegments())
         .build();
   }
 
@@ -15,11 +15,12 @@
  */
 package io.atomix.raft.protocol;
 
+import io.camunda.zeebe.journal.SerializedJournalRecord;
 import java.util.Arrays;
 
 public record ReplicatableJournalRecord(
     long term, long index, long checksum, byte[] serializedJournalRecord)
-    implements ReplicatableRaftRecord {
+    implements ReplicatableRaftRecord, SerializedJournalRecord {
 
   // Due to having and array member, it is recommended to override equals, hashcode and toString
   @Override
@@ -72,6 +72,9 @@ public abstract class AbstractRole implements RaftRole {
     }
   }
 
+  @Override
+  public void onLogFlushed(final long flushedIndex) {}
+
   /** Logs a request. */
   protected final void logRequest(final Object request) {
     log.trace("Received {}", request);
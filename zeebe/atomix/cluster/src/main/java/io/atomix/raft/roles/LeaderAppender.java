@@ -559,7 +559,8 @@ final class LeaderAppender {
     // If there are no other active members in the cluster, update the commit index and complete the
     // commit.
     // The updated commit index will be sent to passive/reserve members on heartbeats.
-    if (raft.getCluster().isSingleMemberCluster()) {
+    // If flushes are pipelined and the entry is not flushed yet, it is committed once it is.
+    if (raft.getCluster().isSingleMemberCluster() && index <= raft.getLog().getFlushedIndex()) {
       raft.setCommitIndex(index);
       completeCommits(index);
       return CompletableFuture.completedFuture(index);
@@ -1001,15 +1002,26 @@ final class LeaderAppender {
     }
   }
 
+  /** Called when the leader's log was flushed, which may allow committing more entries. */
+  void onLogFlushed() {
+    if (open) {
+      commitEntries();
+    }
+  }
+
   /** Checks whether any futures can be completed. */
   private void commitEntries() {
     raft.checkThread();
 
+    // The quorum assumes the leader has all entries; if flushes are pipelined, the leader may not
+    // have flushed them yet, so conservatively never commit beyond the leader's flushed index
     final long commitIndex =
-        raft.getCluster()
-            .getQuorumFor(RaftMemberContext::getMatchIndex)
-            // If there are no remote members, commit up to the last log index.
-            .orElseGet(() -> raft.getLog().getLastIndex());
+        Math.min(
+            raft.getCluster()
+                .getQuorumFor(RaftMemberContext::getMatchIndex)
+                // If there are no remote members, commit up to the last log index.
+                .orElseGet(() -> raft.getLog().getLastIndex()),
+            raft.getLog().getFlushedIndex());
 
     // If the commit index has increased then update the commit index. Note that in order to ensure
     // the leader completeness property holds, we verify that the commit index is greater than or
@@ -608,6 +608,14 @@ public final class LeaderRole extends ActiveRole implements ZeebeLogAppender {
     }
   }
 
+  @Override
+  public void onLogFlushed(final long flushedIndex) {
+    super.onLogFlushed(flushedIndex);
+    if (isRunning()) {
+      appender.onLogFlushed();
+    }
+  }
+
   private IndexedRaftLogEntry appendEntry(final RaftLogEntry entry) {
     try {
       return appendWithRetry(entry);
@@ -663,6 +671,10 @@ public final class LeaderRole extends ActiveRole implements ZeebeLogAppender {
 
   private IndexedRaftLogEntry append(final RaftLogEntry entry) {
     final var indexedEntry = raft.getLog().append(entry);
+    if (raft.getLog().isFlushPipelined()) {
+      // start flushing right away; the entry can only be committed once it is flushed
+      raft.getLog().flush();
+    }
     raft.getReplicationMetrics().setAppendIndex(indexedEntry.index());
     log.trace("Appended {}", indexedEntry);
     appender.observeNonCommittedEntries(raft.getCommitIndex());
@@ -57,6 +57,9 @@ import io.camunda.zeebe.util.Either;
 import io.camunda.zeebe.util.logging.ThrottledLogger;
 import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
@@ -73,6 +76,8 @@ public class PassiveRole extends InactiveRole {
   private ByteBuffer nextPendingSnapshotChunkId;
   private ByteBuffer previouslyReceivedSnapshotChunkId;
   private final int snapshotChunkSize;
+  // successful append responses which are only sent once the log is flushed, ordered by index
+  private final Deque<PendingAppend> pendingAppends = new ArrayDeque<>();
 
   public PassiveRole(final RaftContext context) {
     super(context);
@@ -91,6 +96,7 @@ public class PassiveRole extends InactiveRole {
   @Override
   public CompletableFuture<Void> stop() {
     abortPendingSnapshots();
+    failPendingAppends();
 
     // as a safe guard, we clean up any orphaned pending snapshots
     try {
@@ -727,21 +733,40 @@ public class PassiveRole extends InactiveRole {
       }
 
       // Iterate through entries and append them.
-      for (final ReplicatableRaftRecord entry : request.entries()) {
-        final long index = ++lastLogIndex;
+      final List<? extends ReplicatableRaftRecord> entries = request.entries();
+      int entryOffset = 0;
+      while (entryOffset < entries.size()) {
+        final ReplicatableRaftRecord entry = entries.get(entryOffset);
+        final long index = lastLogIndex + 1;
 
         // Get the last entry written to the log by the writer.
         final IndexedRaftLogEntry lastEntry = raft.getLog().getLastEntry();
 
-        final boolean failedToAppend = tryToAppend(future, entry, index, lastEntry);
-        if (failedToAppend) {
-          flush(lastLogIndex - 1, request.prevLogIndex());
-          return;
+        // Consecutive entries at the end of the log are appended in one batch, which avoids the per
+        // entry overhead of the journal when the request contains many entries.
+        final var batch = collectBatch(entries, entryOffset, index, lastEntry, commitIndex);
+        if (batch.size() > 1) {
+          if (!appendBatch(batch, future)) {
+            flush(raft.getLog().getLastIndex(), request.prevLogIndex());
+            return;
+          }
+
+          lastLogIndex += batch.size();
+          entryOffset += batch.size();
+        } else {
+          lastLogIndex = index;
+          entryOffset++;
+
+          final boolean failedToAppend = tryToAppend(future, entry, index, lastEntry);
+          if (failedToAppend) {
+            flush(lastLogIndex - 1, request.prevLogIndex());
+            return;
+          }
         }
 
         // If the last log index meets the commitIndex, break the append loop to avoid appending
         // uncommitted entries.
-        if (!role().active() && index == commitIndex) {
+        if (!role().active() && lastLogIndex == commitIndex) {
           break;
         }
       }
@@ -759,8 +784,36 @@ public class PassiveRole extends InactiveRole {
     // Make sure all entries are flushed before ack to ensure we have persisted what we acknowledge
     flush(lastLogIndex, request.prevLogIndex());
 
-    // Return a successful append response.
-    succeedAppend(lastLogIndex, future);
+    // Return a successful append response. If flushes are pipelined, the flush may still be in
+    // progress, in which case the response is only sent once the log is flushed.
+    if (raft.getLog().isFlushPipelined() && lastLogIndex > raft.getLog().getFlushedIndex()) {
+      pendingAppends.add(new PendingAppend(lastLogIndex, future));
+      // nothing may have been appended, e.g. after a restart, so make sure a flush is requested
+      raft.getLog().flush();
+    } else {
+      succeedAppend(lastLogIndex, future);
+    }
+  }
+
+  @Override
+  public void onLogFlushed(final long flushedIndex) {
+    while (!pendingAppends.isEmpty() && pendingAppends.peek().lastLogIndex() <= flushedIndex) {
+      final var pendingAppend = pendingAppends.poll();
+      succeedAppend(pendingAppend.lastLogIndex(), pendingAppend.future());
+    }
+  }
+
+  /**
+   * Fails all pending append responses, e.g. because the log was truncated and the pending entries
+   * may not exist anymore. The leader will then retry from the flushed index.
+   */
+  private void failPendingAppends() {
+    while (!pendingAppends.isEmpty()) {
+      final var pendingAppend = pendingAppends.poll();
+      failAppend(
+          Math.min(pendingAppend.lastLogIndex(), raft.getLog().getFlushedIndex()),
+          pendingAppend.future());
+    }
   }
 
   private void flush(final long lastFlushedIndex, final long previousEntryIndex) {
@@ -788,6 +841,7 @@ public class PassiveRole extends InactiveRole {
         // the log and append the leader's entry.
         if (lastEntry.term() != entry.term()) {
           raft.getLog().deleteAfter(index - 1);
+          failPendingAppends();
 
           failedToAppend = !appendEntry(index, entry, future);
         }
@@ -839,6 +893,7 @@ public class PassiveRole extends InactiveRole {
       // the log and append the leader's entry.
       if (existingEntry.term() != entry.term()) {
         raft.getLog().deleteAfter(index - 1);
+        failPendingAppends();
 
         return appendEntry(index, entry, future);
       }
@@ -846,6 +901,52 @@ public class PassiveRole extends InactiveRole {
     }
   }
 
+  /**
+   * Returns the run of entries starting at the given offset which can be appended as one batch,
+   * i.e. serialized entries which directly follow the last entry of the log. If this node is not
+   * active, the batch ends at the commit index, as uncommitted entries must not be appended.
+   */
+  private List<ReplicatableJournalRecord> collectBatch(
+      final List<? extends ReplicatableRaftRecord> entries,
+      final int offset,
+      final long index,
+      final IndexedRaftLogEntry lastEntry,
+      final long commitIndex) {
+    if (lastEntry == null || lastEntry.index() != index - 1) {
+      return List.of();
+    }
+
+    final long lastBatchIndex =
+        !role().active() && commitIndex >= index ? commitIndex : Long.MAX_VALUE;
+    final var batch = new ArrayList<ReplicatableJournalRecord>();
+    for (int i = offset; i < entries.size() && index + batch.size() <= lastBatchIndex; i++) {
+      if (!(entries.get(i) instanceof final ReplicatableJournalRecord serializedJournalRecord)) {
+        break;
+      }
+
+      batch.add(serializedJournalRecord);
+    }
+
+    return batch;
+  }
+
+  /**
+   * Attempts to append a batch of entries, returning {@code false} if the append fails. In this
+   * case, the entries before the failed one remain appended.
+   */
+  private boolean appendBatch(
+      final List<ReplicatableJournalRecord> batch,
+      final CompletableFuture<AppendResponse> future) {
+    try {
+      final IndexedRaftLogEntry indexed = raft.getLog().append(batch);
+      log.trace("Appended {} entries up to {}", batch.size(), indexed);
+      raft.getReplicationMetrics().setAppendIndex(indexed.index());
+      return true;
+    } catch (final Exception e) {
+      return failAppend(raft.getLog().getLastIndex() + 1, e, future);
+    }
+  }
+
   /**
    * Attempts to append an entry, returning {@code false} if the append fails due to an {@link
    * JournalException.OutOfDiskSpace} exception.
@@ -868,27 +969,35 @@ public class PassiveRole extends InactiveRole {
 
       log.trace("Appended {}", indexed);
       raft.getReplicationMetrics().setAppendIndex(indexed.index());
-    } catch (final JournalException.OutOfDiskSpace e) {
-      log.trace("Failed to append entry at index {} due to out of disk space", index, e);
+    } catch (final Exception e) {
+      return failAppend(index, e, future);
+    }
+    return true;
+  }
+
+  /**
+   * Returns a failed append response for an entry which could not be appended.
+   *
+   * @param index the index of the entry which could not be appended
+   * @param error the error which occurred when appending the entry
+   * @param future the append response future
+   * @return the append response status
+   */
+  private boolean failAppend(
+      final long index, final Exception error, final CompletableFuture<AppendResponse> future) {
+    if (error instanceof JournalException.OutOfDiskSpace) {
+      log.trace("Failed to append entry at index {} due to out of disk space", index, error);
       raft.getLogCompactor().compact();
-      failAppend(index - 1, future);
-      return false;
-    } catch (final InvalidChecksum e) {
+    } else if (error instanceof InvalidChecksum) {
       log.debug(
           "Failed to append entry at index {}. Entry checksum doesn't match entry data: ",
           index,
-          e);
-      failAppend(index - 1, future);
-      return false;
-    } catch (final InvalidIndex e) {
-      failAppend(index - 1, future);
-      return false;
-    } catch (final Exception e) {
-      log.error("Failed to append entry at index {}", entry.index(), e);
-      failAppend(index - 1, future);
-      return false;
+          error);
+    } else if (!(error instanceof InvalidIndex)) {
+      log.error("Failed to append entry at index {}", index, error);
     }
-    return true;
+
+    return failAppend(index - 1, future);
   }
 
   /**
@@ -950,4 +1059,6 @@ public class PassiveRole extends InactiveRole {
         snapshotIndex + 1);
     raftLog.reset(snapshotIndex + 1);
   }
+
+  private record PendingAppend(long lastLogIndex, CompletableFuture<AppendResponse> future) {}
 }
@@ -122,4 +122,12 @@ public interface RaftRole extends Managed<RaftRole> {
   CompletableFuture<VoteResponse> onVote(VoteRequest request);
 
   Either<RaftError, Void> shouldAcceptRequest(RaftRequest request);
+
+  /**
+   * Called when the log was flushed, if flushes are pipelined. Entries up to the given index may now
+   * be committed or acknowledged.
+   *
+   * @param flushedIndex the index up to which the log is flushed
+   */
+  void onLogFlushed(long flushedIndex);
 }
@@ -63,6 +63,9 @@ public final class RaftStorage {
   private final ReceivableSnapshotStore persistedSnapshotStore;
   private final int journalIndexDensity;
   private final boolean preallocateSegmentFiles;
+  private final boolean persistSegmentIndex;
+  private final int segmentPoolSize;
+  private final boolean compressSealedSegments;
   private final RaftLogFlusher.Factory flusherFactory;
 
   private RaftStorage(
@@ -74,7 +77,10 @@ public final class RaftStorage {
       final RaftLogFlusher.Factory flusherFactory,
       final ReceivableSnapshotStore persistedSnapshotStore,
       final int journalIndexDensity,
-      final boolean preallocateSegmentFiles) {
+      final boolean preallocateSegmentFiles,
+      final boolean persistSegmentIndex,
+      final int segmentPoolSize,
+      final boolean compressSealedSegments) {
     this.prefix = prefix;
     this.partitionId = partitionId;
     this.directory = directory;
@@ -84,6 +90,9 @@ public final class RaftStorage {
     this.persistedSnapshotStore = persistedSnapshotStore;
     this.journalIndexDensity = journalIndexDensity;
     this.preallocateSegmentFiles = preallocateSegmentFiles;
+    this.persistSegmentIndex = persistSegmentIndex;
+    this.segmentPoolSize = segmentPoolSize;
+    this.compressSealedSegments = compressSealedSegments;
 
     try {
       FileUtil.ensureDirectoryExists(directory.toPath());
@@ -192,6 +201,9 @@ public final class RaftStorage {
         .withFreeDiskSpace(freeDiskSpace)
         .withJournalIndexDensity(journalIndexDensity)
         .withPreallocateSegmentFiles(preallocateSegmentFiles)
+        .withPersistSegmentIndex(persistSegmentIndex)
+        .withSegmentPoolSize(segmentPoolSize)
+        .withCompressSealedSegments(compressSealedSegments)
         .withMetaStore(metaStore)
         .withFlusher(flusherFactory.createFlusher(threadFactory))
         .build();
@@ -248,6 +260,9 @@ public final class RaftStorage {
         RaftLogFlusher.Factory::direct;
     private static final int DEFAULT_JOURNAL_INDEX_DENSITY = 100;
     private static final boolean DEFAULT_PREALLOCATE_SEGMENT_FILES = true;
+    private static final boolean DEFAULT_PERSIST_SEGMENT_INDEX = false;
+    private static final int DEFAULT_SEGMENT_POOL_SIZE = 1;
+    private static final boolean DEFAULT_COMPRESS_SEALED_SEGMENTS = false;
 
     // impossible value to make it clear it's unset and there's an error
     private static final int DEFAULT_PARTITION_ID = -1;
@@ -260,6 +275,9 @@ public final class RaftStorage {
     private ReceivableSnapshotStore persistedSnapshotStore;
     private int journalIndexDensity = DEFAULT_JOURNAL_INDEX_DENSITY;
     private boolean preallocateSegmentFiles = DEFAULT_PREALLOCATE_SEGMENT_FILES;
+    private boolean persistSegmentIndex = DEFAULT_PERSIST_SEGMENT_INDEX;
+    private int segmentPoolSize = DEFAULT_SEGMENT_POOL_SIZE;
+    private boolean compressSealedSegments = DEFAULT_COMPRESS_SEALED_SEGMENTS;
     private int partitionId = DEFAULT_PARTITION_ID;
 
     private Builder() {}
@@ -364,6 +382,43 @@ public final class RaftStorage {
       return this;
     }
 
+    /**
+     * Sets whether the index of a segment is persisted next to it once the log rolls over to the
+     * next segment, so that it can be restored instead of rebuilt when the log is opened again.
+     *
+     * @param persistSegmentIndex true to persist the index of sealed segments, false otherwise
+     * @return this builder for chaining
+     */
+    public Builder withPersistSegmentIndex(final boolean persistSegmentIndex) {
+      this.persistSegmentIndex = persistSegmentIndex;
+      return this;
+    }
+
+    /**
+     * Sets how many segments are prepared ahead of time in the background, such that rolling over
+     * to the next segment does not block appends. Files of deleted segments are recycled to
+     * prepare new segments.
+     *
+     * @param segmentPoolSize the number of segments to prepare ahead of time; 0 to disable it
+     * @return this builder for chaining
+     */
+    public Builder withSegmentPoolSize(final int segmentPoolSize) {
+      this.segmentPoolSize = segmentPoolSize;
+      return this;
+    }
+
+    /**
+     * Sets whether sealed segments are compressed in the background, reducing the disk space used
+     * by the log at the cost of decompressing them again when they are read.
+     *
+     * @param compressSealedSegments true to compress sealed segments, false otherwise
+     * @return this builder for chaining
+     */
+    public Builder withCompressSealedSegments(final boolean compressSealedSegments) {
+      this.compressSealedSegments = compressSealedSegments;
+      return this;
+    }
+
     /**
      * The ID of the partition on which this storage resides.
      *
@@ -391,7 +446,10 @@ public final class RaftStorage {
           flusherFactory,
           persistedSnapshotStore,
           journalIndexDensity,
-          preallocateSegmentFiles);
+          preallocateSegmentFiles,
+          persistSegmentIndex,
+          segmentPoolSize,
+          compressSealedSegments);
     }
   }
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.atomix.raft.storage.log;
+
+import io.atomix.utils.concurrent.ThreadContext;
+import io.camunda.zeebe.journal.Journal;
+import io.camunda.zeebe.journal.JournalException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An implementation of {@link RaftLogFlusher} which flushes the journal on a dedicated thread, such
+ * that appending to the journal is never blocked by a slow flush. Calls to {@link #flush(Journal)}
+ * only record up to which index the journal should be flushed. All requests which arrive while a
+ * flush is in progress are grouped into the next flush, i.e. a single flush commits all of them.
+ *
+ * <p>Unlike with the {@link DelayedFlusher}, no guarantees are given up: once a flush completes,
+ * the index up to which the journal is flushed is published to the {@link
+ * #setFlushListener(LongConsumer) flush listener}, and the Raft roles only commit and acknowledge
+ * entries up to this index.
+ *
+ * <p>All methods but the flush itself are expected to be called from the journal write path, e.g.
+ * the Raft thread. The flush listener is called from the flushing thread.
+ */
+public final class PipelinedFlusher implements RaftLogFlusher {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PipelinedFlusher.class);
+  private static final Duration RETRY_DELAY = Duration.ofMillis(100);
+
+  private final ThreadContext flushContext;
+  private final Object monitor = new Object();
+
+  private LongConsumer flushListener = ignored -> {};
+  private long requestedIndex;
+  private long flushedIndex;
+  // incremented whenever the journal is truncated, to discard flushes started before
+  private long generation;
+  private boolean flushing;
+  private boolean closed;
+
+  public PipelinedFlusher(final ThreadContext flushContext) {
+    this.flushContext = Objects.requireNonNull(flushContext, "must specify a flush context");
+  }
+
+  @Override
+  public void flush(final Journal journal) {
+    // read the last index on the caller's thread, which wrote the entries; the monitor then ensures
+    // the flushing thread sees everything written up to this index
+    final long lastIndex = journal.getLastIndex();
+
+    synchronized (monitor) {
+      if (closed) {
+        LOGGER.debug("Skipped flush up to index {} due to flusher being closed", lastIndex);
+        return;
+      }
+
+      requestedIndex = Math.max(requestedIndex, lastIndex);
+      if (!flushing && requestedIndex > flushedIndex) {
+        flushing = true;
+        flushContext.execute(() -> flushLoop(journal));
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    synchronized (monitor) {
+      closed = true;
+    }
+
+    flushContext.close();
+  }
+
+  /**
+   * Sets the listener which is notified with the index up to which the journal is flushed, every
+   * time a flush completes. It is called from the flushing thread.
+   */
+  public void setFlushListener(final LongConsumer flushListener) {
+    this.flushListener = Objects.requireNonNull(flushListener, "must specify a flush listener");
+  }
+
+  /** Returns the index up to which the journal is known to be flushed. */
+  public long getFlushedIndex() {
+    synchronized (monitor) {
+      return flushedIndex;
+    }
+  }
+
+  /**
+   * Must be called whenever the journal is truncated or reset, after which every entry after the
+   * given index is gone. Any flush which is currently in progress will not be published, as it may
+   * have started before the truncation.
+   *
+   * @param lastIndex the last index of the journal after the truncation
+   */
+  public void onTruncated(final long lastIndex) {
+    synchronized (monitor) {
+      generation++;
+      requestedIndex = Math.min(requestedIndex, lastIndex);
+      flushedIndex = Math.min(flushedIndex, lastIndex);
+    }
+  }
+
+  /**
+   * Must be called whenever the journal is reset, after which it is empty and its next index is
+   * the given one. As there is nothing left to flush, the journal is considered flushed up to the
+   * index before it.
+   *
+   * @param nextIndex the next index of the journal after the reset
+   */
+  public void onReset(final long nextIndex) {
+    synchronized (monitor) {
+      generation++;
+      requestedIndex = nextIndex - 1;
+      flushedIndex = nextIndex - 1;
+    }
+  }
+
+  private void flushLoop(final Journal journal) {
+    while (true) {
+      final long targetIndex;
+      final long targetGeneration;
+      synchronized (monitor) {
+        if (closed || requestedIndex <= flushedIndex) {
+          flushing = false;
+          return;
+        }
+
+        targetIndex = requestedIndex;
+        targetGeneration = generation;
+      }
+
+      try {
+        journal.flush();
+      } catch (final JournalException | UncheckedIOException e) {
+        LOGGER.warn("Failed to flush journal, operation will be retried after {}", RETRY_DELAY, e);
+        flushContext.schedule(RETRY_DELAY, () -> flushLoop(journal));
+        return;
+      }
+
+      final long publishedIndex;
+      synchronized (monitor) {
+        if (targetGeneration != generation) {
+          LOGGER.trace("Discarding flush up to {} as the journal was truncated", targetIndex);
+          continue;
+        }
+
+        flushedIndex = Math.max(flushedIndex, targetIndex);
+        publishedIndex = flushedIndex;
+      }
+
+      LOGGER.trace("Flushed journal up to index {}", publishedIndex);
+      flushListener.accept(publishedIndex);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "PipelinedFlusher{"
+        + "flushContext="
+        + flushContext
+        + ", requestedIndex="
+        + requestedIndex
+        + ", flushedIndex="
+        + flushedIndex
+        + '}';
+  }
+}
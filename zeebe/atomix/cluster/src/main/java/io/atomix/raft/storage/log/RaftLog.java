@@ -27,6 +27,8 @@ import io.atomix.raft.storage.serializer.RaftEntrySerializer;
 import io.camunda.zeebe.journal.Journal;
 import io.camunda.zeebe.journal.JournalRecord;
 import java.io.Closeable;
+import java.util.List;
+import java.util.function.LongConsumer;
 import org.agrona.CloseHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,12 +40,15 @@ public final class RaftLog implements Closeable {
   private final RaftEntrySerializer serializer = new RaftEntrySBESerializer();
   private final Journal journal;
   private final RaftLogFlusher flusher;
+  // only set if flushes are pipelined, in which case the flushed index must be tracked
+  private final PipelinedFlusher pipelinedFlusher;
   private IndexedRaftLogEntry lastAppendedEntry;
   private volatile long commitIndex;
 
   RaftLog(final Journal journal, final RaftLogFlusher flusher) {
     this.journal = journal;
     this.flusher = flusher;
+    pipelinedFlusher = flusher instanceof final PipelinedFlusher pipelined ? pipelined : null;
   }
 
   /**
@@ -73,6 +78,20 @@ public final class RaftLog implements Closeable {
     return new RaftLogCommittedReader(this, new RaftLogUncommittedReader(journal.openReader()));
   }
 
+  /**
+   * Opens a reader to replicate entries from. The returned entries are not decoded, but kept as a
+   * view of the serialized records in the journal, such that they can be replicated without being
+   * decoded and serialized again. Accessing {@link IndexedRaftLogEntry#entry()} is still possible,
+   * but decodes the entry on demand.
+   *
+   * @param committedOnly if true, the reader only reads committed entries
+   * @return the reader
+   */
+  public RaftLogReader openReplicationReader(final boolean committedOnly) {
+    final var reader = new RaftLogUncommittedReader(journal.openReader(), false);
+    return committedOnly ? new RaftLogCommittedReader(this, reader) : reader;
+  }
+
   public boolean isOpen() {
     return journal.isOpen();
   }
@@ -111,6 +130,35 @@ public final class RaftLog implements Closeable {
     return flusher.isDirect();
   }
 
+  /**
+   * Returns true if flushes are pipelined, i.e. {@link #flush()} returns before the log is flushed.
+   * In this case, entries must only be committed or acknowledged once they are covered by {@link
+   * #getFlushedIndex()}.
+   */
+  public boolean isFlushPipelined() {
+    return pipelinedFlusher != null;
+  }
+
+  /**
+   * Returns the index up to which the log is known to be flushed. Unless flushes are pipelined,
+   * this is always the last index, as the guarantees of the configured {@link RaftLogFlusher} apply
+   * instead.
+   */
+  public long getFlushedIndex() {
+    return pipelinedFlusher != null ? pipelinedFlusher.getFlushedIndex() : getLastIndex();
+  }
+
+  /**
+   * Sets a listener which is notified with the new flushed index whenever a pipelined flush
+   * completes. The listener is called from the flushing thread. Does nothing unless flushes are
+   * pipelined.
+   */
+  public void setFlushListener(final LongConsumer flushListener) {
+    if (pipelinedFlusher != null) {
+      pipelinedFlusher.setFlushListener(flushListener);
+    }
+  }
+
   public long getFirstIndex() {
     return journal.getFirstIndex();
   }
@@ -161,14 +209,47 @@ public final class RaftLog implements Closeable {
   public IndexedRaftLogEntry append(final ReplicatableJournalRecord entry) {
     final var writtenRecord = journal.append(entry.checksum(), entry.serializedJournalRecord());
 
-    final RaftLogEntry raftEntry = serializer.readRaftLogEntry(writtenRecord.data());
-    lastAppendedEntry = new IndexedRaftLogEntryImpl(entry.term(), raftEntry.entry(), writtenRecord);
+    // the term is known already, so the entry is only decoded if it is ever accessed
+    lastAppendedEntry =
+        new SerializedRaftLogEntry(
+            entry.term(), writtenRecord, entry.serializedJournalRecord(), serializer);
+    return lastAppendedEntry;
+  }
+
+  /**
+   * Appends a batch of replicated records in one go, see {@link Journal#append(List)}. If a record
+   * cannot be appended, the records before it remain appended, and the exception is rethrown.
+   *
+   * @param entries the records to append, ordered by index
+   * @return the last appended entry
+   */
+  public IndexedRaftLogEntry append(final List<ReplicatableJournalRecord> entries) {
+    final List<JournalRecord> writtenRecords;
+    try {
+      writtenRecords = journal.append(entries);
+    } catch (final RuntimeException e) {
+      // some records may have been appended, so the last entry is read again when needed
+      lastAppendedEntry = null;
+      throw e;
+    }
+
+    final var lastEntry = entries.getLast();
+    lastAppendedEntry =
+        new SerializedRaftLogEntry(
+            lastEntry.term(),
+            writtenRecords.getLast(),
+            lastEntry.serializedJournalRecord(),
+            serializer);
     return lastAppendedEntry;
   }
 
   public void reset(final long index) {
     journal.reset(index);
     lastAppendedEntry = null;
+
+    if (pipelinedFlusher != null) {
+      pipelinedFlusher.onReset(index);
+    }
   }
 
   public void deleteAfter(final long index) {
@@ -181,6 +262,10 @@ public final class RaftLog implements Closeable {
     journal.deleteAfter(index);
     lastAppendedEntry = null;
 
+    if (pipelinedFlusher != null) {
+      pipelinedFlusher.onTruncated(index);
+    }
+
     // we have to flush here to ensure the truncated log is represented properly
     flush();
   }
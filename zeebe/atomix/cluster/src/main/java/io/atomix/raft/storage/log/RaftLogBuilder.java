@@ -126,6 +126,43 @@ public class RaftLogBuilder implements io.atomix.utils.Builder<RaftLog> {
     return this;
   }
 
+  /**
+   * Sets whether the index of a segment is persisted next to it once the log rolls over to the next
+   * segment, so that it can be restored instead of rebuilt when the log is opened again.
+   *
+   * @param persistSegmentIndex true to persist the index of sealed segments, false otherwise
+   * @return this builder for chaining
+   */
+  public RaftLogBuilder withPersistSegmentIndex(final boolean persistSegmentIndex) {
+    journalBuilder.withPersistSegmentIndex(persistSegmentIndex);
+    return this;
+  }
+
+  /**
+   * Sets how many segments are prepared ahead of time in the background, such that rolling over to
+   * the next segment does not block appends. Files of deleted segments are recycled to prepare new
+   * segments.
+   *
+   * @param segmentPoolSize the number of segments to prepare ahead of time; 0 to disable it
+   * @return this builder for chaining
+   */
+  public RaftLogBuilder withSegmentPoolSize(final int segmentPoolSize) {
+    journalBuilder.withSegmentPoolSize(segmentPoolSize);
+    return this;
+  }
+
+  /**
+   * Sets whether sealed segments are compressed in the background, reducing the disk space used
+   * by the log at the cost of decompressing them again when they are read.
+   *
+   * @param compressSealedSegments true to compress sealed segments, false otherwise
+   * @return this builder for chaining
+   */
+  public RaftLogBuilder withCompressSealedSegments(final boolean compressSealedSegments) {
+    journalBuilder.withCompressSealedSegments(compressSealedSegments);
+    return this;
+  }
+
   /**
    * The ID of the partition on which this log resides.
    *
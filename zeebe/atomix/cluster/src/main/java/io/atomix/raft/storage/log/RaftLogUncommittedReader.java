@@ -30,9 +30,20 @@ import java.util.NoSuchElementException;
 public class RaftLogUncommittedReader implements RaftLogReader {
   private final JournalReader journalReader;
   private final RaftEntrySerializer serializer = new RaftEntrySBESerializer();
+  private final boolean decodeEntries;
 
   RaftLogUncommittedReader(final JournalReader journalReader) {
+    this(journalReader, true);
+  }
+
+  /**
+   * @param journalReader the underlying journal reader
+   * @param decodeEntries if false, entries are returned in their serialized form and only decoded
+   *     when accessed, which avoids decoding entries which are only replicated
+   */
+  RaftLogUncommittedReader(final JournalReader journalReader, final boolean decodeEntries) {
     this.journalReader = journalReader;
+    this.decodeEntries = decodeEntries;
   }
 
   @Override
@@ -47,6 +58,11 @@ public class RaftLogUncommittedReader implements RaftLogReader {
     }
 
     final JournalRecord journalRecord = journalReader.next();
+    if (!decodeEntries) {
+      return new SerializedRaftLogEntry(
+          serializer.readTerm(journalRecord.data()), journalRecord, serializer);
+    }
+
     final RaftLogEntry entry = serializer.readRaftLogEntry(journalRecord.data());
 
     return new IndexedRaftLogEntryImpl(entry.term(), entry.entry(), journalRecord);
@@ -0,0 +1,117 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.atomix.raft.storage.log;
+
+import io.atomix.raft.protocol.PersistedRaftRecord;
+import io.atomix.raft.protocol.ReplicatableJournalRecord;
+import io.atomix.raft.storage.log.entry.ApplicationEntry;
+import io.atomix.raft.storage.log.entry.RaftEntry;
+import io.atomix.raft.storage.serializer.RaftEntrySerializer;
+import io.camunda.zeebe.journal.JournalRecord;
+import io.camunda.zeebe.util.buffer.BufferUtil;
+import java.util.Arrays;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * An indexed entry which is kept in its serialized form, as read from the journal. Only the term
+ * is decoded eagerly, which is all the leader needs to replicate the entry; the entry itself is
+ * only decoded when accessed, with the serializer of the reader it was read with.
+ *
+ * <p>The serialized record is copied once when the entry is created, and that copy is shared with
+ * the record to replicate. Unlike a view of the segment it was read from, it stays valid after the
+ * reader moved on, e.g. when the segment is compressed, or its decompressed block is reused. As
+ * the serializer is not thread safe, the entry must only be accessed by the thread of its reader.
+ */
+final class SerializedRaftLogEntry implements IndexedRaftLogEntry {
+  private final long term;
+  private final long index;
+  private final long asqn;
+  private final long checksum;
+  private final byte[] serializedRecord;
+  private final int dataOffset;
+  private final RaftEntrySerializer serializer;
+  private RaftEntry entry;
+
+  SerializedRaftLogEntry(
+      final long term, final JournalRecord record, final RaftEntrySerializer serializer) {
+    this(term, record, BufferUtil.bufferAsArray(record.serializedRecord()), serializer);
+  }
+
+  /**
+   * @param serializedRecord the serialized form of the given record, which is not copied again
+   */
+  SerializedRaftLogEntry(
+      final long term,
+      final JournalRecord record,
+      final byte[] serializedRecord,
+      final RaftEntrySerializer serializer) {
+    this.term = term;
+    this.serializedRecord = serializedRecord;
+    this.serializer = serializer;
+    index = record.index();
+    asqn = record.asqn();
+    checksum = record.checksum();
+    // the application data is the last field of the serialized record
+    dataOffset = serializedRecord.length - record.data().capacity();
+  }
+
+  @Override
+  public long index() {
+    return index;
+  }
+
+  @Override
+  public long term() {
+    return term;
+  }
+
+  @Override
+  public RaftEntry entry() {
+    if (entry == null) {
+      final var data =
+          new UnsafeBuffer(serializedRecord, dataOffset, serializedRecord.length - dataOffset);
+      entry = serializer.readRaftLogEntry(data).entry();
+    }
+
+    return entry;
+  }
+
+  @Override
+  public boolean isApplicationEntry() {
+    return entry() instanceof ApplicationEntry;
+  }
+
+  @Override
+  public ApplicationEntry getApplicationEntry() {
+    return (ApplicationEntry) entry();
+  }
+
+  @Override
+  public PersistedRaftRecord getPersistedRaftRecord() {
+    final byte[] serializedRaftLogEntry =
+        Arrays.copyOfRange(serializedRecord, dataOffset, serializedRecord.length);
+    return new PersistedRaftRecord(term, index, asqn, checksum, serializedRaftLogEntry);
+  }
+
+  @Override
+  public ReplicatableJournalRecord getReplicatableJournalRecord() {
+    return new ReplicatableJournalRecord(term, index, checksum, serializedRecord);
+  }
+
+  @Override
+  public String toString() {
+    return "SerializedRaftLogEntry{"
+        + "index="
+        + index
+        + ", term="
+        + term
+        + ", checksum="
+        + checksum
+        + '}';
+  }
+}
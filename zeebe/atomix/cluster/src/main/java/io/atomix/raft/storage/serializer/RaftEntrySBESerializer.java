@@ -193,6 +193,17 @@ public class RaftEntrySBESerializer implements RaftEntrySerializer {
     return new RaftLogEntry(term, entry);
   }
 
+  @Override
+  public long readTerm(final DirectBuffer buffer) {
+    headerDecoder.wrap(buffer, 0);
+    raftLogEntryDecoder.wrap(
+        buffer,
+        headerDecoder.encodedLength(),
+        headerDecoder.blockLength(),
+        headerDecoder.version());
+    return raftLogEntryDecoder.term();
+  }
+
   private int getNewMemberEntryLength(final RaftMember raftMember) {
     final String id = raftMember.memberId().id();
     return NewMembersDecoder.sbeBlockLength()
@@ -17,6 +17,7 @@ package io.atomix.raft.roles;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -135,6 +136,40 @@ public class PassiveRoleTest {
     assertThat(response.lastLogIndex()).isEqualTo(2);
   }
 
+  @Test
+  public void shouldAcknowledgeAppendOnlyOnceFlushedWhenFlushIsPipelined() {
+    // given
+    final var entries =
+        List.of(
+            new ReplicatableJournalRecord(1, 1, 1, new byte[1]),
+            new ReplicatableJournalRecord(1, 2, 1, new byte[1]));
+    final VersionedAppendRequest request =
+        VersionedAppendRequest.builder()
+            .withTerm(1)
+            .withLeader(MemberId.anonymous())
+            .withPrevLogTerm(0)
+            .withPrevLogIndex(0)
+            .withEntries(entries)
+            .withCommitIndex(2)
+            .build();
+
+    when(log.isFlushPipelined()).thenReturn(true);
+    when(log.getFlushedIndex()).thenReturn(0L);
+    when(log.append(any(ReplicatableJournalRecord.class)))
+        .thenReturn(mock(IndexedRaftLogEntry.class))
+        .thenReturn(mock(IndexedRaftLogEntry.class));
+
+    // when
+    final var response = role.handleAppend(ProtocolVersionHandler.transform(request));
+    final var acknowledgedBeforeFlush = response.isDone();
+    role.onLogFlushed(2);
+
+    // then
+    assertThat(acknowledgedBeforeFlush).isFalse();
+    assertThat(response.join().succeeded()).isTrue();
+    assertThat(response.join().lastLogIndex()).isEqualTo(2);
+  }
+
   @Test
   public void shouldFlushAfterPartiallyAppendedRequest() {
     // given
@@ -222,6 +257,77 @@ public class PassiveRoleTest {
     verify(log, times(1)).flush();
   }
 
+  @Test
+  public void shouldAppendEntriesFollowingLastEntryAsBatch() {
+    // given
+    final var entries =
+        List.of(
+            new ReplicatableJournalRecord(1, 2, 1, new byte[1]),
+            new ReplicatableJournalRecord(1, 3, 1, new byte[1]));
+    final VersionedAppendRequest request =
+        VersionedAppendRequest.builder()
+            .withTerm(1)
+            .withLeader(MemberId.anonymous())
+            .withPrevLogTerm(1)
+            .withPrevLogIndex(1)
+            .withEntries(entries)
+            .withCommitIndex(3)
+            .build();
+
+    final var lastEntry = mock(IndexedRaftLogEntry.class);
+    when(lastEntry.index()).thenReturn(1L);
+    when(lastEntry.term()).thenReturn(1L);
+    when(log.getLastEntry()).thenReturn(lastEntry);
+    final var appendedEntry = mock(IndexedRaftLogEntry.class);
+    when(appendedEntry.index()).thenReturn(3L);
+    when(log.append(anyList())).thenReturn(appendedEntry);
+
+    // when
+    final AppendResponse response =
+        role.handleAppend(ProtocolVersionHandler.transform(request)).join();
+
+    // then
+    verify(log, times(1)).append(entries);
+    verify(log, never()).append(any(ReplicatableJournalRecord.class));
+    verify(log, times(1)).flush();
+    assertThat(response.succeeded()).isTrue();
+    assertThat(response.lastLogIndex()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldFlushAfterPartiallyAppendedBatch() {
+    // given
+    final var entries =
+        List.of(
+            new ReplicatableJournalRecord(1, 2, 1, new byte[1]),
+            new ReplicatableJournalRecord(1, 3, 1, new byte[1]));
+    final VersionedAppendRequest request =
+        VersionedAppendRequest.builder()
+            .withTerm(1)
+            .withLeader(MemberId.anonymous())
+            .withPrevLogTerm(1)
+            .withPrevLogIndex(1)
+            .withEntries(entries)
+            .withCommitIndex(3)
+            .build();
+
+    final var lastEntry = mock(IndexedRaftLogEntry.class);
+    when(lastEntry.index()).thenReturn(1L);
+    when(lastEntry.term()).thenReturn(1L);
+    when(log.getLastEntry()).thenReturn(lastEntry);
+    when(log.append(anyList())).thenThrow(new InvalidChecksum("expected"));
+    when(log.getLastIndex()).thenReturn(2L);
+
+    // when
+    final AppendResponse response =
+        role.handleAppend(ProtocolVersionHandler.transform(request)).join();
+
+    // then
+    verify(log, times(1)).flush();
+    assertThat(response.succeeded()).isFalse();
+    assertThat(response.lastLogIndex()).isEqualTo(2);
+  }
+
   @Test
   public void shouldAppendOldVersion() {
     // given
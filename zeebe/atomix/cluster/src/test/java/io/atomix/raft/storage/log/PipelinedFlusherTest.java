@@ -0,0 +1,172 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.atomix.raft.storage.log;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.atomix.raft.DeterministicSingleThreadContext;
+import io.camunda.zeebe.journal.Journal;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.agrona.CloseHelper;
+import org.jmock.lib.concurrent.DeterministicScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+final class PipelinedFlusherTest {
+  private final DeterministicScheduler scheduler = new DeterministicScheduler();
+  private final PipelinedFlusher flusher =
+      new PipelinedFlusher(new DeterministicSingleThreadContext(scheduler));
+  private final List<Long> flushedIndexes = new ArrayList<>();
+  private final Journal journal = Mockito.mock(Journal.class);
+
+  @BeforeEach
+  void beforeEach() {
+    flusher.setFlushListener(flushedIndexes::add);
+  }
+
+  @AfterEach
+  void afterEach() {
+    CloseHelper.quietClose(flusher);
+  }
+
+  @Test
+  void shouldNotFlushOnCallerThread() {
+    // given
+    Mockito.when(journal.getLastIndex()).thenReturn(5L);
+
+    // when
+    flusher.flush(journal);
+
+    // then
+    Mockito.verify(journal, Mockito.never()).flush();
+    assertThat(flusher.getFlushedIndex()).isZero();
+  }
+
+  @Test
+  void shouldGroupFlushRequests() {
+    // given
+    Mockito.when(journal.getLastIndex()).thenReturn(1L, 2L, 3L);
+
+    // when
+    flusher.flush(journal);
+    flusher.flush(journal);
+    flusher.flush(journal);
+    scheduler.runUntilIdle();
+
+    // then
+    Mockito.verify(journal, Mockito.times(1)).flush();
+    assertThat(flusher.getFlushedIndex()).isEqualTo(3);
+    assertThat(flushedIndexes).containsExactly(3L);
+  }
+
+  @Test
+  void shouldFlushRequestsReceivedDuringFlush() {
+    // given
+    Mockito.when(journal.getLastIndex()).thenReturn(1L);
+    Mockito.doAnswer(
+            invocation -> {
+              Mockito.when(journal.getLastIndex()).thenReturn(2L);
+              Mockito.doNothing().when(journal).flush();
+              flusher.flush(journal);
+              return null;
+            })
+        .when(journal)
+        .flush();
+
+    // when
+    flusher.flush(journal);
+    scheduler.runUntilIdle();
+
+    // then
+    Mockito.verify(journal, Mockito.times(2)).flush();
+    assertThat(flushedIndexes).containsExactly(1L, 2L);
+  }
+
+  @Test
+  void shouldNotPublishFlushStartedBeforeTruncation() {
+    // given
+    Mockito.when(journal.getLastIndex()).thenReturn(5L);
+    Mockito.doAnswer(
+            invocation -> {
+              flusher.onTruncated(3);
+              return null;
+            })
+        .when(journal)
+        .flush();
+
+    // when
+    flusher.flush(journal);
+    scheduler.runUntilIdle();
+
+    // then
+    assertThat(flusher.getFlushedIndex()).isZero();
+    assertThat(flushedIndexes).isEmpty();
+  }
+
+  @Test
+  void shouldLowerFlushedIndexOnTruncation() {
+    // given
+    Mockito.when(journal.getLastIndex()).thenReturn(5L);
+    flusher.flush(journal);
+    scheduler.runUntilIdle();
+
+    // when
+    flusher.onTruncated(3);
+
+    // then
+    assertThat(flusher.getFlushedIndex()).isEqualTo(3);
+  }
+
+  @Test
+  void shouldConsiderResetJournalAsFlushed() {
+    // when
+    flusher.onReset(10);
+
+    // then
+    assertThat(flusher.getFlushedIndex()).isEqualTo(9);
+  }
+
+  @Test
+  void shouldRetryOnFlushError() {
+    // given
+    Mockito.when(journal.getLastIndex()).thenReturn(5L);
+    Mockito.doThrow(new UncheckedIOException(new IOException("Cannot allocate memory")))
+        .doNothing()
+        .when(journal)
+        .flush();
+
+    // when
+    flusher.flush(journal);
+    scheduler.runUntilIdle();
+    scheduler.tick(100, TimeUnit.MILLISECONDS);
+
+    // then
+    Mockito.verify(journal, Mockito.times(2)).flush();
+    assertThat(flushedIndexes).containsExactly(5L);
+  }
+
+  @Test
+  void shouldNotFlushWhenClosed() {
+    // given
+    Mockito.when(journal.getLastIndex()).thenReturn(5L);
+
+    // when
+    flusher.close();
+    flusher.flush(journal);
+    scheduler.runUntilIdle();
+
+    // then
+    Mockito.verify(journal, Mockito.never()).flush();
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.atomix.raft.storage.log;
+
+import io.atomix.utils.concurrent.SingleThreadContext;
+import io.camunda.zeebe.journal.Journal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares synchronous flushing with pipelined flushing, measuring how many entries per second
+ * can be appended and made durable when several requests are in flight at once. Each operation
+ * appends an entry on the (emulated) Raft thread and then waits until the entry is flushed.
+ *
+ * <p>The disk is emulated by a journal whose flush takes a fixed amount of time, such that the
+ * results do not depend on the disk of the machine running the benchmark.
+ *
+ * <p>Run it via {@link #main(String[])}, which compares both flushers at several disk latencies.
+ * It is not run as a test, as no reference score was measured for it in CI.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(
+    value = 1,
+    jvmArgs = {"-Xmx1g", "-Xms1g"})
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class RaftLogFlushPerformanceTest {
+  private static final int IN_FLIGHT_REQUESTS = 8;
+
+  @Param({"direct", "pipelined"})
+  public String flusherType;
+
+  @Param({"100", "1000", "5000"})
+  public long diskLatencyMicros;
+
+  private final Object raftThread = new Object();
+  private final Object flushed = new Object();
+  private Journal journal;
+  private RaftLogFlusher flusher;
+  private volatile long lastIndex;
+  private volatile long flushedIndex;
+
+  @Setup
+  public void setup() {
+    lastIndex = 0;
+    flushedIndex = 0;
+    journal = Mockito.mock(Journal.class, Mockito.withSettings().stubOnly());
+    Mockito.when(journal.getLastIndex()).thenAnswer(invocation -> lastIndex);
+    Mockito.doAnswer(
+            invocation -> {
+              LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(diskLatencyMicros));
+              return null;
+            })
+        .when(journal)
+        .flush();
+
+    flusher = createFlusher();
+  }
+
+  @TearDown
+  public void tearDown() {
+    flusher.close();
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(RaftLogFlushPerformanceTest.class.getName())
+                .build())
+        .run();
+  }
+
+  @Benchmark
+  @Threads(IN_FLIGHT_REQUESTS)
+  public long measureAppendAndFlush() throws InterruptedException {
+    final long index;
+    synchronized (raftThread) {
+      index = ++lastIndex;
+      flusher.flush(journal);
+    }
+
+    // a direct flush completed on the Raft thread; otherwise, like the Raft roles, only acknowledge
+    // the entry once it is flushed, without blocking further appends in the meantime
+    if (!flusher.isDirect()) {
+      awaitFlushed(index);
+    }
+
+    return index;
+  }
+
+  private void awaitFlushed(final long index) throws InterruptedException {
+    synchronized (flushed) {
+      while (flushedIndex < index) {
+        flushed.wait();
+      }
+    }
+  }
+
+  private RaftLogFlusher createFlusher() {
+    return switch (flusherType) {
+      case "direct" -> RaftLogFlusher.Factory.DIRECT;
+      case "pipelined" -> {
+        final var pipelined = new PipelinedFlusher(new SingleThreadContext("flusher-%d"));
+        pipelined.setFlushListener(
+            index -> {
+              synchronized (flushed) {
+                flushedIndex = index;
+                flushed.notifyAll();
+              }
+            });
+        yield pipelined;
+      }
+      default -> throw new IllegalArgumentException(
+          "Expected one of [direct, pipelined], but got " + flusherType);
+    };
+  }
+}
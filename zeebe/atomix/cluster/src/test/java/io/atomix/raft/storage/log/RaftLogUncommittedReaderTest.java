@@ -141,6 +141,46 @@ class RaftLogUncommittedReaderTest {
     assertThat(uncommittedReader.next().getPersistedRaftRecord().asqn()).isEqualTo(10);
   }
 
+  @Test
+  void shouldReadSameEntriesWithReplicationReader() {
+    // given
+    appendEntries(3);
+
+    // when
+    try (final var replicationReader = raftlog.openReplicationReader(false)) {
+      // then
+      for (int i = 1; i <= 3; i++) {
+        final var expected = uncommittedReader.next();
+        final var actual = replicationReader.next();
+
+        assertThat(actual.index()).isEqualTo(expected.index());
+        assertThat(actual.term()).isEqualTo(expected.term());
+        assertThat(actual.getReplicatableJournalRecord())
+            .isEqualTo(expected.getReplicatableJournalRecord());
+        assertThat(actual.getPersistedRaftRecord().data())
+            .isEqualTo(expected.getPersistedRaftRecord().data());
+        assertThat(actual.entry()).isEqualTo(expected.entry());
+      }
+      assertThat(replicationReader.hasNext()).isFalse();
+    }
+  }
+
+  @Test
+  void shouldDecodeEntryAfterReplicationReaderIsClosed() {
+    // given
+    appendEntries(1);
+    final IndexedRaftLogEntry entry;
+    try (final var replicationReader = raftlog.openReplicationReader(false)) {
+      entry = replicationReader.next();
+    }
+
+    // when
+    final var decodedEntry = entry.entry();
+
+    // then
+    assertThat(decodedEntry).isEqualTo(uncommittedReader.next().entry());
+  }
+
   private void appendEntries(final int count) {
     for (int i = 0; i < count; i++) {
       final ApplicationEntry applicationEntry = new SerializedApplicationEntry(i + 1, i + 1, data);
@@ -0,0 +1,301 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.broker.exporter.stream;
+
+import io.camunda.zeebe.broker.Loggers;
+import io.camunda.zeebe.db.ZeebeDb;
+import io.camunda.zeebe.logstreams.log.LogRecordAwaiter;
+import io.camunda.zeebe.logstreams.log.LogStream;
+import io.camunda.zeebe.logstreams.log.LogStreamReader;
+import io.camunda.zeebe.logstreams.log.LoggedEvent;
+import io.camunda.zeebe.protocol.impl.record.RecordMetadata;
+import io.camunda.zeebe.scheduler.Actor;
+import io.camunda.zeebe.scheduler.future.ActorFuture;
+import io.camunda.zeebe.scheduler.future.CompletableActorFuture;
+import io.camunda.zeebe.scheduler.retry.BackOffRetryStrategy;
+import io.camunda.zeebe.scheduler.retry.EndlessRetryStrategy;
+import io.camunda.zeebe.scheduler.retry.RetryStrategy;
+import io.camunda.zeebe.stream.api.EventFilter;
+import java.time.Duration;
+import java.time.InstantSource;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+
+/**
+ * Exports the records of the log to a single exporter on its own actor, such that a slow exporter
+ * does not delay the other exporters of the partition. Used by the {@link ExporterDirector} if
+ * dedicated exporter actors are enabled, instead of exporting every record to all exporters one
+ * after another.
+ *
+ * <p>The actor reads the log with its own reader, starting after the position of its exporter, and
+ * retries exporting a record until the exporter accepts it without affecting the other exporters.
+ * The position of the exporter is stored in its own transaction context, while the director still
+ * reads the positions of all exporters from the state, e.g. to determine the lowest position for
+ * compaction.
+ */
+final class ExporterActor extends Actor implements LogRecordAwaiter {
+
+  private static final Logger LOG = Loggers.EXPORTER_LOGGER;
+  private static final String ERROR_MESSAGE_EXPORTING_ABORTED =
+      "Expected to export record '{}' to exporter '{}' successfully, but exception was thrown.";
+  private static final String ERROR_MESSAGE_SEEK_FAILED =
+      "Expected to find event with the exporter position %s in log stream, but nothing was found. Failed to recover '%s'.";
+
+  private final AtomicBoolean isOpened = new AtomicBoolean(false);
+  private final String name;
+  private final int partitionId;
+  private final ExporterContainer container;
+  private final LogStream logStream;
+  private final ZeebeDb zeebeDb;
+  private final ExporterMetrics metrics;
+  private final EventFilter positionsToSkipFilter;
+  private final RecordExporter recordExporter;
+  private final RetryStrategy exportingRetryStrategy;
+  private final RetryStrategy recordWrapStrategy;
+  private final Consumer<Throwable> failureListener;
+  private LogStreamReader logStreamReader;
+  private EventFilter eventFilter;
+  private ExporterPhase exporterPhase;
+  private boolean inExportingPhase;
+  private volatile long exportedPosition = ExportersState.VALUE_NOT_FOUND;
+
+  /**
+   * @param directorName the name of the exporter director, which the name of the actor is based on
+   * @param failureListener notified if the actor fails
+   */
+  ExporterActor(
+      final String directorName,
+      final int partitionId,
+      final ExporterContainer container,
+      final LogStream logStream,
+      final ZeebeDb zeebeDb,
+      final ExporterMetrics metrics,
+      final EventFilter positionsToSkipFilter,
+      final InstantSource clock,
+      final ExporterPhase exporterPhase,
+      final Consumer<Throwable> failureListener) {
+    name = directorName + "-" + container.getId();
+    this.partitionId = partitionId;
+    this.container = container;
+    this.logStream = logStream;
+    this.zeebeDb = zeebeDb;
+    this.metrics = metrics;
+    this.positionsToSkipFilter = positionsToSkipFilter;
+    this.exporterPhase = exporterPhase;
+    this.failureListener = failureListener;
+    recordExporter = new RecordExporter(metrics, List.of(container), partitionId, clock);
+    exportingRetryStrategy = new BackOffRetryStrategy(actor, Duration.ofSeconds(10));
+    recordWrapStrategy = new EndlessRetryStrategy(actor);
+  }
+
+  /**
+   * @return the position of the last record which was exported or skipped, which may be read from
+   *     any thread
+   */
+  long getExportedPosition() {
+    return exportedPosition;
+  }
+
+  ActorFuture<Void> pauseExporting() {
+    if (actor.isClosed()) {
+      return CompletableActorFuture.completed(null);
+    }
+    return actor.call(
+        () -> {
+          exporterPhase = ExporterPhase.PAUSED;
+        });
+  }
+
+  ActorFuture<Void> softPauseExporting() {
+    if (actor.isClosed()) {
+      return CompletableActorFuture.completed(null);
+    }
+    return actor.call(
+        () -> {
+          container.softPauseExporter();
+          exporterPhase = ExporterPhase.SOFT_PAUSED;
+        });
+  }
+
+  ActorFuture<Void> resumeExporting() {
+    if (actor.isClosed()) {
+      return CompletableActorFuture.completed(null);
+    }
+    return actor.call(
+        () -> {
+          if (exporterPhase == ExporterPhase.SOFT_PAUSED) {
+            container.undoSoftPauseExporter();
+          }
+          exporterPhase = ExporterPhase.EXPORTING;
+          actor.submit(this::readNextEvent);
+        });
+  }
+
+  @Override
+  protected Map<String, String> createContext() {
+    final var context = super.createContext();
+    context.put(ACTOR_PROP_PARTITION_ID, Integer.toString(partitionId));
+    return context;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  protected void onActorStarting() {
+    logStreamReader = logStream.newLogStreamReader();
+    // the state is accessed concurrently by the director and the other exporter actors
+    final var state = new ExportersState(zeebeDb, zeebeDb.createContext());
+    container.initContainer(actor, metrics, state, exporterPhase);
+    // initializes metadata and position in the runtime state
+    container.initMetadata();
+    eventFilter =
+        positionsToSkipFilter.and(ExporterDirector.createEventFilter(List.of(container)));
+  }
+
+  @Override
+  protected void onActorStarted() {
+    isOpened.set(true);
+    final ActorFuture<Boolean> openFuture =
+        new BackOffRetryStrategy(actor, Duration.ofSeconds(10))
+            .runWithRetry(
+                () -> {
+                  try {
+                    container.openExporter();
+                    return true;
+                  } catch (final Exception e) {
+                    LOG.error("Failed to open exporter '{}'. Retrying...", container.getId(), e);
+                    return false;
+                  }
+                },
+                this::isClosed);
+
+    actor.runOnCompletion(
+        openFuture,
+        (opened, error) -> {
+          if (error == null) {
+            startExporting();
+          }
+        });
+  }
+
+  @Override
+  protected void onActorClosing() {
+    logStreamReader.close();
+    logStream.removeRecordAvailableListener(this);
+  }
+
+  @Override
+  protected void onActorCloseRequested() {
+    isOpened.set(false);
+    container.close();
+  }
+
+  @Override
+  protected void handleFailure(final Throwable failure) {
+    LOG.error(
+        "Actor '{}' failed in phase {} with: {} .",
+        name,
+        actor.getLifecyclePhase(),
+        failure,
+        failure);
+    actor.fail(failure);
+    failureListener.accept(failure);
+  }
+
+  @Override
+  public void onRecordAvailable() {
+    actor.run(this::readNextEvent);
+  }
+
+  private void startExporting() {
+    final long position = container.getPosition();
+    if (!logStreamReader.seekToNextEvent(position)) {
+      throw new IllegalStateException(String.format(ERROR_MESSAGE_SEEK_FAILED, position, name));
+    }
+    exportedPosition = position;
+    logStream.registerRecordAvailableListener(this);
+    if (exporterPhase != ExporterPhase.PAUSED) {
+      actor.submit(this::readNextEvent);
+    }
+  }
+
+  private void readNextEvent() {
+    if (shouldExport()) {
+      final LoggedEvent currentEvent = logStreamReader.next();
+      if (eventFilter.applies(currentEvent)) {
+        inExportingPhase = true;
+        exportEvent(currentEvent);
+      } else {
+        skipRecord(currentEvent);
+      }
+    }
+  }
+
+  private boolean shouldExport() {
+    return isOpened.get()
+        && logStreamReader.hasNext()
+        && !inExportingPhase
+        && exporterPhase != ExporterPhase.PAUSED;
+  }
+
+  private void skipRecord(final LoggedEvent currentEvent) {
+    final RecordMetadata metadata = new RecordMetadata();
+    final long eventPosition = currentEvent.getPosition();
+
+    currentEvent.readMetadata(metadata);
+    metrics.eventSkipped(metadata.getValueType());
+    container.updatePositionOnSkipIfUpToDate(eventPosition);
+    exportedPosition = eventPosition;
+
+    actor.submit(this::readNextEvent);
+  }
+
+  private void exportEvent(final LoggedEvent event) {
+    final ActorFuture<Boolean> wrapRetryFuture =
+        recordWrapStrategy.runWithRetry(
+            () -> {
+              recordExporter.wrap(event);
+              return true;
+            },
+            this::isClosed);
+
+    actor.runOnCompletion(
+        wrapRetryFuture,
+        (b, t) -> {
+          assert t == null : "Throwable must be null";
+
+          final ActorFuture<Boolean> retryFuture =
+              exportingRetryStrategy.runWithRetry(recordExporter::export, this::isClosed);
+
+          actor.runOnCompletion(
+              retryFuture,
+              (bool, throwable) -> {
+                if (throwable != null) {
+                  LOG.error(ERROR_MESSAGE_EXPORTING_ABORTED, event, container.getId(), throwable);
+                  isOpened.set(false);
+                  actor.close();
+                } else {
+                  exportedPosition = event.getPosition();
+                  metrics.eventExported(recordExporter.getTypedEvent().getValueType());
+                  inExportingPhase = false;
+                  actor.submit(this::readNextEvent);
+                }
+              });
+        });
+  }
+
+  private boolean isClosed() {
+    return !isOpened.get();
+  }
+}
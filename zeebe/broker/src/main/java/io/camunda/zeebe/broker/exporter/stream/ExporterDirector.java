@@ -39,6 +39,7 @@ import java.time.Duration;
 import java.time.InstantSource;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -57,6 +58,7 @@ public final class ExporterDirector extends Actor implements HealthMonitorable,
   private static final String ERROR_MESSAGE_RECOVER_FROM_SNAPSHOT_FAILED =
       "Expected to find event with the snapshot position %s in log stream, but nothing was found. Failed to recover '%s'.";
   private static final String EXPORTER_STATE_TOPIC_FORMAT = "exporterState-%d";
+  private static final Duration EXPORTED_POSITION_REPORT_INTERVAL = Duration.ofMillis(100);
 
   private static final Logger LOG = Loggers.EXPORTER_LOGGER;
   private final AtomicBoolean isOpened = new AtomicBoolean(false);
@@ -93,6 +95,12 @@ public final class ExporterDirector extends Actor implements HealthMonitorable,
   // The actor is still running, but it is not actively doing any work.
   private boolean idle;
   private final InstantSource clock;
+  // When exporting on dedicated actors, every exporter exports the records on its own actor with
+  // its own reader, and the director only tracks, distributes and reports their positions.
+  private final boolean dedicatedExporterActors;
+  private final Map<String, ExporterActor> exporterActors = new HashMap<>();
+  private ActorSchedulingService actorSchedulingService;
+  private ScheduledTimer exportedPositionTimer;
 
   public ExporterDirector(
       final ExporterDirectorContext context, final ExporterPhase exporterPhase) {
@@ -125,9 +133,12 @@ public final class ExporterDirector extends Actor implements HealthMonitorable,
     exporterMode = context.getExporterMode();
     distributionInterval = context.getDistributionInterval();
     positionsToSkipFilter = context.getPositionsToSkipFilter();
+    dedicatedExporterActors =
+        exporterMode == ExporterMode.ACTIVE && context.isDedicatedExporterActors();
   }
 
   public ActorFuture<Void> startAsync(final ActorSchedulingService actorSchedulingService) {
+    this.actorSchedulingService = actorSchedulingService;
     return actorSchedulingService.submitActor(this, SchedulingHints.ioBound());
   }
 
@@ -149,11 +160,13 @@ public final class ExporterDirector extends Actor implements HealthMonitorable,
       // are added.
       return CompletableActorFuture.completed(null);
     }
-    return actor.call(
-        () -> {
-          metrics.setExporterPaused();
-          exporterPhase = ExporterPhase.PAUSED;
-        });
+    return actor
+        .call(
+            () -> {
+              metrics.setExporterPaused();
+              exporterPhase = ExporterPhase.PAUSED;
+            })
+        .andThen(() -> forEachExporterActor(ExporterActor::pauseExporting), actor);
   }
 
   /**
@@ -171,12 +184,17 @@ public final class ExporterDirector extends Actor implements HealthMonitorable,
       // are added.
       return CompletableActorFuture.completed(null);
     }
-    return actor.call(
-        () -> {
-          containers.stream().forEach(ExporterContainer::softPauseExporter);
-          exporterPhase = ExporterPhase.SOFT_PAUSED;
-          metrics.setExporterSoftPaused();
-        });
+    return actor
+        .call(
+            () -> {
+              // the containers of dedicated exporter actors are paused by their actor
+              if (!dedicatedExporterActors) {
+                containers.stream().forEach(ExporterContainer::softPauseExporter);
+              }
+              exporterPhase = ExporterPhase.SOFT_PAUSED;
+              metrics.setExporterSoftPaused();
+            })
+        .andThen(() -> forEachExporterActor(ExporterActor::softPauseExporting), actor);
   }
 
   /**
@@ -192,17 +210,19 @@ public final class ExporterDirector extends Actor implements HealthMonitorable,
       return CompletableActorFuture.completed(null);
     }
 
-    return actor.call(
-        () -> {
-          if (exporterPhase == ExporterPhase.SOFT_PAUSED) {
-            containers.stream().forEach(ExporterContainer::undoSoftPauseExporter);
-          }
-          exporterPhase = ExporterPhase.EXPORTING;
-          metrics.setExporterActive();
-          if (exporterMode == ExporterMode.ACTIVE) {
-            actor.submit(this::readNextEvent);
-          }
-        });
+    return actor
+        .call(
+            () -> {
+              if (exporterPhase == ExporterPhase.SOFT_PAUSED && !dedicatedExporterActors) {
+                containers.stream().forEach(ExporterContainer::undoSoftPauseExporter);
+              }
+              exporterPhase = ExporterPhase.EXPORTING;
+              metrics.setExporterActive();
+              if (exporterMode == ExporterMode.ACTIVE && !dedicatedExporterActors) {
+                actor.submit(this::readNextEvent);
+              }
+            })
+        .andThen(() -> forEachExporterActor(ExporterActor::resumeExporting), actor);
   }
 
   /**
@@ -217,20 +237,46 @@ public final class ExporterDirector extends Actor implements HealthMonitorable,
       return CompletableActorFuture.completed(null);
     }
 
-    return actor.call(() -> removeExporter(exporterId));
+    return actor.call(() -> removeExporter(exporterId)).andThen(removed -> removed, actor);
   }
 
-  private void removeExporter(final String exporterId) {
-    containers.stream()
+  private ActorFuture<Void> removeExporter(final String exporterId) {
+    return containers.stream()
         .filter(c -> c.getId().equals(exporterId))
         .findFirst()
-        .ifPresentOrElse(
-            container -> removeExporter(exporterId, container),
-            () -> LOG.debug("Exporter '{}' is not found. It may be already removed.", exporterId));
+        .map(container -> removeExporter(exporterId, container))
+        .orElseGet(
+            () -> {
+              LOG.debug("Exporter '{}' is not found. It may be already removed.", exporterId);
+              return CompletableActorFuture.completed(null);
+            });
+  }
+
+  private ActorFuture<Void> removeExporter(
+      final String exporterId, final ExporterContainer container) {
+    if (!dedicatedExporterActors) {
+      container.close();
+      removeExporterState(exporterId, container);
+      return CompletableActorFuture.completed(null);
+    }
+
+    final var exporterActor = exporterActors.remove(exporterId);
+    if (exporterActor == null) {
+      LOG.debug("Exporter '{}' is already being removed.", exporterId);
+      return CompletableActorFuture.completed(null);
+    }
+    // the exporter actor closes the container, and updates the exporter state until it is closed
+    final var removed = new CompletableActorFuture<Void>();
+    actor.runOnCompletion(
+        exporterActor.closeAsync(),
+        (closed, error) -> {
+          removeExporterState(exporterId, container);
+          removed.complete(null);
+        });
+    return removed;
   }
 
-  private void removeExporter(final String exporterId, final ExporterContainer container) {
-    container.close();
+  private void removeExporterState(final String exporterId, final ExporterContainer container) {
     containers.remove(container);
     state.removeExporterState(exporterId);
     // After removing this exporter, the exporter index has changed. Reset it so that we don't
@@ -263,7 +309,9 @@ public final class ExporterDirector extends Actor implements HealthMonitorable,
       return CompletableActorFuture.completed(null);
     }
 
-    return actor.call(() -> addExporter(exporterId, initializationInfo, descriptor));
+    return actor
+        .call(() -> addExporter(exporterId, initializationInfo, descriptor))
+        .andThen(added -> added, actor);
   }
 
   /**
@@ -297,7 +345,7 @@ public final class ExporterDirector extends Actor implements HealthMonitorable,
             this::isClosed);
   }
 
-  private void addExporter(
+  private ActorFuture<Void> addExporter(
       final String exporterId,
       final ExporterInitializationInfo initializationInfo,
       final ExporterDescriptor descriptor) {
@@ -307,7 +355,7 @@ public final class ExporterDirector extends Actor implements HealthMonitorable,
 
     if (exporterEnabled) {
       LOG.debug("Exporter '{}' is already enabled. Skipping the enabling operation.", exporterId);
-      return;
+      return CompletableActorFuture.completed(null);
     }
 
     final ExporterContainer container =
@@ -319,10 +367,17 @@ public final class ExporterDirector extends Actor implements HealthMonitorable,
       LOG.error("Failed to configure exporter '{}'", exporterId, e);
       LangUtil.rethrowUnchecked(e);
     }
-    // initializes metadata and position in the runtime state
-    container.initMetadata();
-    if (exporterMode == ExporterMode.ACTIVE) {
-      container.openExporter();
+    final ActorFuture<Void> started;
+    if (dedicatedExporterActors) {
+      // the exporter actor initializes the metadata and position, and opens the exporter
+      started = startExporterActor(container);
+    } else {
+      // initializes metadata and position in the runtime state
+      container.initMetadata();
+      if (exporterMode == ExporterMode.ACTIVE) {
+        container.openExporter();
+      }
+      started = CompletableActorFuture.completed(null);
     }
     containers.add(container);
     LOG.debug("Exporter '{}' is enabled.", exporterId);
@@ -330,6 +385,7 @@ public final class ExporterDirector extends Actor implements HealthMonitorable,
     if (idle) {
       becomeLive();
     }
+    return started;
   }
 
   public ActorFuture<ExporterPhase> getPhase() {
@@ -353,7 +409,7 @@ public final class ExporterDirector extends Actor implements HealthMonitorable,
 
   @Override
   protected void onActorStarting() {
-    if (exporterMode == ExporterMode.ACTIVE) {
+    if (exporterMode == ExporterMode.ACTIVE && !dedicatedExporterActors) {
       logStreamReader = logStream.newLogStreamReader();
     }
   }
@@ -405,7 +461,13 @@ public final class ExporterDirector extends Actor implements HealthMonitorable,
   @Override
   protected void onActorCloseRequested() {
     isOpened.set(false);
-    if (exporterMode == ExporterMode.ACTIVE) {
+    if (dedicatedExporterActors) {
+      // the exporter actors close their containers, which must happen before the state is closed
+      for (final var exporterActor : exporterActors.values()) {
+        actor.runOnCompletionBlockingCurrentPhase(
+            exporterActor.closeAsync(), (closed, error) -> {});
+      }
+    } else if (exporterMode == ExporterMode.ACTIVE) {
       containers.forEach(ExporterContainer::close);
     } else {
       exporterDistributionService.close();
@@ -421,6 +483,7 @@ public final class ExporterDirector extends Actor implements HealthMonitorable,
         failure,
         failure);
     actor.fail(failure);
+    exporterActors.values().forEach(ExporterActor::closeAsync);
 
     if (failure instanceof UnrecoverableException) {
       healthReport = HealthReport.dead(this).withIssue(failure);
@@ -464,7 +527,7 @@ public final class ExporterDirector extends Actor implements HealthMonitorable,
         snapshotPosition);
   }
 
-  private ExporterEventFilter createEventFilter(final List<ExporterContainer> containers) {
+  static EventFilter createEventFilter(final List<ExporterContainer> containers) {
 
     final List<Context.RecordFilter> recordFilters =
         containers.stream().map(c -> c.getContext().getFilter()).collect(Collectors.toList());
@@ -501,6 +564,10 @@ public final class ExporterDirector extends Actor implements HealthMonitorable,
       exporterDistributionTimer.cancel();
       exporterDistributionTimer = null;
     }
+    if (exportedPositionTimer != null) {
+      exportedPositionTimer.cancel();
+      exportedPositionTimer = null;
+    }
     if (logStreamReader != null) {
       // We have to close it, otherwise it will prevent journal segment deletion
       logStreamReader.close();
@@ -519,6 +586,16 @@ public final class ExporterDirector extends Actor implements HealthMonitorable,
   }
 
   private void startActiveExportingMode() {
+    if (dedicatedExporterActors) {
+      if (containers.isEmpty()) {
+        becomeIdle();
+      } else {
+        containers.forEach(this::startExporterActor);
+        startExporterActorsTimers();
+      }
+      return;
+    }
+
     final var containerOpenFutures = new ArrayList<ActorFuture<Boolean>>();
     for (final ExporterContainer container : containers) {
       container.initMetadata();
@@ -554,6 +631,10 @@ public final class ExporterDirector extends Actor implements HealthMonitorable,
   }
 
   private void restartActiveExportingMode() {
+    if (dedicatedExporterActors) {
+      startExporterActorsTimers();
+      return;
+    }
     logStreamReader = logStream.newLogStreamReader();
     startActiveExportingFrom(-1);
   }
@@ -573,6 +654,64 @@ public final class ExporterDirector extends Actor implements HealthMonitorable,
         actor.runAtFixedRate(distributionInterval, this::distributeExporterState);
   }
 
+  private ActorFuture<Void> startExporterActor(final ExporterContainer container) {
+    final var exporterActor =
+        new ExporterActor(
+            name,
+            partitionId,
+            container,
+            logStream,
+            zeebeDb,
+            metrics,
+            positionsToSkipFilter,
+            clock,
+            exporterPhase,
+            failure -> actor.run(() -> handleFailure(failure)));
+    exporterActors.put(container.getId(), exporterActor);
+    return actorSchedulingService.submitActor(exporterActor, SchedulingHints.ioBound());
+  }
+
+  private void startExporterActorsTimers() {
+    exporterDistributionTimer =
+        actor.runAtFixedRate(distributionInterval, this::distributeExporterState);
+    exportedPositionTimer =
+        actor.runAtFixedRate(EXPORTED_POSITION_REPORT_INTERVAL, this::reportExportedPosition);
+  }
+
+  /**
+   * Reports the position up to which all exporter actors exported the records to the flow control,
+   * such that the write rate is still throttled by the slowest exporter.
+   */
+  private void reportExportedPosition() {
+    long exportedPosition = Long.MAX_VALUE;
+    for (final var exporterActor : exporterActors.values()) {
+      exportedPosition = Math.min(exportedPosition, exporterActor.getExportedPosition());
+    }
+    if (exportedPosition != Long.MAX_VALUE) {
+      logStream.getFlowControl().onExported(exportedPosition);
+    }
+  }
+
+  private ActorFuture<Void> forEachExporterActor(
+      final Function<ExporterActor, ActorFuture<Void>> action) {
+    final var futures = new ArrayList<ActorFuture<Void>>(exporterActors.size());
+    for (final var exporterActor : exporterActors.values()) {
+      futures.add(action.apply(exporterActor));
+    }
+
+    final var completed = new CompletableActorFuture<Void>();
+    actor.runOnCompletion(
+        futures,
+        error -> {
+          if (error != null) {
+            completed.completeExceptionally(error);
+          } else {
+            completed.complete(null);
+          }
+        });
+    return completed;
+  }
+
   private void startPassiveExportingMode() {
     // Only initialize the positions, do not open and start exporting
     for (final ExporterContainer container : containers) {
@@ -31,6 +31,7 @@ public final class ExporterDirectorContext {
   private ExporterMode exporterMode = ExporterMode.ACTIVE; // per default we export records
   private Duration distributionInterval = DEFAULT_DISTRIBUTION_INTERVAL;
   private EventFilter positionsToSkipFilter;
+  private boolean dedicatedExporterActors;
   private MeterRegistry meterRegistry;
   private InstantSource clock;
 
@@ -70,6 +71,10 @@ public final class ExporterDirectorContext {
     return positionsToSkipFilter;
   }
 
+  public boolean isDedicatedExporterActors() {
+    return dedicatedExporterActors;
+  }
+
   public MeterRegistry getMeterRegistry() {
     return meterRegistry;
   }
@@ -130,6 +135,11 @@ public final class ExporterDirectorContext {
     return this;
   }
 
+  public ExporterDirectorContext dedicatedExporterActors(final boolean dedicatedExporterActors) {
+    this.dedicatedExporterActors = dedicatedExporterActors;
+    return this;
+  }
+
   public ExporterDirectorContext clock(final InstantSource clock) {
     this.clock = clock;
     return this;
@@ -12,6 +12,7 @@ import io.atomix.raft.partition.RaftPartition;
 import io.atomix.raft.partition.RaftPartitionConfig;
 import io.atomix.raft.partition.RaftStorageConfig;
 import io.atomix.raft.storage.log.DelayedFlusher;
+import io.atomix.raft.storage.log.PipelinedFlusher;
 import io.atomix.raft.storage.log.RaftLogFlusher;
 import io.camunda.zeebe.broker.Loggers;
 import io.camunda.zeebe.broker.raft.ZeebeEntryValidator;
@@ -79,6 +80,11 @@ public final class RaftPartitionFactory {
     storageConfig.setJournalIndexDensity(brokerCfg.getData().getLogIndexDensity());
     storageConfig.setPreallocateSegmentFiles(
         brokerCfg.getExperimental().getRaft().isPreallocateSegmentFiles());
+    storageConfig.setPersistSegmentIndex(
+        brokerCfg.getExperimental().getRaft().isPersistSegmentIndex());
+    storageConfig.setSegmentPoolSize(brokerCfg.getExperimental().getRaft().getSegmentPoolSize());
+    storageConfig.setCompressSealedSegments(
+        brokerCfg.getExperimental().getRaft().isCompressSealedSegments());
 
     partitionConfig.setStorageConfig(storageConfig);
     partitionConfig.setEntryValidator(new ZeebeEntryValidator());
@@ -114,6 +120,13 @@ public final class RaftPartitionFactory {
       return createFlusherFactory(new FlushConfig(false, Duration.ZERO));
     }
 
+    // pipelining only replaces synchronous flushes; delayed flushes already trade durability away
+    if (config.enabled()
+        && config.delayTime().isZero()
+        && experimental.getRaft().isPipelinedFlush()) {
+      return threadFactory -> new PipelinedFlusher(threadFactory.createContext());
+    }
+
     return createFlusherFactory(config);
   }
 
@@ -0,0 +1,78 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.broker.system.configuration;
+
+import io.camunda.zeebe.logstreams.impl.log.AppendBatching;
+import java.time.Duration;
+import org.springframework.util.unit.DataSize;
+
+public class AppendBatchingCfg {
+  private static final boolean DEFAULT_ENABLED = false;
+  private static final int DEFAULT_MAX_RECORDS = 100;
+  private static final DataSize DEFAULT_MAX_SIZE = DataSize.ofKilobytes(64);
+  private static final Duration DEFAULT_LINGER = Duration.ofNanos(100_000);
+
+  private boolean enabled = DEFAULT_ENABLED;
+  private int maxRecords = DEFAULT_MAX_RECORDS;
+  private DataSize maxSize = DEFAULT_MAX_SIZE;
+  private Duration linger = DEFAULT_LINGER;
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(final boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public int getMaxRecords() {
+    return maxRecords;
+  }
+
+  public void setMaxRecords(final int maxRecords) {
+    this.maxRecords = maxRecords;
+  }
+
+  public DataSize getMaxSize() {
+    return maxSize;
+  }
+
+  public void setMaxSize(final DataSize maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  public Duration getLinger() {
+    return linger;
+  }
+
+  public void setLinger(final Duration linger) {
+    this.linger = linger;
+  }
+
+  public AppendBatching getSettings() {
+    if (!enabled) {
+      return AppendBatching.disabled();
+    }
+
+    return new AppendBatching(true, maxRecords, (int) maxSize.toBytes(), linger);
+  }
+
+  @Override
+  public String toString() {
+    return "AppendBatchingCfg{"
+        + "enabled="
+        + enabled
+        + ", maxRecords="
+        + maxRecords
+        + ", maxSize="
+        + maxSize
+        + ", linger="
+        + linger
+        + '}';
+  }
+}
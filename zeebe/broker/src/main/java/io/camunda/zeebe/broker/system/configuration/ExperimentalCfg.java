@@ -31,6 +31,7 @@ public class ExperimentalCfg implements ConfigurationEntry {
   private PartitioningCfg partitioning = new PartitioningCfg();
   private QueryApiCfg queryApi = new QueryApiCfg();
   private ConsistencyCheckCfg consistencyChecks = new ConsistencyCheckCfg();
+  private AppendBatchingCfg appendBatching = new AppendBatchingCfg();
   private EngineCfg engine = new EngineCfg();
 
   private FeatureFlagsCfg features = new FeatureFlagsCfg();
@@ -121,6 +122,14 @@ public class ExperimentalCfg implements ConfigurationEntry {
     this.consistencyChecks = consistencyChecks;
   }
 
+  public AppendBatchingCfg getAppendBatching() {
+    return appendBatching;
+  }
+
+  public void setAppendBatching(final AppendBatchingCfg appendBatching) {
+    this.appendBatching = appendBatching;
+  }
+
   public EngineCfg getEngine() {
     return engine;
   }
@@ -154,6 +163,8 @@ public class ExperimentalCfg implements ConfigurationEntry {
         + queryApi
         + ", consistencyChecks="
         + consistencyChecks
+        + ", appendBatching="
+        + appendBatching
         + ", engineCfg="
         + engine
         + ", features="
@@ -24,6 +24,10 @@ public final class ExperimentalRaftCfg implements ConfigurationEntry {
   private static final int DEFAULT_MIN_STEP_DOWN_FAILURE_COUNT = 3;
   private static final int DEFAULT_PREFER_SNAPSHOT_REPLICATION_THRESHOLD = 100;
   private static final boolean DEFAULT_PREALLOCATE_SEGMENT_FILES = true;
+  private static final boolean DEFAULT_PERSIST_SEGMENT_INDEX = false;
+  private static final boolean DEFAULT_PIPELINED_FLUSH = false;
+  private static final int DEFAULT_SEGMENT_POOL_SIZE = 1;
+  private static final boolean DEFAULT_COMPRESS_SEALED_SEGMENTS = false;
   private Duration requestTimeout = DEFAULT_REQUEST_TIMEOUT;
   private Duration snapshotRequestTimeout = DEFAULT_SNAPSHOT_REQUEST_TIMEOUT;
   private DataSize snapshotChunkSize = DEFAULT_SNAPSHOT_CHUNK_SIZE;
@@ -33,6 +37,10 @@ public final class ExperimentalRaftCfg implements ConfigurationEntry {
   private int preferSnapshotReplicationThreshold = DEFAULT_PREFER_SNAPSHOT_REPLICATION_THRESHOLD;
 
   private boolean preallocateSegmentFiles = DEFAULT_PREALLOCATE_SEGMENT_FILES;
+  private boolean persistSegmentIndex = DEFAULT_PERSIST_SEGMENT_INDEX;
+  private boolean pipelinedFlush = DEFAULT_PIPELINED_FLUSH;
+  private int segmentPoolSize = DEFAULT_SEGMENT_POOL_SIZE;
+  private boolean compressSealedSegments = DEFAULT_COMPRESS_SEALED_SEGMENTS;
 
   public Duration getRequestTimeout() {
     return requestTimeout;
@@ -97,4 +105,36 @@ public final class ExperimentalRaftCfg implements ConfigurationEntry {
   public void setPreallocateSegmentFiles(final boolean preallocateSegmentFiles) {
     this.preallocateSegmentFiles = preallocateSegmentFiles;
   }
+
+  public boolean isPersistSegmentIndex() {
+    return persistSegmentIndex;
+  }
+
+  public void setPersistSegmentIndex(final boolean persistSegmentIndex) {
+    this.persistSegmentIndex = persistSegmentIndex;
+  }
+
+  public boolean isPipelinedFlush() {
+    return pipelinedFlush;
+  }
+
+  public void setPipelinedFlush(final boolean pipelinedFlush) {
+    this.pipelinedFlush = pipelinedFlush;
+  }
+
+  public int getSegmentPoolSize() {
+    return segmentPoolSize;
+  }
+
+  public void setSegmentPoolSize(final int segmentPoolSize) {
+    this.segmentPoolSize = segmentPoolSize;
+  }
+
+  public boolean isCompressSealedSegments() {
+    return compressSealedSegments;
+  }
+
+  public void setCompressSealedSegments(final boolean compressSealedSegments) {
+    this.compressSealedSegments = compressSealedSegments;
+  }
 }
@@ -16,6 +16,7 @@ import java.util.Set;
  */
 public final class ExportingCfg implements ConfigurationEntry {
   private Set<Long> skipRecords;
+  private boolean dedicatedActors = false;
 
   public Set<Long> getSkipRecords() {
     return skipRecords != null ? skipRecords : Set.of();
@@ -25,9 +26,22 @@ public final class ExportingCfg implements ConfigurationEntry {
     this.skipRecords = skipRecords;
   }
 
+  /**
+   * @return true if every exporter exports the records on its own actor, such that a slow exporter
+   *     does not delay the other exporters; otherwise all exporters are driven by a single actor,
+   *     which exports every record to all of them before reading the next one
+   */
+  public boolean isDedicatedActors() {
+    return dedicatedActors;
+  }
+
+  public void setDedicatedActors(final boolean dedicatedActors) {
+    this.dedicatedActors = dedicatedActors;
+  }
+
   @Override
   public int hashCode() {
-    return Objects.hash(skipRecords);
+    return Objects.hash(skipRecords, dedicatedActors);
   }
 
   @Override
@@ -39,11 +53,17 @@ public final class ExportingCfg implements ConfigurationEntry {
       return false;
     }
     final ExportingCfg that = (ExportingCfg) o;
-    return Objects.equals(skipRecords, that.skipRecords);
+    return dedicatedActors == that.dedicatedActors
+        && Objects.equals(skipRecords, that.skipRecords);
   }
 
   @Override
   public String toString() {
-    return "ExporterCfg{" + "skipRecords='" + skipRecords + '}';
+    return "ExporterCfg{"
+        + "skipRecords='"
+        + skipRecords
+        + ", dedicatedActors="
+        + dedicatedActors
+        + '}';
   }
 }
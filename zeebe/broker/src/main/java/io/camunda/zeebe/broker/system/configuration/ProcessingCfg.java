@@ -13,7 +13,13 @@ import java.util.Set;
 public final class ProcessingCfg implements ConfigurationEntry {
 
   private static final int DEFAULT_PROCESSING_BATCH_LIMIT = 100;
+  private static final int DEFAULT_REPLAY_COMMIT_INTERVAL = 1;
+  private static final int DEFAULT_REPLAY_READ_AHEAD_BATCHES = 0;
+  private static final int DEFAULT_MAX_PIPELINED_BATCHES = 0;
   private Integer maxCommandsInBatch = DEFAULT_PROCESSING_BATCH_LIMIT;
+  private int replayCommitInterval = DEFAULT_REPLAY_COMMIT_INTERVAL;
+  private int replayReadAheadBatches = DEFAULT_REPLAY_READ_AHEAD_BATCHES;
+  private int maxPipelinedBatches = DEFAULT_MAX_PIPELINED_BATCHES;
   private boolean enableAsyncScheduledTasks = true;
   private Duration scheduledTaskCheckInterval = Duration.ofSeconds(1);
   private Set<Long> skipPositions;
@@ -24,6 +30,18 @@ public final class ProcessingCfg implements ConfigurationEntry {
       throw new IllegalArgumentException(
           "maxCommandsInBatch must be >= 1 but was %s".formatted(maxCommandsInBatch));
     }
+    if (replayCommitInterval < 1) {
+      throw new IllegalArgumentException(
+          "replayCommitInterval must be >= 1 but was %s".formatted(replayCommitInterval));
+    }
+    if (replayReadAheadBatches < 0) {
+      throw new IllegalArgumentException(
+          "replayReadAheadBatches must be >= 0 but was %s".formatted(replayReadAheadBatches));
+    }
+    if (maxPipelinedBatches < 0) {
+      throw new IllegalArgumentException(
+          "maxPipelinedBatches must be >= 0 but was %s".formatted(maxPipelinedBatches));
+    }
     if (!scheduledTaskCheckInterval.isPositive()) {
       throw new IllegalArgumentException(
           "scheduledTaskCheckInterval must be positive but was %s"
@@ -39,6 +57,30 @@ public final class ProcessingCfg implements ConfigurationEntry {
     this.maxCommandsInBatch = maxCommandsInBatch;
   }
 
+  public int getReplayCommitInterval() {
+    return replayCommitInterval;
+  }
+
+  public void setReplayCommitInterval(final int replayCommitInterval) {
+    this.replayCommitInterval = replayCommitInterval;
+  }
+
+  public int getReplayReadAheadBatches() {
+    return replayReadAheadBatches;
+  }
+
+  public void setReplayReadAheadBatches(final int replayReadAheadBatches) {
+    this.replayReadAheadBatches = replayReadAheadBatches;
+  }
+
+  public int getMaxPipelinedBatches() {
+    return maxPipelinedBatches;
+  }
+
+  public void setMaxPipelinedBatches(final int maxPipelinedBatches) {
+    this.maxPipelinedBatches = maxPipelinedBatches;
+  }
+
   public boolean isEnableAsyncScheduledTasks() {
     return enableAsyncScheduledTasks;
   }
@@ -60,6 +102,12 @@ public final class ProcessingCfg implements ConfigurationEntry {
     return "ProcessingCfg{"
         + "maxCommandsInBatch="
         + maxCommandsInBatch
+        + ", replayCommitInterval="
+        + replayCommitInterval
+        + ", replayReadAheadBatches="
+        + replayReadAheadBatches
+        + ", maxPipelinedBatches="
+        + maxPipelinedBatches
         + ", enableAsyncScheduledTasks="
         + enableAsyncScheduledTasks
         + ", scheduledTaskCheckInterval="
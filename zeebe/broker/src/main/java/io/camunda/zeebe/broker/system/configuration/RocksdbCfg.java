@@ -9,9 +9,12 @@ package io.camunda.zeebe.broker.system.configuration;
 
 import io.camunda.zeebe.db.AccessMetricsConfiguration;
 import io.camunda.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import io.camunda.zeebe.engine.state.ZbColumnFamilyGroups;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
 import java.util.regex.Pattern;
 import org.springframework.util.unit.DataSize;
 
@@ -28,6 +31,13 @@ public final class RocksdbCfg implements ConfigurationEntry {
   private int ioRateBytesPerSecond = RocksDbConfiguration.DEFAULT_IO_RATE_BYTES_PER_SECOND;
   private boolean disableWal = RocksDbConfiguration.DEFAULT_WAL_DISABLED;
   private boolean enableSstPartitioning = RocksDbConfiguration.DEFAULT_SST_PARTITIONING_ENABLED;
+  private boolean enableDeletionTriggeredCompaction =
+      RocksDbConfiguration.DEFAULT_DELETION_TRIGGERED_COMPACTION_ENABLED;
+  private DataSize stateCacheSize =
+      DataSize.ofBytes(RocksDbConfiguration.DEFAULT_STATE_CACHE_SIZE);
+  private List<String> stateCacheColumnFamilies = List.of();
+  private boolean enableColumnFamilyGroups = false;
+  private List<String> countedColumnFamilies = List.of();
 
   @Override
   public void init(final BrokerCfg globalConfig, final String brokerBase) {
@@ -121,6 +131,15 @@ public final class RocksdbCfg implements ConfigurationEntry {
     this.enableSstPartitioning = enableSstPartitioning;
   }
 
+  public boolean isEnableDeletionTriggeredCompaction() {
+    return enableDeletionTriggeredCompaction;
+  }
+
+  public void setEnableDeletionTriggeredCompaction(
+      final boolean enableDeletionTriggeredCompaction) {
+    this.enableDeletionTriggeredCompaction = enableDeletionTriggeredCompaction;
+  }
+
   public AccessMetricsConfiguration.Kind getAccessMetrics() {
     return accessMetrics;
   }
@@ -129,6 +148,38 @@ public final class RocksdbCfg implements ConfigurationEntry {
     this.accessMetrics = accessMetrics;
   }
 
+  public DataSize getStateCacheSize() {
+    return stateCacheSize;
+  }
+
+  public void setStateCacheSize(final DataSize stateCacheSize) {
+    this.stateCacheSize = stateCacheSize;
+  }
+
+  public List<String> getStateCacheColumnFamilies() {
+    return stateCacheColumnFamilies;
+  }
+
+  public void setStateCacheColumnFamilies(final List<String> stateCacheColumnFamilies) {
+    this.stateCacheColumnFamilies = stateCacheColumnFamilies;
+  }
+
+  public boolean isEnableColumnFamilyGroups() {
+    return enableColumnFamilyGroups;
+  }
+
+  public void setEnableColumnFamilyGroups(final boolean enableColumnFamilyGroups) {
+    this.enableColumnFamilyGroups = enableColumnFamilyGroups;
+  }
+
+  public List<String> getCountedColumnFamilies() {
+    return countedColumnFamilies;
+  }
+
+  public void setCountedColumnFamilies(final List<String> countedColumnFamilies) {
+    this.countedColumnFamilies = countedColumnFamilies;
+  }
+
   public RocksDbConfiguration createRocksDbConfiguration() {
     return new RocksDbConfiguration()
         .setColumnFamilyOptions(columnFamilyOptions)
@@ -139,7 +190,12 @@ public final class RocksdbCfg implements ConfigurationEntry {
         .setStatisticsEnabled(enableStatistics)
         .setIoRateBytesPerSecond(ioRateBytesPerSecond)
         .setWalDisabled(disableWal)
-        .setSstPartitioningEnabled(enableSstPartitioning);
+        .setSstPartitioningEnabled(enableSstPartitioning)
+        .setDeletionTriggeredCompactionEnabled(enableDeletionTriggeredCompaction)
+        .setStateCacheSize(stateCacheSize.toBytes())
+        .setStateCacheColumnFamilies(Set.copyOf(stateCacheColumnFamilies))
+        .setColumnFamilyGroups(enableColumnFamilyGroups ? ZbColumnFamilyGroups.GROUPS : List.of())
+        .setCountedColumnFamilies(Set.copyOf(countedColumnFamilies));
   }
 
   @Override
@@ -165,6 +221,16 @@ public final class RocksdbCfg implements ConfigurationEntry {
         + disableWal
         + ", enableSstPartitioning="
         + enableSstPartitioning
+        + ", enableDeletionTriggeredCompaction="
+        + enableDeletionTriggeredCompaction
+        + ", stateCacheSize="
+        + stateCacheSize
+        + ", stateCacheColumnFamilies="
+        + stateCacheColumnFamilies
+        + ", enableColumnFamilyGroups="
+        + enableColumnFamilyGroups
+        + ", countedColumnFamilies="
+        + countedColumnFamilies
         + '}';
   }
 
@@ -124,6 +124,9 @@ public final class ExporterDirectorPartitionTransitionStep implements PartitionT
             .descriptors(exporterDescriptors)
             .exporterMode(exporterMode)
             .positionsToSkipFilter(exporterFilter)
+            .dedicatedExporterActors(
+                context.getBrokerCfg() != null
+                    && context.getBrokerCfg().getExporting().isDedicatedActors())
             .meterRegistry(context.getPartitionMeterRegistry());
 
     final ExporterDirector director =
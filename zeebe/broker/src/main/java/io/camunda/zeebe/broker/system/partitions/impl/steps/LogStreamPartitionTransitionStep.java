@@ -84,6 +84,8 @@ public final class LogStreamPartitionTransitionStep implements PartitionTransiti
                 : context.getBrokerCfg().getBackpressure().buildLimit())
         .withWriteRateLimit(
             flowControlCfg.getWrite() != null ? flowControlCfg.getWrite().buildLimit() : null)
+        .withAppendBatching(
+            context.getBrokerCfg().getExperimental().getAppendBatching().getSettings())
         .build();
   }
 
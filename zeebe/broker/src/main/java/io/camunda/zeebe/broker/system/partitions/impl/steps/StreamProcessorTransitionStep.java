@@ -159,6 +159,10 @@ public final class StreamProcessorTransitionStep implements PartitionTransitionS
         .nodeId(context.getNodeId())
         .commandResponseWriter(context.getCommandApiService().newCommandResponseWriter())
         .maxCommandsInBatch(context.getBrokerCfg().getProcessing().getMaxCommandsInBatch())
+        .replayCommitInterval(context.getBrokerCfg().getProcessing().getReplayCommitInterval())
+        .replayReadAheadBatches(
+            context.getBrokerCfg().getProcessing().getReplayReadAheadBatches())
+        .maxPipelinedBatches(context.getBrokerCfg().getProcessing().getMaxPipelinedBatches())
         .setEnableAsyncScheduledTasks(
             context.getBrokerCfg().getProcessing().isEnableAsyncScheduledTasks())
         .setScheduledTaskCheckInterval(
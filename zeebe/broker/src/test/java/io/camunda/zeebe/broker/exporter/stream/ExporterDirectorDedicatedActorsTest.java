@@ -0,0 +1,156 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.broker.exporter.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import io.camunda.zeebe.broker.exporter.repo.ExporterDescriptor;
+import io.camunda.zeebe.broker.exporter.util.ControlledTestExporter;
+import io.camunda.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
+import io.camunda.zeebe.protocol.record.Record;
+import io.camunda.zeebe.protocol.record.intent.DeploymentIntent;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.awaitility.Awaitility;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public final class ExporterDirectorDedicatedActorsTest {
+
+  private static final String EXPORTER_ID_1 = "exporter-1";
+  private static final String EXPORTER_ID_2 = "exporter-2";
+  private static final long TIMEOUT = 2_000;
+
+  @Rule
+  public final ExporterRule rule = ExporterRule.activeExporter().withDedicatedExporterActors();
+
+  private final Map<String, ControlledTestExporter> exporters = new LinkedHashMap<>();
+  private final Map<String, ExporterDescriptor> exporterDescriptors = new LinkedHashMap<>();
+
+  @Before
+  public void init() {
+    createExporter(EXPORTER_ID_1);
+    createExporter(EXPORTER_ID_2);
+  }
+
+  private void createExporter(final String exporterId) {
+    final ControlledTestExporter exporter =
+        spy(new ControlledTestExporter().shouldAutoUpdatePosition(true));
+    final ExporterDescriptor descriptor =
+        spy(new ExporterDescriptor(exporterId, exporter.getClass(), Map.of()));
+    doAnswer(c -> exporter).when(descriptor).newInstance();
+
+    exporters.put(exporterId, exporter);
+    exporterDescriptors.put(exporterId, descriptor);
+  }
+
+  @Test
+  public void shouldExportRecordsToAllExporters() {
+    // given
+    rule.startExporterDirector(List.copyOf(exporterDescriptors.values()));
+
+    // when
+    final long firstPosition = rule.writeEvent(DeploymentIntent.CREATED, new DeploymentRecord());
+    final long lastPosition = rule.writeEvent(DeploymentIntent.CREATED, new DeploymentRecord());
+
+    // then
+    for (final var exporter : exporters.values()) {
+      Awaitility.await("exporter has exported all records")
+          .untilAsserted(
+              () ->
+                  assertThat(exporter.getExportedRecords())
+                      .extracting(Record::getPosition)
+                      .containsExactly(firstPosition, lastPosition));
+    }
+    Awaitility.await("the positions of all exporters are updated")
+        .untilAsserted(
+            () ->
+                assertThat(rule.getDirector().getLowestPosition().join())
+                    .isEqualTo(lastPosition));
+  }
+
+  @Test
+  public void shouldNotDelayOtherExportersWhenOneExporterFails() {
+    // given
+    exporters
+        .get(EXPORTER_ID_1)
+        .onExport(
+            record -> {
+              throw new RuntimeException("Export failed (expected)");
+            });
+    rule.startExporterDirector(List.copyOf(exporterDescriptors.values()));
+
+    // when
+    rule.writeEvent(DeploymentIntent.CREATED, new DeploymentRecord());
+    final long lastPosition = rule.writeEvent(DeploymentIntent.CREATED, new DeploymentRecord());
+
+    // then
+    Awaitility.await("the other exporter has exported all records")
+        .untilAsserted(
+            () -> assertThat(exporters.get(EXPORTER_ID_2).getExportedRecords()).hasSize(2));
+    final ExportersState state = rule.getExportersState();
+    Awaitility.await("the position of the other exporter is updated")
+        .untilAsserted(() -> assertThat(state.getPosition(EXPORTER_ID_2)).isEqualTo(lastPosition));
+    assertThat(exporters.get(EXPORTER_ID_1).getExportedRecords()).isEmpty();
+    assertThat(rule.getDirector().getLowestPosition().join())
+        .describedAs("The lowest position should still be the one of the failing exporter")
+        .isEqualTo(state.getPosition(EXPORTER_ID_1))
+        .isLessThan(lastPosition);
+  }
+
+  @Test
+  public void shouldPauseAndResumeAllExporters() {
+    // given
+    rule.startExporterDirector(List.copyOf(exporterDescriptors.values()));
+    rule.getDirector().pauseExporting().join();
+
+    // when
+    rule.writeEvent(DeploymentIntent.CREATED, new DeploymentRecord());
+
+    // then
+    for (final var exporter : exporters.values()) {
+      verify(exporter, after(TIMEOUT).times(0)).export(any());
+    }
+
+    // when
+    rule.getDirector().resumeExporting().join();
+
+    // then
+    for (final var exporter : exporters.values()) {
+      verify(exporter, timeout(TIMEOUT).times(1)).export(any());
+    }
+  }
+
+  @Test
+  public void shouldRemoveStateOfDisabledExporter() {
+    // given
+    rule.startExporterDirector(List.copyOf(exporterDescriptors.values()));
+
+    // when
+    rule.getDirector().disableExporter(EXPORTER_ID_1).join();
+    final long lastPosition = rule.writeEvent(DeploymentIntent.CREATED, new DeploymentRecord());
+
+    // then
+    Awaitility.await("the remaining exporter has exported the record")
+        .untilAsserted(
+            () ->
+                assertThat(rule.getDirector().getLowestPosition().join())
+                    .isEqualTo(lastPosition));
+    assertThat(exporters.get(EXPORTER_ID_1).getExportedRecords()).isEmpty();
+    assertThat(rule.getExportersState().getPosition(EXPORTER_ID_1))
+        .isEqualTo(ExportersState.VALUE_NOT_FOUND);
+  }
+}
@@ -61,6 +61,7 @@ public final class ExporterRule implements TestRule {
   private ExporterDirector director;
   private Duration distributionInterval = Duration.ofSeconds(15);
   private EventFilter positionsToSkipFilter = SkipPositionsFilter.of(Set.of());
+  private boolean dedicatedExporterActors;
 
   private ExporterRule(final ExporterMode exporterMode) {
     this.exporterMode = exporterMode;
@@ -95,6 +96,11 @@ public final class ExporterRule implements TestRule {
     return this;
   }
 
+  public ExporterRule withDedicatedExporterActors() {
+    dedicatedExporterActors = true;
+    return this;
+  }
+
   @Override
   public Statement apply(final Statement base, final Description description) {
     return chain.apply(base, description);
@@ -128,7 +134,8 @@ public final class ExporterRule implements TestRule {
             .distributionInterval(distributionInterval)
             .partitionMessagingService(partitionMessagingService)
             .descriptors(descriptorsWithInitializationInfo)
-            .positionsToSkipFilter(positionsToSkipFilter);
+            .positionsToSkipFilter(positionsToSkipFilter)
+            .dedicatedExporterActors(dedicatedExporterActors);
 
     director = new ExporterDirector(context, phase);
     director.startAsync(actorSchedulerRule.get()).join();
@@ -222,6 +222,21 @@ public final class RaftPartitionFactoryTest {
         .isEqualTo(value);
   }
 
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  void shouldSetPersistSegmentIndex(final boolean value) {
+    // given
+    final var brokerCfg = new BrokerCfg();
+    brokerCfg.getExperimental().getRaft().setPersistSegmentIndex(value);
+
+    // when
+    final var partition = buildRaftPartition(brokerCfg);
+
+    // then
+    assertThat(partition.getPartitionConfig().getStorageConfig().isPersistSegmentIndex())
+        .isEqualTo(value);
+  }
+
   private RaftPartition buildRaftPartition(final BrokerCfg brokerCfg) {
     return new RaftPartitionFactory(brokerCfg)
         .createRaftPartition(
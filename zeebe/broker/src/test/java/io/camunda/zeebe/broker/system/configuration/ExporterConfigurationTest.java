@@ -62,4 +62,31 @@ class ExporterConfigurationTest {
     // then
     assertThat(exportingCfg.getSkipRecords()).isEqualTo(Set.of(1L, 2L, 3L));
   }
+
+  @Test
+  void shouldNotUseDedicatedActorsByDefault() {
+    // given
+    final var environment = new HashMap<String, String>();
+
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("exporters", environment);
+    final ExportingCfg exportingCfg = cfg.getExporting();
+
+    // then
+    assertThat(exportingCfg.isDedicatedActors()).isFalse();
+  }
+
+  @Test
+  void shouldSetDedicatedActorsFromEnvironment() {
+    // given
+    final var environment = new HashMap<String, String>();
+    environment.put("zeebe.broker.exporting.dedicatedActors", "true");
+
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("exporters", environment);
+    final ExportingCfg exportingCfg = cfg.getExporting();
+
+    // then
+    assertThat(exportingCfg.isDedicatedActors()).isTrue();
+  }
 }
@@ -80,6 +80,159 @@ final class ProcessingCfgTest {
         .hasMessageContaining("maxCommandsInBatch must be >= 1");
   }
 
+  @Test
+  void shouldUseDefaultReplayCommitInterval() {
+    // given
+    final var cfg = new ProcessingCfg();
+
+    // when
+    final int interval = cfg.getReplayCommitInterval();
+
+    // then
+    assertThat(interval).isOne();
+  }
+
+  @Test
+  void shouldSetReplayCommitIntervalFromConfig() {
+    // given
+    final var cfg =
+        TestConfigReader.readConfig("processing-cfg", Collections.emptyMap()).getProcessing();
+
+    // when
+    final int interval = cfg.getReplayCommitInterval();
+
+    // then
+    assertThat(interval).isEqualTo(500);
+  }
+
+  @Test
+  void shouldSetReplayCommitIntervalFromEnvironment() {
+    // given
+    final var environment =
+        Collections.singletonMap("zeebe.broker.processing.replayCommitInterval", "2000");
+    final var cfg = TestConfigReader.readConfig("processing-cfg", environment).getProcessing();
+
+    // when
+    final int interval = cfg.getReplayCommitInterval();
+
+    // then
+    assertThat(interval).isEqualTo(2000);
+  }
+
+  @Test
+  void shouldRejectInvalidReplayCommitInterval() {
+    // given
+    final var environment =
+        Collections.singletonMap("zeebe.broker.processing.replayCommitInterval", "0");
+
+    // then
+    assertThatThrownBy(() -> TestConfigReader.readConfig("processing-cfg", environment))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("replayCommitInterval must be >= 1");
+  }
+
+  @Test
+  void shouldNotReadAheadOnReplayByDefault() {
+    // given
+    final var cfg = new ProcessingCfg();
+
+    // when
+    final int batches = cfg.getReplayReadAheadBatches();
+
+    // then
+    assertThat(batches).isZero();
+  }
+
+  @Test
+  void shouldSetReplayReadAheadBatchesFromConfig() {
+    // given
+    final var cfg =
+        TestConfigReader.readConfig("processing-cfg", Collections.emptyMap()).getProcessing();
+
+    // when
+    final int batches = cfg.getReplayReadAheadBatches();
+
+    // then
+    assertThat(batches).isEqualTo(8);
+  }
+
+  @Test
+  void shouldSetReplayReadAheadBatchesFromEnvironment() {
+    // given
+    final var environment =
+        Collections.singletonMap("zeebe.broker.processing.replayReadAheadBatches", "2");
+    final var cfg = TestConfigReader.readConfig("processing-cfg", environment).getProcessing();
+
+    // when
+    final int batches = cfg.getReplayReadAheadBatches();
+
+    // then
+    assertThat(batches).isEqualTo(2);
+  }
+
+  @Test
+  void shouldRejectNegativeReplayReadAheadBatches() {
+    // given
+    final var environment =
+        Collections.singletonMap("zeebe.broker.processing.replayReadAheadBatches", "-1");
+
+    // then
+    assertThatThrownBy(() -> TestConfigReader.readConfig("processing-cfg", environment))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("replayReadAheadBatches must be >= 0");
+  }
+
+  @Test
+  void shouldNotPipelineBatchesByDefault() {
+    // given
+    final var cfg = new ProcessingCfg();
+
+    // when
+    final int batches = cfg.getMaxPipelinedBatches();
+
+    // then
+    assertThat(batches).isZero();
+  }
+
+  @Test
+  void shouldSetMaxPipelinedBatchesFromConfig() {
+    // given
+    final var cfg =
+        TestConfigReader.readConfig("processing-cfg", Collections.emptyMap()).getProcessing();
+
+    // when
+    final int batches = cfg.getMaxPipelinedBatches();
+
+    // then
+    assertThat(batches).isEqualTo(4);
+  }
+
+  @Test
+  void shouldSetMaxPipelinedBatchesFromEnvironment() {
+    // given
+    final var environment =
+        Collections.singletonMap("zeebe.broker.processing.maxPipelinedBatches", "2");
+    final var cfg = TestConfigReader.readConfig("processing-cfg", environment).getProcessing();
+
+    // when
+    final int batches = cfg.getMaxPipelinedBatches();
+
+    // then
+    assertThat(batches).isEqualTo(2);
+  }
+
+  @Test
+  void shouldRejectNegativeMaxPipelinedBatches() {
+    // given
+    final var environment =
+        Collections.singletonMap("zeebe.broker.processing.maxPipelinedBatches", "-1");
+
+    // then
+    assertThatThrownBy(() -> TestConfigReader.readConfig("processing-cfg", environment))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("maxPipelinedBatches must be >= 0");
+  }
+
   @Test
   void shouldEnableAsyncScheduledTasksByDefault() {
     // given
@@ -9,6 +9,7 @@ package io.camunda.zeebe.broker.system.configuration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.camunda.zeebe.engine.state.ZbColumnFamilyGroups;
 import java.util.HashMap;
 import java.util.Map;
 import org.junit.Test;
@@ -77,6 +78,11 @@ public final class RocksdbCfgTest {
     assertThat(rocksDbConfiguration.getMinWriteBufferNumberToMerge()).isEqualTo(3);
     assertThat(rocksDbConfiguration.getIoRateBytesPerSecond()).isZero();
     assertThat(rocksDbConfiguration.isWalDisabled()).isTrue();
+    assertThat(rocksDbConfiguration.getStateCacheSize()).isZero();
+    assertThat(rocksDbConfiguration.getStateCacheColumnFamilies()).isEmpty();
+    assertThat(rocksDbConfiguration.getColumnFamilyGroups()).isEmpty();
+    assertThat(rocksDbConfiguration.getCountedColumnFamilies()).isEmpty();
+    assertThat(rocksDbConfiguration.isDeletionTriggeredCompactionEnabled()).isFalse();
   }
 
   @Test
@@ -285,4 +291,108 @@ public final class RocksdbCfgTest {
     // then
     assertThat(rocksdb.isDisableWal()).isTrue();
   }
+
+  @Test
+  public void shouldSetStateCacheViaConfig() {
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("rocksdb-cfg", environment);
+    final var rocksdb = cfg.getExperimental().getRocksdb();
+
+    // then
+    assertThat(rocksdb.getStateCacheSize()).isEqualTo(DataSize.ofMegabytes(16));
+    assertThat(rocksdb.getStateCacheColumnFamilies())
+        .containsExactly("JOBS", "ELEMENT_INSTANCE_KEY");
+    assertThat(rocksdb.createRocksDbConfiguration().getStateCacheColumnFamilies())
+        .containsExactlyInAnyOrder("JOBS", "ELEMENT_INSTANCE_KEY");
+  }
+
+  @Test
+  public void shouldSetStateCacheViaEnvironmentVariables() {
+    // given
+    environment.put("zeebe.broker.experimental.rocksdb.stateCacheSize", "8MB");
+    environment.put("zeebe.broker.experimental.rocksdb.stateCacheColumnFamilies", "VARIABLES");
+
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("empty", environment);
+    final var rocksdb = cfg.getExperimental().getRocksdb();
+
+    // then
+    assertThat(rocksdb.getStateCacheSize()).isEqualTo(DataSize.ofMegabytes(8));
+    assertThat(rocksdb.getStateCacheColumnFamilies()).containsExactly("VARIABLES");
+  }
+
+  @Test
+  public void shouldEnableColumnFamilyGroupsViaConfig() {
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("rocksdb-cfg", environment);
+    final var rocksdb = cfg.getExperimental().getRocksdb();
+
+    // then
+    assertThat(rocksdb.isEnableColumnFamilyGroups()).isTrue();
+    assertThat(rocksdb.createRocksDbConfiguration().getColumnFamilyGroups())
+        .isEqualTo(ZbColumnFamilyGroups.GROUPS);
+  }
+
+  @Test
+  public void shouldEnableColumnFamilyGroupsViaEnvironmentVariables() {
+    // given
+    environment.put("zeebe.broker.experimental.rocksdb.enableColumnFamilyGroups", "true");
+
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("empty", environment);
+    final var rocksdb = cfg.getExperimental().getRocksdb();
+
+    // then
+    assertThat(rocksdb.isEnableColumnFamilyGroups()).isTrue();
+  }
+
+  @Test
+  public void shouldSetCountedColumnFamiliesViaConfig() {
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("rocksdb-cfg", environment);
+    final var rocksdb = cfg.getExperimental().getRocksdb();
+
+    // then
+    assertThat(rocksdb.getCountedColumnFamilies()).containsExactly("JOB_ACTIVATABLE");
+    assertThat(rocksdb.createRocksDbConfiguration().getCountedColumnFamilies())
+        .containsExactly("JOB_ACTIVATABLE");
+  }
+
+  @Test
+  public void shouldSetCountedColumnFamiliesViaEnvironmentVariables() {
+    // given
+    environment.put("zeebe.broker.experimental.rocksdb.countedColumnFamilies", "JOBS,VARIABLES");
+
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("empty", environment);
+    final var rocksdb = cfg.getExperimental().getRocksdb();
+
+    // then
+    assertThat(rocksdb.getCountedColumnFamilies()).containsExactly("JOBS", "VARIABLES");
+  }
+
+  @Test
+  public void shouldEnableDeletionTriggeredCompactionViaConfig() {
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("rocksdb-cfg", environment);
+    final var rocksdb = cfg.getExperimental().getRocksdb();
+
+    // then
+    assertThat(rocksdb.isEnableDeletionTriggeredCompaction()).isTrue();
+    assertThat(rocksdb.createRocksDbConfiguration().isDeletionTriggeredCompactionEnabled())
+        .isTrue();
+  }
+
+  @Test
+  public void shouldEnableDeletionTriggeredCompactionViaEnvironmentVariables() {
+    // given
+    environment.put("zeebe.broker.experimental.rocksdb.enableDeletionTriggeredCompaction", "true");
+
+    // when
+    final BrokerCfg cfg = TestConfigReader.readConfig("empty", environment);
+    final var rocksdb = cfg.getExperimental().getRocksdb();
+
+    // then
+    assertThat(rocksdb.isEnableDeletionTriggeredCompaction()).isTrue();
+  }
 }
@@ -15,6 +15,7 @@ import io.camunda.zeebe.engine.EngineConfiguration;
 import io.camunda.zeebe.engine.state.authorization.DbAuthorizationState;
 import io.camunda.zeebe.engine.state.clock.DbClockState;
 import io.camunda.zeebe.engine.state.compensation.DbCompensationSubscriptionState;
+import io.camunda.zeebe.engine.state.deadline.TransientDeadlines;
 import io.camunda.zeebe.engine.state.deployment.DbDecisionState;
 import io.camunda.zeebe.engine.state.deployment.DbDeploymentState;
 import io.camunda.zeebe.engine.state.deployment.DbFormState;
@@ -114,6 +115,7 @@ public class ProcessingDbState implements MutableProcessingState {
       final KeyGenerator keyGenerator,
       final TransientPendingSubscriptionState transientMessageSubscriptionState,
       final TransientPendingSubscriptionState transientProcessMessageSubscriptionState,
+      final TransientDeadlines transientDeadlines,
       final EngineConfiguration config,
       final InstantSource clock) {
     this.partitionId = partitionId;
@@ -122,13 +124,17 @@ public class ProcessingDbState implements MutableProcessingState {
 
     variableState = new DbVariableState(zeebeDb, transactionContext);
     processState = new DbProcessState(zeebeDb, transactionContext, config, clock);
-    timerInstanceState = new DbTimerInstanceState(zeebeDb, transactionContext);
+    timerInstanceState =
+        new DbTimerInstanceState(
+            zeebeDb, transactionContext, transientDeadlines.getTimerDueDates());
     elementInstanceState = new DbElementInstanceState(zeebeDb, transactionContext, variableState);
     eventScopeInstanceState = new DbEventScopeInstanceState(zeebeDb, transactionContext);
 
     deploymentState = new DbDeploymentState(zeebeDb, transactionContext);
-    jobState = new DbJobState(zeebeDb, transactionContext);
-    messageState = new DbMessageState(zeebeDb, transactionContext, partitionId);
+    jobState = new DbJobState(zeebeDb, transactionContext, transientDeadlines.getJobDeadlines());
+    messageState =
+        new DbMessageState(
+            zeebeDb, transactionContext, partitionId, transientDeadlines.getMessageDeadlines());
     messageSubscriptionState =
         new DbMessageSubscriptionState(
             zeebeDb, transactionContext, transientMessageSubscriptionState, clock);
@@ -160,6 +166,8 @@ public class ProcessingDbState implements MutableProcessingState {
     processMessageSubscriptionState.onRecovered(context);
     bannedInstanceState.onRecovered(context);
     messageState.onRecovered(context);
+    timerInstanceState.onRecovered(context);
+    jobState.onRecovered(context);
   }
 
   @Override
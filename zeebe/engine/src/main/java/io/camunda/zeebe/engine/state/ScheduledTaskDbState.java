@@ -9,6 +9,7 @@ package io.camunda.zeebe.engine.state;
 
 import io.camunda.zeebe.db.TransactionContext;
 import io.camunda.zeebe.db.ZeebeDb;
+import io.camunda.zeebe.engine.state.deadline.TransientDeadlines;
 import io.camunda.zeebe.engine.state.deployment.DbDeploymentState;
 import io.camunda.zeebe.engine.state.distribution.DbDistributionState;
 import io.camunda.zeebe.engine.state.immutable.DeploymentState;
@@ -48,11 +49,16 @@ public final class ScheduledTaskDbState implements ScheduledTaskState {
       final int partitionId,
       final TransientPendingSubscriptionState transientMessageSubscriptionState,
       final TransientPendingSubscriptionState transientProcessMessageSubscriptionState,
+      final TransientDeadlines transientDeadlines,
       final InstantSource clock) {
     distributionState = new DbDistributionState(zeebeDb, transactionContext);
-    messageState = new DbMessageState(zeebeDb, transactionContext, partitionId);
-    timerInstanceState = new DbTimerInstanceState(zeebeDb, transactionContext);
-    jobState = new DbJobState(zeebeDb, transactionContext);
+    messageState =
+        new DbMessageState(
+            zeebeDb, transactionContext, partitionId, transientDeadlines.getMessageDeadlines());
+    timerInstanceState =
+        new DbTimerInstanceState(
+            zeebeDb, transactionContext, transientDeadlines.getTimerDueDates());
+    jobState = new DbJobState(zeebeDb, transactionContext, transientDeadlines.getJobDeadlines());
     deploymentState = new DbDeploymentState(zeebeDb, transactionContext);
     pendingMessageSubscriptionState =
         new DbMessageSubscriptionState(
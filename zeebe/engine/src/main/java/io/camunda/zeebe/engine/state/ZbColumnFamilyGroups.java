@@ -0,0 +1,80 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.engine.state;
+
+import static io.camunda.zeebe.db.impl.rocksdb.ColumnFamilyGroup.AccessPattern.POINT_LOOKUP;
+import static io.camunda.zeebe.db.impl.rocksdb.ColumnFamilyGroup.AccessPattern.SCAN;
+
+import io.camunda.zeebe.db.impl.rocksdb.ColumnFamilyGroup;
+import io.camunda.zeebe.protocol.ZbColumnFamilies;
+import java.util.List;
+
+/**
+ * Groups the hottest {@link ZbColumnFamilies} into their own physical RocksDB column families, such
+ * that their memtables, flushes and compactions are independent of the rest of the state, and
+ * their options fit how the engine accesses them. All other column families remain in the default
+ * column family.
+ */
+public final class ZbColumnFamilyGroups {
+
+  /** The column family prefix followed by a long key, e.g. a scope or parent key. */
+  private static final int SCOPED_PREFIX_LENGTH = 2 * Long.BYTES;
+
+  public static final List<ColumnFamilyGroup> GROUPS =
+      List.of(
+          ColumnFamilyGroup.of(
+              "jobs",
+              POINT_LOOKUP,
+              ZbColumnFamilies.JOBS,
+              ZbColumnFamilies.JOB_STATES,
+              ZbColumnFamilies.JOB_ACTIVATABLE),
+          // variables are collected per scope, i.e. by the column family and the scope key
+          ColumnFamilyGroup.of(
+                  "variables",
+                  POINT_LOOKUP,
+                  ZbColumnFamilies.VARIABLES,
+                  ZbColumnFamilies.TEMPORARY_VARIABLE_STORE)
+              .withPrefixLength(SCOPED_PREFIX_LENGTH),
+          ColumnFamilyGroup.of(
+              "messages",
+              POINT_LOOKUP,
+              ZbColumnFamilies.MESSAGE_KEY,
+              ZbColumnFamilies.MESSAGES,
+              ZbColumnFamilies.MESSAGE_IDS,
+              ZbColumnFamilies.MESSAGE_CORRELATED,
+              ZbColumnFamilies.MESSAGE_PROCESSES_ACTIVE_BY_CORRELATION_KEY,
+              ZbColumnFamilies.MESSAGE_PROCESS_INSTANCE_CORRELATION_KEYS,
+              ZbColumnFamilies.MESSAGE_SUBSCRIPTION_BY_KEY,
+              ZbColumnFamilies.MESSAGE_SUBSCRIPTION_BY_NAME_AND_CORRELATION_KEY,
+              ZbColumnFamilies.MESSAGE_STATS,
+              ZbColumnFamilies.MESSAGE_CORRELATION),
+          // children, taken sequence flows and event triggers are iterated per parent key
+          ColumnFamilyGroup.of(
+                  "element-instances",
+                  POINT_LOOKUP,
+                  ZbColumnFamilies.ELEMENT_INSTANCE_PARENT_CHILD,
+                  ZbColumnFamilies.ELEMENT_INSTANCE_KEY,
+                  ZbColumnFamilies.NUMBER_OF_TAKEN_SEQUENCE_FLOWS,
+                  ZbColumnFamilies.ELEMENT_INSTANCE_CHILD_PARENT,
+                  ZbColumnFamilies.EVENT_SCOPE,
+                  ZbColumnFamilies.EVENT_TRIGGER,
+                  ZbColumnFamilies.PROCESS_INSTANCE_KEY_BY_DEFINITION_KEY)
+              .withPrefixLength(SCOPED_PREFIX_LENGTH),
+          // all of these are scanned in order of their due date to find what is due
+          ColumnFamilyGroup.of(
+              "deadlines",
+              SCAN,
+              ZbColumnFamilies.TIMER_DUE_DATES,
+              ZbColumnFamilies.JOB_DEADLINES,
+              ZbColumnFamilies.JOB_BACKOFF,
+              ZbColumnFamilies.MESSAGE_DEADLINES,
+              ZbColumnFamilies.MESSAGE_SUBSCRIPTION_BY_SENT_TIME,
+              ZbColumnFamilies.PROCESS_SUBSCRIPTION_BY_SENT_TIME));
+
+  private ZbColumnFamilyGroups() {}
+}
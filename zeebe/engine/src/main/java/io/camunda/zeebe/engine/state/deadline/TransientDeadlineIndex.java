@@ -0,0 +1,213 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.engine.state.deadline;
+
+import io.camunda.zeebe.db.TransactionContext;
+import io.camunda.zeebe.db.TransactionListener;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * An in-memory copy of a column family of deadlines, e.g. the due dates of the timers, ordered by
+ * deadline. Scheduled tasks use it to find the entries which are due without iterating over the
+ * column family, which gets expensive when it contains many entries, or many deleted ones which
+ * were not compacted yet. <br>
+ * The index is built from the column family by {@link #recover(Consumer)}, once the state is
+ * recovered, and is kept up to date by a {@link Writer} afterwards. Until it is recovered, it is
+ * inactive: writes are ignored and the column family has to be read instead. <br>
+ * This class is thread safe. Its intended use is that one thread is writing the entries, as part
+ * of its transactions, while another thread is visiting them. The writes of a transaction are only
+ * visible once it is committed, but a visitor may still see entries which were removed from the
+ * column family in the meantime, so it must check that the entries still exist.
+ */
+public final class TransientDeadlineIndex {
+
+  // Reconsider thread-safety implications when changing the set implementation.
+  private final NavigableSet<Deadline> deadlines = new ConcurrentSkipListSet<>();
+  private volatile boolean active;
+
+  /**
+   * @return true if the index was recovered and can be visited instead of the column family
+   */
+  public boolean isActive() {
+    return active;
+  }
+
+  /**
+   * Replaces the entries of the index with the ones passed to the given reader, which reads them
+   * from the column family, and activates the index.
+   *
+   * @param reader reads all entries of the column family and passes them to the given consumer
+   */
+  public void recover(final Consumer<DeadlineConsumer> reader) {
+    active = false;
+    deadlines.clear();
+    reader.accept(
+        (deadline, key, scopeKey) -> deadlines.add(new Deadline(deadline, key, scopeKey)));
+    active = true;
+  }
+
+  /**
+   * Visits the entries ordered by deadline, until the visitor returns false.
+   *
+   * @param startAt the entry to start the visiting at, inclusive; visiting starts at the first
+   *     entry when startAt is {@code null}
+   * @param visitor is called for each entry; returns {@code true} to continue the visiting
+   */
+  public void visit(final Deadline startAt, final Predicate<Deadline> visitor) {
+    final var entries = startAt == null ? deadlines : deadlines.tailSet(startAt, true);
+    for (final Deadline entry : entries) {
+      if (!visitor.test(entry)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * @return the number of entries in the index
+   */
+  public int size() {
+    return deadlines.size();
+  }
+
+  /**
+   * Creates a writer which applies its changes to this index when the transactions of the given
+   * context are committed.
+   *
+   * @param transactionContext the context of the transactions which write the column family
+   * @return the new writer
+   */
+  public Writer newWriter(final TransactionContext transactionContext) {
+    final var writer = new Writer();
+    transactionContext.addTransactionListener(writer);
+    return writer;
+  }
+
+  /**
+   * An entry of the index.
+   *
+   * @param deadline the deadline of the entry
+   * @param key the key of the entity with the deadline, e.g. the job key
+   * @param scopeKey an additional key which is required to look the entity up, e.g. the element
+   *     instance key of a timer, or 0 if there is none
+   */
+  public record Deadline(long deadline, long key, long scopeKey) implements Comparable<Deadline> {
+
+    @Override
+    public int compareTo(final Deadline other) {
+      int result = Long.compare(deadline, other.deadline);
+      if (result == 0) {
+        result = Long.compare(key, other.key);
+      }
+      if (result == 0) {
+        result = Long.compare(scopeKey, other.scopeKey);
+      }
+      return result;
+    }
+  }
+
+  @FunctionalInterface
+  public interface DeadlineConsumer {
+    void accept(long deadline, long key, long scopeKey);
+  }
+
+  /**
+   * Collects the changes to the index which are made in a transaction, and applies them once the
+   * transaction is committed. The changes must be made before the column family is written, such
+   * that they are also applied by the transactions which the column family commits implicitly.
+   * Changes are ignored as long as the index is inactive. Rolling the transaction back to its
+   * latest save point discards the changes made since the save point was set.
+   */
+  public final class Writer implements TransactionListener {
+
+    // the last change per entry: true if it was added, false if it was removed
+    private final Map<Deadline, Boolean> pendingChanges = new HashMap<>();
+    // per save point, the latest one first: the last change per entry before the save point was
+    // set, or null if there was none
+    private final Deque<Map<Deadline, Boolean>> pendingChangesBeforeSavePoints = new ArrayDeque<>();
+
+    private Writer() {}
+
+    public void add(final long deadline, final long key, final long scopeKey) {
+      if (active) {
+        putPendingChange(new Deadline(deadline, key, scopeKey), Boolean.TRUE);
+      }
+    }
+
+    public void remove(final long deadline, final long key, final long scopeKey) {
+      if (active) {
+        putPendingChange(new Deadline(deadline, key, scopeKey), Boolean.FALSE);
+      }
+    }
+
+    @Override
+    public void onCommit() {
+      clearSavePoint();
+      if (pendingChanges.isEmpty()) {
+        return;
+      }
+
+      pendingChanges.forEach(
+          (deadline, added) -> {
+            if (added) {
+              deadlines.add(deadline);
+            } else {
+              deadlines.remove(deadline);
+            }
+          });
+      pendingChanges.clear();
+    }
+
+    @Override
+    public void onRollback() {
+      clearSavePoint();
+      pendingChanges.clear();
+    }
+
+    @Override
+    public void onSavePoint() {
+      pendingChangesBeforeSavePoints.push(new HashMap<>());
+    }
+
+    @Override
+    public void onRollbackToSavePoint() {
+      final var pendingChangesBeforeSavePoint = pendingChangesBeforeSavePoints.poll();
+      if (pendingChangesBeforeSavePoint == null) {
+        return;
+      }
+
+      pendingChangesBeforeSavePoint.forEach(
+          (deadline, added) -> {
+            if (added == null) {
+              pendingChanges.remove(deadline);
+            } else {
+              pendingChanges.put(deadline, added);
+            }
+          });
+    }
+
+    private void putPendingChange(final Deadline deadline, final Boolean added) {
+      final var pendingChangesBeforeSavePoint = pendingChangesBeforeSavePoints.peek();
+      if (pendingChangesBeforeSavePoint != null
+          && !pendingChangesBeforeSavePoint.containsKey(deadline)) {
+        pendingChangesBeforeSavePoint.put(deadline, pendingChanges.get(deadline));
+      }
+      pendingChanges.put(deadline, added);
+    }
+
+    private void clearSavePoint() {
+      pendingChangesBeforeSavePoints.clear();
+    }
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.engine.state.deadline;
+
+/**
+ * The {@link TransientDeadlineIndex indices} of the deadlines which are checked by scheduled tasks.
+ * They are shared between the processing state, which writes them, and the state of the scheduled
+ * tasks, which visits them.
+ */
+public final class TransientDeadlines {
+
+  private final TransientDeadlineIndex timerDueDates = new TransientDeadlineIndex();
+  private final TransientDeadlineIndex jobDeadlines = new TransientDeadlineIndex();
+  private final TransientDeadlineIndex messageDeadlines = new TransientDeadlineIndex();
+
+  /**
+   * @return the index of the due dates of the timers; the scope key is the element instance key
+   */
+  public TransientDeadlineIndex getTimerDueDates() {
+    return timerDueDates;
+  }
+
+  /**
+   * @return the index of the deadlines of the activated jobs
+   */
+  public TransientDeadlineIndex getJobDeadlines() {
+    return jobDeadlines;
+  }
+
+  /**
+   * @return the index of the deadlines of the buffered messages
+   */
+  public TransientDeadlineIndex getMessageDeadlines() {
+    return messageDeadlines;
+  }
+}
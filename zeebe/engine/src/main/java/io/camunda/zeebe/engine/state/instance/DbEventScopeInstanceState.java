@@ -15,7 +15,6 @@ import io.camunda.zeebe.db.impl.DbLong;
 import io.camunda.zeebe.engine.state.mutable.MutableEventScopeInstanceState;
 import io.camunda.zeebe.protocol.ZbColumnFamilies;
 import java.util.Collection;
-import java.util.function.BiConsumer;
 import org.agrona.DirectBuffer;
 
 public final class DbEventScopeInstanceState implements MutableEventScopeInstanceState {
@@ -71,11 +70,7 @@ public final class DbEventScopeInstanceState implements MutableEventScopeInstanc
   @Override
   public void deleteInstance(final long eventScopeKey) {
     eventTriggerScopeKey.wrapLong(eventScopeKey);
-
-    eventTriggerColumnFamily.whileEqualPrefix(
-        eventTriggerScopeKey,
-        (BiConsumer<DbCompositeKey<DbLong, DbLong>, EventTrigger>)
-            (key, value) -> deleteTrigger(key));
+    eventTriggerColumnFamily.deletePrefix(eventTriggerScopeKey);
 
     this.eventScopeKey.wrapLong(eventScopeKey);
     eventScopeInstanceColumnFamily.deleteIfExists(this.eventScopeKey);
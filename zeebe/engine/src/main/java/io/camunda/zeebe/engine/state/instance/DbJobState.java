@@ -19,10 +19,13 @@ import io.camunda.zeebe.db.impl.DbString;
 import io.camunda.zeebe.db.impl.DbTenantAwareKey;
 import io.camunda.zeebe.db.impl.DbTenantAwareKey.PlacementType;
 import io.camunda.zeebe.engine.Loggers;
+import io.camunda.zeebe.engine.state.deadline.TransientDeadlineIndex;
+import io.camunda.zeebe.engine.state.deadline.TransientDeadlineIndex.Deadline;
 import io.camunda.zeebe.engine.state.immutable.JobState;
 import io.camunda.zeebe.engine.state.mutable.MutableJobState;
 import io.camunda.zeebe.protocol.ZbColumnFamilies;
 import io.camunda.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.camunda.zeebe.stream.api.ReadonlyStreamProcessorContext;
 import io.camunda.zeebe.util.EnsureUtil;
 import java.util.List;
 import java.util.Map;
@@ -66,6 +69,8 @@ public final class DbJobState implements JobState, MutableJobState {
   private final DbCompositeKey<DbLong, DbForeignKey<DbLong>> deadlineJobKey;
   private final ColumnFamily<DbCompositeKey<DbLong, DbForeignKey<DbLong>>, DbNil>
       deadlinesColumnFamily;
+  private final TransientDeadlineIndex deadlineIndex;
+  private final TransientDeadlineIndex.Writer deadlineIndexWriter;
 
   private final DbLong backoffKey;
   private final DbCompositeKey<DbLong, DbForeignKey<DbLong>> backoffJobKey;
@@ -75,6 +80,13 @@ public final class DbJobState implements JobState, MutableJobState {
 
   public DbJobState(
       final ZeebeDb<ZbColumnFamilies> zeebeDb, final TransactionContext transactionContext) {
+    this(zeebeDb, transactionContext, new TransientDeadlineIndex());
+  }
+
+  public DbJobState(
+      final ZeebeDb<ZbColumnFamilies> zeebeDb,
+      final TransactionContext transactionContext,
+      final TransientDeadlineIndex deadlineIndex) {
 
     jobKey = new DbLong();
     fkJob = new DbForeignKey<>(jobKey, ZbColumnFamilies.JOBS);
@@ -102,6 +114,8 @@ public final class DbJobState implements JobState, MutableJobState {
     deadlinesColumnFamily =
         zeebeDb.createColumnFamily(
             ZbColumnFamilies.JOB_DEADLINES, transactionContext, deadlineJobKey, DbNil.INSTANCE);
+    this.deadlineIndex = deadlineIndex;
+    deadlineIndexWriter = deadlineIndex.newWriter(transactionContext);
 
     backoffKey = new DbLong();
     backoffJobKey = new DbCompositeKey<>(backoffKey, fkJob);
@@ -110,6 +124,15 @@ public final class DbJobState implements JobState, MutableJobState {
             ZbColumnFamilies.JOB_BACKOFF, transactionContext, backoffJobKey, DbNil.INSTANCE);
   }
 
+  @Override
+  public void onRecovered(final ReadonlyStreamProcessorContext context) {
+    deadlineIndex.recover(
+        index ->
+            deadlinesColumnFamily.forEach(
+                (key, nil) ->
+                    index.accept(key.first().getValue(), key.second().inner().getValue(), 0)));
+  }
+
   @Override
   public void create(final long key, final JobRecord record) {
     final DirectBuffer type = record.getTypeBuffer();
@@ -233,6 +256,7 @@ public final class DbJobState implements JobState, MutableJobState {
           final var deadline = key.first().getValue();
           final var job = jobsColumnFamily.get(jobKey);
           if (job == null || job.getRecord().getDeadline() != deadline) {
+            deadlineIndexWriter.remove(deadline, jobKey.getValue(), 0);
             deadlinesColumnFamily.deleteExisting(key);
           }
           return true;
@@ -262,6 +286,7 @@ public final class DbJobState implements JobState, MutableJobState {
     if (job != null) {
       final long oldDeadline = job.getDeadline();
 
+      deadlineIndexWriter.remove(oldDeadline, jobKey, 0);
       deadlineKey.wrapLong(oldDeadline);
       deadlinesColumnFamily.deleteExisting(deadlineJobKey);
 
@@ -347,6 +372,9 @@ public final class DbJobState implements JobState, MutableJobState {
       final long executionTimestamp,
       final DeadlineIndex startAt,
       final BiPredicate<Long, JobRecord> callback) {
+    if (deadlineIndex.isActive()) {
+      return forEachTimedOutIndexEntry(executionTimestamp, startAt, callback);
+    }
 
     final DbCompositeKey<DbLong, DbForeignKey<DbLong>> startAtKey;
     if (startAt != null) {
@@ -466,6 +494,36 @@ public final class DbJobState implements JobState, MutableJobState {
     return nextBackOffDueDate;
   }
 
+  private DeadlineIndex forEachTimedOutIndexEntry(
+      final long executionTimestamp,
+      final DeadlineIndex startAt,
+      final BiPredicate<Long, JobRecord> callback) {
+    final var startAtEntry =
+        startAt != null ? new Deadline(startAt.deadline(), startAt.key(), 0) : null;
+
+    final var lastVisitedIndex = new AtomicReference<DeadlineIndex>();
+    deadlineIndex.visit(
+        startAtEntry,
+        entry -> {
+          if (entry.deadline() >= executionTimestamp) {
+            return false;
+          }
+          final JobRecord job = getJob(entry.key());
+          if (job == null || job.getDeadline() != entry.deadline()) {
+            // the job was completed or its deadline was updated in the meantime, and the entry is
+            // about to be removed from the index
+            return true;
+          }
+          if (!callback.test(entry.key(), job)) {
+            lastVisitedIndex.set(new DeadlineIndex(entry.deadline(), entry.key()));
+            return false;
+          }
+          return true;
+        });
+
+    return lastVisitedIndex.get();
+  }
+
   boolean visitJob(final long jobKey, final BiPredicate<Long, JobRecord> callback) {
     final JobRecord job = getJob(jobKey);
     if (job == null) {
@@ -523,6 +581,7 @@ public final class DbJobState implements JobState, MutableJobState {
 
   private void addJobDeadline(final long job, final long deadline) {
     if (deadline > 0) {
+      deadlineIndexWriter.add(deadline, job, 0);
       jobKey.wrapLong(job);
       deadlineKey.wrapLong(deadline);
       deadlinesColumnFamily.insert(deadlineJobKey, DbNil.INSTANCE);
@@ -531,6 +590,7 @@ public final class DbJobState implements JobState, MutableJobState {
 
   private void removeJobDeadline(final long job, final long deadline) {
     if (deadline > 0) {
+      deadlineIndexWriter.remove(deadline, job, 0);
       jobKey.wrapLong(job);
       deadlineKey.wrapLong(deadline);
       deadlinesColumnFamily.deleteIfExists(deadlineJobKey);
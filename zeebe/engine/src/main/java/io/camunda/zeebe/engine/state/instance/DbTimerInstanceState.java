@@ -15,8 +15,10 @@ import io.camunda.zeebe.db.impl.DbForeignKey;
 import io.camunda.zeebe.db.impl.DbForeignKey.MatchType;
 import io.camunda.zeebe.db.impl.DbLong;
 import io.camunda.zeebe.db.impl.DbNil;
+import io.camunda.zeebe.engine.state.deadline.TransientDeadlineIndex;
 import io.camunda.zeebe.engine.state.mutable.MutableTimerInstanceState;
 import io.camunda.zeebe.protocol.ZbColumnFamilies;
+import io.camunda.zeebe.stream.api.ReadonlyStreamProcessorContext;
 import java.util.function.Consumer;
 
 public final class DbTimerInstanceState implements MutableTimerInstanceState {
@@ -35,10 +37,20 @@ public final class DbTimerInstanceState implements MutableTimerInstanceState {
   private final DbCompositeKey<DbLong, DbCompositeKey<DbForeignKey<DbLong>, DbLong>>
       dueDateCompositeKey;
 
+  private final TransientDeadlineIndex dueDateIndex;
+  private final TransientDeadlineIndex.Writer dueDateIndexWriter;
+
   private long nextDueDate;
 
   public DbTimerInstanceState(
       final ZeebeDb<ZbColumnFamilies> zeebeDb, final TransactionContext transactionContext) {
+    this(zeebeDb, transactionContext, new TransientDeadlineIndex());
+  }
+
+  public DbTimerInstanceState(
+      final ZeebeDb<ZbColumnFamilies> zeebeDb,
+      final TransactionContext transactionContext,
+      final TransientDeadlineIndex dueDateIndex) {
     timerInstance = new TimerInstance();
     timerKey = new DbLong();
     elementInstanceKey =
@@ -60,10 +72,27 @@ public final class DbTimerInstanceState implements MutableTimerInstanceState {
             transactionContext,
             dueDateCompositeKey,
             DbNil.INSTANCE);
+
+    this.dueDateIndex = dueDateIndex;
+    dueDateIndexWriter = dueDateIndex.newWriter(transactionContext);
+  }
+
+  @Override
+  public void onRecovered(final ReadonlyStreamProcessorContext context) {
+    dueDateIndex.recover(
+        index ->
+            dueDateColumnFamily.forEach(
+                (key, nil) ->
+                    index.accept(
+                        key.first().getValue(),
+                        key.second().second().getValue(),
+                        key.second().first().inner().getValue())));
   }
 
   @Override
   public void store(final TimerInstance timer) {
+    dueDateIndexWriter.add(timer.getDueDate(), timer.getKey(), timer.getElementInstanceKey());
+
     timerKey.wrapLong(timer.getKey());
     elementInstanceKey.inner().wrapLong(timer.getElementInstanceKey());
 
@@ -75,6 +104,8 @@ public final class DbTimerInstanceState implements MutableTimerInstanceState {
 
   @Override
   public void remove(final TimerInstance timer) {
+    dueDateIndexWriter.remove(timer.getDueDate(), timer.getKey(), timer.getElementInstanceKey());
+
     elementInstanceKey.inner().wrapLong(timer.getElementInstanceKey());
     timerKey.wrapLong(timer.getKey());
     timerInstanceColumnFamily.deleteExisting(elementAndTimerKey);
@@ -94,30 +125,18 @@ public final class DbTimerInstanceState implements MutableTimerInstanceState {
   public long processTimersWithDueDateBefore(final long timestamp, final TimerVisitor consumer) {
     nextDueDate = -1L;
 
-    dueDateColumnFamily.whileTrue(
-        (key, nil) -> {
-          final var dueDate = key.first().getValue();
-          final var elementAndTimerKey = key.second();
-
-          boolean consumed = false;
-          if (dueDate <= timestamp) {
-            final var timerInstance = timerInstanceColumnFamily.get(elementAndTimerKey);
-            if (timerInstance == null) {
-              // Time for due date no longer exists. This can occur due to the following data race:
-              // 1. Scheduled task reads a due date for a timer
-              // 2. Processing removes timer and due date
-              // 3. Scheduled task fails to find timer
-              // Because timer and due date were already removed, we can ignore this here.
-              return true;
-            }
-            consumed = consumer.visit(timerInstance);
-          }
-
-          if (!consumed) {
-            nextDueDate = dueDate;
-          }
-          return consumed;
-        });
+    if (dueDateIndex.isActive()) {
+      dueDateIndex.visit(
+          null,
+          entry -> {
+            elementInstanceKey.inner().wrapLong(entry.scopeKey());
+            timerKey.wrapLong(entry.key());
+            return visitDueDate(entry.deadline(), elementAndTimerKey, timestamp, consumer);
+          });
+    } else {
+      dueDateColumnFamily.whileTrue(
+          (key, nil) -> visitDueDate(key.first().getValue(), key.second(), timestamp, consumer));
+    }
 
     return nextDueDate;
   }
@@ -141,4 +160,29 @@ public final class DbTimerInstanceState implements MutableTimerInstanceState {
 
     return timerInstanceColumnFamily.get(elementAndTimerKey);
   }
+
+  private boolean visitDueDate(
+      final long dueDate,
+      final DbCompositeKey<DbForeignKey<DbLong>, DbLong> elementAndTimer,
+      final long timestamp,
+      final TimerVisitor consumer) {
+    boolean consumed = false;
+    if (dueDate <= timestamp) {
+      final var timerInstance = timerInstanceColumnFamily.get(elementAndTimer);
+      if (timerInstance == null) {
+        // Time for due date no longer exists. This can occur due to the following data race:
+        // 1. Scheduled task reads a due date for a timer
+        // 2. Processing removes timer and due date
+        // 3. Scheduled task fails to find timer
+        // Because timer and due date were already removed, we can ignore this here.
+        return true;
+      }
+      consumed = consumer.visit(timerInstance);
+    }
+
+    if (!consumed) {
+      nextDueDate = dueDate;
+    }
+    return consumed;
+  }
 }
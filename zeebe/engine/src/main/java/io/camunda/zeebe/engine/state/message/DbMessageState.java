@@ -21,6 +21,8 @@ import io.camunda.zeebe.db.impl.DbString;
 import io.camunda.zeebe.db.impl.DbTenantAwareKey;
 import io.camunda.zeebe.db.impl.DbTenantAwareKey.PlacementType;
 import io.camunda.zeebe.engine.metrics.BufferedMessagesMetrics;
+import io.camunda.zeebe.engine.state.deadline.TransientDeadlineIndex;
+import io.camunda.zeebe.engine.state.deadline.TransientDeadlineIndex.Deadline;
 import io.camunda.zeebe.engine.state.mutable.MutableMessageState;
 import io.camunda.zeebe.protocol.ZbColumnFamilies;
 import io.camunda.zeebe.protocol.impl.record.value.message.MessageRecord;
@@ -73,6 +75,9 @@ public final class DbMessageState implements MutableMessageState {
   private final ColumnFamily<DbCompositeKey<DbLong, DbForeignKey<DbLong>>, DbNil>
       deadlineColumnFamily;
 
+  private final TransientDeadlineIndex deadlineIndex;
+  private final TransientDeadlineIndex.Writer deadlineIndexWriter;
+
   /**
    * <pre>count | key -> value
    *
@@ -134,6 +139,14 @@ public final class DbMessageState implements MutableMessageState {
       final ZeebeDb<ZbColumnFamilies> zeebeDb,
       final TransactionContext transactionContext,
       final int partitionId) {
+    this(zeebeDb, transactionContext, partitionId, new TransientDeadlineIndex());
+  }
+
+  public DbMessageState(
+      final ZeebeDb<ZbColumnFamilies> zeebeDb,
+      final TransactionContext transactionContext,
+      final int partitionId,
+      final TransientDeadlineIndex deadlineIndex) {
     messageKey = new DbLong();
     fkMessage = new DbForeignKey<>(messageKey, ZbColumnFamilies.MESSAGE_KEY);
     message = new StoredMessage();
@@ -162,6 +175,8 @@ public final class DbMessageState implements MutableMessageState {
             transactionContext,
             deadlineMessageKey,
             DbNil.INSTANCE);
+    this.deadlineIndex = deadlineIndex;
+    deadlineIndexWriter = deadlineIndex.newWriter(transactionContext);
 
     messagesDeadlineCount = new DbLong();
     messagesDeadlineCountKey = new DbString();
@@ -219,10 +234,18 @@ public final class DbMessageState implements MutableMessageState {
     }
 
     bufferedMessagesMetrics.setBufferedMessagesCounter(localMessageDeadlineCount);
+
+    deadlineIndex.recover(
+        index ->
+            deadlineColumnFamily.forEach(
+                (key, nil) ->
+                    index.accept(key.first().getValue(), key.second().inner().getValue(), 0)));
   }
 
   @Override
   public void put(final long key, final MessageRecord record) {
+    deadlineIndexWriter.add(record.getDeadline(), key, 0);
+
     messageKey.wrapLong(key);
     message.setMessageKey(key).setMessage(record);
     messageColumnFamily.insert(messageKey, message);
@@ -317,6 +340,9 @@ public final class DbMessageState implements MutableMessageState {
       return;
     }
 
+    deadlineIndexWriter.remove(
+        storedMessage.getMessage().getDeadline(), storedMessage.getMessageKey(), 0);
+
     messageKey.wrapLong(storedMessage.getMessageKey());
     messageColumnFamily.deleteExisting(messageKey);
 
@@ -408,6 +434,10 @@ public final class DbMessageState implements MutableMessageState {
   @Override
   public boolean visitMessagesWithDeadlineBeforeTimestamp(
       final long timestamp, final Index startAt, final ExpiredMessageVisitor visitor) {
+    if (deadlineIndex.isActive()) {
+      return visitIndexedMessagesWithDeadlineBeforeTimestamp(timestamp, startAt, visitor);
+    }
+
     final DbCompositeKey<DbLong, DbForeignKey<DbLong>> startAtKey;
     if (startAt != null) {
       deadline.wrapLong(startAt.deadline());
@@ -433,6 +463,31 @@ public final class DbMessageState implements MutableMessageState {
     return stoppedByVisitor.get();
   }
 
+  private boolean visitIndexedMessagesWithDeadlineBeforeTimestamp(
+      final long timestamp, final Index startAt, final ExpiredMessageVisitor visitor) {
+    final var startAtEntry =
+        startAt != null ? new Deadline(startAt.deadline(), startAt.key(), 0) : null;
+    final var stoppedByVisitor = new MutableBoolean(false);
+    deadlineIndex.visit(
+        startAtEntry,
+        entry -> {
+          if (entry.deadline() > timestamp) {
+            return false;
+          }
+          deadline.wrapLong(entry.deadline());
+          messageKey.wrapLong(entry.key());
+          if (!deadlineColumnFamily.exists(deadlineMessageKey)) {
+            // the message was removed in the meantime, and is about to be removed from the index
+            return true;
+          }
+          final boolean shouldContinue = visitor.visit(entry.deadline(), entry.key());
+          stoppedByVisitor.set(!shouldContinue);
+          return shouldContinue;
+        });
+
+    return stoppedByVisitor.get();
+  }
+
   @Override
   public boolean exist(
       final DirectBuffer name,
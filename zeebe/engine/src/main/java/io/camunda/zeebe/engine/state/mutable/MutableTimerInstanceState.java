@@ -9,8 +9,10 @@ package io.camunda.zeebe.engine.state.mutable;
 
 import io.camunda.zeebe.engine.state.immutable.TimerInstanceState;
 import io.camunda.zeebe.engine.state.instance.TimerInstance;
+import io.camunda.zeebe.stream.api.StreamProcessorLifecycleAware;
 
-public interface MutableTimerInstanceState extends TimerInstanceState {
+public interface MutableTimerInstanceState
+    extends TimerInstanceState, StreamProcessorLifecycleAware {
 
   void store(TimerInstance timer);
 
@@ -132,11 +132,8 @@ public class DbVariableState implements MutableVariableState {
 
   @Override
   public void removeAllVariables(final long scopeKey) {
-    visitVariablesLocal(
-        scopeKey,
-        dbString -> true,
-        (dbString, variable1) -> variablesColumnFamily.deleteExisting(scopeKeyVariableNameKey),
-        () -> false);
+    this.scopeKey.wrapLong(scopeKey);
+    variablesColumnFamily.deletePrefix(this.scopeKey);
   }
 
   @Override
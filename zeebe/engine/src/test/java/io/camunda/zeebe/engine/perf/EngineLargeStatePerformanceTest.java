@@ -8,6 +8,8 @@
 package io.camunda.zeebe.engine.perf;
 
 import io.camunda.zeebe.engine.perf.TestEngine.TestContext;
+import io.camunda.zeebe.engine.state.DefaultZeebeDbFactory;
+import io.camunda.zeebe.engine.state.ZbColumnFamilyGroups;
 import io.camunda.zeebe.engine.util.client.ProcessInstanceClient;
 import io.camunda.zeebe.model.bpmn.Bpmn;
 import io.camunda.zeebe.protocol.record.Record;
@@ -28,13 +30,26 @@ import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Measures the process execution with a large state. The state is stored either in the default
+ * RocksDB column family only, or with the {@link ZbColumnFamilyGroups} in their own column
+ * families, see the {@code columnFamilyGroups} parameter.
+ *
+ * <p>The test asserts the reference score measured in CI with the default column family only. No
+ * reference score was measured for the column family groups yet, so they are only compared by
+ * running {@link #main(String[])}, which measures both layouts.
+ */
 @Warmup(iterations = 100, time = 1, timeUnit = TimeUnit.SECONDS)
 @Measurement(iterations = 50, time = 1, timeUnit = TimeUnit.SECONDS)
 @Fork(
@@ -47,6 +62,9 @@ public class EngineLargeStatePerformanceTest {
   public static final Logger LOG =
       LoggerFactory.getLogger(EngineLargeStatePerformanceTest.class.getName());
 
+  @Param({"false", "true"})
+  public boolean columnFamilyGroups;
+
   private long count;
   private ProcessInstanceClient processInstanceClient;
   private TestEngine.TestContext testContext;
@@ -56,7 +74,12 @@ public class EngineLargeStatePerformanceTest {
   public void setup() throws Throwable {
     testContext = createTestContext();
 
-    singlePartitionEngine = TestEngine.createSinglePartitionEngine(testContext);
+    singlePartitionEngine =
+        TestEngine.createSinglePartitionEngine(
+            testContext,
+            columnFamilyGroups
+                ? DefaultZeebeDbFactory.columnFamilyGroupsFactory()
+                : DefaultZeebeDbFactory.defaultFactory());
 
     setupState(singlePartitionEngine);
   }
@@ -109,6 +132,12 @@ public class EngineLargeStatePerformanceTest {
     return new TestContext(actorScheduler, temporaryFolder, autoCloseableRule);
   }
 
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(EngineLargeStatePerformanceTest.class.getName()).build())
+        .run();
+  }
+
   @TearDown
   public void tearDown() {
     LOG.info("Started {} process instances", count);
@@ -136,6 +165,7 @@ public class EngineLargeStatePerformanceTest {
     // given - an expected ops/s score, as measured in CI
     // when running this test locally, you're likely to have a different score
     final var referenceScore = 1000;
+    testCase.withOptions(options -> options.param("columnFamilyGroups", "false"));
 
     // when
     final var assertResult = testCase.run();
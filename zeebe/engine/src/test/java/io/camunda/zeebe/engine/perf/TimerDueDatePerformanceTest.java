@@ -0,0 +1,167 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.engine.perf;
+
+import static org.mockito.Mockito.mock;
+
+import io.camunda.zeebe.db.AccessMetricsConfiguration;
+import io.camunda.zeebe.db.AccessMetricsConfiguration.Kind;
+import io.camunda.zeebe.db.ConsistencyChecksSettings;
+import io.camunda.zeebe.db.TransactionContext;
+import io.camunda.zeebe.db.ZeebeDb;
+import io.camunda.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import io.camunda.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
+import io.camunda.zeebe.engine.state.deadline.TransientDeadlineIndex;
+import io.camunda.zeebe.engine.state.instance.DbTimerInstanceState;
+import io.camunda.zeebe.engine.state.instance.TimerInstance;
+import io.camunda.zeebe.protocol.ZbColumnFamilies;
+import io.camunda.zeebe.stream.api.ReadonlyStreamProcessorContext;
+import io.camunda.zeebe.util.FileUtil;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.agrona.collections.LongArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures how fast due timers are found and triggered while millions of timers are pending, the
+ * way the timer checker and the processing do it: timers become due, the checker visits the due
+ * ones, and the processing removes them. Either the due date column family is iterated, or the
+ * recovered in-memory index of the due dates, see the {@code indexed} parameter. Without the
+ * index, the iteration has to skip the removed due dates until they are compacted.
+ *
+ * <p>The score is the number of triggered timers per second.
+ *
+ * <p>Run it via {@link #main(String[])}, which compares both ways of finding the due timers. It is
+ * not run as a test, as no reference score was measured for it in CI.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(
+    value = 1,
+    jvmArgs = {"-Xmx2g", "-Xms2g"})
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class TimerDueDatePerformanceTest {
+  private static final int PENDING_TIMERS = 2_000_000;
+  private static final int DUE_TIMERS_PER_INVOCATION = 1_000;
+  private static final long PENDING_DUE_DATE = Long.MAX_VALUE / 2;
+  private static final long NO_ELEMENT_INSTANCE = -1L;
+
+  @Param({"false", "true"})
+  public boolean indexed;
+
+  private Path directory;
+  private ZeebeDb<ZbColumnFamilies> zeebeDb;
+  private TransactionContext context;
+  private DbTimerInstanceState timerState;
+  private final TimerInstance timer = new TimerInstance();
+  private final LongArrayList dueTimerKeys = new LongArrayList();
+  private final LongArrayList dueDates = new LongArrayList();
+  private long nextKey;
+  private long now;
+
+  @Setup
+  public void setup() throws IOException {
+    directory = Files.createTempDirectory("timer-due-dates");
+    zeebeDb =
+        new ZeebeRocksDbFactory<ZbColumnFamilies>(
+                new RocksDbConfiguration(),
+                new ConsistencyChecksSettings(false, false),
+                new AccessMetricsConfiguration(Kind.NONE, 1))
+            .createDb(directory.toFile());
+    context = zeebeDb.createContext();
+    timerState = new DbTimerInstanceState(zeebeDb, context, new TransientDeadlineIndex());
+
+    final int timersPerTransaction = 10_000;
+    for (int i = 0; i < PENDING_TIMERS; i += timersPerTransaction) {
+      context.runInTransaction(
+          () -> {
+            for (int j = 0; j < timersPerTransaction; j++) {
+              storeTimer(PENDING_DUE_DATE + nextKey);
+            }
+          });
+    }
+
+    if (indexed) {
+      timerState.onRecovered(mock(ReadonlyStreamProcessorContext.class));
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    zeebeDb.close();
+    FileUtil.deleteFolder(directory);
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(TimerDueDatePerformanceTest.class.getName())
+                .build())
+        .run();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(DUE_TIMERS_PER_INVOCATION)
+  public long measureTimerTriggering() {
+    context.runInTransaction(
+        () -> {
+          for (int i = 0; i < DUE_TIMERS_PER_INVOCATION; i++) {
+            storeTimer(now + i);
+          }
+        });
+    now += DUE_TIMERS_PER_INVOCATION;
+
+    dueTimerKeys.clear();
+    dueDates.clear();
+    timerState.processTimersWithDueDateBefore(
+        now,
+        dueTimer -> {
+          dueTimerKeys.addLong(dueTimer.getKey());
+          dueDates.addLong(dueTimer.getDueDate());
+          return true;
+        });
+
+    context.runInTransaction(
+        () -> {
+          for (int i = 0; i < dueTimerKeys.size(); i++) {
+            timer.setElementInstanceKey(NO_ELEMENT_INSTANCE);
+            timer.setKey(dueTimerKeys.getLong(i));
+            timer.setDueDate(dueDates.getLong(i));
+            timerState.remove(timer);
+          }
+        });
+    return dueTimerKeys.size();
+  }
+
+  private void storeTimer(final long dueDate) {
+    timer.setElementInstanceKey(NO_ELEMENT_INSTANCE);
+    timer.setProcessInstanceKey(NO_ELEMENT_INSTANCE);
+    timer.setKey(nextKey++);
+    timer.setDueDate(dueDate);
+    timerState.store(timer);
+  }
+}
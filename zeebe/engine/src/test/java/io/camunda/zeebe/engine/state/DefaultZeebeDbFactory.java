@@ -25,4 +25,16 @@ public final class DefaultZeebeDbFactory {
         consistencyChecks,
         new AccessMetricsConfiguration(Kind.NONE, 1));
   }
+
+  /**
+   * Same as {@link #defaultFactory()}, but stores the {@link ZbColumnFamilyGroups} in their own
+   * RocksDB column families.
+   */
+  public static ZeebeDbFactory<ZbColumnFamilies> columnFamilyGroupsFactory() {
+    final var consistencyChecks = new ConsistencyChecksSettings(true, true);
+    return new ZeebeRocksDbFactory<>(
+        new RocksDbConfiguration().setColumnFamilyGroups(ZbColumnFamilyGroups.GROUPS),
+        consistencyChecks,
+        new AccessMetricsConfiguration(Kind.NONE, 1));
+  }
 }
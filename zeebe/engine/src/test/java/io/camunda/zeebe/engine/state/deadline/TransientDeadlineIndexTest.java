@@ -0,0 +1,210 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.engine.state.deadline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import io.camunda.zeebe.db.TransactionContext;
+import io.camunda.zeebe.engine.state.deadline.TransientDeadlineIndex.Deadline;
+import io.camunda.zeebe.engine.state.deadline.TransientDeadlineIndex.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+final class TransientDeadlineIndexTest {
+
+  private final TransactionContext transactionContext = mock(TransactionContext.class);
+
+  private TransientDeadlineIndex sut;
+  private Writer writer;
+
+  @BeforeEach
+  void setUp() {
+    sut = new TransientDeadlineIndex();
+    writer = sut.newWriter(transactionContext);
+  }
+
+  @Test
+  void shouldListenToTransactions() {
+    // then
+    verify(transactionContext).addTransactionListener(writer);
+  }
+
+  @Test
+  void shouldIgnoreWritesUntilRecovered() {
+    // given
+    writer.add(1000, 1, 0);
+    writer.onCommit();
+
+    // when
+    sut.recover(index -> {});
+
+    // then
+    assertThat(sut.isActive()).isTrue();
+    assertThat(visitAll()).isEmpty();
+  }
+
+  @Test
+  void shouldVisitRecoveredEntriesOrderedByDeadline() {
+    // when
+    sut.recover(
+        index -> {
+          index.accept(3000, 1, 0);
+          index.accept(1000, 3, 0);
+          index.accept(2000, 2, 0);
+        });
+
+    // then
+    assertThat(visitAll())
+        .containsExactly(
+            new Deadline(1000, 3, 0), new Deadline(2000, 2, 0), new Deadline(3000, 1, 0));
+  }
+
+  @Test
+  void shouldReplaceEntriesOnRecover() {
+    // given
+    sut.recover(index -> index.accept(1000, 1, 0));
+
+    // when
+    sut.recover(index -> index.accept(2000, 2, 0));
+
+    // then
+    assertThat(visitAll()).containsExactly(new Deadline(2000, 2, 0));
+  }
+
+  @Test
+  void shouldApplyChangesOnCommit() {
+    // given
+    sut.recover(index -> index.accept(1000, 1, 0));
+
+    // when
+    writer.add(2000, 2, 5);
+    writer.remove(1000, 1, 0);
+
+    // then
+    assertThat(visitAll()).containsExactly(new Deadline(1000, 1, 0));
+    writer.onCommit();
+    assertThat(visitAll()).containsExactly(new Deadline(2000, 2, 5));
+  }
+
+  @Test
+  void shouldDiscardChangesOnRollback() {
+    // given
+    sut.recover(index -> index.accept(1000, 1, 0));
+    writer.add(2000, 2, 0);
+    writer.remove(1000, 1, 0);
+
+    // when
+    writer.onRollback();
+    writer.onCommit();
+
+    // then
+    assertThat(visitAll()).containsExactly(new Deadline(1000, 1, 0));
+  }
+
+  @Test
+  void shouldApplyLastChangeOfEntry() {
+    // given
+    sut.recover(index -> index.accept(1000, 1, 0));
+
+    // when
+    writer.remove(1000, 1, 0);
+    writer.add(1000, 1, 0);
+    writer.add(2000, 2, 0);
+    writer.remove(2000, 2, 0);
+    writer.onCommit();
+
+    // then
+    assertThat(visitAll()).containsExactly(new Deadline(1000, 1, 0));
+  }
+
+  @Test
+  void shouldDiscardChangesSinceSavePointOnRollbackToSavePoint() {
+    // given
+    sut.recover(index -> index.accept(1000, 1, 0));
+    writer.add(2000, 2, 0);
+    writer.onSavePoint();
+    writer.remove(2000, 2, 0);
+    writer.remove(1000, 1, 0);
+    writer.add(3000, 3, 0);
+
+    // when
+    writer.onRollbackToSavePoint();
+    writer.onCommit();
+
+    // then
+    assertThat(visitAll()).containsExactly(new Deadline(1000, 1, 0), new Deadline(2000, 2, 0));
+  }
+
+  @Test
+  void shouldRollBackToNestedSavePoints() {
+    // given
+    sut.recover(index -> index.accept(1000, 1, 0));
+    writer.onSavePoint();
+    writer.add(2000, 2, 0);
+    writer.onSavePoint();
+    writer.add(3000, 3, 0);
+    writer.remove(1000, 1, 0);
+
+    // when
+    writer.onRollbackToSavePoint();
+    writer.onRollbackToSavePoint();
+    writer.onCommit();
+
+    // then
+    assertThat(visitAll()).containsExactly(new Deadline(1000, 1, 0));
+  }
+
+  @Test
+  void shouldKeepChangesSinceSavePointOnCommit() {
+    // given
+    sut.recover(index -> index.accept(1000, 1, 0));
+    writer.onSavePoint();
+    writer.remove(1000, 1, 0);
+
+    // when
+    writer.onCommit();
+    writer.onRollbackToSavePoint();
+
+    // then - the save point is discarded on commit
+    assertThat(visitAll()).isEmpty();
+  }
+
+  @Test
+  void shouldVisitFromStartAtUntilVisitorStops() {
+    // given
+    sut.recover(
+        index -> {
+          index.accept(1000, 1, 0);
+          index.accept(2000, 2, 0);
+          index.accept(2000, 3, 0);
+          index.accept(3000, 4, 0);
+        });
+
+    // when
+    final List<Deadline> visited = new ArrayList<>();
+    sut.visit(
+        new Deadline(2000, 2, 0),
+        entry -> {
+          visited.add(entry);
+          return entry.key() < 3;
+        });
+
+    // then
+    assertThat(visited).containsExactly(new Deadline(2000, 2, 0), new Deadline(2000, 3, 0));
+  }
+
+  private List<Deadline> visitAll() {
+    final List<Deadline> visited = new ArrayList<>();
+    sut.visit(null, visited::add);
+    return visited;
+  }
+}
@@ -10,6 +10,7 @@ package io.camunda.zeebe.engine.state.instance;
 import static io.camunda.zeebe.util.buffer.BufferUtil.wrapString;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
 
 import io.camunda.zeebe.engine.state.immutable.JobState;
 import io.camunda.zeebe.engine.state.immutable.JobState.DeadlineIndex;
@@ -20,6 +21,7 @@ import io.camunda.zeebe.engine.util.ProcessingStateRule;
 import io.camunda.zeebe.msgpack.value.DocumentValue;
 import io.camunda.zeebe.protocol.impl.record.value.job.JobRecord;
 import io.camunda.zeebe.protocol.record.value.TenantOwned;
+import io.camunda.zeebe.stream.api.ReadonlyStreamProcessorContext;
 import io.camunda.zeebe.test.util.BufferAssert;
 import io.camunda.zeebe.test.util.MsgPackUtil;
 import io.camunda.zeebe.util.buffer.BufferUtil;
@@ -596,6 +598,34 @@ public final class JobStateTest {
     assertThat(nextIndex).isNull();
   }
 
+  @Test
+  public void shouldIterateOverTimedOutOnceRecovered() {
+    // given
+    createAndActivateJobRecord(1, newJobRecord().setDeadline(1L));
+    createAndActivateJobRecord(2, newJobRecord().setDeadline(256L));
+    jobState.onRecovered(mock(ReadonlyStreamProcessorContext.class));
+    createAndActivateJobRecord(3, newJobRecord().setDeadline(512L));
+    createAndActivateJobRecord(4, newJobRecord().setDeadline(1024L));
+    createAndActivateJobRecord(5, newJobRecord().setDeadline(65536L));
+    jobState.cancel(2, newJobRecord());
+    jobState.updateJobDeadline(4, 4294967296L);
+
+    // when
+    final List<Long> timedOutKeys = new ArrayList<>();
+    final DeadlineIndex nextIndex =
+        jobState.forEachTimedOutEntry(
+            65536L,
+            new DeadlineIndex(1L, 1L),
+            (k, e) -> {
+              timedOutKeys.add(k);
+              return true;
+            });
+
+    // then
+    assertThat(timedOutKeys).containsExactly(1L, 3L);
+    assertThat(nextIndex).isNull();
+  }
+
   @Test
   public void shouldDoNothingIfNotTimedOutJobs() {
     // given
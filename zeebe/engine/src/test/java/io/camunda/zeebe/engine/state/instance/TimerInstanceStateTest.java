@@ -8,12 +8,14 @@
 package io.camunda.zeebe.engine.state.instance;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 
 import io.camunda.zeebe.engine.state.mutable.MutableProcessingState;
 import io.camunda.zeebe.engine.state.mutable.MutableTimerInstanceState;
 import io.camunda.zeebe.engine.util.ProcessingStateRule;
 import io.camunda.zeebe.protocol.impl.record.value.processinstance.ProcessInstanceRecord;
 import io.camunda.zeebe.protocol.record.intent.ProcessInstanceIntent;
+import io.camunda.zeebe.stream.api.ReadonlyStreamProcessorContext;
 import java.util.ArrayList;
 import java.util.List;
 import org.assertj.core.api.Assertions;
@@ -170,6 +172,35 @@ public final class TimerInstanceStateTest {
     assertThat(nextDueDate).isEqualTo(timer1.getDueDate());
   }
 
+  @Test
+  public void shouldFindTimersWithDueDateBeforeOnceRecovered() {
+    // given
+    createTimerInstance(1, 1, 3000L);
+    createTimerInstance(2, 2, 1000L);
+    state.onRecovered(mock(ReadonlyStreamProcessorContext.class));
+    createTimerInstance(3, 3, 2000L);
+    createTimerInstance(4, 4, 1500L);
+    final var removedTimer = new TimerInstance();
+    removedTimer.setElementInstanceKey(4L);
+    removedTimer.setKey(4L);
+    removedTimer.setDueDate(1500L);
+    state.remove(removedTimer);
+
+    // when
+    final List<Long> keys = new ArrayList<>();
+    final long nextDueDate =
+        state.processTimersWithDueDateBefore(
+            2000L,
+            t -> {
+              keys.add(t.getKey());
+              return true;
+            });
+
+    // then
+    assertThat(keys).containsExactly(2L, 3L);
+    assertThat(nextDueDate).isEqualTo(3000L);
+  }
+
   @Test
   public void shouldListAllTimersByElementInstanceKey() {
     // given
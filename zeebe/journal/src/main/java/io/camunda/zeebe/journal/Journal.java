@@ -18,6 +18,7 @@ package io.camunda.zeebe.journal;
 import io.camunda.zeebe.journal.JournalException.InvalidChecksum;
 import io.camunda.zeebe.journal.JournalException.InvalidIndex;
 import io.camunda.zeebe.util.buffer.BufferWriter;
+import java.util.List;
 
 public interface Journal extends AutoCloseable {
 
@@ -64,6 +65,22 @@ public interface Journal extends AutoCloseable {
    */
   JournalRecord append(long checksum, byte[] serializedRecord);
 
+  /**
+   * Appends a batch of already serialized journal records, in order, as if {@link #append(long,
+   * byte[])} was called for each of them. The records are written in one pass per segment, which
+   * avoids most of the per record overhead when appending many records at once, e.g. when
+   * replicating.
+   *
+   * <p>If a record cannot be appended, all records before it remain appended, and the exception is
+   * thrown. Use {@link #getLastIndex()} to find out which records were appended.
+   *
+   * @param records the serialized records to append
+   * @return the appended journal records, in the same order as the given records
+   * @exception InvalidIndex if the index of a record is not the next expected index
+   * @exception InvalidChecksum if the checksum of a record does not match its data
+   */
+  List<JournalRecord> append(List<? extends SerializedJournalRecord> records);
+
   /**
    * Delete all records after indexExclusive. After a call to this method, {@link
    * Journal#getLastIndex()} should return indexExclusive.
@@ -0,0 +1,30 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.journal;
+
+/**
+ * An already serialized journal record, as returned by {@link JournalRecord#serializedRecord()},
+ * together with its checksum. Used to append replicated records in batches via {@link
+ * Journal#append(java.util.List)}.
+ */
+public interface SerializedJournalRecord {
+
+  /**
+   * Checksum of the serialized record
+   *
+   * @return checksum
+   */
+  long checksum();
+
+  /**
+   * Serialized journal record that includes index, asqn and data.
+   *
+   * @return serialized record
+   */
+  byte[] serializedJournalRecord();
+}
@@ -0,0 +1,421 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.journal.file;
+
+import com.github.luben.zstd.Zstd;
+import io.camunda.zeebe.journal.CorruptedJournalException;
+import io.camunda.zeebe.journal.JournalException;
+import io.camunda.zeebe.journal.util.ChecksumGenerator;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import org.agrona.ExpandableArrayBuffer;
+
+/**
+ * A sealed segment whose content is split into blocks, which are compressed independently of each
+ * other. Blocks always start and end at entry boundaries, such that a block can be read on its own.
+ * Every block keeps its offset in the uncompressed segment, so positions from the {@link
+ * JournalIndex} remain valid: the block containing a position is found via binary search over the
+ * block offsets, and only that block has to be read and decompressed.
+ *
+ * <p>The file is written sequentially, with its block index as a footer at the end, followed by a
+ * fixed size trailer. The layout is as follows (little endian):
+ *
+ * <ul>
+ *   <li>the compressed blocks, one after the other
+ *   <li>{@code version} (32-bit signed integer)
+ *   <li>{@code descriptorLength} (32-bit signed integer), followed by the segment descriptor as
+ *       written at the start of the uncompressed segment
+ *   <li>{@code lastIndex} (64-bit signed integer) - the index of the last entry
+ *   <li>{@code lastAsqn} (64-bit signed integer) - the last ASQN of the segment
+ *   <li>{@code contentLength} (32-bit signed integer) - the position after the last entry
+ *   <li>{@code blockCount} (32-bit signed integer) - the number of following blocks
+ *   <li>{@code blockCount} times: {@code offset} (32-bit), {@code length} (32-bit), {@code
+ *       compressedOffset} (64-bit), {@code compressedLength} (32-bit)
+ *   <li>{@code footerOffset} (64-bit signed integer) - the position of {@code version}
+ *   <li>{@code checksum} (64-bit signed integer) - CRC32C of the footer, from {@code version} to
+ *       the last block
+ * </ul>
+ *
+ * <p>The entries themselves are not checksummed again, as each entry's checksum is verified when
+ * it is read.
+ */
+final class CompressedSegmentFile implements AutoCloseable {
+  static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+  private static final ByteOrder ENDIANNESS = ByteOrder.LITTLE_ENDIAN;
+  private static final int VERSION = 1;
+  private static final int COMPRESSION_LEVEL = 1;
+  private static final int BLOCK_ENTRY_LENGTH = 3 * Integer.BYTES + Long.BYTES;
+  private static final int TRAILER_LENGTH = 2 * Long.BYTES;
+
+  private final Path file;
+  private final FileChannel channel;
+  private final ByteBuffer descriptor;
+  private final long lastIndex;
+  private final long lastAsqn;
+  private final int contentLength;
+  private final int[] blockOffsets;
+  private final int[] blockLengths;
+  private final long[] compressedOffsets;
+  private final int[] compressedLengths;
+
+  private CompressedSegmentFile(
+      final Path file,
+      final FileChannel channel,
+      final ByteBuffer descriptor,
+      final long lastIndex,
+      final long lastAsqn,
+      final int contentLength,
+      final int blockCount) {
+    this.file = file;
+    this.channel = channel;
+    this.descriptor = descriptor;
+    this.lastIndex = lastIndex;
+    this.lastAsqn = lastAsqn;
+    this.contentLength = contentLength;
+    blockOffsets = new int[blockCount];
+    blockLengths = new int[blockCount];
+    compressedOffsets = new long[blockCount];
+    compressedLengths = new int[blockCount];
+  }
+
+  /**
+   * Opens the given compressed segment file, reading its block index into memory.
+   *
+   * @param file the path to the compressed segment file
+   * @return the opened file
+   * @throws CorruptedJournalException if the file is incomplete or its checksum does not match
+   * @throws IOException if the file cannot be read
+   */
+  static CompressedSegmentFile open(final Path file) throws IOException {
+    final var channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      return read(file, channel);
+    } catch (final IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  private static CompressedSegmentFile read(final Path file, final FileChannel channel)
+      throws IOException {
+    final long size = channel.size();
+    if (size < TRAILER_LENGTH) {
+      throw new CorruptedJournalException(
+          "Expected compressed segment %s to have a trailer, but it is too small".formatted(file));
+    }
+
+    final var trailer = readFully(channel, size - TRAILER_LENGTH, TRAILER_LENGTH);
+    final long footerOffset = trailer.getLong(0);
+    final long expectedChecksum = trailer.getLong(Long.BYTES);
+    if (footerOffset < 0 || footerOffset > size - TRAILER_LENGTH) {
+      throw new CorruptedJournalException(
+          "Expected compressed segment %s to have a footer at a valid offset, but got %d"
+              .formatted(file, footerOffset));
+    }
+
+    final int footerLength = (int) (size - TRAILER_LENGTH - footerOffset);
+    final var footer = readFully(channel, footerOffset, footerLength);
+    if (new ChecksumGenerator().compute(footer, 0, footerLength) != expectedChecksum) {
+      throw new CorruptedJournalException(
+          "Expected compressed segment %s to have a valid checksum, but it does not match"
+              .formatted(file));
+    }
+
+    final int version = footer.getInt();
+    if (version != VERSION) {
+      throw new CorruptedJournalException(
+          "Expected compressed segment %s to have version %d, but got %d"
+              .formatted(file, VERSION, version));
+    }
+
+    final int descriptorLength = footer.getInt();
+    final var descriptor =
+        ByteBuffer.allocate(descriptorLength)
+            .put(footer.slice().limit(descriptorLength))
+            .flip()
+            .order(ENDIANNESS);
+    footer.position(footer.position() + descriptorLength);
+
+    final long lastIndex = footer.getLong();
+    final long lastAsqn = footer.getLong();
+    final int contentLength = footer.getInt();
+    final int blockCount = footer.getInt();
+    if (blockCount <= 0 || footer.remaining() != (long) blockCount * BLOCK_ENTRY_LENGTH) {
+      throw new CorruptedJournalException(
+          "Expected compressed segment %s to have a valid block count, but got %d"
+              .formatted(file, blockCount));
+    }
+
+    final var compressedFile =
+        new CompressedSegmentFile(
+            file, channel, descriptor, lastIndex, lastAsqn, contentLength, blockCount);
+    for (int block = 0; block < blockCount; block++) {
+      compressedFile.blockOffsets[block] = footer.getInt();
+      compressedFile.blockLengths[block] = footer.getInt();
+      compressedFile.compressedOffsets[block] = footer.getLong();
+      compressedFile.compressedLengths[block] = footer.getInt();
+    }
+
+    return compressedFile;
+  }
+
+  /** Returns a read-only view of the segment descriptor, as written in the original segment. */
+  ByteBuffer descriptor() {
+    return descriptor.asReadOnlyBuffer().order(ENDIANNESS);
+  }
+
+  long lastIndex() {
+    return lastIndex;
+  }
+
+  long lastAsqn() {
+    return lastAsqn;
+  }
+
+  /** Returns the length of the uncompressed content, i.e. the position after the last entry. */
+  int contentLength() {
+    return contentLength;
+  }
+
+  int blockCount() {
+    return blockOffsets.length;
+  }
+
+  /** Returns the position of the given block in the uncompressed segment. */
+  int blockOffset(final int block) {
+    return blockOffsets[block];
+  }
+
+  /**
+   * Returns the block containing the given position of the uncompressed segment. Positions before
+   * the first block map to the first block, and positions after the last entry to the last block.
+   */
+  int blockOf(final int position) {
+    final int result = Arrays.binarySearch(blockOffsets, position);
+    if (result >= 0) {
+      return result;
+    }
+
+    // the insertion point is the first block starting after the position
+    return Math.max(0, -result - 2);
+  }
+
+  /**
+   * Reads and decompresses the given block into a new buffer. A new buffer is returned every time,
+   * as entries read from a block may still be referenced after the reader moved on to the next one.
+   *
+   * @param block the block to read
+   * @return a buffer with the uncompressed block, positioned at its start
+   */
+  ByteBuffer readBlock(final int block) {
+    final byte[] content = new byte[blockLengths[block]];
+    decompressBlock(block, content);
+    return ByteBuffer.wrap(content).order(ENDIANNESS);
+  }
+
+  /**
+   * Writes the uncompressed segment into the given buffer, i.e. the descriptor followed by every
+   * block at its original position.
+   */
+  void copyTo(final ByteBuffer target) {
+    target.duplicate().position(0).put(descriptor.duplicate());
+    for (int block = 0; block < blockCount(); block++) {
+      final byte[] content = new byte[blockLengths[block]];
+      decompressBlock(block, content);
+      target.duplicate().position(blockOffsets[block]).put(content);
+    }
+  }
+
+  /** Returns the size of the compressed file on disk. */
+  long size() {
+    try {
+      return channel.size();
+    } catch (final IOException e) {
+      throw new JournalException(e);
+    }
+  }
+
+  @Override
+  public void close() {
+    try {
+      channel.close();
+    } catch (final IOException e) {
+      throw new JournalException(e);
+    }
+  }
+
+  private void decompressBlock(final int block, final byte[] target) {
+    final byte[] compressed = new byte[compressedLengths[block]];
+    try {
+      readFully(channel, ByteBuffer.wrap(compressed), compressedOffsets[block]);
+    } catch (final IOException e) {
+      throw new JournalException(
+          "Failed to read block %d of compressed segment %s".formatted(block, file), e);
+    }
+
+    final long result =
+        Zstd.decompressByteArray(target, 0, target.length, compressed, 0, compressed.length);
+    if (Zstd.isError(result) || result != target.length) {
+      throw new CorruptedJournalException(
+          "Expected to decompress %d bytes from block %d of compressed segment %s, but got %s"
+              .formatted(
+                  target.length,
+                  block,
+                  file,
+                  Zstd.isError(result) ? Zstd.getErrorName(result) : result));
+    }
+  }
+
+  private static ByteBuffer readFully(
+      final FileChannel channel, final long position, final int length) throws IOException {
+    final var buffer = ByteBuffer.allocate(length).order(ENDIANNESS);
+    readFully(channel, buffer, position);
+    return buffer.flip();
+  }
+
+  private static void readFully(
+      final FileChannel channel, final ByteBuffer buffer, final long position) throws IOException {
+    long readPosition = position;
+    while (buffer.hasRemaining()) {
+      final int read = channel.read(buffer, readPosition);
+      if (read < 0) {
+        throw new CorruptedJournalException(
+            "Expected to read %d bytes at position %d, but reached the end of the file"
+                .formatted(buffer.capacity(), position));
+      }
+      readPosition += read;
+    }
+  }
+
+  /**
+   * Writes a compressed segment file sequentially. Blocks must be written in order; the file is
+   * only complete once {@link #finish(int, long, long, int)} was called.
+   */
+  static final class Writer implements AutoCloseable {
+    private final FileChannel channel;
+    private final ByteBuffer content;
+    private final ExpandableArrayBuffer blockIndex = new ExpandableArrayBuffer();
+    private byte[] uncompressedBlock = new byte[0];
+    private byte[] compressedBlock = new byte[0];
+    private int blockCount;
+    private long position;
+
+    /**
+     * @param file the file to write to; it is created or truncated
+     * @param content a view of the uncompressed segment, which must not be modified while writing
+     */
+    Writer(final Path file, final ByteBuffer content) throws IOException {
+      this.content = content.duplicate().order(ENDIANNESS);
+      channel =
+          FileChannel.open(
+              file,
+              StandardOpenOption.CREATE,
+              StandardOpenOption.TRUNCATE_EXISTING,
+              StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Compresses the given range of the segment as the next block.
+     *
+     * @param offset the position of the block in the segment, which must start with an entry
+     * @param length the length of the block, which must end with an entry
+     */
+    void writeBlock(final int offset, final int length) throws IOException {
+      if (uncompressedBlock.length < length) {
+        uncompressedBlock = new byte[length];
+        compressedBlock = new byte[(int) Zstd.compressBound(length)];
+      }
+
+      content.get(offset, uncompressedBlock, 0, length);
+      final long compressedLength =
+          Zstd.compressByteArray(
+              compressedBlock,
+              0,
+              compressedBlock.length,
+              uncompressedBlock,
+              0,
+              length,
+              COMPRESSION_LEVEL);
+      if (Zstd.isError(compressedLength)) {
+        throw new IOException(
+            "Failed to compress block at offset %d: %s"
+                .formatted(offset, Zstd.getErrorName(compressedLength)));
+      }
+
+      final int entryOffset = blockCount * BLOCK_ENTRY_LENGTH;
+      blockIndex.putInt(entryOffset, offset, ENDIANNESS);
+      blockIndex.putInt(entryOffset + Integer.BYTES, length, ENDIANNESS);
+      blockIndex.putLong(entryOffset + 2 * Integer.BYTES, position, ENDIANNESS);
+      blockIndex.putInt(
+          entryOffset + 2 * Integer.BYTES + Long.BYTES, (int) compressedLength, ENDIANNESS);
+      blockCount++;
+
+      writeFully(ByteBuffer.wrap(compressedBlock, 0, (int) compressedLength));
+    }
+
+    /**
+     * Writes the footer and trailer, and flushes the file.
+     *
+     * @param descriptorLength the length of the descriptor at the start of the segment
+     * @param lastIndex the index of the last entry of the segment
+     * @param lastAsqn the last ASQN of the segment
+     * @param contentLength the position after the last entry of the segment
+     */
+    void finish(
+        final int descriptorLength,
+        final long lastIndex,
+        final long lastAsqn,
+        final int contentLength)
+        throws IOException {
+      final int blockIndexLength = blockCount * BLOCK_ENTRY_LENGTH;
+      final var footer =
+          ByteBuffer.allocate(
+                  4 * Integer.BYTES
+                      + descriptorLength
+                      + 2 * Long.BYTES
+                      + blockIndexLength
+                      + TRAILER_LENGTH)
+              .order(ENDIANNESS);
+      footer
+          .putInt(VERSION)
+          .putInt(descriptorLength)
+          .put(content.duplicate().position(0).limit(descriptorLength))
+          .putLong(lastIndex)
+          .putLong(lastAsqn)
+          .putInt(contentLength)
+          .putInt(blockCount);
+      blockIndex.getBytes(0, footer, footer.position(), blockIndexLength);
+      footer.position(footer.position() + blockIndexLength);
+
+      final int footerLength = footer.position();
+      footer.putLong(position);
+      footer.putLong(new ChecksumGenerator().compute(footer, 0, footerLength));
+      footer.flip();
+
+      writeFully(footer);
+      channel.force(true);
+    }
+
+    @Override
+    public void close() throws IOException {
+      channel.close();
+    }
+
+    private void writeFully(final ByteBuffer buffer) throws IOException {
+      while (buffer.hasRemaining()) {
+        position += channel.write(buffer);
+      }
+    }
+  }
+}
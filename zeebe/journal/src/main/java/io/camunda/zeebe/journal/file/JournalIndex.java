@@ -31,6 +31,17 @@ interface JournalIndex {
    */
   void index(JournalRecord record, int position);
 
+  /**
+   * Indexes the given entry by its primitive components. This is equivalent to {@link
+   * #index(JournalRecord, int)}, and is useful when restoring entries which were previously
+   * persisted, without having to read the actual record.
+   *
+   * @param index the index of the record
+   * @param asqn the asqn of the record, or {@link SegmentedJournal#ASQN_IGNORE}
+   * @param position the position of the record within its segment
+   */
+  void index(long index, long asqn, int position);
+
   /**
    * Looks up the position of the given index.
    *
@@ -89,4 +100,25 @@ interface JournalIndex {
    * @return true if this index likely have been already indexed. false if otherwise.
    */
   boolean hasIndexed(long index);
+
+  /**
+   * Visits all indexed entries between the given indexes (both inclusive), in ascending order.
+   *
+   * @param fromIndex the lowest index to visit
+   * @param toIndex the highest index to visit
+   * @param visitor called for every indexed entry
+   */
+  void forEach(long fromIndex, long toIndex, IndexedEntryVisitor visitor);
+
+  @FunctionalInterface
+  interface IndexedEntryVisitor {
+
+    /**
+     * @param index the index of the record
+     * @param asqn the asqn of the record, or {@link SegmentedJournal#ASQN_IGNORE} if none was
+     *     indexed
+     * @param position the position of the record within its segment
+     */
+    void visit(long index, long asqn, int position);
+  }
 }
@@ -79,6 +79,15 @@ final class JournalMetrics {
           .labelNames(PARTITION_LABEL)
           .register();
 
+  private static final Histogram SEGMENT_ROLL_TIME =
+      Histogram.build()
+          .namespace(NAMESPACE)
+          .name("segment_roll_time")
+          .help("Time spent by the writer to roll over to the next segment")
+          .labelNames(PARTITION_LABEL)
+          .buckets(0.0001, 0.001, .005, .01, .025, .05, .075, .1, .25, .5, .75, 1, 2.5, 5)
+          .register();
+
   private static final Counter APPEND_DATA_RATE =
       Counter.build()
           .namespace(NAMESPACE)
@@ -112,6 +121,56 @@ final class JournalMetrics {
           .buckets(0.0001, 0.001, .005, .01, .025, .05, .075, .1, .25, .5, .75, 1, 2.5, 5)
           .register();
 
+  private static final Histogram INDEX_PERSIST_TIME =
+      Histogram.build()
+          .namespace(NAMESPACE)
+          .name("journal_index_persist_time")
+          .help("Time spent persisting the index of a sealed segment")
+          .labelNames(PARTITION_LABEL)
+          .register();
+
+  private static final Counter INDEX_RESTORED_ENTRIES =
+      Counter.build()
+          .namespace(NAMESPACE)
+          .name("journal_index_restored_entries")
+          .help("Number of index entries restored from persisted segment indexes on startup")
+          .labelNames(PARTITION_LABEL)
+          .register();
+
+  private static final Histogram FLUSH_BATCH_SIZE =
+      Histogram.build()
+          .namespace(NAMESPACE)
+          .name("journal_flush_batch_size")
+          .help("Number of records made durable by a single journal flush")
+          .labelNames(PARTITION_LABEL)
+          .buckets(1, 2, 4, 8, 16, 32, 64, 128, 256, 512, 1024, 4096)
+          .register();
+
+  private static final Gauge FLUSH_QUEUE_DEPTH =
+      Gauge.build()
+          .namespace(NAMESPACE)
+          .name("journal_flush_queue_depth")
+          .help("Number of appended records which were not yet flushed when the last flush started")
+          .labelNames(PARTITION_LABEL)
+          .register();
+
+  private static final Histogram SEGMENT_COMPRESSION_TIME =
+      Histogram.build()
+          .namespace(NAMESPACE)
+          .name("segment_compression_time")
+          .help("Time spent to compress a sealed segment in the background")
+          .labelNames(PARTITION_LABEL)
+          .buckets(.01, .025, .05, .1, .25, .5, 1, 2.5, 5, 10, 30)
+          .register();
+
+  private static final Counter SEGMENT_COMPRESSION_SAVED_BYTES =
+      Counter.build()
+          .namespace(NAMESPACE)
+          .name("segment_compression_saved_bytes")
+          .help("Disk space saved by replacing sealed segments with their compressed files")
+          .labelNames(PARTITION_LABEL)
+          .register();
+
   private final Histogram.Child segmentCreationTime;
   private final Histogram.Child segmentTruncateTime;
   private final Histogram.Child segmentFlushTime;
@@ -119,10 +178,17 @@ final class JournalMetrics {
   private final Gauge.Child segmentCount;
   private final Gauge.Child journalOpenTime;
   private final Histogram.Child segmentAllocationTime;
+  private final Histogram.Child segmentRollTime;
   private final Histogram.Child appendLatency;
   private final Counter.Child appendRate;
   private final Counter.Child appendDataRate;
   private final Child seekLatency;
+  private final Histogram.Child indexPersistTime;
+  private final Counter.Child indexRestoredEntries;
+  private final Histogram.Child flushBatchSize;
+  private final Gauge.Child flushQueueDepth;
+  private final Histogram.Child segmentCompressionTime;
+  private final Counter.Child segmentCompressionSavedBytes;
 
   JournalMetrics(final String partitionId) {
     segmentCreationTime = SEGMENT_CREATION_TIME.labels(partitionId);
@@ -132,10 +198,17 @@ final class JournalMetrics {
     segmentCount = SEGMENT_COUNT.labels(partitionId);
     journalOpenTime = JOURNAL_OPEN_DURATION.labels(partitionId);
     segmentAllocationTime = SEGMENT_ALLOCATION_TIME.labels(partitionId);
+    segmentRollTime = SEGMENT_ROLL_TIME.labels(partitionId);
     appendLatency = APPEND_LATENCY.labels(partitionId);
     appendRate = APPEND_RATE.labels(partitionId);
     appendDataRate = APPEND_DATA_RATE.labels(partitionId);
     seekLatency = SEEK_LATENCY.labels(partitionId);
+    indexPersistTime = INDEX_PERSIST_TIME.labels(partitionId);
+    indexRestoredEntries = INDEX_RESTORED_ENTRIES.labels(partitionId);
+    flushBatchSize = FLUSH_BATCH_SIZE.labels(partitionId);
+    flushQueueDepth = FLUSH_QUEUE_DEPTH.labels(partitionId);
+    segmentCompressionTime = SEGMENT_COMPRESSION_TIME.labels(partitionId);
+    segmentCompressionSavedBytes = SEGMENT_COMPRESSION_SAVED_BYTES.labels(partitionId);
   }
 
   void observeSegmentCreation(final Runnable segmentCreation) {
@@ -170,6 +243,10 @@ final class JournalMetrics {
     return segmentAllocationTime.startTimer();
   }
 
+  Histogram.Timer observeSegmentRoll() {
+    return segmentRollTime.startTimer();
+  }
+
   void observeAppend(final long appendedBytes) {
     appendRate.inc();
     appendDataRate.inc(appendedBytes / 1024f);
@@ -182,4 +259,28 @@ final class JournalMetrics {
   Histogram.Timer observeSeekLatency() {
     return seekLatency.startTimer();
   }
+
+  Histogram.Timer observeIndexPersist() {
+    return indexPersistTime.startTimer();
+  }
+
+  void observeIndexRestore(final int restoredEntries) {
+    indexRestoredEntries.inc(restoredEntries);
+  }
+
+  void setFlushQueueDepth(final long unflushedRecords) {
+    flushQueueDepth.set(unflushedRecords);
+  }
+
+  void observeFlushBatch(final long flushedRecords) {
+    flushBatchSize.observe(flushedRecords);
+  }
+
+  Histogram.Timer observeSegmentCompression() {
+    return segmentCompressionTime.startTimer();
+  }
+
+  void observeSegmentCompressed(final long uncompressedBytes, final long compressedBytes) {
+    segmentCompressionSavedBytes.inc(Math.max(0, uncompressedBytes - compressedBytes));
+  }
 }
@@ -0,0 +1,274 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.journal.file;
+
+import io.camunda.zeebe.journal.util.ChecksumGenerator;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The sparse index entries of a sealed segment, persisted in a sidecar file next to the segment
+ * when the journal rolls over to the next segment. When the journal is opened again, the entries
+ * are restored into the {@link JournalIndex} instead of re-indexing the segment lazily by scanning
+ * it on the first seek.
+ *
+ * <p>The file is only trusted if its checksum is valid and its header matches the {@link
+ * SegmentDescriptor} of the segment, i.e. the segment was not truncated or modified after the file
+ * was written. As the file is never written before the segment itself, the caller must additionally
+ * make sure that every indexed entry was flushed, otherwise the file must be ignored.
+ *
+ * <p>The layout is as follows (little endian):
+ *
+ * <ul>
+ *   <li>{@code version} (32-bit signed integer)
+ *   <li>{@code id} (64-bit signed integer) - the segment id
+ *   <li>{@code firstIndex} (64-bit signed integer) - the first index of the segment
+ *   <li>{@code lastIndex} (64-bit signed integer) - the last index of the segment
+ *   <li>{@code lastPosition} (32-bit signed integer) - the position of the last entry
+ *   <li>{@code entryCount} (32-bit signed integer) - the number of following entries
+ *   <li>{@code entryCount} times: {@code index} (64-bit), {@code asqn} (64-bit), {@code position}
+ *       (32-bit)
+ *   <li>{@code checksum} (64-bit signed integer) - CRC32C of all previous bytes
+ * </ul>
+ */
+final class PersistedSegmentIndex {
+  private static final Logger LOG = LoggerFactory.getLogger(PersistedSegmentIndex.class);
+  private static final String EXTENSION = ".idx";
+  private static final String TEMPORARY_EXTENSION = ".tmp";
+  private static final ByteOrder ENDIANNESS = ByteOrder.LITTLE_ENDIAN;
+  private static final int VERSION = 1;
+  private static final int HEADER_LENGTH = 3 * Integer.BYTES + 3 * Long.BYTES;
+  private static final int ENTRY_LENGTH = 2 * Long.BYTES + Integer.BYTES;
+  private static final int CHECKSUM_LENGTH = Long.BYTES;
+
+  private final long id;
+  private final long firstIndex;
+  private final long lastIndex;
+  private final int lastPosition;
+  private final ByteBuffer entries;
+  private final int entryCount;
+
+  private PersistedSegmentIndex(
+      final long id,
+      final long firstIndex,
+      final long lastIndex,
+      final int lastPosition,
+      final ByteBuffer entries,
+      final int entryCount) {
+    this.id = id;
+    this.firstIndex = firstIndex;
+    this.lastIndex = lastIndex;
+    this.lastPosition = lastPosition;
+    this.entries = entries;
+    this.entryCount = entryCount;
+  }
+
+  /**
+   * Collects the entries of the given segment from the journal index.
+   *
+   * @param descriptor the up-to-date descriptor of the sealed segment
+   * @param index the journal index containing the segment's entries
+   * @return the persistable index of the segment
+   */
+  static PersistedSegmentIndex of(final SegmentDescriptor descriptor, final JournalIndex index) {
+    final var collector = new EntryCollector();
+    index.forEach(descriptor.index(), descriptor.lastIndex(), collector);
+
+    return new PersistedSegmentIndex(
+        descriptor.id(),
+        descriptor.index(),
+        descriptor.lastIndex(),
+        descriptor.lastPosition(),
+        collector.buffer.flip(),
+        collector.count);
+  }
+
+  /**
+   * Reads the index file of the given segment, if there is a valid one.
+   *
+   * @param segmentFile the path to the segment file
+   * @return the persisted index, or empty if there is none or if it is invalid
+   */
+  static Optional<PersistedSegmentIndex> read(final Path segmentFile) {
+    final var indexFile = pathOf(segmentFile);
+    final ByteBuffer buffer;
+    try {
+      buffer = ByteBuffer.wrap(Files.readAllBytes(indexFile)).order(ENDIANNESS);
+    } catch (final NoSuchFileException e) {
+      return Optional.empty();
+    } catch (final IOException e) {
+      LOG.warn("Failed to read persisted index {}, will ignore it", indexFile, e);
+      return Optional.empty();
+    }
+
+    if (buffer.remaining() < HEADER_LENGTH + CHECKSUM_LENGTH) {
+      LOG.debug("Ignoring persisted index {}, as it is incomplete", indexFile);
+      return Optional.empty();
+    }
+
+    final int checksumOffset = buffer.limit() - CHECKSUM_LENGTH;
+    final long expectedChecksum = buffer.getLong(checksumOffset);
+    if (new ChecksumGenerator().compute(buffer, 0, checksumOffset) != expectedChecksum) {
+      LOG.debug("Ignoring persisted index {}, as its checksum does not match", indexFile);
+      return Optional.empty();
+    }
+
+    final int version = buffer.getInt();
+    if (version != VERSION) {
+      LOG.debug("Ignoring persisted index {} with unknown version {}", indexFile, version);
+      return Optional.empty();
+    }
+
+    final long id = buffer.getLong();
+    final long firstIndex = buffer.getLong();
+    final long lastIndex = buffer.getLong();
+    final int lastPosition = buffer.getInt();
+    final int entryCount = buffer.getInt();
+    if (HEADER_LENGTH + (long) entryCount * ENTRY_LENGTH != checksumOffset) {
+      LOG.debug("Ignoring persisted index {}, as its entry count is invalid", indexFile);
+      return Optional.empty();
+    }
+
+    final var entries = buffer.slice().limit(entryCount * ENTRY_LENGTH).order(ENDIANNESS);
+    return Optional.of(
+        new PersistedSegmentIndex(id, firstIndex, lastIndex, lastPosition, entries, entryCount));
+  }
+
+  /** Deletes the index file of the given segment, if any. */
+  static void delete(final Path segmentFile) {
+    final var indexFile = pathOf(segmentFile);
+    try {
+      Files.deleteIfExists(indexFile);
+    } catch (final IOException e) {
+      LOG.warn("Failed to delete persisted index {}", indexFile, e);
+    }
+  }
+
+  /**
+   * Moves the index file of the given segment, if any, to the given other segment file, e.g. when
+   * a segment is replaced by an equivalent copy. If it cannot be moved, it is deleted, and the
+   * other segment is indexed lazily after a restart.
+   */
+  static void move(final Path segmentFile, final Path targetSegmentFile) {
+    final var indexFile = pathOf(segmentFile);
+    try {
+      Files.move(indexFile, pathOf(targetSegmentFile), StandardCopyOption.ATOMIC_MOVE);
+    } catch (final NoSuchFileException e) {
+      // nothing to move
+    } catch (final IOException e) {
+      LOG.warn("Failed to move persisted index {}, will delete it", indexFile, e);
+      delete(segmentFile);
+    }
+  }
+
+  static Path pathOf(final Path segmentFile) {
+    return segmentFile.resolveSibling(segmentFile.getFileName() + EXTENSION);
+  }
+
+  /**
+   * Writes the index next to the given segment file. The file is written to a temporary file first
+   * and then atomically moved, such that a reader never sees a partially written file. It is not
+   * flushed, as a lost or corrupted file is detected on read, and simply causes the segment to be
+   * indexed lazily again.
+   *
+   * @param segmentFile the path to the segment file
+   * @throws IOException if the file cannot be written
+   */
+  void write(final Path segmentFile) throws IOException {
+    final var indexFile = pathOf(segmentFile);
+    final var temporaryFile =
+        indexFile.resolveSibling(indexFile.getFileName() + TEMPORARY_EXTENSION);
+    final var buffer =
+        ByteBuffer.allocate(HEADER_LENGTH + entries.remaining() + CHECKSUM_LENGTH)
+            .order(ENDIANNESS);
+    buffer
+        .putInt(VERSION)
+        .putLong(id)
+        .putLong(firstIndex)
+        .putLong(lastIndex)
+        .putInt(lastPosition)
+        .putInt(entryCount)
+        .put(entries.duplicate());
+    buffer.putLong(new ChecksumGenerator().compute(buffer, 0, buffer.position()));
+    buffer.flip();
+
+    try (final var channel =
+        FileChannel.open(
+            temporaryFile,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+
+    Files.move(
+        temporaryFile,
+        indexFile,
+        StandardCopyOption.ATOMIC_MOVE,
+        StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * Returns true if this index was written for the given segment, in its current state. Only
+   * descriptors with a known last entry can match.
+   */
+  boolean matches(final SegmentDescriptor descriptor) {
+    return descriptor.id() == id
+        && descriptor.index() == firstIndex
+        && descriptor.lastIndex() == lastIndex
+        && descriptor.lastPosition() == lastPosition
+        && lastPosition > 0;
+  }
+
+  /** Restores all persisted entries into the given journal index. */
+  void restoreInto(final JournalIndex index) {
+    for (int i = 0; i < entryCount; i++) {
+      final int offset = i * ENTRY_LENGTH;
+      index.index(
+          entries.getLong(offset),
+          entries.getLong(offset + Long.BYTES),
+          entries.getInt(offset + 2 * Long.BYTES));
+    }
+  }
+
+  long lastIndex() {
+    return lastIndex;
+  }
+
+  int entryCount() {
+    return entryCount;
+  }
+
+  private static final class EntryCollector implements JournalIndex.IndexedEntryVisitor {
+    private ByteBuffer buffer = ByteBuffer.allocate(64 * ENTRY_LENGTH).order(ENDIANNESS);
+    private int count;
+
+    @Override
+    public void visit(final long index, final long asqn, final int position) {
+      if (buffer.remaining() < ENTRY_LENGTH) {
+        final var grown = ByteBuffer.allocate(buffer.capacity() * 2).order(ENDIANNESS);
+        buffer = grown.put(buffer.flip());
+      }
+
+      buffer.putLong(index).putLong(asqn).putInt(position);
+      count++;
+    }
+  }
+}
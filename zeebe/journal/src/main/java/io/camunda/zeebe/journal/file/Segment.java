@@ -28,7 +28,11 @@ import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.MappedByteBuffer;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
 import org.agrona.IoUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,12 +53,24 @@ final class Segment implements AutoCloseable, FlushableSegment {
   private final SegmentWriter writer;
   private final Set<SegmentReader> readers = Sets.newConcurrentHashSet();
   private final MappedByteBuffer buffer;
+  // only set if the segment is compressed, in which case it has neither a buffer nor a writer
+  private final CompressedSegmentFile compressedFile;
   private final JournalMetrics metrics;
 
   // This needs to be volatile in case the flushing is asynchronous
   private volatile boolean open = true;
   // This need to be volatile because both the writer and the readers access it concurrently
   private volatile boolean markedForDeletion = false;
+  // set when deleting, possibly from a different thread than the one closing the last reader
+  private volatile Predicate<Path> recycler = ignored -> false;
+  // the uncompressed segment which this compressed segment replaced; it stays mapped until this
+  // segment is deleted or closed, as records read from it may still be referenced
+  private Segment replacedSegment;
+  // completes once the index of the sealed segment was persisted in the background, if at all
+  private volatile CompletableFuture<Void> persistedIndex = CompletableFuture.completedFuture(null);
+  // incremented whenever the segment is truncated, such that copies of it can detect they are
+  // stale; only accessed by the writer
+  private long truncations;
 
   Segment(
       final SegmentFile file,
@@ -68,10 +84,27 @@ final class Segment implements AutoCloseable, FlushableSegment {
     this.buffer = buffer;
     this.index = index;
     this.metrics = metrics;
+    compressedFile = null;
 
     writer = createWriter(lastWrittenAsqn, metrics);
   }
 
+  /** Creates a sealed, read-only segment backed by the given compressed file. */
+  Segment(
+      final SegmentFile file,
+      final SegmentDescriptor descriptor,
+      final CompressedSegmentFile compressedFile,
+      final JournalIndex index,
+      final JournalMetrics metrics) {
+    this.file = file;
+    this.descriptor = descriptor;
+    this.compressedFile = compressedFile;
+    this.index = index;
+    this.metrics = metrics;
+    buffer = null;
+    writer = null;
+  }
+
   /**
    * Returns the segment ID.
    *
@@ -97,7 +130,7 @@ final class Segment implements AutoCloseable, FlushableSegment {
    */
   @Override
   public long lastIndex() {
-    return writer.getLastIndex();
+    return isCompressed() ? compressedFile.lastIndex() : writer.getLastIndex();
   }
 
   /**
@@ -119,6 +152,11 @@ final class Segment implements AutoCloseable, FlushableSegment {
    */
   @Override
   public boolean flush() {
+    if (isCompressed()) {
+      // compressed files are flushed once when written, and never modified afterwards
+      return true;
+    }
+
     final long lastIndex = lastIndex();
 
     try (final var ignored = metrics.observeSegmentFlush()) {
@@ -146,7 +184,7 @@ final class Segment implements AutoCloseable, FlushableSegment {
    * @return The last application sequence number in the segment.
    */
   long lastAsqn() {
-    return writer.getLastAsqn();
+    return isCompressed() ? compressedFile.lastAsqn() : writer.getLastAsqn();
   }
 
   /**
@@ -174,18 +212,49 @@ final class Segment implements AutoCloseable, FlushableSegment {
    */
   SegmentWriter writer() {
     checkOpen();
+    checkState(!isCompressed(), "Segment is compressed and cannot be written to");
     return writer;
   }
 
+  /** Returns true if the segment is sealed and backed by a compressed file. */
+  boolean isCompressed() {
+    return compressedFile != null;
+  }
+
+  /** Returns the compressed file backing this segment, or null if it is not compressed. */
+  CompressedSegmentFile compressedFile() {
+    return compressedFile;
+  }
+
+  /**
+   * Returns how many times the segment was truncated so far. A copy of the segment made while it
+   * was sealed is only equivalent to it if this did not change in the meantime.
+   */
+  long truncations() {
+    return truncations;
+  }
+
+  /**
+   * Returns a read-only view of the whole (uncompressed) segment. The caller must hold an open
+   * reader of the segment while using the view, such that the buffer is not unmapped meanwhile.
+   */
+  ByteBuffer readOnlyBuffer() {
+    checkState(!isCompressed(), "Segment is compressed and has no buffer");
+    return buffer.asReadOnlyBuffer().position(0).order(ENDIANNESS);
+  }
+
   /**
    * Creates a new segment reader.
    *
+   * @param readAheadExecutor loads the pages ahead of the reader if the segment is memory mapped
    * @return A new segment reader.
    */
-  SegmentReader createReader() {
+  SegmentReader createReader(final Executor readAheadExecutor) {
     checkOpen();
     final SegmentReader reader =
-        new SegmentReader(buffer.asReadOnlyBuffer().position(0).order(ENDIANNESS), this, index);
+        isCompressed()
+            ? new SegmentReader(compressedFile, this, index)
+            : new SegmentReader(readOnlyBuffer(), this, index, readAheadExecutor);
     readers.add(reader);
     return reader;
   }
@@ -203,8 +272,8 @@ final class Segment implements AutoCloseable, FlushableSegment {
     readers.remove(reader);
     // When multiple readers are closed simultaneously, both readers might try to delete the file.
     // This is ok, as safeDelete is idempotent. Hence we keep it simple, and doesn't add more
-    // concurrency control.
-    if (markedForDeletion && readers.isEmpty()) {
+    // concurrency control. A retired segment stays open, and is only deleted with its replacement.
+    if (markedForDeletion && !open && readers.isEmpty()) {
       safeDelete();
     }
   }
@@ -223,23 +292,83 @@ final class Segment implements AutoCloseable, FlushableSegment {
     return open;
   }
 
+  /** Returns true if the segment was deleted or replaced, even if readers may still read it. */
+  boolean isMarkedForDeletion() {
+    return markedForDeletion;
+  }
+
+  /**
+   * Sets the future of the index of this sealed segment, which is persisted in the background. It
+   * must complete before the index file is moved or deleted, such that it is not written again
+   * afterwards.
+   */
+  void onIndexPersisting(final CompletableFuture<Void> persistedIndex) {
+    this.persistedIndex = persistedIndex;
+  }
+
+  /** Waits until the index of this segment, if any, was persisted in the background. */
+  void awaitPersistedIndex() {
+    persistedIndex.join();
+  }
+
+  private void deletePersistedIndex() {
+    awaitPersistedIndex();
+    PersistedSegmentIndex.delete(file.file().toPath());
+  }
+
   /** Closes the segment. */
   @Override
   public void close() {
+    awaitPersistedIndex();
     open = false;
     readers.forEach(SegmentReader::close);
-    IoUtil.unmap(buffer);
+    release();
+    if (replacedSegment != null) {
+      replacedSegment.close();
+    }
   }
 
   /** Deletes the segment. */
   void delete() {
+    delete(ignored -> false);
+  }
+
+  /**
+   * Deletes the segment, but first offers its file to the given recycler once it is not used
+   * anymore. If the recycler accepts the file, it takes over its ownership and the file is not
+   * deleted.
+   *
+   * @param recycler returns true if it accepts the file marked for deletion, false otherwise
+   */
+  void delete(final Predicate<Path> recycler) {
+    if (replacedSegment != null) {
+      // only the uncompressed file has the size of a segment, so only it is worth recycling
+      replacedSegment.delete(recycler);
+    } else {
+      this.recycler = recycler;
+    }
     open = false;
+    deletePersistedIndex();
     markForDeletion();
     if (readers.isEmpty()) {
       safeDelete();
     }
   }
 
+  /**
+   * Marks the segment for deletion after it was replaced by an equivalent segment, e.g. its
+   * compressed copy. Unlike {@link #delete()}, the segment stays open and mapped, such that readers
+   * which already read from it are not interrupted, and records read from it remain valid even once
+   * their reader is closed. It is only released when its replacement is deleted or closed, i.e. on
+   * compaction, and must not be used to create new readers anymore.
+   *
+   * @param replacement the segment which replaces this one
+   */
+  void retire(final Segment replacement) {
+    markForDeletion();
+    replacement.replacedSegment = this;
+  }
+
   private void safeDelete() {
     if (!readers.isEmpty()) {
       throw new JournalException(
@@ -248,8 +377,12 @@ final class Segment implements AutoCloseable, FlushableSegment {
               readers.size()));
     }
     try {
-      IoUtil.unmap(buffer);
-      Files.deleteIfExists(file.getFileMarkedForDeletion());
+      open = false;
+      release();
+      final var fileMarkedForDeletion = file.getFileMarkedForDeletion();
+      if (!recycler.test(fileMarkedForDeletion)) {
+        Files.deleteIfExists(fileMarkedForDeletion);
+      }
     } catch (final IOException e) {
       LOG.warn(
           "Could not delete segment {}. File to delete {}. This can lead to increased disk usage.",
@@ -261,7 +394,19 @@ final class Segment implements AutoCloseable, FlushableSegment {
 
   @Override
   public String toString() {
-    return toStringHelper(this).add("id", id()).add("index", index()).toString();
+    return toStringHelper(this)
+        .add("id", id())
+        .add("index", index())
+        .add("compressed", isCompressed())
+        .toString();
+  }
+
+  private void release() {
+    if (isCompressed()) {
+      compressedFile.close();
+    } else {
+      IoUtil.unmap(buffer);
+    }
   }
 
   private void markForDeletion() {
@@ -279,12 +424,17 @@ final class Segment implements AutoCloseable, FlushableSegment {
   }
 
   void updateDescriptor() {
+    checkState(!isCompressed(), "Segment is compressed and cannot be modified");
     descriptor.setLastIndex(writer.getLastIndex());
     descriptor.setLastPosition(writer.getLastEntryPosition());
     descriptor.updateIfCurrentVersion(buffer);
   }
 
   void resetLastEntryInDescriptor() {
+    checkState(!isCompressed(), "Segment is compressed and cannot be modified");
+    truncations++;
+    // the persisted index, if any, is not valid anymore once the segment is modified
+    deletePersistedIndex();
     descriptor.setLastIndex(0);
     descriptor.setLastPosition(0);
     descriptor.updateIfCurrentVersion(buffer);
@@ -32,6 +32,7 @@ public final class SegmentFile {
   private static final char PART_SEPARATOR = '-';
   private static final char EXTENSION_SEPARATOR = '.';
   private static final String EXTENSION = "log";
+  private static final String COMPRESSED_EXTENSION = "clog";
   private static final String DELETE_EXTENSION = "deleted";
   private static final char DELETE_EXTENSION_SEPARATOR = '_';
   private final File file;
@@ -112,6 +113,39 @@ public final class SegmentFile {
             EXTENSION));
   }
 
+  /**
+   * Returns the path of the compressed file of the given segment file, e.g. {@code journal-1.clog}
+   * for {@code journal-1.log}. Both share the same file id.
+   */
+  static Path compressedFileOf(final Path segmentFile) {
+    return segmentFile.resolveSibling(
+        replaceExtension(segmentFile.getFileName().toString(), EXTENSION, COMPRESSED_EXTENSION));
+  }
+
+  /** Returns the path of the uncompressed segment file of the given compressed segment file. */
+  static Path uncompressedFileOf(final Path compressedFile) {
+    return compressedFile.resolveSibling(
+        replaceExtension(compressedFile.getFileName().toString(), COMPRESSED_EXTENSION, EXTENSION));
+  }
+
+  /** Returns true if the given segment file name is the one of a compressed segment. */
+  static boolean isCompressedSegmentFile(final String fileName) {
+    return fileName.endsWith(EXTENSION_SEPARATOR + COMPRESSED_EXTENSION);
+  }
+
+  private static String replaceExtension(
+      final String fileName, final String extension, final String replacement) {
+    final var suffix = EXTENSION_SEPARATOR + extension;
+    if (!fileName.endsWith(suffix)) {
+      throw new IllegalArgumentException(
+          "Expected file name to end with '%s', but got '%s'".formatted(suffix, fileName));
+    }
+
+    return fileName.substring(0, fileName.length() - suffix.length())
+        + EXTENSION_SEPARATOR
+        + replacement;
+  }
+
   /**
    * Returns the segment file.
    *
@@ -19,7 +19,11 @@ import java.nio.channels.FileChannel.MapMode;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 import org.agrona.IoUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,6 +36,8 @@ final class SegmentLoader {
   private final SegmentAllocator allocator;
   private final long minFreeDiskSpace;
   private final JournalMetrics metrics;
+  private final boolean persistIndex;
+  private final int compressionBlockSize;
 
   SegmentLoader(final int minFreeDiskSpace, final JournalMetrics metrics) {
     this(minFreeDiskSpace, metrics, SegmentAllocator.fill());
@@ -39,9 +45,33 @@ final class SegmentLoader {
 
   SegmentLoader(
       final long minFreeDiskSpace, final JournalMetrics metrics, final SegmentAllocator allocator) {
+    this(minFreeDiskSpace, metrics, allocator, false);
+  }
+
+  SegmentLoader(
+      final long minFreeDiskSpace,
+      final JournalMetrics metrics,
+      final SegmentAllocator allocator,
+      final boolean persistIndex) {
+    this(
+        minFreeDiskSpace,
+        metrics,
+        allocator,
+        persistIndex,
+        CompressedSegmentFile.DEFAULT_BLOCK_SIZE);
+  }
+
+  SegmentLoader(
+      final long minFreeDiskSpace,
+      final JournalMetrics metrics,
+      final SegmentAllocator allocator,
+      final boolean persistIndex,
+      final int compressionBlockSize) {
     this.minFreeDiskSpace = minFreeDiskSpace;
     this.metrics = metrics;
     this.allocator = allocator;
+    this.persistIndex = persistIndex;
+    this.compressionBlockSize = compressionBlockSize;
   }
 
   Segment createSegment(
@@ -112,6 +142,48 @@ final class SegmentLoader {
         journalIndex);
   }
 
+  /**
+   * Creates an uninitialized segment by reusing the file of a deleted segment, instead of creating
+   * a new file. The file is moved to the new segment's path and emptied before being allocated
+   * again, such that none of the old segment's entries can be read from it.
+   *
+   * @param spareFile the file of a deleted segment, which is not used anymore
+   * @param segmentFile the path of the new segment file
+   * @param descriptor the descriptor of the new segment
+   * @param journalIndex the journal index
+   * @return the new uninitialized segment
+   */
+  UninitializedSegment recycleUninitializedSegment(
+      final Path spareFile,
+      final Path segmentFile,
+      final SegmentDescriptor descriptor,
+      final JournalIndex journalIndex) {
+    final MappedByteBuffer mappedSegment;
+
+    try {
+      Files.move(spareFile, segmentFile, StandardCopyOption.ATOMIC_MOVE);
+      try (final var channel =
+          FileChannel.open(segmentFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+        channel.truncate(0);
+        checkDiskSpace(segmentFile, descriptor.maxSegmentSize());
+        allocateSegment(descriptor.maxSegmentSize(), channel);
+        mappedSegment = mapSegment(channel, descriptor.maxSegmentSize());
+      }
+
+      FileUtil.flushDirectory(segmentFile.getParent());
+    } catch (final IOException e) {
+      throw new JournalException(
+          String.format("Failed to recycle segment file %s as %s", spareFile, segmentFile), e);
+    }
+
+    return new UninitializedSegment(
+        new SegmentFile(segmentFile.toFile()),
+        descriptor.id(),
+        descriptor.maxSegmentSize(),
+        mappedSegment,
+        journalIndex);
+  }
+
   Segment loadExistingSegment(
       final Path segmentFile, final long lastWrittenAsqn, final JournalIndex journalIndex) {
     try (final var channel =
@@ -127,13 +199,218 @@ final class SegmentLoader {
         mappedSegment = mapSegment(channel, descriptor.maxSegmentSize());
       }
 
-      return loadSegment(segmentFile, mappedSegment, descriptor, lastWrittenAsqn, journalIndex);
+      final var buffer = mappedSegment;
+      return loadSegmentWithPersistedIndex(
+          segmentFile,
+          descriptor,
+          journalIndex,
+          () -> loadSegment(segmentFile, buffer, descriptor, lastWrittenAsqn, journalIndex));
     } catch (final IOException e) {
       throw new JournalException(
           String.format("Failed to load existing segment %s", segmentFile), e);
     }
   }
 
+  /**
+   * Loads an existing compressed segment, restoring its persisted index if enabled.
+   *
+   * @param compressedFile the path to the compressed segment file
+   * @param journalIndex the journal index
+   * @return the compressed, read-only segment
+   */
+  Segment loadCompressedSegment(final Path compressedFile, final JournalIndex journalIndex) {
+    final var segment = openCompressedSegment(compressedFile, journalIndex);
+    return loadSegmentWithPersistedIndex(
+        compressedFile, segment.descriptor(), journalIndex, () -> segment);
+  }
+
+  /**
+   * Opens a compressed segment without restoring its persisted index.
+   *
+   * @param compressedFile the path to the compressed segment file
+   * @param journalIndex the journal index
+   * @return the compressed, read-only segment
+   */
+  private Segment openCompressedSegment(
+      final Path compressedFile, final JournalIndex journalIndex) {
+    final CompressedSegmentFile file;
+    try {
+      file = CompressedSegmentFile.open(compressedFile);
+    } catch (final IOException e) {
+      throw new JournalException(
+          String.format("Failed to load compressed segment %s", compressedFile), e);
+    }
+
+    try {
+      final var descriptor =
+          readDescriptor(file.descriptor(), compressedFile.getFileName().toString());
+      return new Segment(
+          new SegmentFile(compressedFile.toFile()), descriptor, file, journalIndex, metrics);
+    } catch (final RuntimeException e) {
+      file.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Writes a compressed copy of the given sealed segment into the given file, and flushes it. The
+   * file should be named like a file marked for deletion, such that it is cleaned up if we crash
+   * before it replaces the segment via {@link #installCompressedSegment(Path, Path, JournalIndex)}.
+   * Until then, the uncompressed segment remains the source of truth.
+   *
+   * @param segment the sealed segment to compress
+   * @param reader a reader of the segment, which prevents it from being unmapped meanwhile; it is
+   *     closed once the segment was read
+   * @param lastIndex the last index of the sealed segment
+   * @param lastAsqn the last ASQN of the sealed segment
+   * @param targetFile the file to write the compressed copy to
+   * @return the target file
+   * @throws JournalException if the segment could not be compressed
+   */
+  Path compressSegment(
+      final Segment segment,
+      final SegmentReader reader,
+      final long lastIndex,
+      final long lastAsqn,
+      final Path targetFile) {
+    final int descriptorLength = segment.descriptor().length();
+
+    try (final var ignored = metrics.observeSegmentCompression();
+        final var writer = new CompressedSegmentFile.Writer(targetFile, segment.readOnlyBuffer())) {
+      int blockStart = descriptorLength;
+      while (reader.hasNext()) {
+        final int position = reader.getPosition();
+        if (position - blockStart >= compressionBlockSize) {
+          writer.writeBlock(blockStart, position - blockStart);
+          blockStart = position;
+        }
+        reader.next();
+      }
+
+      final int contentLength = reader.getPosition();
+      if (reader.getNextIndex() - 1 != lastIndex || contentLength == blockStart) {
+        throw new JournalException(
+            String.format(
+                "Expected to compress segment %s up to index %d, but read up to %d",
+                segment, lastIndex, reader.getNextIndex() - 1));
+      }
+
+      writer.writeBlock(blockStart, contentLength - blockStart);
+      writer.finish(descriptorLength, lastIndex, lastAsqn, contentLength);
+    } catch (final IOException e) {
+      deleteQuietly(targetFile);
+      throw new JournalException(String.format("Failed to compress segment %s", segment), e);
+    } catch (final RuntimeException e) {
+      deleteQuietly(targetFile);
+      throw e;
+    } finally {
+      reader.close();
+    }
+
+    return targetFile;
+  }
+
+  /**
+   * Atomically moves a compressed copy written by {@link #compressSegment(Segment, SegmentReader,
+   * long, long, Path)} to its final location, and opens it. As its entries are already indexed,
+   * the index is not restored.
+   *
+   * @param temporaryFile the file the compressed copy was written to
+   * @param compressedFile the final path of the compressed segment
+   * @param journalIndex the journal index
+   * @return the compressed, read-only segment
+   * @throws JournalException if the file could not be moved or opened
+   */
+  Segment installCompressedSegment(
+      final Path temporaryFile, final Path compressedFile, final JournalIndex journalIndex) {
+    try {
+      Files.move(temporaryFile, compressedFile, StandardCopyOption.ATOMIC_MOVE);
+      FileUtil.flushDirectory(compressedFile.getParent());
+    } catch (final IOException e) {
+      throw new JournalException(
+          String.format("Failed to move compressed segment to %s", compressedFile), e);
+    }
+
+    return openCompressedSegment(compressedFile, journalIndex);
+  }
+
+  /**
+   * Writes the content of the given compressed segment back into an uncompressed segment file,
+   * such that it can be written to again, e.g. after truncating the journal into it. The
+   * compressed segment is left untouched, and must be deleted by the caller.
+   *
+   * @param segment the compressed segment
+   * @param lastWrittenAsqn the last ASQN written before the segment
+   * @param journalIndex the journal index
+   * @return the uncompressed segment
+   */
+  Segment decompressSegment(
+      final Segment segment, final long lastWrittenAsqn, final JournalIndex journalIndex) {
+    final var segmentFile = SegmentFile.uncompressedFileOf(segment.file().file().toPath());
+    // decompress into a file marked for deletion first, such that an incomplete file is never
+    // mistaken for the segment if we crash meanwhile
+    final var temporaryFile = new SegmentFile(segmentFile.toFile()).getFileMarkedForDeletion();
+    final MappedByteBuffer mappedSegment;
+    try {
+      mappedSegment = mapNewSegment(temporaryFile, segment.descriptor());
+    } catch (final IOException e) {
+      throw new JournalException(
+          String.format("Failed to create segment file %s to decompress into", segmentFile), e);
+    }
+
+    try {
+      segment.compressedFile().copyTo(mappedSegment);
+      mappedSegment.force();
+      Files.move(temporaryFile, segmentFile, StandardCopyOption.ATOMIC_MOVE);
+      FileUtil.flushDirectory(segmentFile.getParent());
+    } catch (final IOException | RuntimeException e) {
+      IoUtil.unmap(mappedSegment);
+      deleteQuietly(temporaryFile);
+      throw new JournalException(
+          String.format("Failed to decompress segment %s into %s", segment, segmentFile), e);
+    }
+
+    final var descriptor = readDescriptor(mappedSegment, segmentFile.getFileName().toString());
+    return loadSegment(segmentFile, mappedSegment, descriptor, lastWrittenAsqn, journalIndex);
+  }
+
+  /**
+   * Persists the index entries of the given sealed segment next to it in the background, if
+   * enabled. The entries are collected right away, as the journal index is modified by the writer
+   * afterwards, while serializing, checksumming and writing them is done asynchronously, such that
+   * rolling over to the next segment is not delayed. Failing to do so is not critical, as the
+   * segment is then indexed lazily again after a restart.
+   *
+   * @param segment the segment to persist the index of; its descriptor must be up to date
+   * @param journalIndex the index containing the segment's entries
+   * @param executor the executor to write the index on, which may block on file I/O
+   * @return a future which completes once the index was persisted or failed to be, and never
+   *     completes exceptionally
+   */
+  CompletableFuture<Void> persistIndex(
+      final Segment segment, final JournalIndex journalIndex, final Executor executor) {
+    if (!persistIndex) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    final var segmentFile = segment.file().file().toPath();
+    final var index = PersistedSegmentIndex.of(segment.descriptor(), journalIndex);
+    return CompletableFuture.runAsync(() -> writeIndex(segment, segmentFile, index), executor);
+  }
+
+  private void writeIndex(
+      final Segment segment, final Path segmentFile, final PersistedSegmentIndex index) {
+    try (final var ignored = metrics.observeIndexPersist()) {
+      index.write(segmentFile);
+    } catch (final IOException | RuntimeException e) {
+      LOGGER.warn(
+          "Failed to persist index of segment {}, it will be indexed lazily after a restart",
+          segment,
+          e);
+      PersistedSegmentIndex.delete(segmentFile);
+    }
+  }
+
   /* ---- Internal methods ------ */
   private Segment loadSegment(
       final Path file,
@@ -145,6 +422,49 @@ final class SegmentLoader {
     return new Segment(segmentFile, descriptor, buffer, lastWrittenAsqn, journalIndex, metrics);
   }
 
+  private Segment loadSegmentWithPersistedIndex(
+      final Path file,
+      final SegmentDescriptor descriptor,
+      final JournalIndex journalIndex,
+      final Supplier<Segment> segmentLoader) {
+    if (!persistIndex) {
+      return segmentLoader.get();
+    }
+
+    // restore the entries before loading the segment, such that they are indexed in order
+    final var persistedIndex =
+        PersistedSegmentIndex.read(file).filter(index -> index.matches(descriptor));
+    persistedIndex.ifPresent(index -> index.restoreInto(journalIndex));
+
+    final var segment = segmentLoader.get();
+    if (persistedIndex.isPresent()) {
+      final var index = persistedIndex.get();
+      if (segment.lastIndex() < index.lastIndex()) {
+        // the descriptor was ahead of the actual content, e.g. because the segment was not
+        // completely flushed before a crash, so drop the restored entries which do not exist
+        LOGGER.debug(
+            "Discarding persisted index of segment {}, expected last index {} but was {}",
+            segment,
+            index.lastIndex(),
+            segment.lastIndex());
+        journalIndex.deleteAfter(segment.lastIndex());
+        PersistedSegmentIndex.delete(file);
+      } else {
+        metrics.observeIndexRestore(index.entryCount());
+      }
+    }
+
+    return segment;
+  }
+
+  private void deleteQuietly(final Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (final IOException e) {
+      LOGGER.warn("Failed to delete {}, this can lead to increased disk usage", file, e);
+    }
+  }
+
   private MappedByteBuffer mapSegment(final FileChannel channel, final long segmentSize)
       throws IOException {
     final var mappedSegment = channel.map(MapMode.READ_WRITE, 0, segmentSize);
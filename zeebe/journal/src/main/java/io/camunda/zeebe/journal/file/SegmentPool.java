@@ -0,0 +1,171 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.journal.file;
+
+import io.camunda.zeebe.journal.JournalException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.agrona.IoUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps a number of segments ready to use, such that rolling over to the next segment does not
+ * require creating, allocating and mapping a new file on the writer's thread. Segments are prepared
+ * in the background, in the order in which they are taken.
+ *
+ * <p>Files of deleted segments can be handed back to the pool via {@link #recycle(Path)}. Up to
+ * {@code capacity} of them are kept as spares, and are reused to prepare the next segments instead
+ * of creating new files. Spare files keep their name of a file marked for deletion, such that they
+ * are deleted like any other such file if the journal is closed before they are reused.
+ *
+ * <p>With a capacity of 0, no segments are prepared and no files are recycled.
+ */
+final class SegmentPool implements AutoCloseable {
+  private static final Logger LOG = LoggerFactory.getLogger(SegmentPool.class);
+  private static final long INITIAL_INDEX = 1;
+
+  private final Deque<CompletableFuture<UninitializedSegment>> preparedSegments =
+      new ArrayDeque<>();
+  private final Deque<Path> spareFiles = new ArrayDeque<>();
+  private final int capacity;
+  private final String name;
+  private final File directory;
+  private final int maxSegmentSize;
+  private final SegmentLoader segmentLoader;
+  private final JournalIndex journalIndex;
+
+  private long nextSegmentId;
+  private boolean closed;
+
+  SegmentPool(
+      final int capacity,
+      final String name,
+      final File directory,
+      final int maxSegmentSize,
+      final SegmentLoader segmentLoader,
+      final JournalIndex journalIndex) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException(
+          "Expected segment pool capacity to be at least 0, but was " + capacity);
+    }
+
+    this.capacity = capacity;
+    this.name = name;
+    this.directory = directory;
+    this.maxSegmentSize = maxSegmentSize;
+    this.segmentLoader = segmentLoader;
+    this.journalIndex = journalIndex;
+  }
+
+  /**
+   * Returns the oldest prepared segment, which may still be in preparation, or null if there is
+   * none. Does not replace it; call {@link #fill(long)} to do so.
+   */
+  synchronized CompletableFuture<UninitializedSegment> take() {
+    return preparedSegments.poll();
+  }
+
+  /**
+   * Prepares new segments in the background until the pool is full again. The segments are
+   * assigned increasing ids, starting at the given id, or after the id of the last prepared
+   * segment, whichever is greater.
+   *
+   * @param minSegmentId the minimum id of the next prepared segment
+   */
+  synchronized void fill(final long minSegmentId) {
+    nextSegmentId = Math.max(nextSegmentId, minSegmentId);
+    while (!closed && preparedSegments.size() < capacity) {
+      final var descriptor =
+          SegmentDescriptor.builder()
+              .withId(nextSegmentId++)
+              .withIndex(INITIAL_INDEX)
+              .withMaxSegmentSize(maxSegmentSize)
+              .build();
+      final var spareFile = spareFiles.poll();
+      preparedSegments.add(CompletableFuture.supplyAsync(() -> prepare(descriptor, spareFile)));
+    }
+  }
+
+  /**
+   * Offers the file of a deleted segment to the pool. If accepted, the pool takes over its
+   * ownership, and will either reuse or delete it.
+   *
+   * @param fileMarkedForDeletion the file of the deleted segment, which must not be used anymore
+   * @return true if the file was accepted, false if the caller must delete it
+   */
+  synchronized boolean recycle(final Path fileMarkedForDeletion) {
+    if (spareFiles.contains(fileMarkedForDeletion)) {
+      return true;
+    }
+
+    if (closed || spareFiles.size() >= capacity || !Files.exists(fileMarkedForDeletion)) {
+      return false;
+    }
+
+    spareFiles.add(fileMarkedForDeletion);
+    return true;
+  }
+
+  @Override
+  public void close() {
+    final List<CompletableFuture<UninitializedSegment>> pendingSegments;
+    final List<Path> pendingSpareFiles;
+    synchronized (this) {
+      closed = true;
+      pendingSegments = new ArrayList<>(preparedSegments);
+      pendingSpareFiles = new ArrayList<>(spareFiles);
+      preparedSegments.clear();
+      spareFiles.clear();
+    }
+
+    for (final var segment : pendingSegments) {
+      try {
+        IoUtil.unmap(segment.join().buffer());
+      } catch (final Exception e) {
+        LOG.warn("Segment preparation failed during close, ignoring and proceeding to close", e);
+      }
+    }
+
+    pendingSpareFiles.forEach(this::deleteSpareFile);
+  }
+
+  private UninitializedSegment prepare(final SegmentDescriptor descriptor, final Path spareFile) {
+    final var segmentFile =
+        SegmentFile.createSegmentFile(name, directory, descriptor.id()).toPath();
+    if (spareFile != null) {
+      try {
+        return segmentLoader.recycleUninitializedSegment(
+            spareFile, segmentFile, descriptor, journalIndex);
+      } catch (final JournalException e) {
+        LOG.warn("Failed to recycle {}, will create a new segment file instead", spareFile, e);
+        deleteSpareFile(spareFile);
+      }
+    }
+
+    return segmentLoader.createUninitializedSegment(segmentFile, descriptor, journalIndex);
+  }
+
+  private void deleteSpareFile(final Path spareFile) {
+    try {
+      Files.deleteIfExists(spareFile);
+    } catch (final IOException e) {
+      LOG.warn(
+          "Could not delete recycled segment file {}. This can lead to increased disk usage.",
+          spareFile,
+          e);
+    }
+  }
+}
@@ -21,25 +21,71 @@ import io.camunda.zeebe.journal.JournalRecord;
 import io.camunda.zeebe.journal.record.JournalRecordReaderUtil;
 import io.camunda.zeebe.journal.record.SBESerializer;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
-/** Log segment reader. */
+/**
+ * Log segment reader.
+ *
+ * <p>When reading a memory mapped segment, the pages ahead of the reader are loaded in windows of
+ * {@link #READ_AHEAD_SIZE} on the given read ahead executor, i.e. not by the thread of the reader,
+ * which would otherwise block until the whole window is faulted in. The next window is only
+ * requested once the reader passed half of the current one and the previous load completed, so a
+ * slow load never queues up more windows. This is meant to speed up reading sequentially from disk,
+ * e.g. when replaying or exporting a large log which is not in the page cache anymore; if the pages
+ * are cached already, loading them is cheap.
+ */
 final class SegmentReader implements Iterator<JournalRecord> {
+  static final int READ_AHEAD_SIZE = 1024 * 1024;
 
-  private final ByteBuffer buffer;
   private final JournalIndex index;
   private final Segment segment;
   private long currentIndex;
   private final JournalRecordReaderUtil recordReader;
   private final int descriptorLength;
+  // only set when reading a compressed segment, in which case the buffer holds a single block
+  private final CompressedSegmentFile compressedFile;
+  private ByteBuffer buffer;
+  private int block = -1;
+  private int blockOffset;
+  // only set when reading a memory mapped segment
+  private final Executor readAheadExecutor;
+  // the position up to which the pages of a memory mapped segment were requested to be loaded
+  private int readAheadLimit;
+  // the pages must stay mapped while they are loaded, so this is awaited before closing the reader
+  private volatile CompletableFuture<Void> pendingReadAhead =
+      CompletableFuture.completedFuture(null);
+
+  SegmentReader(
+      final ByteBuffer buffer,
+      final Segment segment,
+      final JournalIndex index,
+      final Executor readAheadExecutor) {
+    this(buffer, null, segment, index, readAheadExecutor);
+  }
 
-  SegmentReader(final ByteBuffer buffer, final Segment segment, final JournalIndex index) {
+  SegmentReader(
+      final CompressedSegmentFile compressedFile, final Segment segment, final JournalIndex index) {
+    this(null, compressedFile, segment, index, null);
+  }
+
+  private SegmentReader(
+      final ByteBuffer buffer,
+      final CompressedSegmentFile compressedFile,
+      final Segment segment,
+      final JournalIndex index,
+      final Executor readAheadExecutor) {
+    this.readAheadExecutor = readAheadExecutor;
     this.index = index;
     this.segment = segment;
     descriptorLength = segment.descriptor().length();
     recordReader = new JournalRecordReaderUtil(new SBESerializer());
     this.buffer = buffer;
+    this.compressedFile = compressedFile;
     reset();
   }
 
@@ -51,6 +97,12 @@ final class SegmentReader implements Iterator<JournalRecord> {
       return false;
     }
 
+    if (compressedFile != null
+        && !buffer.hasRemaining()
+        && block + 1 < compressedFile.blockCount()) {
+      loadBlock(block + 1);
+    }
+
     // if the next entry exists the version would be non-zero
     return FrameUtil.hasValidVersion(buffer);
   }
@@ -61,6 +113,8 @@ final class SegmentReader implements Iterator<JournalRecord> {
       throw new NoSuchElementException();
     }
 
+    readAhead();
+
     // Read version so that buffer's position is advanced.
     FrameUtil.readVersion(buffer);
 
@@ -71,7 +125,7 @@ final class SegmentReader implements Iterator<JournalRecord> {
   }
 
   void reset() {
-    buffer.position(descriptorLength);
+    moveTo(descriptorLength);
     currentIndex = segment.index() - 1;
   }
 
@@ -84,7 +138,7 @@ final class SegmentReader implements Iterator<JournalRecord> {
 
     final var position = this.index.lookup(index - 1);
     if (position != null && position.index() >= firstIndex && position.index() <= lastIndex) {
-      buffer.position(position.position());
+      moveTo(position.position());
       currentIndex = position.index() - 1;
     }
 
@@ -93,7 +147,7 @@ final class SegmentReader implements Iterator<JournalRecord> {
     final boolean shouldIndex = !this.index.hasIndexed(index);
 
     while (getNextIndex() < index && hasNext()) {
-      final var nextPosition = buffer.position();
+      final var nextPosition = getPosition();
       final var nextEntry = next();
       if (shouldIndex) {
         this.index.index(nextEntry, nextPosition);
@@ -102,6 +156,7 @@ final class SegmentReader implements Iterator<JournalRecord> {
   }
 
   void close() {
+    pendingReadAhead.exceptionally(error -> null).join();
     segment.onReaderClosed(this);
   }
 
@@ -109,6 +164,57 @@ final class SegmentReader implements Iterator<JournalRecord> {
     return currentIndex + 1;
   }
 
+  /** Returns the position of the next entry in the (uncompressed) segment. */
+  int getPosition() {
+    return blockOffset + buffer.position();
+  }
+
+  private void moveTo(final int position) {
+    if (compressedFile != null) {
+      final int targetBlock = compressedFile.blockOf(position);
+      if (targetBlock != block) {
+        loadBlock(targetBlock);
+      }
+    }
+
+    buffer.position(position - blockOffset);
+    readAheadLimit = 0;
+  }
+
+  /**
+   * Requests the next window of pages to be loaded in the background once the reader passed half of
+   * the current one, unless the previous window is still being loaded.
+   */
+  private void readAhead() {
+    if (compressedFile != null || !(buffer instanceof final MappedByteBuffer mappedBuffer)) {
+      return;
+    }
+
+    final int position = buffer.position();
+    if (position + READ_AHEAD_SIZE / 2 < readAheadLimit || !pendingReadAhead.isDone()) {
+      return;
+    }
+
+    final int from = Math.max(position, readAheadLimit);
+    final int to = Math.min(buffer.limit(), position + READ_AHEAD_SIZE);
+    if (from < to) {
+      final var window = mappedBuffer.slice(from, to - from);
+      try {
+        pendingReadAhead = CompletableFuture.runAsync(window::load, readAheadExecutor);
+      } catch (final RejectedExecutionException e) {
+        // the journal is closing, so the pages will not be read anymore
+        return;
+      }
+    }
+    readAheadLimit = to;
+  }
+
+  private void loadBlock(final int nextBlock) {
+    buffer = compressedFile.readBlock(nextBlock);
+    blockOffset = compressedFile.blockOffset(nextBlock);
+    block = nextBlock;
+  }
+
   private void checkSegmentOpen() {
     Preconditions.checkState(
         segment.isOpen(), "Segment is already closed. Reader must reset to a valid index.");
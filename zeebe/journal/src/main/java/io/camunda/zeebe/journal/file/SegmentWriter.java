@@ -24,6 +24,7 @@ import io.camunda.zeebe.journal.JournalException.InvalidChecksum;
 import io.camunda.zeebe.journal.JournalException.InvalidIndex;
 import io.camunda.zeebe.journal.JournalException.SegmentFull;
 import io.camunda.zeebe.journal.JournalRecord;
+import io.camunda.zeebe.journal.SerializedJournalRecord;
 import io.camunda.zeebe.journal.record.JournalRecordReaderUtil;
 import io.camunda.zeebe.journal.record.JournalRecordSerializer;
 import io.camunda.zeebe.journal.record.PersistedJournalRecord;
@@ -35,6 +36,7 @@ import io.camunda.zeebe.util.buffer.BufferWriter;
 import io.camunda.zeebe.util.buffer.DirectBufferWriter;
 import java.nio.BufferUnderflowException;
 import java.nio.MappedByteBuffer;
+import java.util.List;
 import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.slf4j.Logger;
@@ -178,6 +180,87 @@ final class SegmentWriter {
     return Either.right(lastEntry);
   }
 
+  /**
+   * Appends the given serialized records, starting with the first one which is not yet contained
+   * in {@code appended}, until all records are appended or the segment is full. Every appended
+   * record is added to {@code appended}.
+   *
+   * <p>All records are written and checksummed in a single pass, and only then made visible to
+   * readers in order. This way the next entry only needs to be invalidated once per batch instead
+   * of once per record. If a record cannot be appended, the records before it are still made
+   * visible before the exception is thrown.
+   *
+   * @param records the serialized records to append
+   * @param appended the records which were already appended; newly appended records are added
+   */
+  void append(
+      final List<? extends SerializedJournalRecord> records, final List<JournalRecord> appended) {
+    final int frameLength = FrameUtil.getLength();
+    final int metadataLength = serializer.getMetadataLength();
+    final int firstRecord = appended.size();
+    final int batchStartPosition = buffer.position();
+    int position = batchStartPosition;
+
+    try {
+      for (int i = firstRecord; i < records.size(); i++) {
+        final var record = records.get(i);
+        final byte[] serializedRecord = record.serializedJournalRecord();
+        final int recordOffset = position + frameLength + metadataLength;
+        if (recordOffset + serializedRecord.length > buffer.capacity()) {
+          break;
+        }
+
+        // the next entry of the previous record must stay invalid until the whole batch is written
+        if (position != batchStartPosition) {
+          FrameUtil.markAsIgnored(buffer, position);
+        }
+
+        writeBuffer.putBytes(recordOffset, serializedRecord);
+        final long checksum =
+            checksumGenerator.compute(buffer, recordOffset, serializedRecord.length);
+        if (checksum != record.checksum()) {
+          throw new InvalidChecksum(
+              String.format(
+                  "Failed to append record. Checksum %d does not match the expected %d.",
+                  checksum, record.checksum()));
+        }
+
+        writeMetadata(position, frameLength, serializedRecord.length, checksum);
+        updateLastWrittenEntry(position, frameLength, metadataLength, serializedRecord.length);
+        appended.add(lastEntry);
+        position = recordOffset + serializedRecord.length;
+      }
+    } finally {
+      publishBatch(records, firstRecord, appended.size(), batchStartPosition, position);
+    }
+  }
+
+  /** Makes the written records of a batch visible to readers, in order. */
+  private void publishBatch(
+      final List<? extends SerializedJournalRecord> records,
+      final int fromRecord,
+      final int toRecord,
+      final int batchStartPosition,
+      final int batchEndPosition) {
+    if (fromRecord == toRecord) {
+      buffer.position(batchStartPosition);
+      return;
+    }
+
+    invalidateNextEntry(batchEndPosition);
+
+    final int headerLength = FrameUtil.getLength() + serializer.getMetadataLength();
+    int position = batchStartPosition;
+    for (int i = fromRecord; i < toRecord; i++) {
+      final int appendedBytes = headerLength + records.get(i).serializedJournalRecord().length;
+      FrameUtil.writeVersion(buffer, position);
+      position += appendedBytes;
+      metrics.observeAppend(appendedBytes);
+    }
+
+    buffer.position(batchEndPosition);
+  }
+
   private void verifyAsqnIsIncreasing(final long asqn) {
     if (asqn != SegmentedJournal.ASQN_IGNORE && asqn <= lastAsqn) {
       throw new InvalidAsqn(
@@ -22,10 +22,13 @@ import com.google.common.collect.Sets;
 import io.camunda.zeebe.journal.Journal;
 import io.camunda.zeebe.journal.JournalReader;
 import io.camunda.zeebe.journal.JournalRecord;
+import io.camunda.zeebe.journal.SerializedJournalRecord;
 import io.camunda.zeebe.util.VisibleForTesting;
 import io.camunda.zeebe.util.buffer.BufferWriter;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.concurrent.locks.StampedLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -72,9 +75,13 @@ public final class SegmentedJournal implements Journal {
 
   @Override
   public JournalRecord append(final long asqn, final BufferWriter recordDataWriter) {
+    final JournalRecord record;
     try (final var ignored = journalMetrics.observeAppendLatency()) {
-      return writer.append(asqn, recordDataWriter);
+      record = writer.append(asqn, recordDataWriter);
     }
+
+    installCompressedSegments();
+    return record;
   }
 
   @Override
@@ -82,13 +89,30 @@ public final class SegmentedJournal implements Journal {
     try (final var ignored = journalMetrics.observeAppendLatency()) {
       writer.append(record);
     }
+
+    installCompressedSegments();
   }
 
   @Override
   public JournalRecord append(final long checksum, final byte[] serializedRecord) {
+    final JournalRecord record;
+    try (final var ignored = journalMetrics.observeAppendLatency()) {
+      record = writer.append(checksum, serializedRecord);
+    }
+
+    installCompressedSegments();
+    return record;
+  }
+
+  @Override
+  public List<JournalRecord> append(final List<? extends SerializedJournalRecord> records) {
+    final List<JournalRecord> appended;
     try (final var ignored = journalMetrics.observeAppendLatency()) {
-      return writer.append(checksum, serializedRecord);
+      appended = writer.append(records);
     }
+
+    installCompressedSegments();
+    return appended;
   }
 
   @Override
@@ -163,7 +187,14 @@ public final class SegmentedJournal implements Journal {
       // sequentially anyway, meaning there is virtually no contention
       final var stamp = rwlock.readLock();
       try {
+        final long lastFlushedIndex = writer.getLastFlushedIndex();
+        journalMetrics.setFlushQueueDepth(Math.max(0, writer.getLastIndex() - lastFlushedIndex));
         writer.flush();
+
+        final long flushedRecords = writer.getLastFlushedIndex() - lastFlushedIndex;
+        if (flushedRecords > 0) {
+          journalMetrics.observeFlushBatch(flushedRecords);
+        }
       } finally {
         rwlock.unlockRead(stamp);
       }
@@ -194,6 +225,24 @@ public final class SegmentedJournal implements Journal {
     open = false;
   }
 
+  /**
+   * Replaces sealed segments by their compressed copies once these are ready. This is done by the
+   * writer, after appending, as it requires the write lock; it is a no-op unless a compression
+   * completed in the meantime.
+   */
+  private void installCompressedSegments() {
+    if (!segments.hasCompressedSegmentsReady()) {
+      return;
+    }
+
+    final var stamp = rwlock.writeLock();
+    try {
+      segments.installCompressedSegments();
+    } finally {
+      rwlock.unlockWrite(stamp);
+    }
+  }
+
   /**
    * Asserts that the journal is open.
    *
@@ -223,6 +272,11 @@ public final class SegmentedJournal implements Journal {
     return segments.getLastSegment();
   }
 
+  /** Returns the executor which loads the pages ahead of the readers of this journal. */
+  Executor readAheadExecutor() {
+    return segments.readAheadExecutor();
+  }
+
   /**
    * Returns the segment following the segment with the given ID.
    *
@@ -255,8 +309,13 @@ public final class SegmentedJournal implements Journal {
    */
   void resetAdvancedReaders(final long index) {
     for (final SegmentedJournalReader reader : readers) {
-      if (reader.getNextIndex() > index) {
+      final long nextIndex = reader.getNextIndex();
+      if (nextIndex > index) {
         reader.unsafeSeek(index);
+      } else if (reader.isOnStaleSegment()) {
+        // the reader's segment was replaced, e.g. by a compressed or decompressed copy, which may
+        // now be truncated; move the reader to it before it can read past the truncated index
+        reader.unsafeSeek(nextIndex);
       }
     }
   }
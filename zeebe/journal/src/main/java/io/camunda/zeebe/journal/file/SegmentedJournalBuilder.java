@@ -32,6 +32,9 @@ public class SegmentedJournalBuilder {
   private static final long DEFAULT_MIN_FREE_DISK_SPACE = 1024L * 1024 * 1024;
   private static final int DEFAULT_JOURNAL_INDEX_DENSITY = 100;
   private static final boolean DEFAULT_PREALLOCATE_SEGMENT_FILES = true;
+  private static final boolean DEFAULT_PERSIST_SEGMENT_INDEX = false;
+  private static final int DEFAULT_SEGMENT_POOL_SIZE = 1;
+  private static final boolean DEFAULT_COMPRESS_SEALED_SEGMENTS = false;
 
   // impossible value to make it clear it's unset
   private static final int DEFAULT_PARTITION_ID = -1;
@@ -43,6 +46,9 @@ public class SegmentedJournalBuilder {
   private long freeDiskSpace = DEFAULT_MIN_FREE_DISK_SPACE;
   private int journalIndexDensity = DEFAULT_JOURNAL_INDEX_DENSITY;
   private boolean preallocateSegmentFiles = DEFAULT_PREALLOCATE_SEGMENT_FILES;
+  private boolean persistSegmentIndex = DEFAULT_PERSIST_SEGMENT_INDEX;
+  private int segmentPoolSize = DEFAULT_SEGMENT_POOL_SIZE;
+  private boolean compressSealedSegments = DEFAULT_COMPRESS_SEALED_SEGMENTS;
   private int partitionId = DEFAULT_PARTITION_ID;
 
   private JournalMetaStore journalMetaStore;
@@ -140,6 +146,50 @@ public class SegmentedJournalBuilder {
     return this;
   }
 
+  /**
+   * Sets whether the index of a segment is persisted next to it once the journal rolls over to the
+   * next segment. If true, the persisted index is restored when the journal is opened again,
+   * instead of re-indexing segments lazily by scanning them on the first seek.
+   *
+   * @param persistSegmentIndex true to persist the index of sealed segments, false otherwise
+   * @return this builder for chaining
+   */
+  public SegmentedJournalBuilder withPersistSegmentIndex(final boolean persistSegmentIndex) {
+    this.persistSegmentIndex = persistSegmentIndex;
+    return this;
+  }
+
+  /**
+   * Sets how many segments are prepared ahead of time, in the background, such that rolling over to
+   * the next segment does not block the writer. Files of deleted segments are recycled to prepare
+   * new segments, up to the same number. If 0, every segment is created when it is needed.
+   *
+   * @param segmentPoolSize the number of segments to prepare ahead of time
+   * @return this builder for chaining
+   */
+  public SegmentedJournalBuilder withSegmentPoolSize(final int segmentPoolSize) {
+    checkArgument(segmentPoolSize >= 0, "segmentPoolSize must be positive or 0");
+    this.segmentPoolSize = segmentPoolSize;
+    return this;
+  }
+
+  /**
+   * Sets whether sealed segments, i.e. all but the last one, are compressed in the background. If
+   * true, a sealed segment is replaced by a block compressed copy once it is ready, which is read
+   * block by block instead of being mapped into memory. If the journal is truncated into a
+   * compressed segment, it is decompressed again first. The replaced segment stays mapped until the
+   * compressed one is deleted, as records read from it may still be in use.
+   *
+   * <p>Compressed segments can always be read, even if this is disabled later on.
+   *
+   * @param compressSealedSegments true to compress sealed segments, false otherwise
+   * @return this builder for chaining
+   */
+  public SegmentedJournalBuilder withCompressSealedSegments(final boolean compressSealedSegments) {
+    this.compressSealedSegments = compressSealedSegments;
+    return this;
+  }
+
   /**
    * The ID of the partition on which this journal resides. This is used primarily for
    * observability, e.g. in {@link JournalMetrics}.
@@ -162,11 +212,12 @@ public class SegmentedJournalBuilder {
   }
 
   public SegmentedJournal build() {
-    final var journalIndex = new SparseJournalIndex(journalIndexDensity);
+    final var journalIndex = new SparseArrayJournalIndex(journalIndexDensity);
     final var journalMetrics = new JournalMetrics(String.valueOf(partitionId));
     final var segmentAllocator =
         preallocateSegmentFiles ? SegmentAllocator.fill() : SegmentAllocator.noop();
-    final var segmentLoader = new SegmentLoader(freeDiskSpace, journalMetrics, segmentAllocator);
+    final var segmentLoader =
+        new SegmentLoader(freeDiskSpace, journalMetrics, segmentAllocator, persistSegmentIndex);
     final var segmentsManager =
         new SegmentsManager(
             journalIndex,
@@ -175,7 +226,9 @@ public class SegmentedJournalBuilder {
             name,
             segmentLoader,
             journalMetrics,
-            journalMetaStore);
+            journalMetaStore,
+            segmentPoolSize,
+            compressSealedSegments);
     final var segmentsFlusher = new SegmentsFlusher(journalMetaStore);
 
     return new SegmentedJournal(journalIndex, segmentsManager, journalMetrics, segmentsFlusher);
@@ -38,13 +38,18 @@ class SegmentedJournalReader implements JournalReader {
   /** Initializes the reader to the given index. */
   private void initialize() {
     currentSegment = journal.getFirstSegment();
-    currentReader = currentSegment.createReader();
+    currentReader = currentSegment.createReader(journal.readAheadExecutor());
   }
 
   public long getNextIndex() {
     return currentReader.getNextIndex();
   }
 
+  /** Returns true if the segment the reader is on was deleted or replaced by another one. */
+  boolean isOnStaleSegment() {
+    return !currentSegment.isOpen() || currentSegment.isMarkedForDeletion();
+  }
+
   @Override
   public boolean hasNext() {
     final var stamp = journal.acquireReadlock();
@@ -169,7 +174,7 @@ class SegmentedJournalReader implements JournalReader {
   }
 
   long unsafeSeek(final long index) {
-    if (!currentSegment.isOpen()) {
+    if (isOnStaleSegment()) {
       unsafeSeekToFirst();
     }
 
@@ -248,6 +253,6 @@ class SegmentedJournalReader implements JournalReader {
 
     currentReader.close();
     currentSegment = nextSegment;
-    currentReader = currentSegment.createReader();
+    currentReader = currentSegment.createReader(journal.readAheadExecutor());
   }
 }
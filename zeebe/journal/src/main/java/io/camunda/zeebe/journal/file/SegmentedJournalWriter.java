@@ -19,8 +19,11 @@ package io.camunda.zeebe.journal.file;
 import io.camunda.zeebe.journal.JournalException.SegmentFull;
 import io.camunda.zeebe.journal.JournalException.SegmentSizeTooSmall;
 import io.camunda.zeebe.journal.JournalRecord;
+import io.camunda.zeebe.journal.SerializedJournalRecord;
 import io.camunda.zeebe.util.Either;
 import io.camunda.zeebe.util.buffer.BufferWriter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 
 final class SegmentedJournalWriter {
@@ -65,6 +68,24 @@ final class SegmentedJournalWriter {
         segmentWriter -> segmentWriter.append(checksum, serializedRecord));
   }
 
+  List<JournalRecord> append(final List<? extends SerializedJournalRecord> records) {
+    final var appended = new ArrayList<JournalRecord>(records.size());
+    while (true) {
+      final int appendedBefore = appended.size();
+      currentWriter.append(records, appended);
+      if (appended.size() == records.size()) {
+        return appended;
+      }
+
+      if (appended.size() == appendedBefore
+          && currentSegment.index() == currentWriter.getNextIndex()) {
+        throw new SegmentSizeTooSmall("Failed appending, segment size is too small");
+      }
+
+      journalMetrics.observeSegmentCreation(this::createNewSegment);
+    }
+  }
+
   /**
    * Tries to append a record using the given inSegmentAppender. If the segment is full, a new
    * segment is created and tries to attempt the record in the new segment.
@@ -125,6 +146,10 @@ final class SegmentedJournalWriter {
     flusher.flush(segments.getTailSegments(flusher.nextFlushIndex()));
   }
 
+  long getLastFlushedIndex() {
+    return flusher.nextFlushIndex() - 1;
+  }
+
   private void createNewSegment() {
     currentSegment.updateDescriptor();
     currentSegment = segments.getNextSegment();
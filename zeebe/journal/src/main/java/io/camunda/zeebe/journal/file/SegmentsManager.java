@@ -12,6 +12,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import io.camunda.zeebe.journal.CorruptedJournalException;
 import io.camunda.zeebe.journal.JournalException;
 import io.camunda.zeebe.journal.JournalMetaStore;
+import io.camunda.zeebe.util.VisibleForTesting;
 import io.camunda.zeebe.util.logging.ThrottledLogger;
 import java.io.File;
 import java.io.IOException;
@@ -19,19 +20,24 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.SortedMap;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,12 +47,23 @@ final class SegmentsManager implements AutoCloseable {
   private static final long FIRST_SEGMENT_ID = 1;
   private static final long INITIAL_INDEX = 1;
   private static final long INITIAL_ASQN = SegmentedJournal.ASQN_IGNORE;
+  private static final int DEFAULT_SEGMENT_POOL_SIZE = 1;
 
   private static final Logger LOG = LoggerFactory.getLogger(SegmentsManager.class);
   private static final Logger THROTTLED_LOG = new ThrottledLogger(LOG, Duration.ofSeconds(5));
 
   private final NavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
-  private CompletableFuture<UninitializedSegment> nextSegment = null;
+  private final SegmentPool segmentPool;
+  // writes the persisted indexes of sealed segments, off the writer and the shared common pool;
+  // its thread is only started once the first index is persisted
+  private final ExecutorService indexPersister;
+  // loads the pages ahead of the readers of memory mapped segments, see SegmentReader
+  private final ExecutorService readAheadExecutor;
+  // compressions of sealed segments, in the order in which they were started; only accessed by the
+  // writer
+  private final Deque<PendingCompression> pendingCompressions = new ArrayDeque<>();
+  private final boolean compressSealedSegments;
+  private volatile boolean compressedSegmentsReady;
 
   private final JournalMetrics journalMetrics;
   private final JournalIndex journalIndex;
@@ -66,6 +83,28 @@ final class SegmentsManager implements AutoCloseable {
       final SegmentLoader segmentLoader,
       final JournalMetrics journalMetrics,
       final JournalMetaStore metaStore) {
+    this(
+        journalIndex,
+        maxSegmentSize,
+        directory,
+        name,
+        segmentLoader,
+        journalMetrics,
+        metaStore,
+        DEFAULT_SEGMENT_POOL_SIZE,
+        false);
+  }
+
+  SegmentsManager(
+      final JournalIndex journalIndex,
+      final int maxSegmentSize,
+      final File directory,
+      final String name,
+      final SegmentLoader segmentLoader,
+      final JournalMetrics journalMetrics,
+      final JournalMetaStore metaStore,
+      final int segmentPoolSize,
+      final boolean compressSealedSegments) {
     this.name = checkNotNull(name, "name cannot be null");
     this.journalIndex = journalIndex;
     this.maxSegmentSize = maxSegmentSize;
@@ -73,10 +112,24 @@ final class SegmentsManager implements AutoCloseable {
     this.segmentLoader = segmentLoader;
     this.journalMetrics = journalMetrics;
     this.metaStore = metaStore;
+    this.compressSealedSegments = compressSealedSegments;
+    segmentPool =
+        new SegmentPool(
+            segmentPoolSize, name, directory, maxSegmentSize, segmentLoader, journalIndex);
+    indexPersister =
+        Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("journal-index-persister-" + name).daemon().factory());
+    readAheadExecutor =
+        Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("journal-read-ahead-" + name).daemon().factory());
   }
 
   @Override
   public void close() {
+    // compressions still read from their segments, so they must complete before unmapping them
+    pendingCompressions.forEach(this::discardCompression);
+    pendingCompressions.clear();
+
     segments
         .values()
         .forEach(
@@ -85,19 +138,18 @@ final class SegmentsManager implements AutoCloseable {
               segment.close();
             });
 
-    if (nextSegment != null) {
-      try {
-        nextSegment.join();
-      } catch (final Exception e) {
-        LOG.warn(
-            "Next segment preparation failed during close, ignoring and proceeding to close", e);
-      }
-      nextSegment = null;
-    }
-
+    segmentPool.close();
+    // closing the segments awaited their persisted indexes, so no write is pending anymore
+    indexPersister.shutdown();
+    // closing the segments closed their readers, which awaited their pending read aheads
+    readAheadExecutor.shutdown();
     currentSegment = null;
   }
 
+  Executor readAheadExecutor() {
+    return readAheadExecutor;
+  }
+
   Segment getCurrentSegment() {
     return currentSegment;
   }
@@ -119,6 +171,16 @@ final class SegmentsManager implements AutoCloseable {
    * @throws IllegalStateException if the segment manager is not open
    */
   Segment getNextSegment() {
+    try (final var ignored = journalMetrics.observeSegmentRoll()) {
+      return rollSegment();
+    }
+  }
+
+  private Segment rollSegment() {
+    // the current segment is sealed from now on
+    final var sealedSegment = currentSegment;
+    sealedSegment.onIndexPersisting(
+        segmentLoader.persistIndex(sealedSegment, journalIndex, indexPersister));
 
     final Segment lastSegment = getLastSegment();
     final var lastWrittenAsqn = lastSegment != null ? lastSegment.lastAsqn() : INITIAL_ASQN;
@@ -129,25 +191,64 @@ final class SegmentsManager implements AutoCloseable {
             .withIndex(nextSegmentIndex)
             .withMaxSegmentSize(maxSegmentSize)
             .build();
+    final var nextSegment = segmentPool.take();
     if (nextSegment != null) {
       try {
         currentSegment =
             nextSegment.join().initializeForUse(nextSegmentIndex, lastWrittenAsqn, journalMetrics);
       } catch (final CompletionException e) {
         LOG.error("Failed to acquire next segment, retrying synchronously now.", e);
-        nextSegment = null;
         currentSegment = createSegment(descriptor, lastWrittenAsqn);
       }
     } else {
       currentSegment = createSegment(descriptor, lastWrittenAsqn);
     }
-    prepareNextSegment();
+    segmentPool.fill(currentSegment.id() + 1);
 
     segments.put(descriptor.index(), currentSegment);
     journalMetrics.incSegmentCount();
+    compressInBackground(sealedSegment);
     return currentSegment;
   }
 
+  /**
+   * Returns true if the compression of at least one sealed segment completed since the last call
+   * to {@link #installCompressedSegments()}.
+   */
+  boolean hasCompressedSegmentsReady() {
+    return compressedSegmentsReady;
+  }
+
+  /**
+   * Replaces sealed segments by their compressed copies, for every compression which completed so
+   * far, in the order in which they were started. Readers which currently read from a replaced
+   * segment can continue to do so; it is deleted once they moved on.
+   *
+   * <p>Must be called by the writer, while holding the journal's write lock, such that no reader
+   * looks up a segment while it is being replaced.
+   */
+  void installCompressedSegments() {
+    compressedSegmentsReady = false;
+    while (!pendingCompressions.isEmpty() && pendingCompressions.peek().compressedCopy().isDone()) {
+      final var pending = pendingCompressions.poll();
+      final Path temporaryFile;
+      try {
+        temporaryFile = pending.compressedCopy().join();
+      } catch (final CompletionException | CancellationException e) {
+        LOG.warn("Failed to compress segment {}, it stays uncompressed", pending.segment(), e);
+        continue;
+      }
+
+      installCompressedSegment(pending, temporaryFile);
+    }
+  }
+
+  @VisibleForTesting("Allows to deterministically wait until sealed segments are compressed")
+  void awaitPendingCompressions() {
+    pendingCompressions.forEach(
+        pending -> pending.compressedCopy().exceptionally(error -> null).join());
+  }
+
   Segment getNextSegment(final long index) {
     final Map.Entry<Long, Segment> nextSegment = segments.higherEntry(index);
     return nextSegment != null ? nextSegment.getValue() : null;
@@ -197,7 +298,7 @@ final class SegmentsManager implements AutoCloseable {
         compactSegments.size());
     for (final Segment segment : compactSegments.values()) {
       LOG.trace("{} - Deleting segment: {}", name, segment);
-      segment.delete();
+      segment.delete(segmentPool::recycle);
       journalMetrics.decSegmentCount();
     }
 
@@ -266,7 +367,8 @@ final class SegmentsManager implements AutoCloseable {
   private void resetCurrentSegment() {
     final Segment lastSegment = getLastSegment();
     if (lastSegment != null) {
-      currentSegment = lastSegment;
+      // compressed segments are read-only, so the writer needs the uncompressed one back
+      currentSegment = lastSegment.isCompressed() ? decompressSegment(lastSegment) : lastSegment;
     } else {
       final SegmentDescriptor descriptor =
           SegmentDescriptor.builder()
@@ -293,7 +395,9 @@ final class SegmentsManager implements AutoCloseable {
 
     // If a segment doesn't already exist, create an initial segment starting at index 1.
     if (!segments.isEmpty()) {
-      currentSegment = segments.lastEntry().getValue();
+      final var lastSegment = segments.lastEntry().getValue();
+      // e.g. if we crashed while truncating the journal into a compressed segment
+      currentSegment = lastSegment.isCompressed() ? decompressSegment(lastSegment) : lastSegment;
     } else {
       final SegmentDescriptor descriptor =
           SegmentDescriptor.builder()
@@ -314,16 +418,9 @@ final class SegmentsManager implements AutoCloseable {
     // node was stopped. It is safe to delete it now since there are no readers opened for these
     // segments.
     deleteDeferredFiles();
-  }
 
-  private void prepareNextSegment() {
-    final var descriptor =
-        SegmentDescriptor.builder()
-            .withId(currentSegment.id() + 1)
-            .withIndex(INITIAL_INDEX)
-            .withMaxSegmentSize(maxSegmentSize)
-            .build();
-    nextSegment = CompletableFuture.supplyAsync(() -> createUninitializedSegment(descriptor));
+    // compress segments which were sealed before compression was enabled, or before a restart
+    segments.headMap(currentSegment.index()).values().forEach(this::compressInBackground);
   }
 
   Collection<Segment> getTailSegments(final long index) {
@@ -335,9 +432,106 @@ final class SegmentsManager implements AutoCloseable {
     return Collections.unmodifiableSortedMap(segments.tailMap(segment.index(), true)).values();
   }
 
-  private UninitializedSegment createUninitializedSegment(final SegmentDescriptor descriptor) {
-    final var segmentFile = SegmentFile.createSegmentFile(name, directory, descriptor.id());
-    return segmentLoader.createUninitializedSegment(segmentFile.toPath(), descriptor, journalIndex);
+  private void compressInBackground(final Segment segment) {
+    if (!compressSealedSegments
+        || segment.isCompressed()
+        || segment.lastIndex() < segment.index()) {
+      return;
+    }
+
+    // the reader prevents the segment from being unmapped while it is compressed, even if it is
+    // deleted meanwhile
+    final var reader = segment.createReader(readAheadExecutor);
+    final var lastIndex = segment.lastIndex();
+    final var lastAsqn = segment.lastAsqn();
+    // a unique name of a file marked for deletion, such that concurrent compressions of the same
+    // segment never overwrite each other, and the file is cleaned up if we crash meanwhile
+    final var temporaryFile =
+        new SegmentFile(SegmentFile.compressedFileOf(segment.file().file().toPath()).toFile())
+            .getFileMarkedForDeletion();
+    final var compressedFile =
+        CompletableFuture.supplyAsync(
+                () ->
+                    segmentLoader.compressSegment(
+                        segment, reader, lastIndex, lastAsqn, temporaryFile))
+            .whenComplete((ignoredFile, ignoredError) -> compressedSegmentsReady = true);
+    pendingCompressions.add(
+        new PendingCompression(segment, segment.truncations(), compressedFile));
+  }
+
+  private void installCompressedSegment(
+      final PendingCompression pending, final Path temporaryFile) {
+    final var segment = pending.segment();
+    if (segments.get(segment.index()) != segment
+        || segment == currentSegment
+        || segment.truncations() != pending.truncations()) {
+      LOG.debug("Discarding compressed copy of segment {}, as it was modified meanwhile", segment);
+      deleteCompressedCopy(temporaryFile);
+      return;
+    }
+
+    final var segmentFile = segment.file().file().toPath();
+    final var compressedFile = SegmentFile.compressedFileOf(segmentFile);
+    final Segment compressedSegment;
+    try {
+      compressedSegment =
+          segmentLoader.installCompressedSegment(temporaryFile, compressedFile, journalIndex);
+    } catch (final JournalException e) {
+      LOG.warn("Failed to open compressed copy of segment {}, it stays uncompressed", segment, e);
+      deleteCompressedCopy(temporaryFile);
+      deleteCompressedCopy(compressedFile);
+      return;
+    }
+
+    segment.awaitPersistedIndex();
+    PersistedSegmentIndex.move(segmentFile, compressedFile);
+    segments.put(segment.index(), compressedSegment);
+    try {
+      segment.retire(compressedSegment);
+    } catch (final JournalException e) {
+      // the uncompressed file is still in place, and remains the source of truth
+      LOG.warn("Failed to replace segment {} by its compressed copy", segment, e);
+      segments.put(segment.index(), segment);
+      compressedSegment.close();
+      deleteCompressedCopy(compressedFile);
+      return;
+    }
+
+    LOG.debug("Replaced segment {} by its compressed copy {}", segment, compressedFile);
+    journalMetrics.observeSegmentCompressed(
+        segment.descriptor().maxSegmentSize(), compressedSegment.compressedFile().size());
+  }
+
+  private void discardCompression(final PendingCompression pending) {
+    try {
+      deleteCompressedCopy(pending.compressedCopy().join());
+    } catch (final CompletionException | CancellationException e) {
+      LOG.debug("Compression of segment {} failed during close", pending.segment(), e);
+    }
+  }
+
+  private void deleteCompressedCopy(final Path compressedFile) {
+    try {
+      Files.deleteIfExists(compressedFile);
+    } catch (final IOException e) {
+      LOG.warn(
+          "Could not delete unused compressed segment {}. This can result in unnecessary disk usage.",
+          compressedFile,
+          e);
+    }
+  }
+
+  private Segment decompressSegment(final Segment segment) {
+    final var previousSegment = segments.lowerEntry(segment.index());
+    final var lastWrittenAsqn =
+        previousSegment != null ? previousSegment.getValue().lastAsqn() : INITIAL_ASQN;
+    final var decompressedSegment =
+        segmentLoader.decompressSegment(segment, lastWrittenAsqn, journalIndex);
+
+    LOG.debug("Decompressed segment {} to write to it again", segment);
+    segments.put(segment.index(), decompressedSegment);
+    segment.delete();
+    return decompressedSegment;
   }
 
   private Segment createSegment(final SegmentDescriptor descriptor, final long lastWrittenAsqn) {
@@ -367,10 +561,12 @@ final class SegmentsManager implements AutoCloseable {
       try {
         LOG.debug("Found segment file: {}", file.getName());
         final Segment segment =
-            segmentLoader.loadExistingSegment(
-                file.toPath(),
-                previousSegment != null ? previousSegment.lastAsqn() : INITIAL_ASQN,
-                journalIndex);
+            SegmentFile.isCompressedSegmentFile(file.getName())
+                ? segmentLoader.loadCompressedSegment(file.toPath(), journalIndex)
+                : segmentLoader.loadExistingSegment(
+                    file.toPath(),
+                    previousSegment != null ? previousSegment.lastAsqn() : INITIAL_ASQN,
+                    journalIndex);
 
         if (i > 0) {
           // throws CorruptedJournalException if there is gap
@@ -465,9 +661,21 @@ final class SegmentsManager implements AutoCloseable {
               directory));
     }
 
-    Arrays.sort(files, Comparator.comparingInt(f -> SegmentFile.getSegmentIdFromPath(f.getName())));
+    final List<File> segmentFiles = new ArrayList<>(files.length);
+    for (final File file : files) {
+      // a compressed copy only replaces its segment once the uncompressed file is deleted; if both
+      // exist, we crashed before that, and the uncompressed file is the source of truth
+      if (SegmentFile.isCompressedSegmentFile(file.getName())
+          && Files.exists(SegmentFile.uncompressedFileOf(file.toPath()))) {
+        deleteCompressedCopy(file.toPath());
+      } else {
+        segmentFiles.add(file);
+      }
+    }
 
-    return Arrays.asList(files);
+    segmentFiles.sort(Comparator.comparingInt(f -> SegmentFile.getSegmentIdFromPath(f.getName())));
+
+    return segmentFiles;
   }
 
   private void deleteDeferredFiles() {
@@ -494,4 +702,7 @@ final class SegmentsManager implements AutoCloseable {
           e);
     }
   }
+
+  private record PendingCompression(
+      Segment segment, long truncations, CompletableFuture<Path> compressedCopy) {}
 }
@@ -0,0 +1,268 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.journal.file;
+
+import io.camunda.zeebe.journal.JournalRecord;
+import java.util.Arrays;
+
+/**
+ * A {@link JournalIndex} backed by sorted primitive arrays instead of skip lists. Since records are
+ * appended with strictly increasing indexes and application sequence numbers, both mappings can be
+ * kept as append-only arrays which are searched with a binary search, avoiding the boxing and node
+ * allocations of a {@link java.util.concurrent.ConcurrentSkipListMap}.
+ *
+ * <p>Mutations are serialized, while lookups are lock-free. A slot which was once published to
+ * readers is never overwritten: appending after a truncation, compacting or growing the index
+ * copies the live range into new arrays, which are then published atomically. This way a
+ * concurrent lookup always sees a consistent, if possibly slightly outdated, view of the index.
+ */
+final class SparseArrayJournalIndex implements JournalIndex {
+
+  private static final int INITIAL_CAPACITY = 128;
+
+  private final int density;
+  private volatile SortedLongTable indexToPosition = new SortedLongTable(INITIAL_CAPACITY);
+  // keys are the asqns, values the indexes; both are sorted since asqns increase with the index
+  private volatile SortedLongTable asqnToIndex = new SortedLongTable(INITIAL_CAPACITY);
+
+  SparseArrayJournalIndex(final int density) {
+    this.density = density;
+  }
+
+  @Override
+  public void index(final JournalRecord indexedEntry, final int position) {
+    index(indexedEntry.index(), indexedEntry.asqn(), position);
+  }
+
+  @Override
+  public void index(final long index, final long asqn, final int position) {
+    if (index % density == 0) {
+      synchronized (this) {
+        indexToPosition = indexToPosition.put(index, position);
+        if (asqn != SegmentedJournal.ASQN_IGNORE) {
+          asqnToIndex = asqnToIndex.put(asqn, index);
+        }
+      }
+    }
+  }
+
+  @Override
+  public IndexInfo lookup(final long index) {
+    final var table = indexToPosition;
+    final int tail = table.tail;
+    final int slot = table.floorKey(index, table.head, tail);
+    return slot >= 0 ? new IndexInfo(table.keys[slot], (int) table.values[slot]) : null;
+  }
+
+  @Override
+  public Long lookupAsqn(final long asqn) {
+    return lookupAsqn(asqn, Long.MAX_VALUE);
+  }
+
+  @Override
+  public Long lookupAsqn(final long asqn, final long indexUpperBound) {
+    final var table = asqnToIndex;
+    final int tail = table.tail;
+    final int head = table.head;
+    final int slot = table.floorKey(asqn, head, tail);
+    if (slot < 0) {
+      return null;
+    }
+
+    if (table.values[slot] <= indexUpperBound) {
+      return table.values[slot];
+    }
+
+    final int boundedSlot = table.floorValue(indexUpperBound, head, slot);
+    return boundedSlot >= 0 ? table.values[boundedSlot] : null;
+  }
+
+  @Override
+  public synchronized void deleteAfter(final long index) {
+    final var positions = indexToPosition;
+    positions.truncate(positions.floorKey(index, positions.head, positions.tail) + 1);
+
+    final var asqns = asqnToIndex;
+    asqns.truncate(asqns.floorValue(index, asqns.head, asqns.tail) + 1);
+  }
+
+  @Override
+  public synchronized void deleteUntil(final long index) {
+    final var positions = indexToPosition;
+    positions.compact(positions.floorKey(index - 1, positions.head, positions.tail) + 1);
+
+    // keep the asqn of the last indexed entry before the given index, so asqn lookups can still
+    // resolve to the closest lower index
+    final var asqns = asqnToIndex;
+    final int floorSlot = asqns.floorValue(index, asqns.head, asqns.tail);
+    if (floorSlot >= 0) {
+      asqns.compact(floorSlot);
+    }
+  }
+
+  @Override
+  public synchronized void clear() {
+    indexToPosition = new SortedLongTable(INITIAL_CAPACITY);
+    asqnToIndex = new SortedLongTable(INITIAL_CAPACITY);
+  }
+
+  @Override
+  public boolean hasIndexed(final long index) {
+    final var indexInfo = lookup(index);
+    if (indexInfo == null) {
+      return false;
+    } else {
+      return indexInfo.index() > index - density;
+    }
+  }
+
+  @Override
+  public void forEach(final long fromIndex, final long toIndex, final IndexedEntryVisitor visitor) {
+    final var positions = indexToPosition;
+    final int positionsTail = positions.tail;
+    final int positionsHead = positions.head;
+    final var asqns = asqnToIndex;
+    final int asqnsTail = asqns.tail;
+    final int asqnsHead = asqns.head;
+
+    // both tables are sorted by index, so we can walk them in parallel
+    int asqnSlot = Math.max(asqnsHead, asqns.floorValue(fromIndex - 1, asqnsHead, asqnsTail) + 1);
+    int slot =
+        Math.max(
+            positionsHead, positions.floorKey(fromIndex - 1, positionsHead, positionsTail) + 1);
+    for (; slot < positionsTail && positions.keys[slot] <= toIndex; slot++) {
+      final long index = positions.keys[slot];
+      while (asqnSlot < asqnsTail && asqns.values[asqnSlot] < index) {
+        asqnSlot++;
+      }
+
+      final long asqn =
+          asqnSlot < asqnsTail && asqns.values[asqnSlot] == index
+              ? asqns.keys[asqnSlot]
+              : SegmentedJournal.ASQN_IGNORE;
+      visitor.visit(index, asqn, (int) positions.values[slot]);
+    }
+  }
+
+  /**
+   * Parallel arrays of keys and values, both sorted in ascending order. The live range is {@code
+   * [head, tail)}; the writer publishes new slots by writing the volatile {@code tail}.
+   */
+  private static final class SortedLongTable {
+    private final long[] keys;
+    private final long[] values;
+    private volatile int head;
+    private volatile int tail;
+    // every slot below this was visible to readers at some point, and must not be overwritten
+    private int highWatermark;
+
+    private SortedLongTable(final int capacity) {
+      keys = new long[capacity];
+      values = new long[capacity];
+    }
+
+    private SortedLongTable(final long[] keys, final long[] values, final int size) {
+      this.keys = keys;
+      this.values = values;
+      tail = size;
+      highWatermark = size;
+    }
+
+    /**
+     * Adds the mapping, and returns the table which contains it. This is this table, unless the
+     * arrays had to be copied.
+     */
+    private SortedLongTable put(final long key, final long value) {
+      final int currentTail = tail;
+      if (currentTail > head && keys[currentTail - 1] >= key) {
+        return insert(key, value);
+      }
+
+      if (currentTail == keys.length || currentTail < highWatermark) {
+        return copy(Math.max(INITIAL_CAPACITY, (currentTail - head) * 2)).put(key, value);
+      }
+
+      keys[currentTail] = key;
+      values[currentTail] = value;
+      tail = currentTail + 1;
+      highWatermark = currentTail + 1;
+      return this;
+    }
+
+    /**
+     * Slow path for keys which are not greater than the last key, e.g. when a reader re-indexes
+     * older entries. Existing mappings are kept as is.
+     */
+    private SortedLongTable insert(final long key, final long value) {
+      final int currentHead = head;
+      final int currentTail = tail;
+      final int slot = Arrays.binarySearch(keys, currentHead, currentTail, key);
+      if (slot >= 0) {
+        return this;
+      }
+
+      final int insertionPoint = -(slot + 1);
+      final int size = currentTail - currentHead + 1;
+      final int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+      final long[] newKeys = new long[capacity];
+      final long[] newValues = new long[capacity];
+      final int before = insertionPoint - currentHead;
+      System.arraycopy(keys, currentHead, newKeys, 0, before);
+      System.arraycopy(values, currentHead, newValues, 0, before);
+      newKeys[before] = key;
+      newValues[before] = value;
+      System.arraycopy(keys, insertionPoint, newKeys, before + 1, currentTail - insertionPoint);
+      System.arraycopy(values, insertionPoint, newValues, before + 1, currentTail - insertionPoint);
+      return new SortedLongTable(newKeys, newValues, size);
+    }
+
+    private SortedLongTable copy(final int capacity) {
+      final int currentHead = head;
+      final int size = tail - currentHead;
+      final long[] newKeys = new long[capacity];
+      final long[] newValues = new long[capacity];
+      System.arraycopy(keys, currentHead, newKeys, 0, size);
+      System.arraycopy(values, currentHead, newValues, 0, size);
+      return new SortedLongTable(newKeys, newValues, size);
+    }
+
+    /** Drops every slot from {@code newTail} (inclusive) onwards. */
+    private void truncate(final int newTail) {
+      tail = Math.max(head, newTail);
+    }
+
+    /** Drops every slot before {@code newHead} (exclusive). */
+    private void compact(final int newHead) {
+      head = Math.max(head, Math.min(tail, newHead));
+    }
+
+    /** Returns the last slot in {@code [from, to)} with a key less or equal to the given one. */
+    private int floorKey(final long key, final int from, final int to) {
+      return floor(keys, key, from, to);
+    }
+
+    /** Returns the last slot in {@code [from, to)} with a value less or equal to the given one. */
+    private int floorValue(final long value, final int from, final int to) {
+      return floor(values, value, from, to);
+    }
+
+    private static int floor(final long[] array, final long key, final int from, final int to) {
+      if (from >= to) {
+        return -1;
+      }
+
+      final int slot = Arrays.binarySearch(array, from, to, key);
+      if (slot >= 0) {
+        return slot;
+      }
+
+      final int insertionPoint = -(slot + 1);
+      return insertionPoint > from ? insertionPoint - 1 : -1;
+    }
+  }
+}
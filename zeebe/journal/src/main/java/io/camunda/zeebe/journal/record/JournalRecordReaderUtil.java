@@ -40,7 +40,9 @@ public final class JournalRecordReaderUtil {
 
     final int startPosition = buffer.position();
 
-    final UnsafeBuffer directBuffer = new UnsafeBuffer(buffer.slice());
+    // wrap the remaining bytes directly instead of slicing, to avoid allocating another view
+    final UnsafeBuffer directBuffer =
+        new UnsafeBuffer(buffer, startPosition, buffer.limit() - startPosition);
 
     final RecordMetadata metadata = serializer.readMetadata(directBuffer, 0);
 
@@ -14,11 +14,21 @@ public final class ChecksumGenerator {
 
   private final CRC32C crc32 = new CRC32C();
 
+  // a view of the last given buffer, reused so computing many checksums over the same buffer (e.g.
+  // a segment) does not allocate
+  private ByteBuffer source;
+  private ByteBuffer view;
+
   /** Compute checksum of given ByteBuffer */
   public long compute(final ByteBuffer buffer, final int offset, final int length) {
-    final var slice = buffer.asReadOnlyBuffer().position(offset).slice();
+    if (source != buffer) {
+      source = buffer;
+      view = buffer.duplicate();
+    }
+
+    view.clear().position(offset).limit(offset + length);
     crc32.reset();
-    crc32.update(slice.limit(length));
+    crc32.update(view);
     return crc32.getValue();
   }
 }
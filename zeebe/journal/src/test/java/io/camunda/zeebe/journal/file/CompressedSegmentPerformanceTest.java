@@ -0,0 +1,160 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.journal.file;
+
+import io.camunda.zeebe.journal.JournalReader;
+import io.camunda.zeebe.journal.JournalRecord;
+import io.camunda.zeebe.journal.util.MockJournalMetastore;
+import io.camunda.zeebe.util.FileUtil;
+import io.camunda.zeebe.util.buffer.BufferUtil;
+import io.camunda.zeebe.util.buffer.DirectBufferWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.agrona.DirectBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares reading from uncompressed (memory mapped) segments with reading from compressed
+ * segments, for sequential reads, as done when replaying or exporting, and for random seeks, as
+ * done when replicating to a follower which lags behind. The disk footprint of the segments is
+ * logged once they are written.
+ *
+ * <p>Run it via {@link #main(String[])}, which compares raw and compressed segments. It is not
+ * run as a test, as no reference score was measured for it in CI.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(
+    value = 1,
+    jvmArgs = {"-Xmx1g", "-Xms1g"})
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class CompressedSegmentPerformanceTest {
+  private static final Logger LOG = LoggerFactory.getLogger(CompressedSegmentPerformanceTest.class);
+  private static final int ENTRY_COUNT = 200_000;
+  private static final int MAX_SEGMENT_SIZE = 16 * 1024 * 1024;
+  private static final int INDEX_DENSITY = 100;
+
+  @Param({"raw", "compressed"})
+  public String segmentType;
+
+  private Path directory;
+  private SegmentedJournal journal;
+  private JournalReader reader;
+
+  @Setup
+  public void setup() throws IOException {
+    directory = Files.createTempDirectory("compressed-segment");
+    journal = openJournal("compressed".equals(segmentType));
+    reader = journal.openReader();
+    LOG.info("Disk footprint of {} segments: {} bytes", segmentType, diskFootprint());
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    reader.close();
+    journal.close();
+    FileUtil.deleteFolder(directory);
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(CompressedSegmentPerformanceTest.class.getName())
+                .build())
+        .run();
+  }
+
+  @Benchmark
+  public JournalRecord measureSequentialRead() {
+    if (!reader.hasNext()) {
+      reader.seekToFirst();
+    }
+
+    return reader.next();
+  }
+
+  @Benchmark
+  public JournalRecord measureRandomSeek() {
+    reader.seek(ThreadLocalRandom.current().nextLong(1, ENTRY_COUNT));
+    return reader.next();
+  }
+
+  private SegmentedJournal openJournal(final boolean compressSealedSegments) {
+    final var metrics = new JournalMetrics("benchmark");
+    final var metaStore = new MockJournalMetastore();
+    final var index = new SparseArrayJournalIndex(INDEX_DENSITY);
+    final var segments =
+        new SegmentsManager(
+            index,
+            MAX_SEGMENT_SIZE,
+            directory.toFile(),
+            "journal",
+            new SegmentLoader(0, metrics, SegmentAllocator.noop()),
+            metrics,
+            metaStore,
+            1,
+            compressSealedSegments);
+    final var journal =
+        new SegmentedJournal(index, segments, metrics, new SegmentsFlusher(metaStore));
+
+    for (int i = 1; i <= ENTRY_COUNT; i++) {
+      journal.append(i, new DirectBufferWriter().wrap(createEntry(i)));
+    }
+
+    // wait until all sealed segments are compressed, such that only these are read
+    segments.awaitPendingCompressions();
+    final var stamp = journal.rwlock().writeLock();
+    try {
+      segments.installCompressedSegments();
+    } finally {
+      journal.rwlock().unlockWrite(stamp);
+    }
+
+    return journal;
+  }
+
+  private long diskFootprint() throws IOException {
+    try (final var files = Files.list(directory)) {
+      long size = 0;
+      for (final var file : files.toList()) {
+        if (SegmentFile.isSegmentFile("journal", file.getFileName().toString())) {
+          size += Files.size(file);
+        }
+      }
+      return size;
+    }
+  }
+
+  private static DirectBuffer createEntry(final int i) {
+    // resembles a serialized record, which compresses similarly well
+    return BufferUtil.wrapString(
+        "{\"key\":%d,\"position\":%d,\"intent\":\"ELEMENT_ACTIVATED\",\"valueType\":\"PROCESS_INSTANCE\",\"value\":{\"bpmnProcessId\":\"process\",\"elementId\":\"task-%d\",\"variables\":{}}}"
+            .formatted(2251799813685248L + i, i, i % 10));
+  }
+}
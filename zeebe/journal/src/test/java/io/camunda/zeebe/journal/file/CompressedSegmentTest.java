@@ -0,0 +1,297 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.journal.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.camunda.zeebe.journal.JournalReader;
+import io.camunda.zeebe.journal.JournalRecord;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class CompressedSegmentTest {
+  private static final String JOURNAL_NAME = "journal";
+  // small enough that every segment is split into several blocks
+  private static final int BLOCK_SIZE = 256;
+
+  private final TestJournalFactory journalFactory = new TestJournalFactory("a".repeat(200), 4);
+  private @TempDir Path directory;
+  private SegmentsManager segments;
+
+  @Test
+  void shouldReplaceSealedSegmentsByCompressedCopies() {
+    // given
+    try (final var journal = openJournal(true)) {
+      // when
+      appendAndCompress(journal, 9);
+
+      // then
+      assertThat(segments.getSegment(1).isCompressed()).isTrue();
+      assertThat(segments.getSegment(5).isCompressed()).isTrue();
+      assertThat(segments.getSegment(9).isCompressed()).isFalse();
+      assertThat(segmentFile(1)).doesNotExist();
+      assertThat(SegmentFile.compressedFileOf(segmentFile(1)))
+          .exists()
+          .satisfies(file -> assertThat(Files.size(file)).isLessThan(maxSegmentSize()));
+    }
+  }
+
+  @Test
+  void shouldReadEntriesFromCompressedSegments() {
+    // given
+    try (final var journal = openJournal(true)) {
+      appendAndCompress(journal, 10);
+
+      // when
+      try (final var reader = journal.openReader()) {
+        // then
+        assertEntries(reader, 1, 10);
+      }
+    }
+  }
+
+  @Test
+  void shouldSeekIntoCompressedSegments() {
+    // given
+    try (final var journal = openJournal(true)) {
+      appendAndCompress(journal, 10);
+
+      try (final var reader = journal.openReader()) {
+        // when - then
+        assertThat(reader.seek(7)).isEqualTo(7);
+        assertEntries(reader, 7, 10);
+        assertThat(reader.seek(2)).isEqualTo(2);
+        assertEntries(reader, 2, 10);
+        assertThat(reader.seekToAsqn(6)).isEqualTo(6);
+        assertThat(reader.next().asqn()).isEqualTo(6);
+      }
+    }
+  }
+
+  @Test
+  void shouldContinueReadingFromReplacedSegment() {
+    // given
+    try (final var journal = openJournal(true)) {
+      appendEntries(journal, 9);
+      final var reader = journal.openReader();
+      assertThat(reader.next().index()).isOne();
+
+      // when - the writer installs the compressed copies once it appends again
+      segments.awaitPendingCompressions();
+      journal.append(10, journalFactory.entry());
+
+      // then
+      assertThat(segments.getSegment(1).isCompressed()).isTrue();
+      assertEntries(reader, 2, 10);
+      reader.close();
+      assertThat(segmentFile(1)).doesNotExist();
+    }
+  }
+
+  @Test
+  void shouldKeepReplacedSegmentMappedUntilCompacted() {
+    // given - a record which outlives the reader it was read with
+    try (final var journal = openJournal(true)) {
+      appendEntries(journal, 9);
+      final JournalRecord record;
+      try (final var reader = journal.openReader()) {
+        record = reader.next();
+      }
+      final var replacedFile = new SegmentFile(segmentFile(1).toFile()).getFileMarkedForDeletion();
+
+      // when
+      segments.awaitPendingCompressions();
+      journal.append(10, journalFactory.entry());
+
+      // then
+      assertThat(segments.getSegment(1).isCompressed()).isTrue();
+      assertThat(record.data()).isEqualTo(journalFactory.entryData());
+      assertThat(replacedFile).exists();
+
+      // when
+      journal.deleteUntil(9);
+
+      // then
+      assertThat(replacedFile).doesNotExist();
+    }
+  }
+
+  @Test
+  void shouldLoadCompressedSegmentsOnRestart() {
+    // given
+    try (final var journal = openJournal(true)) {
+      appendAndCompress(journal, 10);
+    }
+
+    // when - compressed segments are read even if compression is now disabled
+    try (final var journal = openJournal(false)) {
+      // then
+      assertThat(segments.getSegment(1).isCompressed()).isTrue();
+      assertThat(journal.getLastIndex()).isEqualTo(10);
+      try (final var reader = journal.openReader()) {
+        assertEntries(reader, 1, 10);
+      }
+    }
+  }
+
+  @Test
+  void shouldCompressSegmentsSealedBeforeRestart() {
+    // given
+    try (final var journal = openJournal(false)) {
+      appendEntries(journal, 9);
+    }
+
+    // when
+    try (final var journal = openJournal(true)) {
+      segments.awaitPendingCompressions();
+      journal.append(10, journalFactory.entry());
+
+      // then
+      assertThat(segments.getSegment(1).isCompressed()).isTrue();
+      assertThat(segments.getSegment(5).isCompressed()).isTrue();
+      try (final var reader = journal.openReader()) {
+        assertEntries(reader, 1, 10);
+      }
+    }
+  }
+
+  @Test
+  void shouldDecompressSegmentWhenTruncatingIntoIt() {
+    // given
+    try (final var journal = openJournal(true)) {
+      appendAndCompress(journal, 10);
+      final var reader = journal.openReader();
+      reader.seek(7);
+
+      // when
+      journal.deleteAfter(6);
+      journal.append(7, journalFactory.entry());
+
+      // then
+      assertThat(segments.getSegment(5).isCompressed()).isFalse();
+      assertThat(SegmentFile.compressedFileOf(segmentFile(2))).doesNotExist();
+      assertThat(journal.getLastIndex()).isEqualTo(7);
+      assertEntries(reader, 7, 7);
+      reader.seekToFirst();
+      assertEntries(reader, 1, 7);
+      reader.close();
+    }
+  }
+
+  @Test
+  void shouldDiscardCompressedCopyOfTruncatedSegment() {
+    // given
+    try (final var journal = openJournal(true)) {
+      appendEntries(journal, 5);
+
+      // when - truncate the sealed segment while it is being compressed, and write it again
+      journal.deleteAfter(3);
+      appendEntries(journal, 4, 9);
+      segments.awaitPendingCompressions();
+      journal.append(10, journalFactory.entry());
+
+      // then
+      assertThat(segments.getSegment(1).isCompressed()).isTrue();
+      try (final var reader = journal.openReader()) {
+        assertEntries(reader, 1, 10);
+      }
+    }
+  }
+
+  @Test
+  void shouldPreferUncompressedSegmentIfBothExist() throws IOException {
+    // given - we crashed after compressing a segment, but before replacing it
+    try (final var journal = openJournal(false)) {
+      appendEntries(journal, 9);
+    }
+    final var compressedFile = SegmentFile.compressedFileOf(segmentFile(1));
+    Files.write(compressedFile, new byte[] {1, 2, 3});
+
+    // when
+    try (final var journal = openJournal(false)) {
+      // then
+      assertThat(compressedFile).doesNotExist();
+      assertThat(segments.getSegment(1).isCompressed()).isFalse();
+      try (final var reader = journal.openReader()) {
+        assertEntries(reader, 1, 9);
+      }
+    }
+  }
+
+  private void appendAndCompress(final SegmentedJournal journal, final int lastIndex) {
+    appendEntries(journal, lastIndex);
+    segments.awaitPendingCompressions();
+
+    // usually done by the writer after appending
+    final var stamp = journal.rwlock().writeLock();
+    try {
+      segments.installCompressedSegments();
+    } finally {
+      journal.rwlock().unlockWrite(stamp);
+    }
+  }
+
+  private void appendEntries(final SegmentedJournal journal, final int lastIndex) {
+    appendEntries(journal, 1, lastIndex);
+  }
+
+  private void appendEntries(
+      final SegmentedJournal journal, final int firstIndex, final int lastIndex) {
+    for (int i = firstIndex; i <= lastIndex; i++) {
+      journal.append(i, journalFactory.entry());
+    }
+  }
+
+  private void assertEntries(
+      final JournalReader reader, final long firstIndex, final long lastIndex) {
+    for (long i = firstIndex; i <= lastIndex; i++) {
+      assertThat(reader.hasNext()).as("has entry %d", i).isTrue();
+      final var record = reader.next();
+      assertThat(record.index()).isEqualTo(i);
+      assertThat(record.asqn()).isEqualTo(i);
+      assertThat(record.data()).isEqualTo(journalFactory.entryData());
+    }
+    assertThat(reader.hasNext()).isFalse();
+  }
+
+  private long maxSegmentSize() {
+    return journalFactory.maxSegmentSize();
+  }
+
+  private Path segmentFile(final long id) {
+    return SegmentFile.createSegmentFile(JOURNAL_NAME, directory.resolve("data").toFile(), id)
+        .toPath();
+  }
+
+  private SegmentedJournal openJournal(final boolean compressSealedSegments) {
+    final var index = new SparseArrayJournalIndex(1);
+    final var loader =
+        new SegmentLoader(
+            2L * journalFactory.maxSegmentSize(),
+            journalFactory.metrics(),
+            SegmentAllocator.noop(),
+            false,
+            BLOCK_SIZE);
+    segments =
+        new SegmentsManager(
+            index,
+            journalFactory.maxSegmentSize(),
+            directory.resolve("data").toFile(),
+            JOURNAL_NAME,
+            loader,
+            journalFactory.metrics(),
+            journalFactory.metaStore(),
+            0,
+            compressSealedSegments);
+    return new SegmentedJournal(
+        index, segments, journalFactory.metrics(), new SegmentsFlusher(journalFactory.metaStore()));
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.journal.file;
+
+import io.camunda.zeebe.journal.util.TestJournalRecord;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the skip list based {@link SparseJournalIndex} with the array based {@link
+ * SparseArrayJournalIndex}, for the lookups done when seeking a reader and for appends.
+ *
+ * <p>Run it via {@link #main(String[])}, which compares both implementations side by side. It is
+ * not run as a test, as no reference score was measured for it in CI.
+ */
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(
+    value = 1,
+    jvmArgs = {"-Xmx2g", "-Xms2g"})
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+public class JournalIndexPerformanceTest {
+  private static final int DENSITY = 100;
+  private static final int INDEXED_ENTRIES = 1_000_000;
+  private static final long LAST_INDEX = (long) INDEXED_ENTRIES * DENSITY;
+
+  @Param({"skipList", "array"})
+  public String implementation;
+
+  private JournalIndex index;
+  private long nextIndex;
+
+  @Setup
+  public void setup() {
+    index = createIndex();
+    for (long i = DENSITY; i <= LAST_INDEX; i += DENSITY) {
+      appendToIndex(i);
+    }
+    nextIndex = LAST_INDEX + DENSITY;
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(JournalIndexPerformanceTest.class.getName())
+                .build())
+        .run();
+  }
+
+  @Benchmark
+  public IndexInfo measureLookup() {
+    return index.lookup(ThreadLocalRandom.current().nextLong(1, LAST_INDEX));
+  }
+
+  @Benchmark
+  public Long measureLookupAsqn() {
+    final var random = ThreadLocalRandom.current();
+    return index.lookupAsqn(random.nextLong(1, LAST_INDEX), random.nextLong(1, LAST_INDEX));
+  }
+
+  @Benchmark
+  public boolean measureAppend() {
+    final long appendedIndex = nextIndex;
+    nextIndex += DENSITY;
+    appendToIndex(appendedIndex);
+
+    // keep the index size stable so that every iteration measures the same thing
+    index.deleteUntil(appendedIndex - LAST_INDEX);
+    return index.hasIndexed(appendedIndex);
+  }
+
+  private void appendToIndex(final long entryIndex) {
+    index.index(new TestJournalRecord(entryIndex, entryIndex, 0, null, null), 0);
+  }
+
+  private JournalIndex createIndex() {
+    return switch (implementation) {
+      case "skipList" -> new SparseJournalIndex(DENSITY);
+      case "array" -> new SparseArrayJournalIndex(DENSITY);
+      default -> throw new IllegalArgumentException(
+          "Expected one of [skipList, array], but got " + implementation);
+    };
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.journal.file;
+
+import io.camunda.zeebe.journal.util.MockJournalMetastore;
+import io.camunda.zeebe.util.FileUtil;
+import io.camunda.zeebe.util.buffer.DirectBufferWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the time to open a multi-GB journal with many sealed segments and to seek into the
+ * middle of it, as done when a partition is started, with and without restoring the persisted
+ * segment indexes. Without them, the segment sought into is scanned to index it lazily. The journal
+ * is written once per trial, which takes a while and requires a few GB of free disk space.
+ *
+ * <p>Run it via {@link #main(String[])}, which compares opening the journal with and without the
+ * persisted indexes. It is not run as a test, as no reference score was measured for it in CI.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(
+    value = 1,
+    jvmArgs = {"-Xmx1g", "-Xms1g"})
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class PersistedSegmentIndexPerformanceTest {
+  // the default segment size and index density of the broker
+  private static final int MAX_SEGMENT_SIZE = 128 * 1024 * 1024;
+  private static final int INDEX_DENSITY = 100;
+  private static final int ENTRY_SIZE = 1024;
+  private static final long JOURNAL_SIZE = 2L * 1024 * 1024 * 1024;
+  private static final int ENTRY_COUNT = (int) (JOURNAL_SIZE / ENTRY_SIZE);
+
+  @Param({"true", "false"})
+  public boolean persistIndex;
+
+  private final MockJournalMetastore metaStore = new MockJournalMetastore();
+  private Path directory;
+
+  @Setup
+  public void setup() throws IOException {
+    directory = Files.createTempDirectory("persisted-segment-index");
+
+    final var data = new byte[ENTRY_SIZE];
+    ThreadLocalRandom.current().nextBytes(data);
+    final var entry = new DirectBufferWriter().wrap(new UnsafeBuffer(data));
+
+    // the indexes are always written, but only restored if enabled when opening the journal
+    try (final var journal = openJournal(true)) {
+      for (int i = 1; i <= ENTRY_COUNT; i++) {
+        journal.append(i, entry);
+      }
+      journal.flush();
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    FileUtil.deleteFolder(directory);
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(PersistedSegmentIndexPerformanceTest.class.getName())
+                .build())
+        .run();
+  }
+
+  @Benchmark
+  public long measureOpenAndSeek() {
+    try (final var journal = openJournal(persistIndex);
+        final var reader = journal.openReader()) {
+      return reader.seek(ENTRY_COUNT / 2);
+    }
+  }
+
+  private SegmentedJournal openJournal(final boolean persistIndex) {
+    final var metrics = new JournalMetrics("benchmark");
+    final var index = new SparseArrayJournalIndex(INDEX_DENSITY);
+    final var segments =
+        new SegmentsManager(
+            index,
+            MAX_SEGMENT_SIZE,
+            directory.toFile(),
+            "journal",
+            new SegmentLoader(0, metrics, SegmentAllocator.noop(), persistIndex),
+            metrics,
+            metaStore);
+    return new SegmentedJournal(index, segments, metrics, new SegmentsFlusher(metaStore));
+  }
+}
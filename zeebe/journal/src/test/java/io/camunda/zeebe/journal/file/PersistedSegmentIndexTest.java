@@ -0,0 +1,147 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.journal.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class PersistedSegmentIndexTest {
+  private static final String JOURNAL_NAME = "journal";
+
+  private final TestJournalFactory journalFactory = new TestJournalFactory(2);
+  private @TempDir Path directory;
+
+  @Test
+  void shouldPersistIndexOfSealedSegments() {
+    // given
+    try (final var journal = openJournal(new SparseArrayJournalIndex(1))) {
+      // when
+      for (int i = 1; i <= 5; i++) {
+        journal.append(i, journalFactory.entry());
+      }
+    }
+
+    // then
+    assertThat(PersistedSegmentIndex.pathOf(segmentFile(1))).exists();
+    assertThat(PersistedSegmentIndex.pathOf(segmentFile(2))).exists();
+    assertThat(PersistedSegmentIndex.pathOf(segmentFile(3))).doesNotExist();
+  }
+
+  @Test
+  void shouldRestorePersistedIndexOnOpen() {
+    // given
+    final var index = new SparseArrayJournalIndex(1);
+    try (final var journal = openJournal(index)) {
+      for (int i = 1; i <= 5; i++) {
+        journal.append(i, journalFactory.entry());
+      }
+    }
+
+    // when
+    final var restoredIndex = new SparseArrayJournalIndex(1);
+    try (final var ignored = openJournal(restoredIndex)) {
+      // then - without any reader seeking, all entries of sealed segments are indexed
+      for (int i = 1; i <= 5; i++) {
+        assertThat(restoredIndex.lookup(i)).isEqualTo(index.lookup(i));
+        assertThat(restoredIndex.lookupAsqn(i)).isEqualTo(i);
+      }
+    }
+  }
+
+  @Test
+  void shouldIgnoreCorruptedIndexFile() throws IOException {
+    // given
+    final var index = new SparseArrayJournalIndex(1);
+    try (final var journal = openJournal(index)) {
+      for (int i = 1; i <= 5; i++) {
+        journal.append(i, journalFactory.entry());
+      }
+    }
+    final var indexFile = PersistedSegmentIndex.pathOf(segmentFile(2));
+    final var content = Files.readAllBytes(indexFile);
+    content[content.length / 2] ^= 0xFF;
+    Files.write(indexFile, content);
+
+    // when
+    final var restoredIndex = new SparseArrayJournalIndex(1);
+    try (final var journal = openJournal(restoredIndex)) {
+      // then - the first entry of the second segment was not restored, but can still be read
+      assertThat(restoredIndex.lookup(3)).isNotEqualTo(index.lookup(3));
+      try (final var reader = journal.openReader()) {
+        assertThat(reader.seekToAsqn(3)).isEqualTo(3);
+      }
+    }
+  }
+
+  @Test
+  void shouldDeletePersistedIndexOnTruncation() {
+    // given
+    try (final var journal = openJournal(new SparseArrayJournalIndex(1))) {
+      for (int i = 1; i <= 5; i++) {
+        journal.append(i, journalFactory.entry());
+      }
+
+      // when
+      journal.deleteAfter(3);
+    }
+
+    // then
+    assertThat(PersistedSegmentIndex.pathOf(segmentFile(1))).exists();
+    assertThat(PersistedSegmentIndex.pathOf(segmentFile(2))).doesNotExist();
+  }
+
+  @Test
+  void shouldNotRestoreIndexOfModifiedSegment() {
+    // given
+    try (final var journal = openJournal(new SparseArrayJournalIndex(1))) {
+      for (int i = 1; i <= 5; i++) {
+        journal.append(i, journalFactory.entry());
+      }
+    }
+    final var persistedIndex = PersistedSegmentIndex.read(segmentFile(2)).orElseThrow();
+    final var otherDescriptor =
+        SegmentDescriptor.builder().withId(2).withIndex(3).withMaxSegmentSize(1024).build();
+    otherDescriptor.setLastIndex(persistedIndex.lastIndex() - 1);
+
+    // when
+    final var matches = persistedIndex.matches(otherDescriptor);
+
+    // then
+    assertThat(matches).isFalse();
+  }
+
+  private Path segmentFile(final long id) {
+    return SegmentFile.createSegmentFile(JOURNAL_NAME, directory.resolve("data").toFile(), id)
+        .toPath();
+  }
+
+  private SegmentedJournal openJournal(final JournalIndex index) {
+    final var loader =
+        new SegmentLoader(
+            2L * journalFactory.maxSegmentSize(),
+            journalFactory.metrics(),
+            SegmentAllocator.noop(),
+            true);
+    final var segments =
+        new SegmentsManager(
+            index,
+            journalFactory.maxSegmentSize(),
+            directory.resolve("data").toFile(),
+            JOURNAL_NAME,
+            loader,
+            journalFactory.metrics(),
+            journalFactory.metaStore());
+    return new SegmentedJournal(
+        index, segments, journalFactory.metrics(), new SegmentsFlusher(journalFactory.metaStore()));
+  }
+}
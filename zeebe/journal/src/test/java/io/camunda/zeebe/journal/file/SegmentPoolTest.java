@@ -0,0 +1,162 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.journal.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.agrona.CloseHelper;
+import org.agrona.IoUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class SegmentPoolTest {
+  private static final String JOURNAL_NAME = "journal";
+
+  private final TestJournalFactory journalFactory = new TestJournalFactory();
+  private final JournalIndex journalIndex = new SparseArrayJournalIndex(1);
+
+  private @TempDir Path directory;
+  private SegmentPool pool;
+
+  @AfterEach
+  void afterEach() {
+    CloseHelper.quietClose(pool);
+  }
+
+  @Test
+  void shouldPrepareSegmentsUpToCapacity() {
+    // given
+    pool = createPool(3);
+
+    // when
+    pool.fill(2);
+
+    // then
+    assertThat(takeSegmentId()).isEqualTo(2);
+    assertThat(takeSegmentId()).isEqualTo(3);
+    assertThat(takeSegmentId()).isEqualTo(4);
+    assertThat(pool.take()).isNull();
+  }
+
+  @Test
+  void shouldContinueAfterLastPreparedSegment() {
+    // given
+    pool = createPool(2);
+    pool.fill(2);
+
+    // when
+    takeSegmentId();
+    pool.fill(3);
+
+    // then
+    assertThat(takeSegmentId()).isEqualTo(3);
+    assertThat(takeSegmentId()).isEqualTo(4);
+  }
+
+  @Test
+  void shouldNotPrepareSegmentsWithoutCapacity() throws IOException {
+    // given
+    pool = createPool(0);
+    final var spareFile = createSpareFile(1);
+
+    // when
+    pool.fill(2);
+
+    // then
+    assertThat(pool.take()).isNull();
+    assertThat(pool.recycle(spareFile)).isFalse();
+  }
+
+  @Test
+  void shouldReuseRecycledFile() throws IOException {
+    // given
+    pool = createPool(1);
+    final var spareFile = createSpareFile(1);
+
+    // when
+    assertThat(pool.recycle(spareFile)).isTrue();
+    pool.fill(2);
+    final var segment = pool.take().join();
+
+    // then
+    final var firstByte = segment.buffer().get(0);
+    IoUtil.unmap(segment.buffer());
+    assertThat(firstByte).as("previous content must be discarded").isZero();
+    assertThat(spareFile).doesNotExist();
+    assertThat(segment.file().file())
+        .exists()
+        .hasSize(journalFactory.maxSegmentSize())
+        .hasName(SegmentFile.createSegmentFile(JOURNAL_NAME, dataDirectory(), 2).getName());
+  }
+
+  @Test
+  void shouldNotRecycleMoreFilesThanCapacity() throws IOException {
+    // given
+    pool = createPool(1);
+    final var firstSpareFile = createSpareFile(1);
+    final var secondSpareFile = createSpareFile(2);
+
+    // when
+    final var firstAccepted = pool.recycle(firstSpareFile);
+    final var secondAccepted = pool.recycle(secondSpareFile);
+
+    // then
+    assertThat(firstAccepted).isTrue();
+    assertThat(secondAccepted).isFalse();
+  }
+
+  @Test
+  void shouldDeleteSpareFilesOnClose() throws IOException {
+    // given
+    pool = createPool(1);
+    final var spareFile = createSpareFile(1);
+    pool.recycle(spareFile);
+
+    // when
+    pool.close();
+
+    // then
+    assertThat(spareFile).doesNotExist();
+    assertThat(pool.recycle(createSpareFile(2))).isFalse();
+  }
+
+  private SegmentPool createPool(final int capacity) {
+    return new SegmentPool(
+        capacity,
+        JOURNAL_NAME,
+        dataDirectory(),
+        journalFactory.maxSegmentSize(),
+        journalFactory.segmentLoader(),
+        journalIndex);
+  }
+
+  private long takeSegmentId() {
+    final var segment = pool.take().join();
+    IoUtil.unmap(segment.buffer());
+    return segment.segmentId();
+  }
+
+  private Path createSpareFile(final long id) throws IOException {
+    final var file =
+        new SegmentFile(SegmentFile.createSegmentFile(JOURNAL_NAME, dataDirectory(), id));
+    Files.write(file.file().toPath(), new byte[] {1, 2, 3});
+    Files.move(file.file().toPath(), file.getFileMarkedForDeletion());
+    return file.getFileMarkedForDeletion();
+  }
+
+  private File dataDirectory() {
+    final var dataDirectory = directory.resolve("data").toFile();
+    IoUtil.ensureDirectoryExists(dataDirectory, "data");
+    return dataDirectory;
+  }
+}
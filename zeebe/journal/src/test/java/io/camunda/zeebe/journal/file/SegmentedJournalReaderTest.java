@@ -26,6 +26,8 @@ import io.camunda.zeebe.util.buffer.DirectBufferWriter;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import org.agrona.CloseHelper;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
@@ -170,6 +172,75 @@ class SegmentedJournalReaderTest {
         .isNotNull();
   }
 
+  @Test
+  void shouldReadAcrossReadAheadWindows() {
+    // given - a single segment spanning several read ahead windows
+    final var largeData = new UnsafeBuffer(new byte[1024]);
+    final var entryCount = 3 * SegmentReader.READ_AHEAD_SIZE / 1024;
+    try (final var largeJournal =
+            SegmentedJournal.builder()
+                .withDirectory(directory.resolve("large").toFile())
+                .withMaxSegmentSize(4 * SegmentReader.READ_AHEAD_SIZE)
+                .withMetaStore(new MockJournalMetastore())
+                .build();
+        final var largeReader = largeJournal.openReader()) {
+      for (int i = 1; i <= entryCount; i++) {
+        largeData.putInt(0, i);
+        largeJournal.append(i, new DirectBufferWriter().wrap(largeData));
+      }
+
+      // when - then
+      for (int i = 1; i <= entryCount; i++) {
+        final var record = largeReader.next();
+        assertThat(record.index()).isEqualTo(i);
+        assertThat(record.data().getInt(0)).isEqualTo(i);
+      }
+      assertThat(largeReader.hasNext()).isFalse();
+
+      // when - seeking back resets the read ahead
+      largeReader.seek(entryCount / 2);
+
+      // then
+      assertThat(largeReader.next().data().getInt(0)).isEqualTo(entryCount / 2);
+    }
+  }
+
+  @Test
+  void shouldLoadPagesAheadOnReadAheadExecutor() {
+    // given - a single segment spanning several read ahead windows
+    final var largeData = new UnsafeBuffer(new byte[1024]);
+    final var entryCount = 3 * SegmentReader.READ_AHEAD_SIZE / 1024;
+    final List<Runnable> readAheads = new ArrayList<>();
+    try (final var largeJournal =
+        SegmentedJournal.builder()
+            .withDirectory(directory.resolve("large").toFile())
+            .withMaxSegmentSize(4 * SegmentReader.READ_AHEAD_SIZE)
+            .withMetaStore(new MockJournalMetastore())
+            .build()) {
+      for (int i = 1; i <= entryCount; i++) {
+        largeJournal.append(i, new DirectBufferWriter().wrap(largeData));
+      }
+      final var segmentReader = largeJournal.getFirstSegment().createReader(readAheads::add);
+
+      // when - the reader passes several windows while the first one is not loaded yet
+      for (int i = 1; i <= entryCount / 2; i++) {
+        segmentReader.next();
+      }
+
+      // then - the reader did not load the pages itself, and did not request more windows
+      assertThat(readAheads).hasSize(1);
+
+      // when
+      readAheads.removeFirst().run();
+      segmentReader.next();
+
+      // then
+      assertThat(readAheads).hasSize(1);
+      readAheads.removeFirst().run();
+      segmentReader.close();
+    }
+  }
+
   private int getSerializedSize(final DirectBuffer data) {
     final var record = new RecordData(Long.MAX_VALUE, Long.MAX_VALUE, data);
     final var serializer = new SBESerializer();
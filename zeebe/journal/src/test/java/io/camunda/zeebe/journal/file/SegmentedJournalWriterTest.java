@@ -8,7 +8,11 @@
 package io.camunda.zeebe.journal.file;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import io.camunda.zeebe.journal.JournalException.InvalidChecksum;
+import io.camunda.zeebe.journal.JournalRecord;
+import io.camunda.zeebe.journal.SerializedJournalRecord;
 import io.camunda.zeebe.util.buffer.BufferUtil;
 import java.io.IOException;
 import java.nio.MappedByteBuffer;
@@ -16,6 +20,8 @@ import java.nio.channels.FileChannel;
 import java.nio.channels.FileChannel.MapMode;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 import org.agrona.CloseHelper;
 import org.agrona.IoUtil;
 import org.junit.jupiter.api.AfterEach;
@@ -169,4 +175,86 @@ final class SegmentedJournalWriterTest {
 
     followerSegments.close();
   }
+
+  @Test
+  void shouldAppendBatchAcrossSegments(@TempDir final Path tempDir) {
+    // given
+    final var batch = new ArrayList<SerializedRecord>();
+    for (int i = 0; i < 5; i++) {
+      batch.add(SerializedRecord.of(writer.append(-1, journalFactory.entry())));
+    }
+
+    final var followerJournalFactory = new TestJournalFactory("data", 2, this::fillWithOnes);
+    final var followerSegments =
+        followerJournalFactory.segmentsManager(tempDir.resolve("follower"));
+    followerSegments.open();
+    final var followerWriter =
+        new SegmentedJournalWriter(
+            followerSegments,
+            new SegmentsFlusher(followerJournalFactory.metaStore()),
+            followerJournalFactory.metrics());
+
+    // when
+    final var appended = followerWriter.append(batch);
+
+    // then
+    assertThat(appended).extracting(JournalRecord::index).containsExactly(1L, 2L, 3L, 4L, 5L);
+    assertThat(followerWriter.getLastIndex()).isEqualTo(5);
+    assertThat(followerSegments.getLastSegment().index()).isEqualTo(5);
+    try (final SegmentedJournalReader reader =
+        new SegmentedJournalReader(
+            followerJournalFactory.journal(followerSegments), new JournalMetrics("1"))) {
+      for (int i = 0; i < 5; i++) {
+        assertThat(reader.hasNext()).isTrue();
+        assertThat(reader.next().checksum()).isEqualTo(batch.get(i).checksum());
+      }
+      assertThat(reader.hasNext()).describedAs("Sixth entry does not exists").isFalse();
+    }
+
+    followerSegments.close();
+  }
+
+  @Test
+  void shouldKeepRecordsBeforeInvalidChecksumInBatch(@TempDir final Path tempDir) {
+    // given
+    final var first = SerializedRecord.of(writer.append(-1, journalFactory.entry()));
+    final var second = SerializedRecord.of(writer.append(-1, journalFactory.entry()));
+    final var third = SerializedRecord.of(writer.append(-1, journalFactory.entry()));
+    final var invalid = new SerializedRecord(third.checksum() + 1, third.serializedJournalRecord());
+
+    final var followerJournalFactory = new TestJournalFactory("data", 2, this::fillWithOnes);
+    final var followerSegments =
+        followerJournalFactory.segmentsManager(tempDir.resolve("follower"));
+    followerSegments.open();
+    final var followerWriter =
+        new SegmentedJournalWriter(
+            followerSegments,
+            new SegmentsFlusher(followerJournalFactory.metaStore()),
+            followerJournalFactory.metrics());
+    followerWriter.append(List.of(first));
+
+    // when
+    assertThatThrownBy(() -> followerWriter.append(List.of(second, invalid)))
+        .isInstanceOf(InvalidChecksum.class);
+
+    // then
+    assertThat(followerWriter.getLastIndex()).isEqualTo(2);
+    try (final SegmentedJournalReader reader =
+        new SegmentedJournalReader(
+            followerJournalFactory.journal(followerSegments), new JournalMetrics("1"))) {
+      assertThat(reader.next().index()).isEqualTo(1);
+      assertThat(reader.next().index()).isEqualTo(2);
+      assertThat(reader.hasNext()).describedAs("Third entry does not exists").isFalse();
+    }
+
+    followerSegments.close();
+  }
+
+  private record SerializedRecord(long checksum, byte[] serializedJournalRecord)
+      implements SerializedJournalRecord {
+    private static SerializedRecord of(final JournalRecord record) {
+      return new SerializedRecord(
+          record.checksum(), BufferUtil.bufferAsArray(record.serializedRecord()));
+    }
+  }
 }
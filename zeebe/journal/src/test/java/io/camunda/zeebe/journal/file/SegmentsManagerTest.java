@@ -44,7 +44,7 @@ class SegmentsManagerTest {
     // given
     segments = journalFactory.segmentsManager(directory);
     segments.open();
-    Objects.requireNonNull(segments.getFirstSegment()).createReader();
+    Objects.requireNonNull(segments.getFirstSegment()).createReader(Runnable::run);
     segments.getFirstSegment().delete();
 
     // when
@@ -0,0 +1,119 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.journal.file;
+
+import static io.camunda.zeebe.journal.file.SparseJournalIndexTest.asJournalRecord;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+final class SparseArrayJournalIndexTest {
+
+  @Test
+  void shouldBehaveLikeSkipListIndex() {
+    // given
+    final JournalIndex expected = new SparseJournalIndex(3);
+    final JournalIndex actual = new SparseArrayJournalIndex(3);
+
+    // when
+    for (int i = 1; i <= 1_000; i++) {
+      final var asqn = i % 7 == 0 ? SegmentedJournal.ASQN_IGNORE : i * 10L;
+      expected.index(asJournalRecord(i, asqn), i * 2);
+      actual.index(asJournalRecord(i, asqn), i * 2);
+    }
+    expected.deleteAfter(800);
+    actual.deleteAfter(800);
+    expected.deleteUntil(99);
+    actual.deleteUntil(99);
+
+    // then
+    for (int i = 0; i <= 1_100; i++) {
+      assertThat(actual.lookup(i)).as("lookup of index %d", i).isEqualTo(expected.lookup(i));
+      assertThat(actual.lookupAsqn(i * 10L))
+          .as("lookup of asqn %d", i * 10L)
+          .isEqualTo(expected.lookupAsqn(i * 10L));
+    }
+    for (int i = 99; i <= 1_100; i++) {
+      assertThat(actual.lookupAsqn(Long.MAX_VALUE, i))
+          .as("lookup of asqn with upper bound %d", i)
+          .isEqualTo(expected.lookupAsqn(Long.MAX_VALUE, i));
+    }
+  }
+
+  @Test
+  void shouldGrowBeyondInitialCapacity() {
+    // given
+    final JournalIndex index = new SparseArrayJournalIndex(1);
+
+    // when
+    for (int i = 1; i <= 10_000; i++) {
+      index.index(asJournalRecord(i, i), i);
+    }
+
+    // then
+    assertThat(index.lookup(1)).isEqualTo(new IndexInfo(1, 1));
+    assertThat(index.lookup(5_000)).isEqualTo(new IndexInfo(5_000, 5_000));
+    assertThat(index.lookup(20_000)).isEqualTo(new IndexInfo(10_000, 10_000));
+    assertThat(index.lookupAsqn(7_777)).isEqualTo(7_777L);
+  }
+
+  @Test
+  void shouldIndexAfterTruncation() {
+    // given
+    final JournalIndex index = new SparseArrayJournalIndex(1);
+    for (int i = 1; i <= 10; i++) {
+      index.index(asJournalRecord(i, i), i);
+    }
+    index.deleteAfter(5);
+
+    // when
+    index.index(asJournalRecord(6, 60), 600);
+    index.index(asJournalRecord(7, 70), 700);
+
+    // then
+    assertThat(index.lookup(5)).isEqualTo(new IndexInfo(5, 5));
+    assertThat(index.lookup(10)).isEqualTo(new IndexInfo(7, 700));
+    assertThat(index.lookupAsqn(10)).isEqualTo(5L);
+    assertThat(index.lookupAsqn(65)).isEqualTo(6L);
+  }
+
+  @Test
+  void shouldIndexOlderEntriesOutOfOrder() {
+    // given
+    final JournalIndex index = new SparseArrayJournalIndex(1);
+    index.index(asJournalRecord(1, 10), 1);
+    index.index(asJournalRecord(5, 50), 5);
+
+    // when
+    index.index(asJournalRecord(3, 30), 3);
+    index.index(asJournalRecord(5, 50), 5);
+
+    // then
+    assertThat(index.lookup(4)).isEqualTo(new IndexInfo(3, 3));
+    assertThat(index.lookup(6)).isEqualTo(new IndexInfo(5, 5));
+    assertThat(index.lookupAsqn(49)).isEqualTo(3L);
+    assertThat(index.lookupAsqn(50)).isEqualTo(5L);
+  }
+
+  @Test
+  void shouldIndexAfterClear() {
+    // given
+    final JournalIndex index = new SparseArrayJournalIndex(1);
+    index.index(asJournalRecord(1, 1), 1);
+    index.index(asJournalRecord(2, 2), 2);
+
+    // when
+    index.clear();
+    index.index(asJournalRecord(10, 10), 1);
+
+    // then
+    assertThat(index.lookup(5)).isNull();
+    assertThat(index.lookup(10)).isEqualTo(new IndexInfo(10, 1));
+    assertThat(index.lookupAsqn(5)).isNull();
+  }
+}
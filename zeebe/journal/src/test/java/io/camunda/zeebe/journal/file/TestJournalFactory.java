@@ -37,7 +37,7 @@ import org.agrona.concurrent.UnsafeBuffer;
 final class TestJournalFactory {
   private final MockJournalMetastore metaStore = new MockJournalMetastore();
   private final JournalMetrics metrics = new JournalMetrics("test");
-  private final JournalIndex index = new SparseJournalIndex(1);
+  private final JournalIndex index = new SparseArrayJournalIndex(1);
 
   private final int maxEntryCount;
   private final DirectBuffer entryData;
@@ -172,6 +172,26 @@ public final class LogStreamMetrics {
               "The current load of the partition. Determined by observed write rate compared to the write rate limit")
           .register();
 
+  private static final Histogram APPEND_BATCH_COUNT =
+      Histogram.build()
+          .namespace("zeebe")
+          .subsystem("flow_control")
+          .name("append_batch_count")
+          .help("The number of written batches coalesced into each append to the log storage")
+          .buckets(1, 2, 3, 5, 10, 25, 50, 100, 250)
+          .labelNames("partition")
+          .register();
+
+  private static final Histogram APPEND_RECORD_COUNT =
+      Histogram.build()
+          .namespace("zeebe")
+          .subsystem("flow_control")
+          .name("append_record_count")
+          .help("The number of records in each append to the log storage")
+          .buckets(1, 2, 5, 10, 25, 50, 100, 250, 500, 1000)
+          .labelNames("partition")
+          .register();
+
   private final Counter.Child deferredAppends;
   private final Counter.Child triedAppends;
   private final Gauge.Child inflightAppends;
@@ -187,6 +207,8 @@ public final class LogStreamMetrics {
   private final Gauge.Child writeRateMaxLimit;
   private final Gauge.Child writeRateLimit;
   private final Gauge.Child partitionLoad;
+  private final Histogram.Child appendBatchCount;
+  private final Histogram.Child appendRecordCount;
   private final String partitionLabel;
 
   public LogStreamMetrics(final int partitionId) {
@@ -206,6 +228,8 @@ public final class LogStreamMetrics {
     writeRateMaxLimit = WRITE_RATE_MAX_LIMIT.labels(partitionLabel);
     writeRateLimit = WRITE_RATE_LIMIT.labels(partitionLabel);
     partitionLoad = PARTITION_LOAD.labels(partitionLabel);
+    appendBatchCount = APPEND_BATCH_COUNT.labels(partitionLabel);
+    appendRecordCount = APPEND_RECORD_COUNT.labels(partitionLabel);
   }
 
   public void increaseInflightAppends() {
@@ -272,6 +296,8 @@ public final class LogStreamMetrics {
     WRITE_RATE_MAX_LIMIT.remove(partitionLabel);
     WRITE_RATE_LIMIT.remove(partitionLabel);
     PARTITION_LOAD.remove(partitionLabel);
+    APPEND_BATCH_COUNT.remove(partitionLabel);
+    APPEND_RECORD_COUNT.remove(partitionLabel);
     for (final var contextLabel : FlowControlOutComeLabels.allContextLabels()) {
       for (final var reasonLabel : FlowControlOutComeLabels.allReasonLabels()) {
         FLOW_CONTROL_OUTCOME.remove(partitionLabel, contextLabel, reasonLabel);
@@ -305,6 +331,11 @@ public final class LogStreamMetrics {
         .inc(batchMetadata.size());
   }
 
+  public void observeStorageAppend(final int batchCount, final int recordCount) {
+    appendBatchCount.observe(batchCount);
+    appendRecordCount.observe(recordCount);
+  }
+
   public void setPartitionLoad(final float load) {
     partitionLoad.set(load);
   }
@@ -42,7 +42,7 @@ import java.util.TreeMap;
  *   <li>Calls to {@link #tryAcquire(WriteContext, List)} from the sequencer, serialized through the
  *       sequencers write lock.
  *   <li>Calls to {@link #onAppend(InFlightEntry, long)} from the sequencer, serialized through the
- *       sequencers write lock.
+ *       sequencers single appender.
  *   <li>Calls to {@link #onWrite(long, long)} from the log storage, serialized through the single
  *       raft thread.
  *   <li>Calls to {@link #onCommit(long, long)} from the log storage, serialized through the single
@@ -162,6 +162,17 @@ public final class FlowControl implements AppendListener {
     inFlight.put(highestPosition, entry);
   }
 
+  /**
+   * Called by the sequencer for every append to the log storage, which may contain several of the
+   * entries passed to {@link #onAppend(InFlightEntry, long)} if appends are batched.
+   *
+   * @param batchCount the number of batches in the append
+   * @param recordCount the number of records in the append
+   */
+  public void onStorageAppend(final int batchCount, final int recordCount) {
+    metrics.observeStorageAppend(batchCount, recordCount);
+  }
+
   @Override
   public void onWrite(final long index, final long highestPosition) {
     lastWrittenPosition = highestPosition;
@@ -0,0 +1,41 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.logstreams.impl.log;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Configures how consecutive writes are coalesced into a single append to the log storage, i.e. a
+ * single journal entry which is replicated as a whole. Every write keeps its own positions and is
+ * still tracked individually by flow control.
+ *
+ * @param enabled if false, every write is appended on its own
+ * @param maxRecords the maximum number of records coalesced into one append
+ * @param maxBytes the maximum size in bytes of one append; never more than the max fragment size
+ * @param linger how long to wait for a write which was already started, but not yet published, to
+ *     join the current append
+ */
+public record AppendBatching(boolean enabled, int maxRecords, int maxBytes, Duration linger) {
+  public AppendBatching {
+    Objects.requireNonNull(linger, "linger must not be null");
+    if (enabled && maxRecords <= 0) {
+      throw new IllegalArgumentException("maxRecords must be greater than 0");
+    }
+    if (enabled && maxBytes <= 0) {
+      throw new IllegalArgumentException("maxBytes must be greater than 0");
+    }
+    if (enabled && linger.isNegative()) {
+      throw new IllegalArgumentException("linger cannot be negative");
+    }
+  }
+
+  public static AppendBatching disabled() {
+    return new AppendBatching(false, 1, 1, Duration.ZERO);
+  }
+}
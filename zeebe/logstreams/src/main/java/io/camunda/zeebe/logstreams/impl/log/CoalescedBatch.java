@@ -0,0 +1,70 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.logstreams.impl.log;
+
+import io.camunda.zeebe.logstreams.storage.LogStorage.AppendListener;
+import io.camunda.zeebe.util.buffer.BufferWriter;
+import org.agrona.MutableDirectBuffer;
+
+/**
+ * Several consecutive {@link SequencedBatch}es which are appended to the log storage as a single
+ * entry. As the serialized batches are simply concatenated, the entry cannot be distinguished from
+ * one written as a single batch when reading it.
+ *
+ * <p>The append events of the entry are passed on to the given listener once per batch, with the
+ * highest position of that batch, such that every write is tracked as if it was appended on its
+ * own.
+ */
+final class CoalescedBatch implements BufferWriter, AppendListener {
+  private final SequencedBatch[] batches;
+  private final AppendListener listener;
+  private final int length;
+
+  CoalescedBatch(final SequencedBatch[] batches, final AppendListener listener) {
+    this.batches = batches;
+    this.listener = listener;
+
+    int totalLength = 0;
+    for (final var batch : batches) {
+      totalLength += batch.length();
+    }
+    length = totalLength;
+  }
+
+  @Override
+  public int getLength() {
+    return length;
+  }
+
+  @Override
+  public void write(final MutableDirectBuffer buffer, final int offset) {
+    int batchOffset = offset;
+    for (final var batch : batches) {
+      batch.write(buffer, batchOffset);
+      batchOffset += batch.length();
+    }
+  }
+
+  @Override
+  public void onWrite(final long index, final long highestPosition) {
+    for (final var batch : batches) {
+      listener.onWrite(index, highestPosition(batch));
+    }
+  }
+
+  @Override
+  public void onCommit(final long index, final long highestPosition) {
+    for (final var batch : batches) {
+      listener.onCommit(index, highestPosition(batch));
+    }
+  }
+
+  private static long highestPosition(final SequencedBatch batch) {
+    return batch.firstPosition() + batch.entries().size() - 1;
+  }
+}
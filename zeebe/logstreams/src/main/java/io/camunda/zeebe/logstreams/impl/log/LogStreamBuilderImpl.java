@@ -26,6 +26,7 @@ public final class LogStreamBuilderImpl implements LogStreamBuilder {
   private InstantSource clock;
   private Limit requestLimit;
   private RateLimit writeRateLimit;
+  private AppendBatching appendBatching = AppendBatching.disabled();
 
   @Override
   public LogStreamBuilder withActorSchedulingService(
@@ -76,18 +77,32 @@ public final class LogStreamBuilderImpl implements LogStreamBuilder {
     return this;
   }
 
+  @Override
+  public LogStreamBuilder withAppendBatching(final AppendBatching appendBatching) {
+    this.appendBatching = appendBatching;
+    return this;
+  }
+
   @Override
   public LogStream build() {
     validate();
 
     return new LogStreamImpl(
-        logName, partitionId, maxFragmentSize, logStorage, clock, requestLimit, writeRateLimit);
+        logName,
+        partitionId,
+        maxFragmentSize,
+        logStorage,
+        clock,
+        requestLimit,
+        writeRateLimit,
+        appendBatching);
   }
 
   private void validate() {
     Objects.requireNonNull(actorSchedulingService, "Must specify a actor scheduler");
     Objects.requireNonNull(logStorage, "Must specify a log storage");
     Objects.requireNonNull(clock, "Must specify a clock source");
+    Objects.requireNonNull(appendBatching, "Must specify append batching");
 
     if (maxFragmentSize < MINIMUM_FRAGMENT_SIZE) {
       throw new IllegalArgumentException(
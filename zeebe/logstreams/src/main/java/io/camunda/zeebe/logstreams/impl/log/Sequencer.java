@@ -24,7 +24,10 @@ import java.io.Closeable;
 import java.time.InstantSource;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,18 +35,51 @@ import org.slf4j.LoggerFactory;
  * The sequencer takes concurrent {@link #tryWrite(WriteContext, List, long) tryWrite} calls and
  * serializes them, assigning positions to all entries. Writes that are accepted are written
  * directly to the {@link LogStorage}.
+ *
+ * <p>Writes are serialized without a lock: each write claims the next sequence with an atomic
+ * increment, and publishes itself in the slot of a ring buffer for this sequence. Whichever writer
+ * wins the race to become the appender then appends all published writes in sequence order,
+ * assigning their positions, until it reaches a slot which is not published yet. Every writer
+ * waits until its own write was appended, helping to append if there is currently no appender, so
+ * that once {@code tryWrite} returns, its batch was handed to the log storage, as before. While
+ * waiting, a writer spins briefly, then yields, and finally parks for increasing periods, such that
+ * it does not occupy a core if the appender is slow, e.g. because the log storage is.
+ *
+ * <p>If {@link AppendBatching} is enabled, the appender coalesces consecutive published writes into
+ * a single append to the log storage, up to the configured budget. It lingers briefly for writes
+ * which already claimed a sequence but are not yet published, so batches grow with the number of
+ * concurrent writers, without delaying writes when there are none.
  */
 final class Sequencer implements LogStreamWriter, Closeable {
   private static final Logger LOG = LoggerFactory.getLogger(Sequencer.class);
+  // must be a power of two
+  private static final int RING_CAPACITY = 1024;
+  private static final int MAX_SPINS = 64;
+  private static final int MAX_YIELDS = 8;
+  private static final long MIN_PARK_NANOS = 1_000;
+  private static final long MAX_PARK_NANOS = 100_000;
+  // the number of parks until the park period, which doubles every time, reaches its maximum
+  private static final int MAX_PARKS =
+      Long.SIZE - Long.numberOfLeadingZeros(MAX_PARK_NANOS / MIN_PARK_NANOS);
+  private static final int MAX_ATTEMPTS = MAX_SPINS + MAX_YIELDS + MAX_PARKS;
   private final int maxFragmentSize;
 
-  private volatile long position;
+  private final PendingWrite[] slots = new PendingWrite[RING_CAPACITY];
+  // the sequence of the write currently published in each slot, or -1 if none was yet
+  private final AtomicLongArray publishedSequences = new AtomicLongArray(RING_CAPACITY);
+  private final AtomicLong claimedSequences = new AtomicLong();
+  private final AtomicLong appendedSequences = new AtomicLong();
+  private final AtomicBoolean appending = new AtomicBoolean();
+  // only accessed by the current appender
+  private long position;
   private volatile boolean isClosed = false;
-  private final ReentrantLock lock = new ReentrantLock();
   private final LogStorage logStorage;
   private final InstantSource clock;
   private final SequencerMetrics sequencerMetrics;
   private final FlowControl flowControl;
+  private final AppendBatching batching;
+  private final int maxBatchBytes;
+  private final long lingerNanos;
 
   Sequencer(
       final LogStorage logStorage,
@@ -52,6 +88,24 @@ final class Sequencer implements LogStreamWriter, Closeable {
       final InstantSource clock,
       final SequencerMetrics sequencerMetrics,
       final FlowControl flowControl) {
+    this(
+        logStorage,
+        initialPosition,
+        maxFragmentSize,
+        clock,
+        sequencerMetrics,
+        flowControl,
+        AppendBatching.disabled());
+  }
+
+  Sequencer(
+      final LogStorage logStorage,
+      final long initialPosition,
+      final int maxFragmentSize,
+      final InstantSource clock,
+      final SequencerMetrics sequencerMetrics,
+      final FlowControl flowControl,
+      final AppendBatching batching) {
     LOG.trace("Starting new sequencer at position {}", initialPosition);
     this.logStorage = logStorage;
     this.clock = Objects.requireNonNull(clock);
@@ -60,6 +114,13 @@ final class Sequencer implements LogStreamWriter, Closeable {
     this.sequencerMetrics =
         Objects.requireNonNull(sequencerMetrics, "must specify sequencer metrics");
     this.flowControl = flowControl;
+    this.batching = Objects.requireNonNull(batching, "must specify append batching");
+    // a coalesced append must still fit into a single fragment
+    maxBatchBytes = Math.min(batching.maxBytes(), maxFragmentSize);
+    lingerNanos = batching.linger().toNanos();
+    for (int i = 0; i < RING_CAPACITY; i++) {
+      publishedSequences.set(i, -1);
+    }
   }
 
   /** {@inheritDoc} */
@@ -107,22 +168,20 @@ final class Sequencer implements LogStreamWriter, Closeable {
     final int batchSize = appendEntries.size();
     final int batchLength = calculateBatchLength(appendEntries);
 
-    lock.lock();
+    final var write = new PendingWrite(appendEntries, sourcePosition, batchLength, inFlightEntry);
     try {
-      final var currentPosition = position;
-      final var highestPosition = currentPosition + batchSize - 1;
-      final var sequencedBatch =
-          new SequencedBatch(
-              clock.millis(), currentPosition, sourcePosition, appendEntries, batchLength);
-      flowControl.onAppend(inFlightEntry, highestPosition);
-      logStorage.append(currentPosition, highestPosition, sequencedBatch, flowControl);
-      position = currentPosition + batchSize;
-      return Either.right(highestPosition);
+      final long sequence = claimedSequences.getAndIncrement();
+      publish(sequence, write);
+      awaitAppended(sequence);
     } finally {
-      lock.unlock();
       sequencerMetrics.observeBatchLengthBytes(batchLength);
       sequencerMetrics.observeBatchSize(batchSize);
     }
+
+    if (write.failure != null) {
+      throw write.failure;
+    }
+    return Either.right(write.highestPosition);
   }
 
   /**
@@ -135,7 +194,228 @@ final class Sequencer implements LogStreamWriter, Closeable {
     isClosed = true;
   }
 
+  private void publish(final long sequence, final PendingWrite write) {
+    // the slot is free once the write which previously used it was appended
+    int attempt = 0;
+    while (sequence - appendedSequences.get() >= RING_CAPACITY) {
+      if (!tryAppendPublished()) {
+        attempt = idle(attempt, MAX_PARK_NANOS);
+      }
+    }
+
+    final int slot = slot(sequence);
+    slots[slot] = write;
+    publishedSequences.set(slot, sequence);
+  }
+
+  private void awaitAppended(final long sequence) {
+    int attempt = 0;
+    while (appendedSequences.get() <= sequence) {
+      if (!tryAppendPublished()) {
+        attempt = idle(attempt, MAX_PARK_NANOS);
+      }
+    }
+  }
+
+  /**
+   * Appends all published writes, in sequence order, unless another writer is already doing so.
+   *
+   * @return true if this writer was the appender, false if another one is
+   */
+  private boolean tryAppendPublished() {
+    if (!appending.compareAndSet(false, true)) {
+      return false;
+    }
+
+    try {
+      long sequence = appendedSequences.get();
+      while (isPublished(sequence)) {
+        final int count = batching.enabled() ? collectBatch(sequence) : 1;
+        if (count == 1) {
+          append(takeWrite(sequence));
+        } else {
+          appendBatch(sequence, count);
+        }
+
+        sequence += count;
+        // publishes the results to the writes' owners, and frees their slots
+        appendedSequences.set(sequence);
+      }
+    } finally {
+      appending.set(false);
+    }
+
+    return true;
+  }
+
+  /**
+   * Returns how many consecutive published writes, starting at the given one, fit into a single
+   * append. Waits up to the linger time for writes which claimed the next sequence, but did not
+   * publish yet, backing off like any waiting writer, but never parking beyond the linger time.
+   */
+  private int collectBatch(final long firstSequence) {
+    long sequence = firstSequence;
+    int records = 0;
+    int bytes = 0;
+    int attempt = 0;
+    long lingerDeadline = 0;
+    while (sequence - firstSequence < RING_CAPACITY) {
+      if (!isPublished(sequence)) {
+        if (claimedSequences.get() <= sequence) {
+          // nobody is about to publish, so there is nothing to wait for
+          break;
+        }
+
+        final long now = System.nanoTime();
+        if (attempt == 0) {
+          lingerDeadline = now + lingerNanos;
+        }
+        if (now - lingerDeadline >= 0) {
+          break;
+        }
+
+        attempt = idle(attempt, lingerDeadline - now);
+        continue;
+      }
+
+      final var write = slots[slot(sequence)];
+      final int writeRecords = write.entries.size();
+      if (sequence != firstSequence
+          && (records + writeRecords > batching.maxRecords()
+              || bytes + write.batchLength > maxBatchBytes)) {
+        break;
+      }
+
+      records += writeRecords;
+      bytes += write.batchLength;
+      sequence++;
+    }
+
+    return (int) (sequence - firstSequence);
+  }
+
+  private void append(final PendingWrite write) {
+    final var currentPosition = position;
+    final var highestPosition = currentPosition + write.entries.size() - 1;
+    try {
+      final var sequencedBatch =
+          new SequencedBatch(
+              clock.millis(),
+              currentPosition,
+              write.sourcePosition,
+              write.entries,
+              write.batchLength);
+      flowControl.onAppend(write.inFlightEntry, highestPosition);
+      flowControl.onStorageAppend(1, write.entries.size());
+      logStorage.append(currentPosition, highestPosition, sequencedBatch, flowControl);
+      position = highestPosition + 1;
+      write.highestPosition = highestPosition;
+    } catch (final RuntimeException e) {
+      // rethrown to the write's owner, like it was before writes were appended by any writer
+      write.failure = e;
+    }
+  }
+
+  private void appendBatch(final long firstSequence, final int count) {
+    // the writes stay in their slots until the append is done, so only the batches are collected;
+    // they cannot be reused, as the log storage may serialize them asynchronously
+    final var batches = new SequencedBatch[count];
+    final var timestamp = clock.millis();
+    final var lowestPosition = position;
+    long nextPosition = lowestPosition;
+    int records = 0;
+    RuntimeException failure = null;
+    try {
+      for (int i = 0; i < count; i++) {
+        final var write = slots[slot(firstSequence + i)];
+        batches[i] =
+            new SequencedBatch(
+                timestamp, nextPosition, write.sourcePosition, write.entries, write.batchLength);
+        nextPosition += write.entries.size();
+        records += write.entries.size();
+        flowControl.onAppend(write.inFlightEntry, nextPosition - 1);
+      }
+
+      flowControl.onStorageAppend(count, records);
+      final var coalescedBatch = new CoalescedBatch(batches, flowControl);
+      logStorage.append(lowestPosition, nextPosition - 1, coalescedBatch, coalescedBatch);
+      position = nextPosition;
+    } catch (final RuntimeException e) {
+      failure = e;
+    }
+
+    // all writes are taken, such that their slots are freed
+    for (int i = 0; i < count; i++) {
+      final var write = takeWrite(firstSequence + i);
+      if (failure != null) {
+        write.failure = failure;
+      } else {
+        write.highestPosition = batches[i].firstPosition() + write.entries.size() - 1;
+      }
+    }
+  }
+
+  private boolean isPublished(final long sequence) {
+    return publishedSequences.get(slot(sequence)) == sequence;
+  }
+
+  private PendingWrite takeWrite(final long sequence) {
+    final int slot = slot(sequence);
+    final var write = slots[slot];
+    slots[slot] = null;
+    return write;
+  }
+
+  private static int slot(final long sequence) {
+    return (int) sequence & (RING_CAPACITY - 1);
+  }
+
+  /**
+   * Backs off while waiting for another writer: spins first, then yields, and finally parks for a
+   * period which doubles with every attempt, up to the given maximum.
+   *
+   * @param attempt the number of times the caller waited already
+   * @param maxParkNanos the maximum time to park
+   * @return the attempt to pass on the next call
+   */
+  private static int idle(final int attempt, final long maxParkNanos) {
+    if (attempt < MAX_SPINS) {
+      Thread.onSpinWait();
+    } else if (attempt < MAX_SPINS + MAX_YIELDS) {
+      Thread.yield();
+    } else {
+      final int parks = attempt - MAX_SPINS - MAX_YIELDS;
+      LockSupport.parkNanos(Math.min(MIN_PARK_NANOS << parks, maxParkNanos));
+    }
+
+    return Math.min(attempt + 1, MAX_ATTEMPTS);
+  }
+
   private static boolean isEntryValid(final LogAppendEntry entry) {
     return entry.recordValue() != null && entry.recordMetadata() != null;
   }
+
+  /**
+   * A write which was accepted by flow control, but not yet appended. Its result is set by the
+   * appender, and is visible to its owner once the appended sequence moved past it.
+   */
+  private static final class PendingWrite {
+    private final List<LogAppendEntry> entries;
+    private final long sourcePosition;
+    private final int batchLength;
+    private final InFlightEntry inFlightEntry;
+    private long highestPosition;
+    private RuntimeException failure;
+
+    private PendingWrite(
+        final List<LogAppendEntry> entries,
+        final long sourcePosition,
+        final int batchLength,
+        final InFlightEntry inFlightEntry) {
+      this.entries = entries;
+      this.sourcePosition = sourcePosition;
+      this.batchLength = batchLength;
+      this.inFlightEntry = inFlightEntry;
+    }
+  }
 }
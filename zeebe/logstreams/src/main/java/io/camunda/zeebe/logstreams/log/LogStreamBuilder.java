@@ -9,6 +9,7 @@ package io.camunda.zeebe.logstreams.log;
 
 import com.netflix.concurrency.limits.Limit;
 import io.camunda.zeebe.logstreams.impl.flowcontrol.RateLimit;
+import io.camunda.zeebe.logstreams.impl.log.AppendBatching;
 import io.camunda.zeebe.logstreams.storage.LogStorage;
 import io.camunda.zeebe.scheduler.ActorSchedulingService;
 import java.time.InstantSource;
@@ -65,6 +66,15 @@ public interface LogStreamBuilder {
 
   LogStreamBuilder withWriteRateLimit(RateLimit writeRateLimit);
 
+  /**
+   * Configures whether consecutive writes are coalesced into a single append to the log storage.
+   * Disabled by default.
+   *
+   * @param appendBatching the batching configuration
+   * @return this builder
+   */
+  LogStreamBuilder withAppendBatching(AppendBatching appendBatching);
+
   /**
    * Returns a future which, when completed, contains a log stream that can be read from/written to.
    *
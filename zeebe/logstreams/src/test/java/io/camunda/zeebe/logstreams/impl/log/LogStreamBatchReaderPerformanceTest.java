@@ -0,0 +1,123 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.logstreams.impl.log;
+
+import io.camunda.zeebe.logstreams.log.LogAppendEntry;
+import io.camunda.zeebe.logstreams.log.LogStreamBatchReader;
+import io.camunda.zeebe.logstreams.log.WriteContext;
+import io.camunda.zeebe.logstreams.util.ListLogStorage;
+import io.camunda.zeebe.logstreams.util.SyncLogStream;
+import io.camunda.zeebe.logstreams.util.TestEntry;
+import io.camunda.zeebe.scheduler.ActorScheduler;
+import java.time.InstantSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures how fast the {@link LogStreamBatchReaderImpl} reads the batches written by the stream
+ * processor, as done on replay: every batch consists of the records written for a single command,
+ * which share the same source position. The log is kept in memory, and read from the start on
+ * every invocation.
+ *
+ * <p>The score is the number of read batches per second. The allocation per batch is reported by
+ * the GC profiler as {@code gc.alloc.rate.norm}.
+ *
+ * <p>Run it via {@link #main(String[])}, with the GC profiler. It is not run as a test, as no
+ * reference score was measured for it in CI.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(
+    value = 1,
+    jvmArgs = {"-Xmx1g", "-Xms1g"})
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class LogStreamBatchReaderPerformanceTest {
+  private static final int BATCHES = 1_000;
+  private static final int RECORDS_PER_BATCH = 5;
+
+  private ActorScheduler actorScheduler;
+  private SyncLogStream logStream;
+  private LogStreamBatchReader batchReader;
+
+  @Setup
+  public void setup() {
+    actorScheduler = ActorScheduler.newActorScheduler().build();
+    actorScheduler.start();
+
+    final var logStorage = new ListLogStorage();
+    logStream =
+        SyncLogStream.builder()
+            .withLogName("batch-reader")
+            .withLogStorage(logStorage)
+            .withClock(InstantSource.system())
+            .withPartitionId(1)
+            .withActorSchedulingService(actorScheduler)
+            .build();
+    logStorage.setPositionListener(logStream::setLastWrittenPosition);
+
+    final List<LogAppendEntry> batch = new ArrayList<>(RECORDS_PER_BATCH);
+    for (int i = 0; i < RECORDS_PER_BATCH; i++) {
+      batch.add(TestEntry.ofKey(i));
+    }
+    final var writer = logStream.newSyncLogStreamWriter();
+    for (int sourcePosition = 1; sourcePosition <= BATCHES; sourcePosition++) {
+      writer.tryWrite(WriteContext.internal(), batch, sourcePosition);
+    }
+
+    batchReader = new LogStreamBatchReaderImpl(logStream.newLogStreamReader());
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    batchReader.close();
+    logStream.close();
+    actorScheduler.close();
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(LogStreamBatchReaderPerformanceTest.class.getName())
+                .addProfiler(GCProfiler.class)
+                .build())
+        .run();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCHES)
+  public long measureBatchReading() {
+    long lastPosition = -1;
+    batchReader.seekToNextBatch(-1);
+    while (batchReader.hasNext()) {
+      final var batch = batchReader.next();
+      while (batch.hasNext()) {
+        lastPosition = batch.next().getPosition();
+      }
+    }
+    return lastPosition;
+  }
+}
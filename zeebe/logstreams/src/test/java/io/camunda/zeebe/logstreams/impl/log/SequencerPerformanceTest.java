@@ -0,0 +1,146 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.logstreams.impl.log;
+
+import io.camunda.zeebe.logstreams.impl.LogStreamMetrics;
+import io.camunda.zeebe.logstreams.impl.flowcontrol.FlowControl;
+import io.camunda.zeebe.logstreams.log.LogAppendEntry;
+import io.camunda.zeebe.logstreams.log.LogStreamWriter.WriteFailure;
+import io.camunda.zeebe.logstreams.log.WriteContext;
+import io.camunda.zeebe.logstreams.storage.LogStorage;
+import io.camunda.zeebe.logstreams.storage.LogStorageReader;
+import io.camunda.zeebe.logstreams.util.TestEntry;
+import io.camunda.zeebe.util.Either;
+import io.camunda.zeebe.util.buffer.BufferWriter;
+import java.time.InstantSource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures how many batches per second the {@link Sequencer} accepts, depending on the number of
+ * threads writing concurrently. The log storage does nothing but mark appended entries as
+ * processed, such that only the sequencer itself is measured.
+ *
+ * <p>Run it via {@link #main(String[])}, which compares all numbers of producers. It is not run as
+ * a test, as no reference score was measured for it in CI.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(
+    value = 1,
+    jvmArgs = {"-Xmx1g", "-Xms1g"})
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class SequencerPerformanceTest {
+  private final List<LogAppendEntry> batch =
+      List.of(TestEntry.ofDefaults(), TestEntry.ofDefaults(), TestEntry.ofDefaults());
+  private Sequencer sequencer;
+
+  @Setup
+  public void setup() {
+    final var flowControl = new FlowControl(new LogStreamMetrics(1));
+    sequencer =
+        new Sequencer(
+            new ProcessingLogStorage(flowControl),
+            1,
+            4 * 1024 * 1024,
+            InstantSource.system(),
+            new SequencerMetrics(1),
+            flowControl);
+  }
+
+  @TearDown
+  public void tearDown() {
+    sequencer.close();
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(SequencerPerformanceTest.class.getName())
+                .build())
+        .run();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Either<WriteFailure, Long> measureWriteWithOneProducer() {
+    return write();
+  }
+
+  @Benchmark
+  @Threads(2)
+  public Either<WriteFailure, Long> measureWriteWithTwoProducers() {
+    return write();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public Either<WriteFailure, Long> measureWriteWithFourProducers() {
+    return write();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public Either<WriteFailure, Long> measureWriteWithEightProducers() {
+    return write();
+  }
+
+  @Benchmark
+  @Threads(16)
+  public Either<WriteFailure, Long> measureWriteWithSixteenProducers() {
+    return write();
+  }
+
+  private Either<WriteFailure, Long> write() {
+    return sequencer.tryWrite(WriteContext.internal(), batch);
+  }
+
+  /**
+   * Accepts every append, and immediately marks it as processed, such that flow control does not
+   * accumulate in-flight entries over the course of the benchmark.
+   */
+  private record ProcessingLogStorage(FlowControl flowControl) implements LogStorage {
+
+    @Override
+    public LogStorageReader newReader() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void append(
+        final long lowestPosition,
+        final long highestPosition,
+        final BufferWriter bufferWriter,
+        final AppendListener listener) {
+      flowControl.onProcessed(highestPosition);
+    }
+
+    @Override
+    public void addCommitListener(final CommitListener listener) {}
+
+    @Override
+    public void removeCommitListener(final CommitListener listener) {}
+  }
+}
@@ -8,6 +8,7 @@
 package io.camunda.zeebe.logstreams.impl.log;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 
 import io.camunda.zeebe.logstreams.impl.LogStreamMetrics;
@@ -15,10 +16,12 @@ import io.camunda.zeebe.logstreams.impl.flowcontrol.FlowControl;
 import io.camunda.zeebe.logstreams.log.LogAppendEntry;
 import io.camunda.zeebe.logstreams.log.WriteContext;
 import io.camunda.zeebe.logstreams.storage.LogStorage;
+import io.camunda.zeebe.logstreams.storage.LogStorage.AppendListener;
 import io.camunda.zeebe.logstreams.storage.LogStorageReader;
 import io.camunda.zeebe.logstreams.util.TestEntry;
 import io.camunda.zeebe.test.util.asserts.EitherAssert;
 import io.camunda.zeebe.util.buffer.BufferWriter;
+import java.time.Duration;
 import java.time.InstantSource;
 import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -127,6 +130,35 @@ final class SequencerTest {
     Mockito.verify(logStorage).append(eq(1L), eq(3L), any(BufferWriter.class), any());
   }
 
+  @Test
+  void rethrowsFailureOfLogStorageToWriter() {
+    // given
+    final var logStorage = Mockito.mock(LogStorage.class);
+    final var logStreamMetrics = new LogStreamMetrics(1);
+    final var sequencer =
+        new Sequencer(
+            logStorage,
+            1,
+            16,
+            InstantSource.system(),
+            new SequencerMetrics(1),
+            new FlowControl(logStreamMetrics));
+    final var failure = new IllegalStateException("expected");
+    Mockito.doThrow(failure)
+        .doNothing()
+        .when(logStorage)
+        .append(anyLong(), anyLong(), any(BufferWriter.class), any());
+
+    // when
+    Assertions.assertThatThrownBy(
+            () -> sequencer.tryWrite(WriteContext.internal(), TestEntry.ofDefaults()))
+        .isSameAs(failure);
+    final var result = sequencer.tryWrite(WriteContext.internal(), TestEntry.ofDefaults());
+
+    // then -- the failed write did not claim any position
+    EitherAssert.assertThat(result).isRight().right().isEqualTo(1L);
+  }
+
   @Test
   void maintainsPositionWithSingleWriterAndSingleEntry() throws InterruptedException {
     // given
@@ -246,6 +278,65 @@ final class SequencerTest {
     Assertions.assertThat(testFailures).isEmpty();
   }
 
+  @Test
+  void maintainsPositionWithMultipleWritersAndAppendBatching() throws InterruptedException {
+    // given
+    final var numberOfWriters = 8;
+    final var logStorage = new VerifyingLogStorage();
+    final var logStreamMetrics = new LogStreamMetrics(1);
+    final var sequencer =
+        new Sequencer(
+            logStorage,
+            1,
+            16 * 1024,
+            InstantSource.system(),
+            new SequencerMetrics(1),
+            new FlowControl(logStreamMetrics),
+            new AppendBatching(true, 10, 16 * 1024, Duration.ofNanos(10_000)));
+    final var entries =
+        List.of(TestEntry.ofDefaults(), TestEntry.ofDefaults(), TestEntry.ofDefaults());
+    final var testFailures = new ConcurrentLinkedQueue<Throwable>();
+
+    // when
+    final var writers = new Thread[numberOfWriters];
+    for (int i = 0; i < numberOfWriters; i++) {
+      writers[i] = newWriterThread(sequencer, 1, 10_000, entries, false, testFailures::add);
+    }
+    for (final var writer : writers) {
+      writer.start();
+    }
+    for (final var writer : writers) {
+      writer.join();
+    }
+
+    // then -- VerifyingLogStorage did not throw
+    Assertions.assertThat(testFailures).isEmpty();
+  }
+
+  @Test
+  void notifiesEveryCoalescedWriteOnCommit() {
+    // given
+    final var listener = Mockito.mock(AppendListener.class);
+    final var entries = List.<LogAppendEntry>of(TestEntry.ofDefaults(), TestEntry.ofDefaults());
+    final var coalescedBatch =
+        new CoalescedBatch(
+            new SequencedBatch[] {
+              new SequencedBatch(0, 1, -1, entries), new SequencedBatch(0, 3, -1, entries)
+            },
+            listener);
+
+    // when
+    coalescedBatch.onWrite(1, 4);
+    coalescedBatch.onCommit(1, 4);
+
+    // then -- every write is tracked with its own highest position
+    final var inOrder = Mockito.inOrder(listener);
+    inOrder.verify(listener).onWrite(1, 2);
+    inOrder.verify(listener).onWrite(1, 4);
+    inOrder.verify(listener).onCommit(1, 2);
+    inOrder.verify(listener).onCommit(1, 4);
+  }
+
   private Thread newWriterThread(
       final Sequencer sequencer,
       final long initialPosition,
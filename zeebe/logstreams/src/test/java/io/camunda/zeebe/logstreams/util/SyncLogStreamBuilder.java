@@ -9,6 +9,7 @@ package io.camunda.zeebe.logstreams.util;
 
 import com.netflix.concurrency.limits.Limit;
 import io.camunda.zeebe.logstreams.impl.flowcontrol.RateLimit;
+import io.camunda.zeebe.logstreams.impl.log.AppendBatching;
 import io.camunda.zeebe.logstreams.log.LogStream;
 import io.camunda.zeebe.logstreams.log.LogStreamBuilder;
 import io.camunda.zeebe.logstreams.storage.LogStorage;
@@ -75,6 +76,12 @@ public final class SyncLogStreamBuilder implements LogStreamBuilder {
     return this;
   }
 
+  @Override
+  public LogStreamBuilder withAppendBatching(final AppendBatching appendBatching) {
+    delegate.withAppendBatching(appendBatching);
+    return this;
+  }
+
   @Override
   public SyncLogStream build() {
     return new SyncLogStream(delegate.build());
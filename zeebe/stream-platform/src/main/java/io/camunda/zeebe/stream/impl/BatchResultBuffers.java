@@ -0,0 +1,49 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.stream.impl;
+
+import io.camunda.zeebe.stream.api.ProcessingResponse;
+import io.camunda.zeebe.stream.api.records.RecordBatchSizePredicate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Buffers the results of a command batch until its side effects are executed: the result builder,
+ * whose built results are a view on it, and the responses to send. The {@link
+ * ProcessingStateMachine} resets and reuses them for later batches instead of allocating new ones,
+ * but not before the side effects of their batch are executed, which happens only after further
+ * batches were processed if the batch was pipelined.
+ */
+final class BatchResultBuffers {
+
+  private final BufferedProcessingResultBuilder resultBuilder;
+  private final Set<ProcessingResponse> responses =
+      Collections.newSetFromMap(new IdentityHashMap<>(2));
+
+  BatchResultBuffers(final RecordBatchSizePredicate predicate) {
+    resultBuilder = new BufferedProcessingResultBuilder(predicate);
+  }
+
+  /**
+   * Discards the results of the previous batch.
+   *
+   * @param operationReference the operation reference of the command which starts the next batch
+   * @return the reset result builder
+   */
+  BufferedProcessingResultBuilder reset(final long operationReference) {
+    resultBuilder.reset(operationReference);
+    responses.clear();
+    return resultBuilder;
+  }
+
+  Collection<ProcessingResponse> getResponses() {
+    return responses;
+  }
+}
@@ -31,16 +31,20 @@ import java.util.List;
 
 /**
  * Implementation of {@code ProcessingResultBuilder} that buffers the processing results. After
- * being done with processing the build can be turned into a immutable {@link ProcessingResult},
- * which allows to process the result further.
+ * being done with processing the build can be turned into a {@link ProcessingResult}, which
+ * allows to process the result further.
+ *
+ * <p>The built result is a view on the buffers of the builder, which can be reused for further
+ * batches via {@link #reset(long)}. A result must therefore not be used anymore once its builder is
+ * reset.
  */
 final class BufferedProcessingResultBuilder implements ProcessingResultBuilder {
 
   private final List<PostCommitTask> postCommitTasks = new ArrayList<>();
 
   private final RecordBatch mutableRecordBatch;
-  private ProcessingResponseImpl processingResponse;
-  private final long operationReference;
+  private final BufferedResult result;
+  private long operationReference;
 
   BufferedProcessingResultBuilder(final RecordBatchSizePredicate predicate) {
     this(predicate, operationReferenceNullValue());
@@ -49,6 +53,20 @@ final class BufferedProcessingResultBuilder implements ProcessingResultBuilder {
   BufferedProcessingResultBuilder(
       final RecordBatchSizePredicate predicate, final long operationReference) {
     mutableRecordBatch = new RecordBatch(predicate);
+    result = new BufferedResult(mutableRecordBatch, postCommitTasks);
+    this.operationReference = operationReference;
+  }
+
+  /**
+   * Discards everything buffered so far, such that the builder can be reused for the next batch.
+   * Results built before are reset as well.
+   *
+   * @param operationReference the operation reference to propagate to the records of the next batch
+   */
+  void reset(final long operationReference) {
+    mutableRecordBatch.reset();
+    postCommitTasks.clear();
+    result.setProcessingResponse(null);
     this.operationReference = operationReference;
   }
 
@@ -103,7 +121,7 @@ final class BufferedProcessingResultBuilder implements ProcessingResultBuilder {
             .valueType(valueType)
             .operationReference(operationReference);
     final var entry = RecordBatchEntry.createEntry(key, metadata, -1, value);
-    processingResponse = new ProcessingResponseImpl(entry, requestId, requestStreamId);
+    result.setProcessingResponse(new ProcessingResponseImpl(entry, requestId, requestStreamId));
     return this;
   }
 
@@ -121,7 +139,7 @@ final class BufferedProcessingResultBuilder implements ProcessingResultBuilder {
 
   @Override
   public ProcessingResult build() {
-    return new BufferedResult(mutableRecordBatch, processingResponse, postCommitTasks);
+    return result;
   }
 
   @Override
@@ -13,29 +13,32 @@ import io.camunda.zeebe.stream.api.ProcessingResult;
 import io.camunda.zeebe.stream.api.records.ImmutableRecordBatch;
 import io.camunda.zeebe.stream.api.scheduling.TaskResult;
 import io.camunda.zeebe.stream.impl.BufferedProcessingResultBuilder.ProcessingResponseImpl;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Implementation of {@link ProcessingResult} and {@link TaskResult} that buffers the processing and
  * taks results, which will then be written to logstream or send as response.
+ *
+ * <p>It is a view on the buffers of the {@link BufferedProcessingResultBuilder} which built it, and
+ * is reset together with the builder.
  */
 final class BufferedResult implements ProcessingResult, TaskResult {
 
   private final List<PostCommitTask> postCommitTasks;
   private final ImmutableRecordBatch immutableRecordBatch;
-  private final ProcessingResponseImpl processingResponse;
+  private ProcessingResponseImpl processingResponse;
 
   BufferedResult(
-      final ImmutableRecordBatch immutableRecordBatch,
-      final ProcessingResponseImpl processingResponse,
-      final List<PostCommitTask> postCommitTasks) {
-    this.postCommitTasks = new ArrayList<>(postCommitTasks);
-    this.processingResponse = processingResponse;
+      final ImmutableRecordBatch immutableRecordBatch, final List<PostCommitTask> postCommitTasks) {
+    this.postCommitTasks = postCommitTasks;
     this.immutableRecordBatch = immutableRecordBatch;
   }
 
+  void setProcessingResponse(final ProcessingResponseImpl processingResponse) {
+    this.processingResponse = processingResponse;
+  }
+
   @Override
   public ImmutableRecordBatch getRecordBatch() {
     return immutableRecordBatch;
@@ -50,7 +53,8 @@ final class BufferedResult implements ProcessingResult, TaskResult {
   public boolean executePostCommitTasks() {
     boolean aggregatedResult = true;
 
-    for (final PostCommitTask task : postCommitTasks) {
+    for (int i = 0; i < postCommitTasks.size(); i++) {
+      final PostCommitTask task = postCommitTasks.get(i);
       try {
         aggregatedResult = aggregatedResult && task.flush();
       } catch (final Exception e) {
@@ -63,7 +67,7 @@ final class BufferedResult implements ProcessingResult, TaskResult {
 
   @Override
   public boolean isEmpty() {
-    return getProcessingResponse().isEmpty()
+    return processingResponse == null
         && getRecordBatch().isEmpty()
         && postCommitTasks.isEmpty();
   }
@@ -0,0 +1,118 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.stream.impl;
+
+import io.camunda.zeebe.logstreams.impl.log.LoggedEventImpl;
+import io.camunda.zeebe.logstreams.log.LoggedEvent;
+import io.camunda.zeebe.protocol.impl.record.RecordMetadata;
+import io.camunda.zeebe.protocol.record.intent.Intent;
+import io.camunda.zeebe.stream.api.ProcessingResponse;
+import io.camunda.zeebe.stream.api.ProcessingResult;
+import io.camunda.zeebe.stream.api.records.TypedRecord;
+import io.camunda.zeebe.stream.impl.records.RecordValues;
+import io.camunda.zeebe.stream.impl.records.TypedRecordImpl;
+import io.prometheus.client.Histogram;
+import java.util.Collection;
+import org.agrona.ExpandableArrayBuffer;
+
+/**
+ * A command batch which was processed and whose follow-up records were written, but whose state
+ * changes are not committed yet, as the {@link ProcessingStateMachine} continued with the next
+ * batch on top of them. Holds what is left to do once the state is committed: sending the
+ * responses, executing the post commit tasks and notifying about the processed command.
+ *
+ * <p>The command is copied, as the log stream reader reuses the event it returns. Instances are
+ * reused for later batches.
+ */
+final class PipelinedBatch {
+
+  private final ExpandableArrayBuffer commandBuffer = new ExpandableArrayBuffer();
+  private final LoggedEventImpl command = new LoggedEventImpl();
+  private final RecordMetadata metadata = new RecordMetadata();
+  private final RecordValues recordValues = new RecordValues();
+  private final TypedRecordImpl typedCommand;
+  private BatchResultBuffers resultBuffers;
+  private ProcessingResult processingResult;
+  private Histogram.Timer processingTimer;
+  private boolean sideEffectsExecuted;
+
+  PipelinedBatch(final int partitionId) {
+    typedCommand = new TypedRecordImpl(partitionId);
+  }
+
+  void wrap(
+      final LoggedEvent command,
+      final BatchResultBuffers resultBuffers,
+      final ProcessingResult processingResult,
+      final Histogram.Timer processingTimer) {
+    command.write(commandBuffer, 0);
+    this.command.wrap(commandBuffer, 0);
+    metadata.reset();
+    this.command.readMetadata(metadata);
+
+    this.resultBuffers = resultBuffers;
+    this.processingResult = processingResult;
+    this.processingTimer = processingTimer;
+    sideEffectsExecuted = false;
+  }
+
+  long getPosition() {
+    return command.getPosition();
+  }
+
+  long getKey() {
+    return command.getKey();
+  }
+
+  Intent getIntent() {
+    return metadata.getIntent();
+  }
+
+  Collection<ProcessingResponse> getResponses() {
+    return resultBuffers.getResponses();
+  }
+
+  ProcessingResult getProcessingResult() {
+    return processingResult;
+  }
+
+  /**
+   * @return true if the responses were sent and the post commit tasks executed, such that a retry
+   *     of the side effects of later batches does not execute them again
+   */
+  boolean isSideEffectsExecuted() {
+    return sideEffectsExecuted;
+  }
+
+  void markSideEffectsExecuted() {
+    sideEffectsExecuted = true;
+  }
+
+  /**
+   * @return the processed command, with its value read from the copy
+   */
+  TypedRecord<?> readCommand() {
+    final var value = recordValues.readRecordValue(command, metadata.getValueType());
+    typedCommand.wrap(command, metadata, value);
+    return typedCommand;
+  }
+
+  /**
+   * Observes the processing duration of the command, and releases the results of the batch.
+   *
+   * @return the buffers of the results, which can be reused for later batches now
+   */
+  BatchResultBuffers complete() {
+    final var releasedResultBuffers = resultBuffers;
+    processingTimer.close();
+    processingTimer = null;
+    resultBuffers = null;
+    processingResult = null;
+    return releasedResultBuffers;
+  }
+}
@@ -51,8 +51,6 @@ import java.time.Duration;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.function.BooleanSupplier;
 import org.slf4j.Logger;
@@ -95,6 +93,14 @@ import org.slf4j.Logger;
  *                                       +-----+
  *
  * </pre>
+ *
+ * <p>If pipelining is enabled, see {@link StreamProcessorContext#getMaxPipelinedBatches()}, the
+ * state is not committed right after the records of a batch are written. Instead, the next command
+ * is processed on top of the uncommitted state, after setting a save point, until no further
+ * command can be pipelined. Then the state changes of all pipelined batches are committed at once,
+ * and their side effects are executed in order. If processing or writing a pipelined batch fails,
+ * only its changes are rolled back to the save point, as the records of the previous batches are
+ * written already. These are committed and completed before the failure is handled as usual.
  */
 public final class ProcessingStateMachine {
 
@@ -120,6 +126,14 @@ public final class ProcessingStateMachine {
   private static final Duration PROCESSING_RETRY_DELAY = Duration.ofMillis(250);
   private static final String ERROR_MESSAGE_HANDLING_PROCESSING_ERROR_FAILED =
       "Expected to process command '{} {}' successfully on stream processor, but caught unexpected exception. Failed to handle the exception gracefully.";
+  private static final String ERROR_MESSAGE_SET_SAVE_POINT_FAILED =
+      "Expected to set a save point to pipeline the next command after record '{} {}', but exception was thrown. Commit the pipelined batches first.";
+  private static final String ERROR_MESSAGE_ROLLBACK_TO_SAVE_POINT_FAILED =
+      "Expected to roll back the pipelined batch of record '{} {}' to its save point, but exception was thrown.";
+  private static final String ERROR_MESSAGE_COMMIT_PIPELINED_BATCHES_FAILED =
+      "Expected to commit the pipelined batches up to command at position {}, but exception was thrown. Their records are written already, fail to restore the state on replay.";
+  private static final String ERROR_MESSAGE_EXECUTE_PIPELINED_SIDE_EFFECTS_ABORTED =
+      "Expected to execute side effects for the pipelined batches up to command at position {} successfully, but exception was thrown.";
   private final EventFilter processingFilter;
   private final EventFilter isEventOrRejection =
       new MetadataEventFilter(
@@ -141,6 +155,7 @@ public final class ProcessingStateMachine {
   private final TypedRecordImpl typedCommand;
   private final StreamProcessorMetrics metrics;
   private final StreamProcessorListener streamProcessorListener;
+  private final boolean hasStreamProcessorListener;
   // current iteration
   private LoggedEvent currentRecord;
   private ZeebeDbTransaction zeebeDbTransaction;
@@ -152,10 +167,16 @@ public final class ProcessingStateMachine {
   private Histogram.Timer processingTimer;
   private boolean reachedEnd = true;
   private final StreamProcessorContext context;
-  private final List<RecordProcessor> recordProcessors;
+  private final RecordProcessorDispatchTable recordProcessorDispatchTable;
   private ProcessingResult currentProcessingResult;
   private List<LogAppendEntry> pendingWrites;
-  private Collection<ProcessingResponse> pendingResponses;
+  // the buffers of a batch are only reused once its side effects are executed, see continuePipeline
+  private BatchResultBuffers batchResultBuffers;
+  private final ArrayDeque<BatchResultBuffers> freeBatchResultBuffers = new ArrayDeque<>();
+  // reused for every batch, as they are only used while processing it
+  private final ArrayDeque<TypedRecord<?>> pendingCommands = new ArrayDeque<>();
+  private final List<UnwrittenRecord> followUpCommands = new ArrayList<>();
+  private int usedFollowUpCommands;
   private RecordProcessor currentProcessor;
   private final LogStreamWriter logStreamWriter;
   private boolean inProcessing;
@@ -165,14 +186,18 @@ public final class ProcessingStateMachine {
   private final ScheduledCommandCache scheduledCommandCache;
   private volatile ErrorHandlingPhase errorHandlingPhase = ErrorHandlingPhase.NO_ERROR;
   private final ControllableStreamClock clock;
+  private final int maxPipelinedBatches;
+  // the batches whose records are written, but whose state changes are not committed yet
+  private final ArrayDeque<PipelinedBatch> pipelinedBatches = new ArrayDeque<>();
+  private final ArrayDeque<PipelinedBatch> freePipelinedBatches = new ArrayDeque<>();
 
   public ProcessingStateMachine(
       final StreamProcessorContext context,
       final BooleanSupplier shouldProcessNext,
-      final List<RecordProcessor> recordProcessors,
+      final RecordProcessorDispatchTable recordProcessorDispatchTable,
       final ScheduledCommandCache scheduledCommandCache) {
     this.context = context;
-    this.recordProcessors = recordProcessors;
+    this.recordProcessorDispatchTable = recordProcessorDispatchTable;
     this.scheduledCommandCache = scheduledCommandCache;
     actor = context.getActor();
     recordValues = context.getRecordValues();
@@ -182,6 +207,8 @@ public final class ProcessingStateMachine {
     abortCondition = context.getAbortCondition();
     lastProcessedPositionState = context.getLastProcessedPositionState();
     maxCommandsInBatch = context.getMaxCommandsInBatch();
+    maxPipelinedBatches = context.getMaxPipelinedBatches();
+    batchResultBuffers = new BatchResultBuffers(logStreamWriter::canWriteEvents);
 
     writeRetryStrategy = new AbortableRetryStrategy(actor);
     sideEffectsRetryStrategy = new AbortableRetryStrategy(actor);
@@ -194,6 +221,7 @@ public final class ProcessingStateMachine {
     metrics = new StreamProcessorMetrics(partitionId);
     metrics.initializeProcessorPhase(context.getStreamProcessorPhase());
     streamProcessorListener = context.getStreamProcessorListener();
+    hasStreamProcessorListener = streamProcessorListener != StreamProcessorContext.NOOP_LISTENER;
 
     processingMetrics = new ProcessingMetrics(Integer.toString(partitionId));
 
@@ -288,39 +316,40 @@ public final class ProcessingStateMachine {
 
       finalizeCommandProcessing();
       writeRecords();
-    } catch (final RecoverableException recoverableException) {
-      // recoverable
+    } catch (final UnrecoverableException unrecoverableException) {
+      LOG.error(ERROR_MESSAGE_PROCESSING_FAILED_UNRECOVERABLE, loggedEvent, metadata);
+      throw unrecoverableException;
+    } catch (final Exception e) {
+      if (pipelinedBatches.isEmpty()) {
+        onProcessingFailure(loggedEvent, e);
+      } else {
+        completePipelineOnError(() -> onProcessingFailure(loggedEvent, e));
+      }
+    }
+  }
+
+  private void onProcessingFailure(final LoggedEvent loggedEvent, final Exception failure) {
+    if (failure instanceof final RecoverableException recoverableException) {
       LOG.error(
           ERROR_MESSAGE_PROCESSING_FAILED_RETRY_PROCESSING,
           loggedEvent,
           metadata,
           recoverableException);
       actor.schedule(PROCESSING_RETRY_DELAY, () -> processCommand(currentRecord));
-    } catch (final UnrecoverableException unrecoverableException) {
-      LOG.error(ERROR_MESSAGE_PROCESSING_FAILED_UNRECOVERABLE, loggedEvent, metadata);
-      throw unrecoverableException;
-    } catch (final ExceededBatchRecordSizeException exceededBatchRecordSizeException) {
-      if (processedCommandsCount > 0) {
-        LOG.warn(
-            WARN_MESSAGE_BATCH_PROCESSING_RETRY,
-            processedCommandsCount,
-            maxCommandsInBatch,
-            exceededBatchRecordSizeException);
-        processingMetrics.countRetry();
-        onError(exceededBatchRecordSizeException, () -> processCommand(loggedEvent));
-      } else {
-        onError(
-            exceededBatchRecordSizeException,
-            () -> {
-              errorHandlingInTransaction(exceededBatchRecordSizeException);
-              writeRecords();
-            });
-      }
-    } catch (final Exception e) {
+    } else if (failure instanceof final ExceededBatchRecordSizeException exceededBatchSize
+        && processedCommandsCount > 0) {
+      LOG.warn(
+          WARN_MESSAGE_BATCH_PROCESSING_RETRY,
+          processedCommandsCount,
+          maxCommandsInBatch,
+          exceededBatchSize);
+      processingMetrics.countRetry();
+      onError(exceededBatchSize, () -> processCommand(loggedEvent));
+    } else {
       onError(
-          e,
+          failure,
           () -> {
-            errorHandlingInTransaction(e);
+            errorHandlingInTransaction(failure);
             writeRecords();
           });
     }
@@ -346,8 +375,8 @@ public final class ProcessingStateMachine {
     // propagate the operation reference from the initial command to the processingResultBuilder to
     // be appended to the followup events
     final var processingResultBuilder =
-        new BufferedProcessingResultBuilder(
-            logStreamWriter::canWriteEvents, initialCommand.getOperationReference());
+        batchResultBuffers.reset(initialCommand.getOperationReference());
+    final var pendingResponses = batchResultBuffers.getResponses();
     var lastProcessingResultSize = 0;
 
     // It might be that we reached the batch size limit during processing a command.
@@ -357,34 +386,31 @@ public final class ProcessingStateMachine {
     final var currentProcessingBatchLimit =
         processedCommandsCount > 0 ? processedCommandsCount : maxCommandsInBatch;
     processedCommandsCount = 0;
+    // not reused, as the log stream writer may serialize the records after the write returned
     pendingWrites = new ArrayList<>();
-    pendingResponses = Collections.newSetFromMap(new IdentityHashMap<>(2));
-    final var pendingCommands = new ArrayDeque<TypedRecord<?>>();
+    pendingCommands.clear();
+    usedFollowUpCommands = 0;
     pendingCommands.addLast(initialCommand);
 
     while (!pendingCommands.isEmpty() && processedCommandsCount < currentProcessingBatchLimit) {
 
       final var command = pendingCommands.removeFirst();
 
-      currentProcessor =
-          recordProcessors.stream()
-              .filter(p -> p.accepts(command.getValueType()))
-              .findFirst()
-              .orElseThrow(() -> NoSuchProcessorException.forRecord(command));
+      currentProcessor = recordProcessorDispatchTable.get(command);
 
       currentProcessingResult = currentProcessor.process(command, processingResultBuilder);
 
-      final BatchProcessingStepResult batchProcessingStepResult =
-          collectBatchProcessingStepResult(
-              currentProcessingResult,
-              lastProcessingResultSize,
-              // +1 since we already need include the current command in the calculation
-              pendingCommands.size() + processedCommandsCount + 1,
-              currentProcessingBatchLimit);
+      collectBatchProcessingStepResult(
+          currentProcessingResult,
+          lastProcessingResultSize,
+          // +1 since we already need include the current command in the calculation
+          pendingCommands.size() + processedCommandsCount + 1,
+          currentProcessingBatchLimit);
 
-      pendingCommands.addAll(batchProcessingStepResult.toProcess());
-      pendingWrites.addAll(batchProcessingStepResult.toWrite());
-      currentProcessingResult.getProcessingResponse().ifPresent(pendingResponses::add);
+      final var processingResponse = currentProcessingResult.getProcessingResponse();
+      if (processingResponse.isPresent()) {
+        pendingResponses.add(processingResponse.get());
+      }
 
       lastProcessingResultSize = currentProcessingResult.getRecordBatch().entries().size();
       processedCommandsCount++;
@@ -394,45 +420,49 @@ public final class ProcessingStateMachine {
 
   /**
    * Collects from the given processing result the commands which should be processed further, and
-   * the records which should be written to the log.
+   * the records which should be written to the log, and appends them to the pending commands and
+   * writes.
    *
    * @param processingResult the processing result of the last processed command
    * @param lastProcessingResultSize the size of the processing result before processing the last
    *     command
    * @param currentBatchSize the current batch size (only commands counted), includes already
    *     processed and pending commands
-   * @return the result of the current batch processing step, which contains the next to processed
-   *     commands and the records which should be written to the log
    */
-  private BatchProcessingStepResult collectBatchProcessingStepResult(
+  private void collectBatchProcessingStepResult(
       final ProcessingResult processingResult,
       final int lastProcessingResultSize,
       final int currentBatchSize,
       final int currentProcessingBatchLimit) {
 
-    final var commandsToProcess = new ArrayList<TypedRecord<?>>();
-    final var toWriteEntries = new ArrayList<LogAppendEntry>();
-
-    processingResult.getRecordBatch().entries().stream()
-        .skip(lastProcessingResultSize) // because the result builder is reused
-        .forEachOrdered(
-            entry -> {
-              var toWriteEntry = entry;
-              final int potentialBatchSize = currentBatchSize + commandsToProcess.size();
-              if (entry.recordMetadata().getRecordType() == RecordType.COMMAND
-                  && potentialBatchSize < currentProcessingBatchLimit) {
-                commandsToProcess.add(
-                    new UnwrittenRecord(
-                        entry.key(),
-                        context.getPartitionId(),
-                        entry.recordValue(),
-                        entry.recordMetadata()));
-                toWriteEntry = LogAppendEntry.ofProcessed(entry);
-              }
-              toWriteEntries.add(toWriteEntry);
-            });
+    final var entries = processingResult.getRecordBatch().entries();
+    var commandsToProcess = 0;
+
+    // skips the entries of the previous commands, because the result builder is reused
+    for (int i = lastProcessingResultSize; i < entries.size(); i++) {
+      final var entry = entries.get(i);
+      var toWriteEntry = entry;
+      final int potentialBatchSize = currentBatchSize + commandsToProcess;
+      if (entry.recordMetadata().getRecordType() == RecordType.COMMAND
+          && potentialBatchSize < currentProcessingBatchLimit) {
+        pendingCommands.addLast(
+            nextFollowUpCommand().wrap(entry.key(), entry.recordValue(), entry.recordMetadata()));
+        commandsToProcess++;
+        toWriteEntry = LogAppendEntry.ofProcessed(entry);
+      }
+      pendingWrites.add(toWriteEntry);
+    }
+  }
 
-    return new BatchProcessingStepResult(commandsToProcess, toWriteEntries);
+  /**
+   * @return a record for a follow-up command of the current batch, which reuses the records of the
+   *     previous batches
+   */
+  private UnwrittenRecord nextFollowUpCommand() {
+    if (usedFollowUpCommands == followUpCommands.size()) {
+      followUpCommands.add(new UnwrittenRecord(context.getPartitionId()));
+    }
+    return followUpCommands.get(usedFollowUpCommands++);
   }
 
   private void onError(final Throwable error, final NextProcessingStep nextStep) {
@@ -488,8 +518,8 @@ public final class ProcessingStateMachine {
           currentRecord,
           metadata,
           e);
-      pendingResponses.clear();
-      pendingWrites.clear();
+      batchResultBuffers.getResponses().clear();
+      pendingWrites = new ArrayList<>();
     }
     return false;
   }
@@ -530,8 +560,7 @@ public final class ProcessingStateMachine {
   private void tryRejectingIfUserCommand(final String errorMessage) {
     final var rejectionReason = errorMessage != null ? errorMessage : "";
     final ProcessingResultBuilder processingResultBuilder =
-        new BufferedProcessingResultBuilder(
-            logStreamWriter::canWriteEvents, typedCommand.getOperationReference());
+        batchResultBuffers.reset(typedCommand.getOperationReference());
     final var errorRecord = new ErrorRecord();
     errorRecord.initErrorRecord(
         new CommandRejectionException(rejectionReason), currentRecord.getPosition());
@@ -558,8 +587,7 @@ public final class ProcessingStateMachine {
         typedCommand.getRequestStreamId());
     currentProcessingResult = processingResultBuilder.build();
 
-    pendingWrites = currentProcessingResult.getRecordBatch().entries();
-    pendingResponses = currentProcessingResult.getProcessingResponse().stream().toList();
+    collectErrorHandlingResult();
 
     finalizeCommandProcessing();
     writeRecords();
@@ -571,13 +599,11 @@ public final class ProcessingStateMachine {
     zeebeDbTransaction.run(
         () -> {
           final ProcessingResultBuilder processingResultBuilder =
-              new BufferedProcessingResultBuilder(
-                  logStreamWriter::canWriteEvents, typedCommand.getOperationReference());
+              batchResultBuffers.reset(typedCommand.getOperationReference());
           currentProcessingResult =
               currentProcessor.onProcessingError(
                   processingException, typedCommand, processingResultBuilder);
-          pendingWrites = currentProcessingResult.getRecordBatch().entries();
-          pendingResponses = currentProcessingResult.getProcessingResponse().stream().toList();
+          collectErrorHandlingResult();
           // we need to mark the command as processed, even if the processing failed
           // otherwise we might replay the events, which have been written during
           // #onProcessingError again on restart
@@ -585,6 +611,18 @@ public final class ProcessingStateMachine {
         });
   }
 
+  /**
+   * Collects the records to write and the response of the result of the error handling. The records
+   * are copied, as the result builder is reused while the log stream writer may still serialize
+   * them.
+   */
+  private void collectErrorHandlingResult() {
+    pendingWrites = new ArrayList<>(currentProcessingResult.getRecordBatch().entries());
+    currentProcessingResult
+        .getProcessingResponse()
+        .ifPresent(batchResultBuffers.getResponses()::add);
+  }
+
   private ActorFuture<Boolean> writeWithRetryAsync() {
     final var sourceRecordPosition = typedCommand.getPosition();
 
@@ -624,19 +662,27 @@ public final class ProcessingStateMachine {
         (bool, t) -> {
           if (t != null) {
             LOG.error(ERROR_MESSAGE_WRITE_RECORD_ABORTED, currentRecord, metadata, t);
-            onError(
-                t,
+            final NextProcessingStep nextStep =
                 () -> {
                   errorHandlingInTransaction(t);
                   writeRecords();
-                });
+                };
+            if (pipelinedBatches.isEmpty()) {
+              onError(t, nextStep);
+            } else {
+              completePipelineOnError(() -> onError(t, nextStep));
+            }
           } else {
             // We write various type of records. The positions are always increasing and
             // incremented by 1 for one record (even in a batch), so we can count the amount
             // of written records via the lastWritten and now written position.
             final var amount = writtenPosition - lastWrittenPosition;
             metrics.recordsWritten(amount);
-            updateState();
+            if (maxPipelinedBatches > 0) {
+              continuePipeline();
+            } else {
+              updateState();
+            }
           }
         });
   }
@@ -677,24 +723,8 @@ public final class ProcessingStateMachine {
             () -> {
               // TODO refactor this into two parallel tasks, which are then combined, and on the
               // completion of which the process continues
-              for (final var processingResponse : pendingResponses) {
-                final var responseWriter = context.getCommandResponseWriter();
-
-                final var responseValue = processingResponse.responseValue();
-                final var recordMetadata = responseValue.recordMetadata();
-                responseWriter
-                    .intent(recordMetadata.getIntent())
-                    .key(responseValue.key())
-                    .recordType(recordMetadata.getRecordType())
-                    .rejectionReason(BufferUtil.wrapString(recordMetadata.getRejectionReason()))
-                    .rejectionType(recordMetadata.getRejectionType())
-                    .partitionId(context.getPartitionId())
-                    .valueType(recordMetadata.getValueType())
-                    .valueWriter(responseValue.recordValue())
-                    .tryWriteResponse(
-                        processingResponse.requestStreamId(), processingResponse.requestId());
-              }
-              return executePostCommitTasks();
+              writeResponses(batchResultBuffers.getResponses());
+              return executePostCommitTasks(currentProcessingResult);
             },
             abortCondition);
 
@@ -712,17 +742,198 @@ public final class ProcessingStateMachine {
           processingTimer.close();
 
           // continue with next record
-          markProcessingCompleted();
-          actor.submit(this::tryToReadNextRecord);
+          completeProcessing();
         });
   }
 
-  private boolean executePostCommitTasks() {
+  private void completeProcessing() {
+    markProcessingCompleted();
+    actor.submit(this::tryToReadNextRecord);
+  }
+
+  private void writeResponses(final Collection<ProcessingResponse> responses) {
+    for (final var processingResponse : responses) {
+      final var responseWriter = context.getCommandResponseWriter();
+
+      final var responseValue = processingResponse.responseValue();
+      final var recordMetadata = responseValue.recordMetadata();
+      responseWriter
+          .intent(recordMetadata.getIntent())
+          .key(responseValue.key())
+          .recordType(recordMetadata.getRecordType())
+          .rejectionReason(BufferUtil.wrapString(recordMetadata.getRejectionReason()))
+          .rejectionType(recordMetadata.getRejectionType())
+          .partitionId(context.getPartitionId())
+          .valueType(recordMetadata.getValueType())
+          .valueWriter(responseValue.recordValue())
+          .tryWriteResponse(processingResponse.requestStreamId(), processingResponse.requestId());
+    }
+  }
+
+  private boolean executePostCommitTasks(final ProcessingResult processingResult) {
     try (final var timer = processingMetrics.startBatchProcessingPostCommitTasksTimer()) {
-      return currentProcessingResult.executePostCommitTasks();
+      return processingResult.executePostCommitTasks();
+    }
+  }
+
+  /**
+   * Adds the current batch, whose records are written, to the pipeline, and continues with the next
+   * command on top of its uncommitted state changes if possible. Otherwise, the pipelined batches
+   * are committed and completed.
+   */
+  private void continuePipeline() {
+    final var batch =
+        freePipelinedBatches.isEmpty()
+            ? new PipelinedBatch(context.getPartitionId())
+            : freePipelinedBatches.removeFirst();
+    batch.wrap(currentRecord, batchResultBuffers, currentProcessingResult, processingTimer);
+    pipelinedBatches.addLast(batch);
+    // the pipelined batch keeps its results until its side effects are executed
+    batchResultBuffers =
+        freeBatchResultBuffers.isEmpty()
+            ? new BatchResultBuffers(logStreamWriter::canWriteEvents)
+            : freeBatchResultBuffers.removeFirst();
+    // the records are written already, only the state changes are not committed yet
+    lastWrittenPosition = writtenPosition;
+
+    final var stallReason = findPipelineStallReason();
+    if (stallReason == null && trySetSavePoint()) {
+      currentRecord = logStreamReader.next();
+      processCommand(currentRecord);
+    } else {
+      if (stallReason != null) {
+        processingMetrics.countPipelineStall(stallReason);
+      }
+      commitPipelinedBatches(this::completeProcessing);
     }
   }
 
+  /**
+   * Checks whether the next command can be pipelined, skipping the records in between which are
+   * not processed, e.g. the follow-up events of previous commands.
+   *
+   * @return the reason why no further command can be pipelined, or null if it can
+   */
+  private PipelineStallReason findPipelineStallReason() {
+    if (errorHandlingPhase != ErrorHandlingPhase.NO_ERROR) {
+      return PipelineStallReason.ERROR_HANDLING;
+    } else if (pipelinedBatches.size() > maxPipelinedBatches) {
+      return PipelineStallReason.MAX_DEPTH_REACHED;
+    } else if (!shouldProcessNext.getAsBoolean()) {
+      return PipelineStallReason.PROCESSING_PAUSED;
+    }
+
+    while (logStreamReader.hasNext()) {
+      if (processingFilter.applies(logStreamReader.peekNext())) {
+        return null;
+      }
+      currentRecord = logStreamReader.next();
+      notifySkippedListener(currentRecord);
+      metrics.eventSkipped();
+    }
+    return PipelineStallReason.NO_NEXT_COMMAND;
+  }
+
+  private boolean trySetSavePoint() {
+    try {
+      // a failure of the next batch only discards its own changes
+      zeebeDbTransaction.setSavePoint();
+      return true;
+    } catch (final Exception e) {
+      LOG.warn(ERROR_MESSAGE_SET_SAVE_POINT_FAILED, currentRecord, metadata, e);
+      processingMetrics.countPipelineStall(PipelineStallReason.FAILURE);
+      return false;
+    }
+  }
+
+  /**
+   * Discards the changes of the current batch, which failed and whose records are not written, and
+   * commits and completes the pipelined batches before the failure is handled.
+   */
+  private void completePipelineOnError(final Runnable failureHandler) {
+    processingMetrics.countPipelineStall(PipelineStallReason.FAILURE);
+    try {
+      zeebeDbTransaction.rollbackToSavePoint();
+    } catch (final Exception e) {
+      LOG.error(ERROR_MESSAGE_ROLLBACK_TO_SAVE_POINT_FAILED, currentRecord, metadata, e);
+      actor.fail(e);
+      return;
+    }
+    commitPipelinedBatches(failureHandler);
+  }
+
+  private void commitPipelinedBatches(final Runnable onCompleted) {
+    final var lastBatchPosition = pipelinedBatches.getLast().getPosition();
+    final ActorFuture<Boolean> retryFuture =
+        updateStateRetryStrategy.runWithRetry(
+            () -> {
+              zeebeDbTransaction.commit();
+              lastSuccessfulProcessedRecordPosition = lastBatchPosition;
+              metrics.setLastProcessedPosition(lastSuccessfulProcessedRecordPosition);
+              lastWrittenPosition = writtenPosition;
+              return true;
+            },
+            abortCondition);
+
+    actor.runOnCompletion(
+        retryFuture,
+        (bool, throwable) -> {
+          if (throwable != null) {
+            // rolling back and handling the error as for a single batch would lose the state
+            // changes of the other batches, whose records are written already
+            LOG.error(ERROR_MESSAGE_COMMIT_PIPELINED_BATCHES_FAILED, lastBatchPosition, throwable);
+            actor.fail(throwable);
+          } else {
+            processingMetrics.observePipelineDepth(pipelinedBatches.size());
+            for (final var batch : pipelinedBatches) {
+              scheduledCommandCache.remove(batch.getIntent(), batch.getKey());
+            }
+            executePipelinedSideEffects(lastBatchPosition, onCompleted);
+          }
+        });
+  }
+
+  private void executePipelinedSideEffects(
+      final long lastBatchPosition, final Runnable onCompleted) {
+    final ActorFuture<Boolean> retryFuture =
+        sideEffectsRetryStrategy.runWithRetry(
+            () -> {
+              for (final var batch : pipelinedBatches) {
+                if (!batch.isSideEffectsExecuted()) {
+                  writeResponses(batch.getResponses());
+                  if (!executePostCommitTasks(batch.getProcessingResult())) {
+                    // retry from this batch, the previous ones are executed already
+                    return false;
+                  }
+                  batch.markSideEffectsExecuted();
+                }
+              }
+              return true;
+            },
+            abortCondition);
+
+    actor.runOnCompletion(
+        retryFuture,
+        (bool, throwable) -> {
+          if (throwable != null) {
+            LOG.error(
+                ERROR_MESSAGE_EXECUTE_PIPELINED_SIDE_EFFECTS_ABORTED, lastBatchPosition, throwable);
+          }
+
+          while (!pipelinedBatches.isEmpty()) {
+            final var batch = pipelinedBatches.removeFirst();
+            if (hasStreamProcessorListener) {
+              notifyProcessedListener(batch.readCommand());
+            }
+            // observe the processing duration
+            freeBatchResultBuffers.addLast(batch.complete());
+            freePipelinedBatches.addLast(batch);
+          }
+
+          onCompleted.run();
+        });
+  }
+
   private void notifyProcessedListener(final TypedRecord processedRecord) {
     try {
       streamProcessorListener.onProcessed(processedRecord);
@@ -774,14 +985,24 @@ public final class ProcessingStateMachine {
     processingMetrics.errorHandlingPhase(errorHandlingPhase);
   }
 
-  private record BatchProcessingStepResult(
-      List<TypedRecord<?>> toProcess, List<LogAppendEntry> toWrite) {}
-
   @FunctionalInterface
   private interface NextProcessingStep {
     void run() throws Exception;
   }
 
+  public enum PipelineStallReason {
+    // no further command is on the log yet, e.g. as it is not committed yet
+    NO_NEXT_COMMAND,
+    // as many batches as allowed are pipelined already
+    MAX_DEPTH_REACHED,
+    // the processing is paused
+    PROCESSING_PAUSED,
+    // the batch was written while handling a processing error
+    ERROR_HANDLING,
+    // processing or writing the next batch failed, or setting its save point
+    FAILURE
+  }
+
   public enum ErrorHandlingPhase {
     NO_ERROR,
     // external commands failed in processRecord
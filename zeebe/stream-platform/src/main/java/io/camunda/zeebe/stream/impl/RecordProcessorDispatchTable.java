@@ -0,0 +1,59 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.stream.impl;
+
+import io.camunda.zeebe.protocol.record.ValueType;
+import io.camunda.zeebe.stream.api.RecordProcessor;
+import io.camunda.zeebe.stream.api.records.TypedRecord;
+import java.util.List;
+
+/**
+ * Dispatches records to the first of the registered {@link RecordProcessor}s which accepts their
+ * value type. The processor of a value type is looked up once and then kept in an array indexed by
+ * the ordinal of the value type, such that dispatching a record is a single array access.
+ *
+ * <p>The processors are only asked whether they accept a value type when the first record of that
+ * type is dispatched, as they are initialized after the stream processor is built. Shared by the
+ * replay and the processing state machine, which both run on the stream processor actor.
+ */
+final class RecordProcessorDispatchTable {
+
+  private final List<RecordProcessor> recordProcessors;
+  private final RecordProcessor[] processorsByValueType =
+      new RecordProcessor[ValueType.values().length];
+
+  RecordProcessorDispatchTable(final List<RecordProcessor> recordProcessors) {
+    this.recordProcessors = recordProcessors;
+  }
+
+  /**
+   * @param record the record to dispatch
+   * @return the processor which accepts the value type of the record
+   * @throws NoSuchProcessorException if none of the processors accepts the value type
+   */
+  RecordProcessor get(final TypedRecord<?> record) {
+    final var valueType = record.getValueType();
+    final var processor = processorsByValueType[valueType.ordinal()];
+    if (processor != null) {
+      return processor;
+    }
+
+    return lookup(record, valueType);
+  }
+
+  private RecordProcessor lookup(final TypedRecord<?> record, final ValueType valueType) {
+    for (final var processor : recordProcessors) {
+      if (processor.accepts(valueType)) {
+        processorsByValueType[valueType.ordinal()] = processor;
+        return processor;
+      }
+    }
+
+    throw NoSuchProcessorException.forRecord(record);
+  }
+}
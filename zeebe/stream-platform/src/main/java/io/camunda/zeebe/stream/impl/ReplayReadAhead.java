@@ -0,0 +1,346 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.stream.impl;
+
+import io.camunda.zeebe.logstreams.impl.Loggers;
+import io.camunda.zeebe.logstreams.impl.log.LogStreamBatchReaderImpl;
+import io.camunda.zeebe.logstreams.impl.log.LoggedEventImpl;
+import io.camunda.zeebe.logstreams.log.LogRecordAwaiter;
+import io.camunda.zeebe.logstreams.log.LogStream;
+import io.camunda.zeebe.logstreams.log.LogStreamBatchReader;
+import io.camunda.zeebe.logstreams.log.LogStreamBatchReader.Batch;
+import io.camunda.zeebe.logstreams.log.LoggedEvent;
+import io.camunda.zeebe.protocol.impl.record.RecordMetadata;
+import io.camunda.zeebe.protocol.impl.record.UnifiedRecordValue;
+import io.camunda.zeebe.protocol.record.ValueType;
+import io.camunda.zeebe.scheduler.Actor;
+import io.camunda.zeebe.stream.api.MetadataFilter;
+import io.camunda.zeebe.util.ReflectUtil;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.collections.IntArrayList;
+import org.agrona.concurrent.OneToOneConcurrentArrayQueue;
+import org.slf4j.Logger;
+
+/**
+ * Reads and decodes the records to replay ahead of the {@link ReplayStateMachine}, on its own
+ * actor, such that reading the log and deserializing the metadata and values of the events overlaps
+ * with applying them to the state. The state is still only modified by the replay state machine,
+ * in position order, as all event appliers share the state and its transaction.
+ *
+ * <p>At most {@code capacity} batches are decoded ahead; each batch is a copy of the events, with
+ * their decoded metadata and values, which is reused once the replay state machine released it.
+ * The decoded batches are handed over via {@link #poll()}, and the replay state machine is notified
+ * via {@link LogRecordAwaiter#onRecordAvailable()} when a batch is decoded after it polled none.
+ */
+final class ReplayReadAhead extends Actor implements LogRecordAwaiter {
+
+  private static final Logger LOG = Loggers.PROCESSOR_LOGGER;
+
+  private final LogStream logStream;
+  private final StreamProcessorMode streamProcessorMode;
+  private final MetadataFilter replayFilter;
+  private final long snapshotPosition;
+  private final LogRecordAwaiter decodedBatchAwaiter;
+  private final String actorName;
+
+  private final OneToOneConcurrentArrayQueue<DecodedBatch> decodedBatches;
+  private final OneToOneConcurrentArrayQueue<DecodedBatch> freeBatches;
+  // set by the replay state machine if it polled no batch, to be notified about the next one
+  private final AtomicBoolean awaitingDecodedBatch = new AtomicBoolean();
+  // set by the read ahead if all batches are in use, to continue once one is released
+  private final AtomicBoolean awaitingFreeBatch = new AtomicBoolean();
+  private volatile boolean endOfLog;
+  private volatile Throwable failure;
+
+  private LogStreamBatchReader batchReader;
+  private boolean reading;
+
+  ReplayReadAhead(
+      final LogStream logStream,
+      final StreamProcessorMode streamProcessorMode,
+      final MetadataFilter replayFilter,
+      final long snapshotPosition,
+      final int capacity,
+      final LogRecordAwaiter decodedBatchAwaiter) {
+    this.logStream = logStream;
+    this.streamProcessorMode = streamProcessorMode;
+    this.replayFilter = replayFilter;
+    this.snapshotPosition = snapshotPosition;
+    this.decodedBatchAwaiter = decodedBatchAwaiter;
+    actorName = buildActorName("ReplayReadAhead", logStream.getPartitionId());
+
+    decodedBatches = new OneToOneConcurrentArrayQueue<>(capacity);
+    freeBatches = new OneToOneConcurrentArrayQueue<>(capacity);
+    for (int i = 0; i < capacity; i++) {
+      freeBatches.offer(new DecodedBatch());
+    }
+  }
+
+  @Override
+  public String getName() {
+    return actorName;
+  }
+
+  @Override
+  protected void onActorStarting() {
+    batchReader = new LogStreamBatchReaderImpl(logStream.newLogStreamReader());
+  }
+
+  @Override
+  protected void onActorStarted() {
+    // start after snapshot
+    batchReader.seekToNextBatch(snapshotPosition);
+
+    if (streamProcessorMode == StreamProcessorMode.REPLAY) {
+      logStream.registerRecordAvailableListener(this);
+    }
+
+    continueReading();
+  }
+
+  @Override
+  protected void onActorClosing() {
+    logStream.removeRecordAvailableListener(this);
+    batchReader.close();
+  }
+
+  @Override
+  protected void handleFailure(final Throwable failure) {
+    this.failure = failure;
+    notifyDecodedBatchAwaiter();
+    actor.fail(failure);
+  }
+
+  @Override
+  public void onRecordAvailable() {
+    actor.run(this::continueReading);
+  }
+
+  /**
+   * Returns the next decoded batch, which must be {@link #release(DecodedBatch) released} once it
+   * is replayed. If there is none yet, the replay state machine is notified once there is.
+   *
+   * <p>Must only be called by the replay state machine.
+   *
+   * @return the next decoded batch, or null if there is none yet
+   * @throws IllegalStateException if reading ahead failed
+   */
+  DecodedBatch poll() {
+    var batch = decodedBatches.poll();
+    if (batch == null) {
+      // register before polling again, such that a batch decoded in the meantime is not missed
+      awaitingDecodedBatch.set(true);
+      batch = decodedBatches.poll();
+      if (batch != null) {
+        awaitingDecodedBatch.set(false);
+      } else if (failure != null) {
+        throw new IllegalStateException("Failed to read ahead the records to replay", failure);
+      }
+    }
+    return batch;
+  }
+
+  /**
+   * @return true if all records of the log were decoded and polled; only happens in {@link
+   *     StreamProcessorMode#PROCESSING}, as the log is replayed continuously otherwise
+   */
+  boolean hasReachedEnd() {
+    // the end is marked after the last batch was decoded
+    return endOfLog && decodedBatches.isEmpty();
+  }
+
+  /** Returns the replayed batch, such that it can be reused to decode the next one. */
+  void release(final DecodedBatch batch) {
+    freeBatches.offer(batch);
+    if (awaitingFreeBatch.compareAndSet(true, false)) {
+      actor.run(this::continueReading);
+    }
+  }
+
+  private void continueReading() {
+    if (!reading) {
+      reading = true;
+      readNextBatch();
+    }
+  }
+
+  private void readNextBatch() {
+    if (!batchReader.hasNext()) {
+      // in replay mode, continued by onRecordAvailable
+      reading = false;
+      if (streamProcessorMode == StreamProcessorMode.PROCESSING) {
+        endOfLog = true;
+        notifyDecodedBatchAwaiter();
+      }
+      return;
+    }
+
+    var batch = freeBatches.poll();
+    if (batch == null) {
+      // register before polling again, such that a batch released in the meantime is not missed
+      awaitingFreeBatch.set(true);
+      batch = freeBatches.poll();
+      if (batch == null) {
+        // continued by release
+        reading = false;
+        return;
+      }
+      awaitingFreeBatch.set(false);
+    }
+
+    batch.decode(batchReader.next(), replayFilter, snapshotPosition);
+    decodedBatches.offer(batch);
+    notifyDecodedBatchAwaiter();
+
+    actor.submit(this::readNextBatch);
+  }
+
+  private void notifyDecodedBatchAwaiter() {
+    if (awaitingDecodedBatch.compareAndSet(true, false)) {
+      decodedBatchAwaiter.onRecordAvailable();
+    }
+  }
+
+  /**
+   * A copy of a batch of events, with the decoded metadata and value of each event. The values are
+   * only decoded for the events to replay, see {@link #shouldReplay()}. If decoding failed, none
+   * are decoded, see {@link #isDecoded()}, and the events have to be decoded on replay instead,
+   * such that the failure is reported where it would be without reading ahead.
+   */
+  static final class DecodedBatch implements Batch {
+
+    private final ExpandableArrayBuffer eventBuffer = new ExpandableArrayBuffer();
+    private final IntArrayList eventOffsets = new IntArrayList();
+    private final List<DecodedEvent> decodedEvents = new ArrayList<>();
+    private final LoggedEventImpl event = new LoggedEventImpl();
+    private boolean decoded;
+    private int currentIndex;
+
+    @Override
+    public void head() {
+      currentIndex = 0;
+    }
+
+    @Override
+    public LoggedEvent current() {
+      return event;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return currentIndex < eventOffsets.size();
+    }
+
+    @Override
+    public LoggedEvent next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      event.wrap(eventBuffer, eventOffsets.getInt(currentIndex));
+      currentIndex += 1;
+      return event;
+    }
+
+    boolean isDecoded() {
+      return decoded;
+    }
+
+    /**
+     * @return true if the event last returned by {@link #next()} is an event to replay which was
+     *     not applied before the snapshot
+     */
+    boolean shouldReplay() {
+      return decodedEvents.get(currentIndex - 1).replay;
+    }
+
+    /**
+     * @return the metadata of the event last returned by {@link #next()}
+     */
+    RecordMetadata metadata() {
+      return decodedEvents.get(currentIndex - 1).metadata;
+    }
+
+    /**
+     * @return the value of the event last returned by {@link #next()}, if it should be replayed
+     */
+    UnifiedRecordValue value() {
+      return decodedEvents.get(currentIndex - 1).value;
+    }
+
+    private void decode(
+        final Batch batch, final MetadataFilter replayFilter, final long snapshotPosition) {
+      // copy the events first, as decoded values refer to the buffer they were read from
+      eventOffsets.clear();
+      int bufferOffset = 0;
+      while (batch.hasNext()) {
+        final var loggedEvent = batch.next();
+        loggedEvent.write(eventBuffer, bufferOffset);
+        eventOffsets.addInt(bufferOffset);
+        bufferOffset += loggedEvent.getLength();
+      }
+
+      try {
+        for (int index = 0; index < eventOffsets.size(); index++) {
+          if (index == decodedEvents.size()) {
+            decodedEvents.add(new DecodedEvent());
+          }
+          event.wrap(eventBuffer, eventOffsets.getInt(index));
+          decodedEvents.get(index).decode(event, replayFilter, snapshotPosition);
+        }
+        decoded = true;
+      } catch (final RuntimeException e) {
+        LOG.debug("Failed to decode batch ahead, it's decoded on replay instead", e);
+        decoded = false;
+      }
+
+      head();
+    }
+  }
+
+  private static final class DecodedEvent {
+    private final RecordMetadata metadata = new RecordMetadata();
+    private final Map<ValueType, UnifiedRecordValue> values = new EnumMap<>(ValueType.class);
+    private UnifiedRecordValue value;
+    private boolean replay;
+
+    private void decode(
+        final LoggedEvent event, final MetadataFilter replayFilter, final long snapshotPosition) {
+      metadata.reset();
+      event.readMetadata(metadata);
+
+      final var sourceEventPosition = event.getSourceEventPosition();
+      // some events might not have a source pointer
+      replay =
+          replayFilter.applies(metadata)
+              && (sourceEventPosition > snapshotPosition || sourceEventPosition < 0);
+      value = replay ? readValue(event) : null;
+    }
+
+    private UnifiedRecordValue readValue(final LoggedEvent event) {
+      final var recordValue =
+          values.computeIfAbsent(
+              metadata.getValueType(),
+              valueType -> {
+                final var valueClass = TypedEventRegistry.EVENT_REGISTRY.get(valueType);
+                return valueClass != null ? ReflectUtil.newInstance(valueClass) : null;
+              });
+      if (recordValue != null) {
+        recordValue.reset();
+        event.readValue(recordValue);
+      }
+      return recordValue;
+    }
+  }
+}
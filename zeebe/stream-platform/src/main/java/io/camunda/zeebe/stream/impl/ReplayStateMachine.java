@@ -21,20 +21,20 @@ import io.camunda.zeebe.protocol.impl.record.RecordMetadata;
 import io.camunda.zeebe.protocol.impl.record.UnifiedRecordValue;
 import io.camunda.zeebe.protocol.record.RecordType;
 import io.camunda.zeebe.scheduler.ActorControl;
+import io.camunda.zeebe.scheduler.ActorSchedulingService;
 import io.camunda.zeebe.scheduler.future.ActorFuture;
 import io.camunda.zeebe.scheduler.future.CompletableActorFuture;
 import io.camunda.zeebe.scheduler.retry.RecoverableRetryStrategy;
 import io.camunda.zeebe.scheduler.retry.RetryStrategy;
 import io.camunda.zeebe.stream.api.EventFilter;
 import io.camunda.zeebe.stream.api.MetadataFilter;
-import io.camunda.zeebe.stream.api.RecordProcessor;
 import io.camunda.zeebe.stream.api.records.TypedRecord;
 import io.camunda.zeebe.stream.api.state.KeyGeneratorControls;
 import io.camunda.zeebe.stream.api.state.MutableLastProcessedPositionState;
+import io.camunda.zeebe.stream.impl.ReplayReadAhead.DecodedBatch;
 import io.camunda.zeebe.stream.impl.metrics.ReplayMetrics;
 import io.camunda.zeebe.stream.impl.records.RecordValues;
 import io.camunda.zeebe.stream.impl.records.TypedRecordImpl;
-import java.util.List;
 import java.util.function.BooleanSupplier;
 import org.slf4j.Logger;
 
@@ -63,9 +63,14 @@ public final class ReplayStateMachine implements LogRecordAwaiter {
   private final EventFilter eventFilter = new MetadataEventFilter(REPLAY_FILTER);
 
   private final LogStreamBatchReader logStreamBatchReader;
+  private final ActorSchedulingService actorSchedulingService;
+  private final int replayReadAheadBatches;
+  // only set if the records are read ahead, see replayReadAheadBatches
+  private ReplayReadAhead readAhead;
 
   private final TransactionContext transactionContext;
   private final RetryStrategy replayStrategy;
+  private final int replayCommitInterval;
 
   private final BooleanSupplier abortCondition;
   // current iteration
@@ -77,26 +82,38 @@ public final class ReplayStateMachine implements LogRecordAwaiter {
   private long lastReplayedEventPosition = StreamProcessor.UNSET_POSITION;
 
   private ActorFuture<LastProcessingPositions> recoveryFuture;
+  // spans multiple batches, until it contains at least replayCommitInterval records
   private ZeebeDbTransaction zeebeDbTransaction;
+  private int uncommittedRecords;
+  // set while a batch is being replayed; if set when replaying a batch, the previous attempt failed
+  private boolean replayingBatch;
+  private int uncommittedRecordsBeforeBatch;
+  private long lastReadRecordPositionBeforeBatch;
+  // set if the batch was replayed, but committing the transaction failed
+  private boolean commitPending;
   private final StreamProcessorMode streamProcessorMode;
   private final LogStream logStream;
 
   private State currentState = State.AWAIT_RECORD;
   private final BooleanSupplier shouldPause;
   private final ReplayMetrics replayMetrics;
-  private final List<RecordProcessor> recordProcessors;
+  private final RecordProcessorDispatchTable recordProcessorDispatchTable;
   private final int partitionId;
 
   public ReplayStateMachine(
-      final List<RecordProcessor> recordProcessors,
+      final RecordProcessorDispatchTable recordProcessorDispatchTable,
       final StreamProcessorContext context,
-      final BooleanSupplier shouldReplayNext) {
+      final BooleanSupplier shouldReplayNext,
+      final ActorSchedulingService actorSchedulingService) {
+    this.actorSchedulingService = actorSchedulingService;
     partitionId = context.getPartitionId();
-    this.recordProcessors = recordProcessors;
+    this.recordProcessorDispatchTable = recordProcessorDispatchTable;
     shouldPause = () -> !shouldReplayNext.getAsBoolean();
     actor = context.getActor();
     recordValues = context.getRecordValues();
     transactionContext = context.getTransactionContext();
+    replayCommitInterval = context.getReplayCommitInterval();
+    replayReadAheadBatches = context.getReplayReadAheadBatches();
     abortCondition = context.getAbortCondition();
     keyGeneratorControls = context.getKeyGeneratorControls();
     lastProcessedPositionState = context.getLastProcessedPositionState();
@@ -122,15 +139,23 @@ public final class ReplayStateMachine implements LogRecordAwaiter {
     lastSourceEventPosition =
         snapshotPosition > 0 ? snapshotPosition : StreamProcessor.UNSET_POSITION;
 
-    // start after snapshot
-    logStreamBatchReader.seekToNextBatch(snapshotPosition);
+    if (replayReadAheadBatches > 0) {
+      startReadAhead();
+    } else {
+      // start after snapshot
+      logStreamBatchReader.seekToNextBatch(snapshotPosition);
+    }
+
+    // the events were already applied once, so they can be written in bulk, without checks
+    transactionContext.setBulkWrites(true);
 
     LOG.info(
-        "Processor starts replay of events. [snapshot-position: {}, replay-mode: {}]",
+        "Processor starts replay of events. [snapshot-position: {}, replay-mode: {}, read-ahead-batches: {}]",
         snapshotPosition,
-        streamProcessorMode);
+        streamProcessorMode,
+        replayReadAheadBatches);
 
-    if (streamProcessorMode == StreamProcessorMode.REPLAY) {
+    if (streamProcessorMode == StreamProcessorMode.REPLAY && readAhead == null) {
       logStream.registerRecordAvailableListener(this);
     }
 
@@ -139,6 +164,27 @@ public final class ReplayStateMachine implements LogRecordAwaiter {
     return recoveryFuture;
   }
 
+  private void startReadAhead() {
+    // notifies this state machine about decoded batches instead of the log stream
+    readAhead =
+        new ReplayReadAhead(
+            logStream,
+            streamProcessorMode,
+            REPLAY_FILTER,
+            snapshotPosition,
+            replayReadAheadBatches,
+            this);
+    actorSchedulingService
+        .submitActor(readAhead)
+        .onComplete(
+            (started, failure) -> {
+              if (failure != null) {
+                recoveryFuture.completeExceptionally(
+                    new RuntimeException("Failed to start reading ahead the records", failure));
+              }
+            });
+  }
+
   @Override
   public void onRecordAvailable() {
     actor.call(
@@ -155,11 +201,11 @@ public final class ReplayStateMachine implements LogRecordAwaiter {
     }
 
     try {
-      if (logStreamBatchReader.hasNext()) {
+      final var batch = nextBatch();
+      if (batch != null) {
         currentState = State.REPLAY_EVENT;
 
         final var replayDurationTimer = replayMetrics.startReplayDurationTimer();
-        final var batch = logStreamBatchReader.next();
         replayStrategy
             .runWithRetry(() -> tryToReplayBatch(batch), abortCondition)
             .onComplete(
@@ -172,15 +218,19 @@ public final class ReplayStateMachine implements LogRecordAwaiter {
                   } else {
                     // observe the replay duration
                     replayDurationTimer.close();
-                    // the position should be visible only after the batch is replayed successfully
-                    lastSourceEventPosition =
-                        Math.max(lastSourceEventPosition, batchSourceEventPosition);
-                    replayMetrics.setLastSourcePosition(lastSourceEventPosition);
+                    if (readAhead != null && batch instanceof final DecodedBatch decoded) {
+                      readAhead.release(decoded);
+                    }
                     actor.submit(this::replayNextEvent);
                   }
                 });
 
-      } else if (streamProcessorMode == StreamProcessorMode.PROCESSING) {
+      } else if (zeebeDbTransaction != null) {
+        // no more records to replay for now, the replayed ones become visible before waiting
+        commitReplayedRecords();
+
+      } else if (streamProcessorMode == StreamProcessorMode.PROCESSING
+          && (readAhead == null || readAhead.hasReachedEnd())) {
         onRecordsReplayed();
 
       } else {
@@ -196,28 +246,92 @@ public final class ReplayStateMachine implements LogRecordAwaiter {
     }
   }
 
+  private Batch nextBatch() {
+    if (readAhead != null) {
+      return readAhead.poll();
+    }
+    return logStreamBatchReader.hasNext() ? logStreamBatchReader.next() : null;
+  }
+
+  private void commitReplayedRecords() {
+    currentState = State.REPLAY_EVENT;
+    replayStrategy
+        .runWithRetry(
+            () -> {
+              commitTransaction();
+              return true;
+            },
+            abortCondition)
+        .onComplete(
+            (success, failure) -> {
+              if (failure != null) {
+                throw new RuntimeException("Failed to commit the replayed records", failure);
+              } else {
+                actor.submit(this::replayNextEvent);
+              }
+            });
+  }
+
+  /**
+   * Replays the batch in the current transaction, which is shared with the previous batches until
+   * it contains at least {@link #replayCommitInterval} records, or until there are no more records
+   * to replay. Each batch starts with a save point, such that a retry only discards the changes of
+   * the failed batch.
+   */
   private boolean tryToReplayBatch(final Batch batch) throws Exception {
-    final boolean onRetry = zeebeDbTransaction != null;
-    if (onRetry) {
-      zeebeDbTransaction.rollback();
+    if (commitPending) {
+      // the batch was replayed, only committing it failed
+      commitTransaction();
+      return true;
+    }
+
+    if (replayingBatch) {
+      zeebeDbTransaction.rollbackToSavePoint();
+      uncommittedRecords = uncommittedRecordsBeforeBatch;
+      lastReadRecordPosition = lastReadRecordPositionBeforeBatch;
       // reading the whole batch from the beginning again
       batch.head();
+    } else if (zeebeDbTransaction == null) {
+      zeebeDbTransaction = transactionContext.getCurrentTransaction();
     }
 
-    zeebeDbTransaction = transactionContext.getCurrentTransaction();
+    uncommittedRecordsBeforeBatch = uncommittedRecords;
+    lastReadRecordPositionBeforeBatch = lastReadRecordPosition;
+    zeebeDbTransaction.setSavePoint();
+    replayingBatch = true;
     zeebeDbTransaction.run(
         () -> {
-          batch.forEachRemaining(this::replayEvent);
+          if (batch instanceof final DecodedBatch decodedBatch && decodedBatch.isDecoded()) {
+            decodedBatch.forEachRemaining(event -> replayDecodedEvent(decodedBatch, event));
+          } else {
+            batch.forEachRemaining(this::replayEvent);
+          }
 
           if (batchSourceEventPosition > snapshotPosition) {
             lastProcessedPositionState.markAsProcessed(batchSourceEventPosition);
           }
         });
+    replayingBatch = false;
+
+    // if there are no more records to replay, the transaction is committed on the next attempt to
+    // replay a batch, see replayNextEvent
+    if (uncommittedRecords >= replayCommitInterval || shouldPause.getAsBoolean()) {
+      commitPending = true;
+      commitTransaction();
+    }
 
+    return true;
+  }
+
+  private void commitTransaction() throws Exception {
     zeebeDbTransaction.commit();
     zeebeDbTransaction = null;
+    commitPending = false;
+    uncommittedRecords = 0;
 
-    return true;
+    // the position should be visible only after the batch is committed
+    lastSourceEventPosition = Math.max(lastSourceEventPosition, batchSourceEventPosition);
+    replayMetrics.setLastSourcePosition(lastSourceEventPosition);
   }
 
   private void replayEvent(final LoggedEvent currentEvent) {
@@ -226,21 +340,28 @@ public final class ReplayStateMachine implements LogRecordAwaiter {
             || currentEvent.getSourceEventPosition()
                 < 0)) { // some events might not have a source pointer
       readMetadata(currentEvent);
-      final var currentTypedEvent = readRecordValue(currentEvent);
+      replay(readRecordValue(currentEvent));
+    }
 
-      final var processor =
-          recordProcessors.stream()
-              .filter(p -> p.accepts(currentTypedEvent.getValueType()))
-              .findFirst()
-              .orElseThrow(() -> NoSuchProcessorException.forRecord(currentTypedEvent));
+    onRecordReplayed(currentEvent);
+  }
 
-      processor.replay(currentTypedEvent);
-      lastReplayedEventPosition = currentTypedEvent.getPosition();
+  private void replayDecodedEvent(final DecodedBatch batch, final LoggedEvent currentEvent) {
+    if (batch.shouldReplay()) {
+      typedEvent.wrap(currentEvent, batch.metadata(), batch.value());
+      replay(typedEvent);
     }
 
     onRecordReplayed(currentEvent);
   }
 
+  private void replay(final TypedRecord<?> currentTypedEvent) {
+    final var processor = recordProcessorDispatchTable.get(currentTypedEvent);
+
+    processor.replay(currentTypedEvent);
+    lastReplayedEventPosition = currentTypedEvent.getPosition();
+  }
+
   /**
    * Ends the replay and sets some important properties, especially completes the replay future with
    * the last processing positions.
@@ -258,6 +379,10 @@ public final class ReplayStateMachine implements LogRecordAwaiter {
     final var lastProcessingPositions =
         new LastProcessingPositions(lastProcessedPosition, lastWrittenPosition);
 
+    // processing must detect conflicts and check foreign keys again
+    transactionContext.setBulkWrites(false);
+    closeReadAhead();
+
     LOG.info(LOG_STMT_REPLAY_FINISHED, lastProcessingPositions);
     recoveryFuture.complete(lastProcessingPositions);
   }
@@ -270,6 +395,7 @@ public final class ReplayStateMachine implements LogRecordAwaiter {
    */
   private void onRecordReplayed(final LoggedEvent currentEvent) {
     replayMetrics.event();
+    uncommittedRecords++;
     final var sourceEventPosition = currentEvent.getSourceEventPosition();
     final var currentPosition = currentEvent.getPosition();
     final var currentRecordKey = currentEvent.getKey();
@@ -324,6 +450,25 @@ public final class ReplayStateMachine implements LogRecordAwaiter {
 
   public void close() {
     logStream.removeRecordAvailableListener(this);
+    transactionContext.setBulkWrites(false);
+    closeReadAhead();
+
+    if (zeebeDbTransaction != null) {
+      // the positions of the uncommitted events were not published yet, so they're replayed again
+      try {
+        zeebeDbTransaction.rollback();
+      } catch (final Exception e) {
+        LOG.warn("Failed to roll back the uncommitted replay transaction on close", e);
+      }
+      zeebeDbTransaction = null;
+    }
+  }
+
+  private void closeReadAhead() {
+    if (readAhead != null) {
+      readAhead.closeAsync();
+      readAhead = null;
+    }
   }
 
   private enum State {
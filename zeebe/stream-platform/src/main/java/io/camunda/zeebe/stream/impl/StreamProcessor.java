@@ -111,6 +111,8 @@ public class StreamProcessor extends Actor implements HealthMonitorable, LogReco
   private ActorFuture<LastProcessingPositions> replayCompletedFuture;
 
   private final List<RecordProcessor> recordProcessors = new ArrayList<>();
+  private final RecordProcessorDispatchTable recordProcessorDispatchTable =
+      new RecordProcessorDispatchTable(recordProcessors);
   private ProcessingScheduleServiceImpl processorActorService;
   private ProcessingScheduleServiceImpl asyncScheduleService;
   private AsyncProcessingScheduleServiceActor asyncActor;
@@ -199,7 +201,11 @@ public class StreamProcessor extends Actor implements HealthMonitorable, LogReco
       healthCheckTick();
 
       replayStateMachine =
-          new ReplayStateMachine(recordProcessors, streamProcessorContext, this::shouldProcessNext);
+          new ReplayStateMachine(
+              recordProcessorDispatchTable,
+              streamProcessorContext,
+              this::shouldProcessNext,
+              actorSchedulingService);
 
       openFuture.complete(null);
       replayCompletedFuture = replayStateMachine.startRecover(snapshotPosition);
@@ -321,7 +327,7 @@ public class StreamProcessor extends Actor implements HealthMonitorable, LogReco
         new ProcessingStateMachine(
             streamProcessorContext,
             this::shouldProcessNext,
-            recordProcessors,
+            recordProcessorDispatchTable,
             scheduledCommandCache);
 
     logStream.registerRecordAvailableListener(this);
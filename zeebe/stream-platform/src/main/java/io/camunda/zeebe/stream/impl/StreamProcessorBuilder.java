@@ -147,6 +147,21 @@ public final class StreamProcessorBuilder {
           "Batch processing limit must be >= 1 but was %s"
               .formatted(streamProcessorContext.getMaxCommandsInBatch()));
     }
+    if (streamProcessorContext.getReplayCommitInterval() < 1) {
+      throw new IllegalArgumentException(
+          "Replay commit interval must be >= 1 but was %s"
+              .formatted(streamProcessorContext.getReplayCommitInterval()));
+    }
+    if (streamProcessorContext.getReplayReadAheadBatches() < 0) {
+      throw new IllegalArgumentException(
+          "Replay read ahead batches must be >= 0 but was %s"
+              .formatted(streamProcessorContext.getReplayReadAheadBatches()));
+    }
+    if (streamProcessorContext.getMaxPipelinedBatches() < 0) {
+      throw new IllegalArgumentException(
+          "Max pipelined batches must be >= 0 but was %s"
+              .formatted(streamProcessorContext.getMaxPipelinedBatches()));
+    }
   }
 
   public StreamProcessorBuilder maxCommandsInBatch(final int maxCommandsInBatch) {
@@ -154,6 +169,21 @@ public final class StreamProcessorBuilder {
     return this;
   }
 
+  public StreamProcessorBuilder replayCommitInterval(final int replayCommitInterval) {
+    streamProcessorContext.replayCommitInterval(replayCommitInterval);
+    return this;
+  }
+
+  public StreamProcessorBuilder replayReadAheadBatches(final int replayReadAheadBatches) {
+    streamProcessorContext.replayReadAheadBatches(replayReadAheadBatches);
+    return this;
+  }
+
+  public StreamProcessorBuilder maxPipelinedBatches(final int maxPipelinedBatches) {
+    streamProcessorContext.maxPipelinedBatches(maxPipelinedBatches);
+    return this;
+  }
+
   public StreamProcessorBuilder setEnableAsyncScheduledTasks(final boolean enabled) {
     streamProcessorContext.setEnableAsyncScheduledTasks(enabled);
     return this;
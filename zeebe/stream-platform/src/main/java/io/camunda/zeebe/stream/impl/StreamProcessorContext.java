@@ -30,7 +30,8 @@ import java.util.function.BooleanSupplier;
 public final class StreamProcessorContext implements ReadonlyStreamProcessorContext {
 
   public static final int DEFAULT_MAX_COMMANDS_IN_BATCH = 100;
-  private static final StreamProcessorListener NOOP_LISTENER = processedCommand -> {};
+  public static final int DEFAULT_REPLAY_COMMIT_INTERVAL = 1;
+  static final StreamProcessorListener NOOP_LISTENER = processedCommand -> {};
   private ActorControl actor;
   private LogStream logStream;
   private LogStreamReader logStreamReader;
@@ -52,6 +53,9 @@ public final class StreamProcessorContext implements ReadonlyStreamProcessorCont
   private volatile StreamProcessor.Phase phase = Phase.INITIAL;
   private KeyGeneratorControls keyGeneratorControls;
   private int maxCommandsInBatch = DEFAULT_MAX_COMMANDS_IN_BATCH;
+  private int replayCommitInterval = DEFAULT_REPLAY_COMMIT_INTERVAL;
+  private int replayReadAheadBatches;
+  private int maxPipelinedBatches;
   private boolean enableAsyncScheduledTasks = true;
   private EventFilter processingFilter = e -> true;
   private ControllableStreamClock clock;
@@ -223,6 +227,33 @@ public final class StreamProcessorContext implements ReadonlyStreamProcessorCont
     return maxCommandsInBatch;
   }
 
+  public StreamProcessorContext replayCommitInterval(final int replayCommitInterval) {
+    this.replayCommitInterval = replayCommitInterval;
+    return this;
+  }
+
+  public int getReplayCommitInterval() {
+    return replayCommitInterval;
+  }
+
+  public StreamProcessorContext replayReadAheadBatches(final int replayReadAheadBatches) {
+    this.replayReadAheadBatches = replayReadAheadBatches;
+    return this;
+  }
+
+  public int getReplayReadAheadBatches() {
+    return replayReadAheadBatches;
+  }
+
+  public StreamProcessorContext maxPipelinedBatches(final int maxPipelinedBatches) {
+    this.maxPipelinedBatches = maxPipelinedBatches;
+    return this;
+  }
+
+  public int getMaxPipelinedBatches() {
+    return maxPipelinedBatches;
+  }
+
   public StreamProcessorContext setEnableAsyncScheduledTasks(final boolean enabled) {
     enableAsyncScheduledTasks = enabled;
     return this;
@@ -8,16 +8,20 @@
 package io.camunda.zeebe.stream.impl.metrics;
 
 import io.camunda.zeebe.stream.impl.ProcessingStateMachine.ErrorHandlingPhase;
+import io.camunda.zeebe.stream.impl.ProcessingStateMachine.PipelineStallReason;
 import io.prometheus.client.Counter;
 import io.prometheus.client.Enumeration;
 import io.prometheus.client.Histogram;
 import io.prometheus.client.Histogram.Child;
 import io.prometheus.client.Histogram.Timer;
+import java.util.EnumMap;
+import java.util.Map;
 
 public class ProcessingMetrics {
 
   private static final String NAMESPACE = "zeebe";
   private static final String LABEL_NAME_PARTITION = "partition";
+  private static final String LABEL_NAME_REASON = "reason";
 
   private static final Histogram BATCH_PROCESSING_DURATION =
       Histogram.build()
@@ -63,11 +67,31 @@ public class ProcessingMetrics {
           .states(ErrorHandlingPhase.class)
           .register();
 
+  private static final Histogram PIPELINE_DEPTH =
+      Histogram.build()
+          .namespace(NAMESPACE)
+          .name("stream_processor_pipeline_depth")
+          .help("Number of command batches whose state changes were committed together")
+          .buckets(1, 2, 4, 8, 16, 32)
+          .labelNames(LABEL_NAME_PARTITION)
+          .register();
+
+  private static final Counter PIPELINE_STALLS =
+      Counter.build()
+          .namespace(NAMESPACE)
+          .name("stream_processor_pipeline_stalls")
+          .help("Number of times no further batch was pipelined before committing, by reason")
+          .labelNames(LABEL_NAME_PARTITION, LABEL_NAME_REASON)
+          .register();
+
   private final Child batchProcessingDuration;
   private final Child batchProcessingCommands;
   private final Counter.Child batchProcessingRetries;
   private final Child batchProcessingPostCommitTasks;
   private final Enumeration.Child errorHandlingPhase;
+  private final Child pipelineDepth;
+  private final Map<PipelineStallReason, Counter.Child> pipelineStalls =
+      new EnumMap<>(PipelineStallReason.class);
 
   public ProcessingMetrics(final String partitionIdLabel) {
     batchProcessingDuration = BATCH_PROCESSING_DURATION.labels(partitionIdLabel);
@@ -75,6 +99,10 @@ public class ProcessingMetrics {
     batchProcessingRetries = BATCH_PROCESSING_RETRIES.labels(partitionIdLabel);
     batchProcessingPostCommitTasks = BATCH_PROCESSING_POST_COMMIT_TASKS.labels(partitionIdLabel);
     errorHandlingPhase = ERROR_HANDLING_PHASE.labels(partitionIdLabel);
+    pipelineDepth = PIPELINE_DEPTH.labels(partitionIdLabel);
+    for (final var reason : PipelineStallReason.values()) {
+      pipelineStalls.put(reason, PIPELINE_STALLS.labels(partitionIdLabel, reason.name()));
+    }
   }
 
   public Timer startBatchProcessingDurationTimer() {
@@ -96,4 +124,12 @@ public class ProcessingMetrics {
   public void errorHandlingPhase(final ErrorHandlingPhase phase) {
     errorHandlingPhase.state(phase);
   }
+
+  public void observePipelineDepth(final int batches) {
+    pipelineDepth.observe(batches);
+  }
+
+  public void countPipelineStall(final PipelineStallReason reason) {
+    pipelineStalls.get(reason).inc();
+  }
 }
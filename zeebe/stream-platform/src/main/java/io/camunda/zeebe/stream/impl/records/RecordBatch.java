@@ -66,6 +66,12 @@ public final class RecordBatch implements MutableRecordBatch {
     return batchSize;
   }
 
+  /** Removes all appended records, such that the batch can be reused. */
+  public void reset() {
+    recordBatchEntries.clear();
+    batchSize = 0;
+  }
+
   @Override
   public Iterator<RecordBatchEntry> iterator() {
     return recordBatchEntries.iterator();
@@ -81,6 +87,11 @@ public final class RecordBatch implements MutableRecordBatch {
     return recordBatchEntries.spliterator();
   }
 
+  @Override
+  public boolean isEmpty() {
+    return recordBatchEntries.isEmpty();
+  }
+
   @Override
   public List<LogAppendEntry> entries() {
     return Collections.unmodifiableList(recordBatchEntries);
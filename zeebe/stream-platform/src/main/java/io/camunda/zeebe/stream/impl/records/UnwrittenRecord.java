@@ -17,20 +17,36 @@ import io.camunda.zeebe.stream.api.records.TypedRecord;
 import java.util.Map;
 
 public class UnwrittenRecord implements TypedRecord {
-  private final long key;
   private final int partitionId;
-  private final UnifiedRecordValue value;
-  private final RecordMetadata metadata;
+  private long key;
+  private UnifiedRecordValue value;
+  private RecordMetadata metadata;
 
   public UnwrittenRecord(
       final long key,
       final int partitionId,
       final UnifiedRecordValue value,
       final RecordMetadata metadata) {
-    this.key = key;
+    this(partitionId);
+    wrap(key, value, metadata);
+  }
+
+  /** Creates an empty record, which must be wrapped before it is used. */
+  public UnwrittenRecord(final int partitionId) {
     this.partitionId = partitionId;
+  }
+
+  /**
+   * Wraps the given record, such that the instance can be reused for different records.
+   *
+   * @return itself for method chaining
+   */
+  public UnwrittenRecord wrap(
+      final long key, final UnifiedRecordValue value, final RecordMetadata metadata) {
+    this.key = key;
     this.value = value;
     this.metadata = metadata;
+    return this;
   }
 
   @Override
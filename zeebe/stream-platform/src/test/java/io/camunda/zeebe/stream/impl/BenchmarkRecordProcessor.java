@@ -0,0 +1,155 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.stream.impl;
+
+import io.camunda.zeebe.protocol.impl.record.RecordMetadata;
+import io.camunda.zeebe.protocol.record.RecordType;
+import io.camunda.zeebe.protocol.record.RejectionType;
+import io.camunda.zeebe.protocol.record.ValueType;
+import io.camunda.zeebe.protocol.record.intent.ProcessInstanceIntent;
+import io.camunda.zeebe.stream.api.PostCommitTask;
+import io.camunda.zeebe.stream.api.ProcessingResult;
+import io.camunda.zeebe.stream.api.ProcessingResultBuilder;
+import io.camunda.zeebe.stream.api.RecordProcessor;
+import io.camunda.zeebe.stream.api.RecordProcessorContext;
+import io.camunda.zeebe.stream.api.records.TypedRecord;
+
+/**
+ * A stub record processor for the benchmarks of the stream platform. It doesn't touch the state,
+ * but appends the same follow-up records for every command as described by its {@link
+ * BatchShape}, reusing the metadata of the records, such that only the stream platform itself is
+ * measured.
+ *
+ * <p>Counts the commands written by the benchmark whose batch is committed, and the replayed
+ * events. Both counters are only written by the stream processor actor.
+ */
+final class BenchmarkRecordProcessor implements RecordProcessor {
+
+  private final BatchShape batchShape;
+  private final PostCommitTask countProcessedCommand =
+      () -> {
+        processedCommands = processedCommands + 1;
+        return true;
+      };
+  private volatile long processedCommands;
+  private volatile long replayedEvents;
+
+  BenchmarkRecordProcessor(final BatchShape batchShape) {
+    this.batchShape = batchShape;
+  }
+
+  /**
+   * @return the number of commands written to the log whose batch was processed and committed
+   */
+  long getProcessedCommands() {
+    return processedCommands;
+  }
+
+  long getReplayedEvents() {
+    return replayedEvents;
+  }
+
+  @Override
+  public void init(final RecordProcessorContext recordProcessorContext) {}
+
+  @Override
+  public boolean accepts(final ValueType valueType) {
+    return valueType == ValueType.PROCESS_INSTANCE;
+  }
+
+  @Override
+  public void replay(final TypedRecord record) {
+    replayedEvents = replayedEvents + 1;
+  }
+
+  @Override
+  public ProcessingResult process(
+      final TypedRecord record, final ProcessingResultBuilder processingResultBuilder) {
+    return batchShape.process(record, processingResultBuilder, countProcessedCommand);
+  }
+
+  @Override
+  public ProcessingResult onProcessingError(
+      final Throwable processingException,
+      final TypedRecord record,
+      final ProcessingResultBuilder processingResultBuilder) {
+    throw new IllegalStateException("Expected to process all commands", processingException);
+  }
+
+  /** The follow-up records which are appended for the commands written by the benchmark. */
+  enum BatchShape {
+    /** Appends a single follow-up event. */
+    SINGLE_EVENT {
+      @Override
+      ProcessingResult process(
+          final TypedRecord<?> command,
+          final ProcessingResultBuilder resultBuilder,
+          final PostCommitTask countProcessedCommand) {
+        return resultBuilder
+            .appendRecord(command.getKey(), command.getValue(), ELEMENT_ACTIVATING)
+            .appendPostCommitTask(countProcessedCommand)
+            .build();
+      }
+    },
+
+    /**
+     * Appends the records of a typical engine batch, which activates and completes an element:
+     * two events and a follow-up command, which is processed in the same batch and appends two
+     * more events.
+     */
+    ELEMENT_LIFECYCLE {
+      @Override
+      ProcessingResult process(
+          final TypedRecord<?> command,
+          final ProcessingResultBuilder resultBuilder,
+          final PostCommitTask countProcessedCommand) {
+        final var key = command.getKey();
+        final var value = command.getValue();
+        if (command.getIntent() == ProcessInstanceIntent.COMPLETE_ELEMENT) {
+          return resultBuilder
+              .appendRecord(key, value, ELEMENT_COMPLETING)
+              .appendRecord(key, value, ELEMENT_COMPLETED)
+              .build();
+        }
+
+        return resultBuilder
+            .appendRecord(key, value, ELEMENT_ACTIVATING)
+            .appendRecord(key, value, ELEMENT_ACTIVATED)
+            .appendRecord(key, value, COMPLETE_ELEMENT)
+            .appendPostCommitTask(countProcessedCommand)
+            .build();
+      }
+    };
+
+    private static final RecordMetadata ELEMENT_ACTIVATING =
+        metadata(RecordType.EVENT, ProcessInstanceIntent.ELEMENT_ACTIVATING);
+    private static final RecordMetadata ELEMENT_ACTIVATED =
+        metadata(RecordType.EVENT, ProcessInstanceIntent.ELEMENT_ACTIVATED);
+    private static final RecordMetadata COMPLETE_ELEMENT =
+        metadata(RecordType.COMMAND, ProcessInstanceIntent.COMPLETE_ELEMENT);
+    private static final RecordMetadata ELEMENT_COMPLETING =
+        metadata(RecordType.EVENT, ProcessInstanceIntent.ELEMENT_COMPLETING);
+    private static final RecordMetadata ELEMENT_COMPLETED =
+        metadata(RecordType.EVENT, ProcessInstanceIntent.ELEMENT_COMPLETED);
+
+    abstract ProcessingResult process(
+        TypedRecord<?> command,
+        ProcessingResultBuilder resultBuilder,
+        PostCommitTask countProcessedCommand);
+
+    private static RecordMetadata metadata(
+        final RecordType recordType, final ProcessInstanceIntent intent) {
+      return new RecordMetadata()
+          .recordType(recordType)
+          .valueType(ValueType.PROCESS_INSTANCE)
+          .intent(intent)
+          .rejectionType(RejectionType.NULL_VAL)
+          .rejectionReason("");
+    }
+  }
+}
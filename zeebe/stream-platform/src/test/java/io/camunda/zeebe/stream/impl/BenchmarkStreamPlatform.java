@@ -0,0 +1,140 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.stream.impl;
+
+import static org.mockito.Mockito.mock;
+
+import io.camunda.zeebe.db.AccessMetricsConfiguration;
+import io.camunda.zeebe.db.AccessMetricsConfiguration.Kind;
+import io.camunda.zeebe.db.ConsistencyChecksSettings;
+import io.camunda.zeebe.db.ZeebeDb;
+import io.camunda.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import io.camunda.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
+import io.camunda.zeebe.logstreams.log.LogAppendEntry;
+import io.camunda.zeebe.logstreams.log.LogStream;
+import io.camunda.zeebe.logstreams.log.LogStreamWriter;
+import io.camunda.zeebe.logstreams.log.WriteContext;
+import io.camunda.zeebe.logstreams.util.ListLogStorage;
+import io.camunda.zeebe.protocol.ZbColumnFamilies;
+import io.camunda.zeebe.scheduler.ActorScheduler;
+import io.camunda.zeebe.stream.api.CommandResponseWriter;
+import io.camunda.zeebe.stream.api.InterPartitionCommandSender;
+import io.camunda.zeebe.stream.api.RecordProcessor;
+import io.camunda.zeebe.stream.api.StreamClock;
+import io.camunda.zeebe.util.FileUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.InstantSource;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Runs a single stream processor for the benchmarks of the stream platform, isolated from the
+ * broker: the log is kept in memory, and the state is stored on tmpfs if available. Records are
+ * written directly to the log stream, without waiting for them to be processed.
+ *
+ * <p>The log storage keeps every appended entry in memory, so call {@link
+ * #releaseProcessedEntries()} regularly, e.g. after each benchmark iteration.
+ */
+final class BenchmarkStreamPlatform implements AutoCloseable {
+  private static final Path TMPFS = Path.of("/dev/shm");
+  private static final int PARTITION_ID = 1;
+
+  private final Path directory;
+  private final ActorScheduler actorScheduler;
+  private final ListLogStorage logStorage;
+  private final LogStream logStream;
+  private final LogStreamWriter writer;
+  private final ZeebeDb<ZbColumnFamilies> zeebeDb;
+  private final StreamProcessor streamProcessor;
+
+  /**
+   * Opens the stream processor, and waits until it has recovered.
+   *
+   * @param recordProcessor the only record processor of the stream processor
+   * @param configuration allows to configure the stream processor, e.g. its mode
+   */
+  BenchmarkStreamPlatform(
+      final RecordProcessor recordProcessor,
+      final Consumer<StreamProcessorBuilder> configuration)
+      throws IOException {
+    directory =
+        Files.isDirectory(TMPFS)
+            ? Files.createTempDirectory(TMPFS, "stream-platform")
+            : Files.createTempDirectory("stream-platform");
+    actorScheduler =
+        ActorScheduler.newActorScheduler()
+            .setCpuBoundActorThreadCount(2)
+            .setIoBoundActorThreadCount(1)
+            .build();
+    actorScheduler.start();
+
+    logStorage = new ListLogStorage();
+    logStream =
+        LogStream.builder()
+            .withLogName("stream-platform-benchmark")
+            .withLogStorage(logStorage)
+            .withClock(InstantSource.system())
+            .withPartitionId(PARTITION_ID)
+            .withActorSchedulingService(actorScheduler)
+            .build();
+    writer = logStream.newLogStreamWriter();
+
+    // consistency checks are disabled to measure the stream platform like it runs in production
+    zeebeDb =
+        new ZeebeRocksDbFactory<ZbColumnFamilies>(
+                new RocksDbConfiguration(),
+                new ConsistencyChecksSettings(false, false),
+                new AccessMetricsConfiguration(Kind.NONE, 1))
+            .createDb(directory.toFile());
+
+    final var builder =
+        StreamProcessor.builder()
+            .meterRegistry(new SimpleMeterRegistry())
+            .clock(StreamClock.controllable(InstantSource.system()))
+            .logStream(logStream)
+            .zeebeDb(zeebeDb)
+            .actorSchedulingService(actorScheduler)
+            .commandResponseWriter(mock(CommandResponseWriter.class))
+            .partitionCommandSender(mock(InterPartitionCommandSender.class))
+            .recordProcessors(List.of(recordProcessor));
+    configuration.accept(builder);
+    streamProcessor = builder.build();
+    streamProcessor.openAsync(false).join();
+  }
+
+  /**
+   * Writes the given entries as one batch, retrying until the log stream accepts them.
+   *
+   * @return the position of the last written entry
+   */
+  long write(final List<LogAppendEntry> entries) {
+    var written = writer.tryWrite(WriteContext.internal(), entries);
+    while (written.isLeft()) {
+      Thread.onSpinWait();
+      written = writer.tryWrite(WriteContext.internal(), entries);
+    }
+    return written.get();
+  }
+
+  /** Removes the entries from the log storage which were already read by the stream processor. */
+  void releaseProcessedEntries() {
+    logStorage.reset();
+  }
+
+  @Override
+  public void close() throws Exception {
+    streamProcessor.closeAsync().join();
+    logStream.close();
+    actorScheduler.close();
+    zeebeDb.close();
+    FileUtil.deleteFolder(directory);
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.stream.impl;
+
+import static io.camunda.zeebe.protocol.record.RecordMetadataDecoder.operationReferenceNullValue;
+
+import io.camunda.zeebe.protocol.impl.record.RecordMetadata;
+import io.camunda.zeebe.protocol.impl.record.value.processinstance.ProcessInstanceRecord;
+import io.camunda.zeebe.protocol.record.RecordType;
+import io.camunda.zeebe.protocol.record.RejectionType;
+import io.camunda.zeebe.protocol.record.ValueType;
+import io.camunda.zeebe.protocol.record.intent.ProcessInstanceIntent;
+import io.camunda.zeebe.stream.api.PostCommitTask;
+import io.camunda.zeebe.stream.util.Records;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures how fast the processing result of a typical engine batch is built, as done by the
+ * {@link ProcessingStateMachine} for every batch: a command which activates and completes an
+ * element appends four events, a follow-up command and a post commit task, and the records of the
+ * result are then collected to be written. The builder is reset and reused for every result, like
+ * for every batch. Only the result builder is measured, without any I/O.
+ *
+ * <p>The score is the number of built results per second. The allocation per result is reported
+ * by the GC profiler as {@code gc.alloc.rate.norm}, which is left to the copies of the appended
+ * records, as the log stream writer may still serialize them after the next batch started.
+ *
+ * <p>Run it via {@link #main(String[])}, with the GC profiler. It is not run as a test, as no
+ * reference score was measured for it in CI.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(
+    value = 1,
+    jvmArgs = {"-Xmx1g", "-Xms1g"})
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class BufferedProcessingResultBuilderPerformanceTest {
+  private static final long KEY = 1L;
+  private static final PostCommitTask POST_COMMIT_TASK = () -> true;
+
+  private final RecordMetadata elementActivating =
+      metadata(RecordType.EVENT, ProcessInstanceIntent.ELEMENT_ACTIVATING);
+  private final RecordMetadata elementActivated =
+      metadata(RecordType.EVENT, ProcessInstanceIntent.ELEMENT_ACTIVATED);
+  private final RecordMetadata completeElement =
+      metadata(RecordType.COMMAND, ProcessInstanceIntent.COMPLETE_ELEMENT);
+  private final RecordMetadata elementCompleting =
+      metadata(RecordType.EVENT, ProcessInstanceIntent.ELEMENT_COMPLETING);
+  private final RecordMetadata elementCompleted =
+      metadata(RecordType.EVENT, ProcessInstanceIntent.ELEMENT_COMPLETED);
+  private ProcessInstanceRecord value;
+  private BufferedProcessingResultBuilder resultBuilder;
+
+  @Setup
+  public void setup() {
+    value = Records.processInstance(KEY);
+    resultBuilder = new BufferedProcessingResultBuilder((count, size) -> true);
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(BufferedProcessingResultBuilderPerformanceTest.class.getName())
+                .addProfiler(GCProfiler.class)
+                .build())
+        .run();
+  }
+
+  @Benchmark
+  public void measureBuildResult(final Blackhole blackhole) {
+    resultBuilder.reset(operationReferenceNullValue());
+    resultBuilder
+        .appendRecord(KEY, value, elementActivating)
+        .appendRecord(KEY, value, elementActivated)
+        .appendRecord(KEY, value, completeElement)
+        .appendRecord(KEY, value, elementCompleting)
+        .appendRecord(KEY, value, elementCompleted)
+        .appendPostCommitTask(POST_COMMIT_TASK);
+
+    final var result = resultBuilder.build();
+    for (final var entry : result.getRecordBatch()) {
+      blackhole.consume(entry.recordMetadata().getRecordType());
+    }
+    blackhole.consume(result);
+  }
+
+  private static RecordMetadata metadata(
+      final RecordType recordType, final ProcessInstanceIntent intent) {
+    return new RecordMetadata()
+        .recordType(recordType)
+        .valueType(ValueType.PROCESS_INSTANCE)
+        .intent(intent)
+        .rejectionType(RejectionType.NULL_VAL)
+        .rejectionReason("");
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.stream.impl;
+
+import static io.camunda.zeebe.protocol.record.intent.ProcessInstanceIntent.ACTIVATE_ELEMENT;
+
+import io.camunda.zeebe.logstreams.log.LogAppendEntry;
+import io.camunda.zeebe.stream.impl.BenchmarkRecordProcessor.BatchShape;
+import io.camunda.zeebe.stream.util.RecordToWrite;
+import io.camunda.zeebe.stream.util.Records;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the overhead of the {@link ProcessingStateMachine} per processed command: reading the
+ * command, dispatching it to the record processor, writing the follow-up records, committing the
+ * state and executing the side effects. The record processor is a stub which appends the same
+ * follow-up records for every command, see the {@code batchShape} parameter, such that only the
+ * stream platform itself is measured. The log is kept in memory, see {@link
+ * BenchmarkStreamPlatform}.
+ *
+ * <p>The throughput score is the number of processed commands per second, the latency score is
+ * the time from writing a single command until its batch is committed, of which the percentiles
+ * are reported. The allocation per command is reported by the GC profiler as {@code
+ * gc.alloc.rate.norm}.
+ *
+ * <p>Run it via {@link #main(String[])}, which measures both benchmarks for each batch shape. It
+ * is not run as a test, as no reference score was measured for it in CI.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(
+    value = 1,
+    jvmArgs = {"-Xmx2g", "-Xms2g"})
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ProcessingStateMachinePerformanceTest {
+  private static final int COMMANDS_PER_INVOCATION = 100;
+
+  @Param({"SINGLE_EVENT", "ELEMENT_LIFECYCLE"})
+  public BatchShape batchShape;
+
+  private final List<LogAppendEntry> commands = new ArrayList<>(COMMANDS_PER_INVOCATION);
+  private List<LogAppendEntry> singleCommand;
+  private BenchmarkRecordProcessor recordProcessor;
+  private BenchmarkStreamPlatform streamPlatform;
+  private long writtenCommands;
+
+  @Setup
+  public void setup() throws IOException {
+    recordProcessor = new BenchmarkRecordProcessor(batchShape);
+    streamPlatform = new BenchmarkStreamPlatform(recordProcessor, builder -> {});
+
+    for (int i = 0; i < COMMANDS_PER_INVOCATION; i++) {
+      commands.add(
+          RecordToWrite.command().processInstance(ACTIVATE_ELEMENT, Records.processInstance(i)));
+    }
+    singleCommand = List.of(commands.getFirst());
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    streamPlatform.close();
+  }
+
+  @TearDown(Level.Iteration)
+  public void releaseProcessedEntries() {
+    streamPlatform.releaseProcessedEntries();
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(ProcessingStateMachinePerformanceTest.class.getName())
+                .addProfiler(GCProfiler.class)
+                .build())
+        .run();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(COMMANDS_PER_INVOCATION)
+  public long measureProcessing() {
+    return writeAndAwaitProcessed(commands);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public long measureProcessingLatency() {
+    return writeAndAwaitProcessed(singleCommand);
+  }
+
+  private long writeAndAwaitProcessed(final List<LogAppendEntry> entries) {
+    streamPlatform.write(entries);
+    writtenCommands += entries.size();
+
+    while (recordProcessor.getProcessedCommands() < writtenCommands) {
+      Thread.onSpinWait();
+    }
+    return writtenCommands;
+  }
+}
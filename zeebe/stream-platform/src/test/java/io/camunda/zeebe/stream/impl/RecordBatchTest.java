@@ -128,6 +128,24 @@ class RecordBatchTest {
     assertThat(batchEntryCount.get()).isEqualTo(2);
   }
 
+  @Test
+  void shouldResetRecordBatch() {
+    // given
+    final var recordBatch = new RecordBatch((count, size) -> count < 2);
+    final var processInstanceRecord = Records.processInstance(1);
+    recordBatch.appendRecord(1, RECORD_METADATA, -1, processInstanceRecord);
+
+    // when
+    recordBatch.reset();
+
+    // then
+    assertThat(recordBatch.isEmpty()).isTrue();
+    assertThat(recordBatch.getBatchSize()).isZero();
+    assertThat(recordBatch.appendRecord(2, RECORD_METADATA, -1, processInstanceRecord).isRight())
+        .isTrue();
+    assertThat(recordBatch).map(LogAppendEntry::key).containsOnly(2L);
+  }
+
   @Test
   void shouldNotAppendToRecordBatchIfMaxSizeIsReached() {
     // given
@@ -0,0 +1,84 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.stream.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.camunda.zeebe.protocol.record.RecordType;
+import io.camunda.zeebe.protocol.record.ValueType;
+import io.camunda.zeebe.stream.api.RecordProcessor;
+import io.camunda.zeebe.stream.api.records.TypedRecord;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+final class RecordProcessorDispatchTableTest {
+
+  @Test
+  void shouldDispatchToFirstAcceptingProcessor() {
+    // given
+    final var jobProcessor = createRecordProcessorFor(ValueType.JOB);
+    final var processInstanceProcessor = createRecordProcessorFor(ValueType.PROCESS_INSTANCE);
+    final var otherProcessInstanceProcessor = createRecordProcessorFor(ValueType.PROCESS_INSTANCE);
+    final var dispatchTable =
+        new RecordProcessorDispatchTable(
+            List.of(jobProcessor, processInstanceProcessor, otherProcessInstanceProcessor));
+
+    // when
+    final var processor = dispatchTable.get(createRecord(ValueType.PROCESS_INSTANCE));
+
+    // then
+    assertThat(processor).isSameAs(processInstanceProcessor);
+  }
+
+  @Test
+  void shouldLookUpProcessorOnlyOnce() {
+    // given
+    final var processInstanceProcessor = createRecordProcessorFor(ValueType.PROCESS_INSTANCE);
+    final var dispatchTable = new RecordProcessorDispatchTable(List.of(processInstanceProcessor));
+    final var record = createRecord(ValueType.PROCESS_INSTANCE);
+
+    // when
+    dispatchTable.get(record);
+    final var processor = dispatchTable.get(record);
+
+    // then
+    assertThat(processor).isSameAs(processInstanceProcessor);
+    verify(processInstanceProcessor, times(1)).accepts(ValueType.PROCESS_INSTANCE);
+  }
+
+  @Test
+  void shouldThrowIfNoProcessorAcceptsValueType() {
+    // given
+    final var dispatchTable =
+        new RecordProcessorDispatchTable(List.of(createRecordProcessorFor(ValueType.JOB)));
+    final var record = createRecord(ValueType.PROCESS_INSTANCE);
+
+    // when - then
+    assertThatThrownBy(() -> dispatchTable.get(record))
+        .isInstanceOf(NoSuchProcessorException.class)
+        .hasMessage("No processor registered for command type PROCESS_INSTANCE");
+  }
+
+  private RecordProcessor createRecordProcessorFor(final ValueType valueType) {
+    final RecordProcessor recordProcessor = mock(RecordProcessor.class);
+    when(recordProcessor.accepts(valueType)).thenReturn(true);
+    return recordProcessor;
+  }
+
+  private TypedRecord<?> createRecord(final ValueType valueType) {
+    final TypedRecord<?> record = mock(TypedRecord.class);
+    when(record.getRecordType()).thenReturn(RecordType.COMMAND);
+    when(record.getValueType()).thenReturn(valueType);
+    return record;
+  }
+}
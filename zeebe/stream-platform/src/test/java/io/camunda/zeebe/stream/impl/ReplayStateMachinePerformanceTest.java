@@ -0,0 +1,131 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.stream.impl;
+
+import static io.camunda.zeebe.protocol.record.intent.ProcessInstanceIntent.ACTIVATE_ELEMENT;
+import static io.camunda.zeebe.protocol.record.intent.ProcessInstanceIntent.ELEMENT_ACTIVATED;
+import static io.camunda.zeebe.protocol.record.intent.ProcessInstanceIntent.ELEMENT_ACTIVATING;
+
+import io.camunda.zeebe.logstreams.log.LogAppendEntry;
+import io.camunda.zeebe.stream.impl.BenchmarkRecordProcessor.BatchShape;
+import io.camunda.zeebe.stream.util.RecordToWrite;
+import io.camunda.zeebe.stream.util.Records;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures how fast the {@link ReplayStateMachine} replays the events written by a leader, as done
+ * continuously on followers: every command on the log is followed by two events caused by it. The
+ * record processor is a stub which only counts the replayed events, such that only the stream
+ * platform itself is measured. The events are either read and decoded on the stream processor
+ * actor or ahead on a separate actor, see the {@code replayReadAheadBatches} parameter.
+ *
+ * <p>The score is the number of replayed events per second. The allocation per event is reported
+ * by the GC profiler as {@code gc.alloc.rate.norm}.
+ *
+ * <p>Run it via {@link #main(String[])}, which compares replaying with and without reading ahead.
+ * It is not run as a test, as no reference score was measured for it in CI.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(
+    value = 1,
+    jvmArgs = {"-Xmx2g", "-Xms2g"})
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ReplayStateMachinePerformanceTest {
+  private static final int COMMANDS_PER_INVOCATION = 100;
+  private static final int EVENTS_PER_COMMAND = 2;
+  private static final int EVENTS_PER_INVOCATION = COMMANDS_PER_INVOCATION * EVENTS_PER_COMMAND;
+
+  @Param({"0", "4"})
+  public int replayReadAheadBatches;
+
+  private final List<LogAppendEntry> records = new ArrayList<>();
+  private final BenchmarkRecordProcessor recordProcessor =
+      new BenchmarkRecordProcessor(BatchShape.SINGLE_EVENT);
+  private BenchmarkStreamPlatform streamPlatform;
+  private long writtenEvents;
+
+  @Setup
+  public void setup() throws IOException {
+    streamPlatform =
+        new BenchmarkStreamPlatform(
+            recordProcessor,
+            builder ->
+                builder
+                    .streamProcessorMode(StreamProcessorMode.REPLAY)
+                    .replayReadAheadBatches(replayReadAheadBatches));
+
+    for (int i = 0; i < COMMANDS_PER_INVOCATION; i++) {
+      final var commandIndex = records.size();
+      records.add(
+          RecordToWrite.command().processInstance(ACTIVATE_ELEMENT, Records.processInstance(i)));
+      records.add(
+          RecordToWrite.event()
+              .processInstance(ELEMENT_ACTIVATING, Records.processInstance(i))
+              .causedBy(commandIndex));
+      records.add(
+          RecordToWrite.event()
+              .processInstance(ELEMENT_ACTIVATED, Records.processInstance(i))
+              .causedBy(commandIndex));
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    streamPlatform.close();
+  }
+
+  @TearDown(Level.Iteration)
+  public void releaseReplayedEntries() {
+    streamPlatform.releaseProcessedEntries();
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(ReplayStateMachinePerformanceTest.class.getName())
+                .addProfiler(GCProfiler.class)
+                .build())
+        .run();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(EVENTS_PER_INVOCATION)
+  public long measureReplay() {
+    streamPlatform.write(records);
+    writtenEvents += EVENTS_PER_INVOCATION;
+
+    while (recordProcessor.getReplayedEvents() < writtenEvents) {
+      Thread.onSpinWait();
+    }
+    return writtenEvents;
+  }
+}
@@ -66,6 +66,40 @@ public final class StreamProcessorContinouslyReplayModeTest {
     Assertions.assertThat(streamProcessor.getCurrentPhase().join()).isEqualTo(Phase.REPLAY);
   }
 
+  @Test
+  public void shouldReplayContinuouslyReadAhead() {
+    // given
+    streamPlatform.writeBatch(
+        RecordToWrite.command().processInstance(ACTIVATE_ELEMENT, Records.processInstance(1)),
+        RecordToWrite.event()
+            .processInstance(ELEMENT_ACTIVATING, Records.processInstance(1))
+            .causedBy(0));
+
+    // when
+    final var streamProcessor =
+        streamPlatform.buildStreamProcessor(
+            streamPlatform.getLogStream(),
+            false,
+            cfg -> cfg.streamProcessorMode(StreamProcessorMode.REPLAY).replayReadAheadBatches(1));
+
+    streamPlatform.writeBatch(
+        RecordToWrite.command().processInstance(ACTIVATE_ELEMENT, Records.processInstance(1)),
+        RecordToWrite.event()
+            .processInstance(ELEMENT_ACTIVATING, Records.processInstance(1))
+            .causedBy(0));
+
+    // then
+    final RecordProcessor recordProcessor = streamPlatform.getDefaultMockedRecordProcessor();
+    final InOrder inOrder = inOrder(recordProcessor);
+    inOrder.verify(recordProcessor, TIMEOUT.times(2)).replay(any());
+    inOrder.verifyNoMoreInteractions();
+
+    await("position has to be replayed")
+        .untilAsserted(
+            () -> assertThat(streamProcessor.getLastProcessedPositionAsync().join()).isEqualTo(3L));
+    Assertions.assertThat(streamProcessor.getCurrentPhase().join()).isEqualTo(Phase.REPLAY);
+  }
+
   @Test
   @RegressionTest("https://github.com/camunda/camunda/issues/7662")
   public void shouldReplayIfNoEventsAfterSnapshot() throws Exception {
@@ -0,0 +1,267 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.stream.impl;
+
+import static io.camunda.zeebe.protocol.record.intent.ProcessInstanceIntent.ACTIVATE_ELEMENT;
+import static io.camunda.zeebe.protocol.record.intent.ProcessInstanceIntent.ELEMENT_ACTIVATING;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.camunda.zeebe.protocol.Protocol;
+import io.camunda.zeebe.protocol.record.RecordType;
+import io.camunda.zeebe.protocol.record.RejectionType;
+import io.camunda.zeebe.protocol.record.ValueType;
+import io.camunda.zeebe.stream.api.EmptyProcessingResult;
+import io.camunda.zeebe.stream.api.PostCommitTask;
+import io.camunda.zeebe.stream.api.ProcessingResult;
+import io.camunda.zeebe.stream.api.ProcessingResultBuilder;
+import io.camunda.zeebe.stream.api.RecordProcessor;
+import io.camunda.zeebe.stream.api.RecordProcessorContext;
+import io.camunda.zeebe.stream.api.records.TypedRecord;
+import io.camunda.zeebe.stream.impl.state.DbKeyGenerator;
+import io.camunda.zeebe.stream.util.RecordToWrite;
+import io.camunda.zeebe.stream.util.Records;
+import java.util.ArrayList;
+import java.util.List;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.verification.VerificationWithTimeout;
+
+@ExtendWith(StreamPlatformExtension.class)
+final class StreamProcessorPipeliningTest {
+
+  private static final long TIMEOUT_MILLIS = 2_000L;
+  private static final VerificationWithTimeout TIMEOUT = timeout(TIMEOUT_MILLIS);
+  private static final int MAX_PIPELINED_BATCHES = 2;
+
+  @SuppressWarnings("unused") // injected by the extension
+  private StreamPlatform streamPlatform;
+
+  @Test
+  void shouldCompletePipelinedCommandsInOrder() {
+    // given - more commands than can be pipelined
+    final var lastPosition = writeCommands(5);
+
+    final List<Long> processedPositions = new ArrayList<>();
+    doAnswer(
+            invocation -> {
+              final TypedRecord<?> command = invocation.getArgument(0);
+              processedPositions.add(command.getPosition());
+              return null;
+            })
+        .when(streamPlatform.getMockStreamProcessorListener())
+        .onProcessed(any());
+
+    // when
+    startPipelining();
+
+    // then
+    verify(streamPlatform.getDefaultMockedRecordProcessor(), TIMEOUT.times(5))
+        .process(any(), any());
+    Awaitility.await("all commands are processed")
+        .until(
+            () -> streamPlatform.getLastSuccessfulProcessedRecordPosition(),
+            position -> position == lastPosition);
+    assertThat(processedPositions).hasSize(5).isSorted().doesNotHaveDuplicates();
+  }
+
+  @Test
+  void shouldExecutePostCommitTasksOfPipelinedCommands() {
+    // given
+    final var postCommitTask = mock(PostCommitTask.class);
+    when(postCommitTask.flush()).thenReturn(true);
+    final var resultBuilder = new BufferedProcessingResultBuilder((c, s) -> true);
+    resultBuilder.appendPostCommitTask(postCommitTask);
+    when(streamPlatform.getDefaultMockedRecordProcessor().process(any(), any()))
+        .thenReturn(resultBuilder.build());
+    writeCommands(3);
+
+    // when
+    startPipelining();
+
+    // then
+    verify(postCommitTask, TIMEOUT.times(3)).flush();
+  }
+
+  @Test
+  void shouldSendResponsesOfPipelinedCommands() {
+    // given
+    when(streamPlatform.getDefaultMockedRecordProcessor().process(any(), any()))
+        .thenAnswer(
+            invocation -> {
+              final TypedRecord<?> command = invocation.getArgument(0);
+              final ProcessingResultBuilder resultBuilder = invocation.getArgument(1);
+              return resultBuilder
+                  .withResponse(
+                      RecordType.EVENT,
+                      command.getKey(),
+                      ELEMENT_ACTIVATING,
+                      command.getValue(),
+                      ValueType.PROCESS_INSTANCE,
+                      RejectionType.NULL_VAL,
+                      "",
+                      command.getPosition(),
+                      1)
+                  .build();
+            });
+    final var lastPosition = writeCommands(3);
+
+    // when
+    startPipelining();
+
+    // then - the results of pipelined batches are not overwritten by the next batches
+    final var commandResponseWriter = streamPlatform.getMockCommandResponseWriter();
+    for (long position = lastPosition - 2; position <= lastPosition; position++) {
+      verify(commandResponseWriter, TIMEOUT.times(1)).tryWriteResponse(1, position);
+    }
+  }
+
+  @Test
+  void shouldSkipEventsBetweenPipelinedCommands() {
+    // given
+    streamPlatform.writeBatch(
+        RecordToWrite.command().processInstance(ACTIVATE_ELEMENT, Records.processInstance(1)),
+        RecordToWrite.event()
+            .processInstance(ELEMENT_ACTIVATING, Records.processInstance(1))
+            .causedBy(0),
+        RecordToWrite.command().processInstance(ACTIVATE_ELEMENT, Records.processInstance(2)));
+
+    // when
+    startPipelining();
+
+    // then
+    verify(streamPlatform.getDefaultMockedRecordProcessor(), TIMEOUT.times(2))
+        .process(any(), any());
+    verify(streamPlatform.getMockStreamProcessorListener(), TIMEOUT.times(2)).onProcessed(any());
+    verify(streamPlatform.getMockStreamProcessorListener(), TIMEOUT).onSkipped(any());
+  }
+
+  @Test
+  void shouldCommitStateOfPipelinedCommands() {
+    // given
+    final var testProcessor = new KeyGeneratingProcessor();
+    streamPlatform.withRecordProcessors(List.of(testProcessor));
+    writeCommands(3);
+
+    // when
+    startPipelining();
+
+    // then
+    Awaitility.await("the keys of all commands are committed")
+        .untilAsserted(
+            () ->
+                assertThat(Protocol.decodeKeyInPartition(streamPlatform.getCurrentKey()))
+                    .isEqualTo(3L));
+  }
+
+  @Test
+  void shouldCommitPipelinedCommandsBeforeHandlingProcessingError() {
+    // given - the second command fails after generating a key
+    final var testProcessor = new KeyGeneratingProcessor();
+    testProcessor.failingCommand = 2;
+    streamPlatform.withRecordProcessors(List.of(testProcessor));
+    final var lastPosition = writeCommands(3);
+
+    // when
+    startPipelining();
+
+    // then - only the key of the failed command is rolled back
+    Awaitility.await("all commands are processed")
+        .until(
+            () -> streamPlatform.getLastSuccessfulProcessedRecordPosition(),
+            position -> position == lastPosition);
+    assertThat(Protocol.decodeKeyInPartition(streamPlatform.getCurrentKey())).isEqualTo(2L);
+    assertThat(testProcessor.failedCommands).isOne();
+    verify(streamPlatform.getMockStreamProcessorListener(), TIMEOUT.times(3)).onProcessed(any());
+  }
+
+  @Test
+  void shouldHandleErrorOfPipelinedCommand() {
+    // given
+    final var recordProcessor = streamPlatform.getDefaultMockedRecordProcessor();
+    final var processingError = new RuntimeException("expected");
+    when(recordProcessor.process(any(), any()))
+        .thenReturn(EmptyProcessingResult.INSTANCE)
+        .thenThrow(processingError)
+        .thenReturn(EmptyProcessingResult.INSTANCE);
+    writeCommands(3);
+
+    // when
+    startPipelining();
+
+    // then
+    verify(recordProcessor, TIMEOUT.times(3)).process(any(), any());
+    verify(recordProcessor, TIMEOUT).onProcessingError(eq(processingError), any(), any());
+  }
+
+  private long writeCommands(final int count) {
+    final var commands = new RecordToWrite[count];
+    for (int i = 0; i < count; i++) {
+      commands[i] =
+          RecordToWrite.command().processInstance(ACTIVATE_ELEMENT, Records.processInstance(i));
+    }
+    return streamPlatform.writeBatch(commands);
+  }
+
+  private void startPipelining() {
+    streamPlatform.buildStreamProcessor(
+        streamPlatform.getLogStream(),
+        true,
+        cfg -> cfg.maxPipelinedBatches(MAX_PIPELINED_BATCHES));
+  }
+
+  private static final class KeyGeneratingProcessor implements RecordProcessor {
+
+    // the number of the command whose processing fails once, or 0 if none fails
+    private int failingCommand;
+    private volatile int failedCommands;
+    private int processedCommands;
+    private RecordProcessorContext context;
+
+    @Override
+    public void init(final RecordProcessorContext recordProcessorContext) {
+      context = recordProcessorContext;
+    }
+
+    @Override
+    public boolean accepts(final ValueType valueType) {
+      return true;
+    }
+
+    @Override
+    public void replay(final TypedRecord record) {}
+
+    @Override
+    public ProcessingResult process(
+        final TypedRecord record, final ProcessingResultBuilder processingResultBuilder) {
+      new DbKeyGenerator(1, context.getZeebeDb(), context.getTransactionContext()).nextKey();
+      processedCommands++;
+      if (processedCommands == failingCommand) {
+        failedCommands++;
+        throw new RuntimeException("expected");
+      }
+      // in order to not mark the processing as skipped we need to return a result
+      return processingResultBuilder.appendPostCommitTask(() -> true).build();
+    }
+
+    @Override
+    public ProcessingResult onProcessingError(
+        final Throwable processingException,
+        final TypedRecord record,
+        final ProcessingResultBuilder processingResultBuilder) {
+      return EmptyProcessingResult.INSTANCE;
+    }
+  }
+}
@@ -12,14 +12,17 @@ import static io.camunda.zeebe.protocol.record.intent.ProcessInstanceIntent.ELEM
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 
+import io.camunda.zeebe.db.ZeebeDbException;
 import io.camunda.zeebe.protocol.Protocol;
 import io.camunda.zeebe.protocol.impl.record.RecordMetadata;
+import io.camunda.zeebe.protocol.impl.record.value.processinstance.ProcessInstanceRecord;
 import io.camunda.zeebe.protocol.record.RecordType;
 import io.camunda.zeebe.protocol.record.ValueType;
 import io.camunda.zeebe.protocol.record.intent.ErrorIntent;
@@ -30,6 +33,8 @@ import io.camunda.zeebe.stream.impl.StreamProcessor.Phase;
 import io.camunda.zeebe.stream.util.RecordToWrite;
 import io.camunda.zeebe.stream.util.Records;
 import io.camunda.zeebe.test.util.junit.RegressionTest;
+import java.util.ArrayList;
+import java.util.List;
 import org.awaitility.Awaitility;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -164,6 +169,85 @@ final class StreamProcessorReplayTest {
     assertThat(Protocol.decodeKeyInPartition(streamPlatform.getCurrentKey())).isEqualTo(19L);
   }
 
+  @Test
+  void shouldOnlyRetryFailedBatch() {
+    // given
+    streamPlatform.writeBatch(
+        RecordToWrite.command().processInstance(ACTIVATE_ELEMENT, Records.processInstance(1)),
+        RecordToWrite.event()
+            .processInstance(ELEMENT_ACTIVATING, Records.processInstance(1))
+            .key(Protocol.encodePartitionId(1, 1))
+            .causedBy(0));
+    streamPlatform.writeBatch(
+        RecordToWrite.command().processInstance(ACTIVATE_ELEMENT, Records.processInstance(2)),
+        RecordToWrite.event()
+            .processInstance(ELEMENT_ACTIVATING, Records.processInstance(2))
+            .key(Protocol.encodePartitionId(1, 2))
+            .causedBy(0));
+
+    // the second batch fails once, after the first batch was replayed in the same transaction
+    final RecordProcessor recordProcessor = streamPlatform.getDefaultMockedRecordProcessor();
+    doNothing()
+        .doThrow(new ZeebeDbException(new RuntimeException("expected")))
+        .doNothing()
+        .when(recordProcessor)
+        .replay(any());
+
+    // when
+    final var streamProcessor = streamPlatform.startStreamProcessor();
+
+    // then
+    verify(recordProcessor, timeout(TIMEOUT_MILLIS).times(3)).replay(any());
+    Awaitility.await("position has to be set on processing start")
+        .untilAsserted(
+            () -> assertThat(streamProcessor.getLastProcessedPositionAsync().join()).isEqualTo(3L));
+    assertThat(streamPlatform.getLastSuccessfulProcessedRecordPosition()).isEqualTo(3);
+    assertThat(Protocol.decodeKeyInPartition(streamPlatform.getCurrentKey())).isEqualTo(2L);
+  }
+
+  @Test
+  void shouldReplayEventsReadAheadInOrder() {
+    // given - more batches than are read ahead
+    for (long instanceKey = 1; instanceKey <= 5; instanceKey++) {
+      streamPlatform.writeBatch(
+          RecordToWrite.command()
+              .processInstance(ACTIVATE_ELEMENT, Records.processInstance(instanceKey)),
+          RecordToWrite.event()
+              .processInstance(ELEMENT_ACTIVATING, Records.processInstance(instanceKey))
+              .key(Protocol.encodePartitionId(1, instanceKey))
+              .causedBy(0));
+    }
+
+    final List<Long> replayedInstanceKeys = new ArrayList<>();
+    final RecordProcessor recordProcessor = streamPlatform.getDefaultMockedRecordProcessor();
+    doAnswer(
+            invocation -> {
+              final TypedRecord<ProcessInstanceRecord> event = invocation.getArgument(0);
+              replayedInstanceKeys.add(event.getValue().getProcessInstanceKey());
+              return null;
+            })
+        .when(recordProcessor)
+        .replay(any());
+
+    // when
+    final var streamProcessor =
+        streamPlatform.buildStreamProcessor(
+            streamPlatform.getLogStream(), true, cfg -> cfg.replayReadAheadBatches(2));
+
+    // then
+    verify(recordProcessor, timeout(TIMEOUT_MILLIS).times(5)).replay(any());
+    assertThat(replayedInstanceKeys).containsExactly(1L, 2L, 3L, 4L, 5L);
+    Awaitility.await("position has to be set on processing start")
+        .untilAsserted(
+            () -> assertThat(streamProcessor.getLastProcessedPositionAsync().join()).isEqualTo(9L));
+    Awaitility.await("position has to be set on processing start")
+        .untilAsserted(
+            () ->
+                assertThat(streamProcessor.getLastWrittenPositionAsync().join()).isEqualTo(10L));
+    assertThat(streamPlatform.getLastSuccessfulProcessedRecordPosition()).isEqualTo(9);
+    assertThat(Protocol.decodeKeyInPartition(streamPlatform.getCurrentKey())).isEqualTo(5L);
+  }
+
   @Test
   void shouldRestoreFromSnapshot() throws Exception {
     // given
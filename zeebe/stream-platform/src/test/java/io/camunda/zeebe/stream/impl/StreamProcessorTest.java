@@ -160,7 +160,7 @@ public final class StreamProcessorTest {
     inOrder.verify(defaultRecordProcessor, TIMEOUT).init(any());
     inOrder.verify(defaultRecordProcessor, TIMEOUT).accepts(ValueType.PROCESS_INSTANCE);
     inOrder.verify(defaultRecordProcessor, TIMEOUT).replay(any());
-    inOrder.verify(defaultRecordProcessor, TIMEOUT).accepts(ValueType.PROCESS_INSTANCE);
+    // the processor of a value type is only looked up once
     inOrder.verify(defaultRecordProcessor, TIMEOUT).process(any(), any());
     inOrder.verifyNoMoreInteractions();
   }
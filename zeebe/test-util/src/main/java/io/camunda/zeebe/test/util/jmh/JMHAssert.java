@@ -83,4 +83,34 @@ public final class JMHAssert extends AbstractAssert<JMHAssert, RunResult> {
 
     return myself;
   }
+
+  /**
+   * Asserts that the given percentile of the samples of this benchmark is at most the expected
+   * reference score. Useful for benchmarks in {@link org.openjdk.jmh.annotations.Mode#SampleTime}
+   * mode, where a lower score is better, e.g. to assert the p99 latency.
+   *
+   * @param percentile the percentile of the samples, from 0 to 100
+   * @param referenceScore the expected reference score
+   * @param maxDeviation the maximum allowed deviation used to compute a real maximum score
+   * @return itself for chaining
+   */
+  @SuppressWarnings("UnusedReturnValue")
+  public JMHAssert isPercentileAtMost(
+      final double percentile, final double referenceScore, final double maxDeviation) {
+    final double score = actual.getPrimaryResult().getStatistics().getPercentile(percentile);
+    final double maximumScore = referenceScore + referenceScore * maxDeviation;
+
+    if (score > maximumScore) {
+      throwAssertionError(
+          new BasicErrorMessageFactory(
+              "Expected p%s to be at most %s (with %s max deviation, i.e. %s), but got %s",
+              DECIMAL_FORMAT.format(percentile),
+              DECIMAL_FORMAT.format(referenceScore),
+              DECIMAL_FORMAT.format(maxDeviation * 100) + "%",
+              DECIMAL_FORMAT.format(maximumScore),
+              DECIMAL_FORMAT.format(score)));
+    }
+
+    return myself;
+  }
 }
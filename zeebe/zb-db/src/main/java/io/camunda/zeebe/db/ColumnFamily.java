@@ -150,6 +150,20 @@ public interface ColumnFamily<KeyType extends DbKey, ValueType extends DbValue>
    */
   void deleteIfExists(KeyType key);
 
+  /**
+   * Deletes all key-value pairs whose keys start with the given prefix, e.g. all entries which
+   * belong to the same scope. Only the keys are read to find the entries, the values are neither
+   * copied nor deserialized. The deletion is part of the current transaction and visible to
+   * subsequent reads of it, just like deleting each key on its own.
+   *
+   * <p>Each entry is still deleted on its own, leaving one tombstone per deleted key; this is not a
+   * range deletion of the underlying store.
+   *
+   * @param prefix the prefix which the keys to delete have in common
+   * @return the number of deleted entries
+   */
+  long deletePrefix(DbKey prefix);
+
   /**
    * Checks for key existence in the column family.
    *
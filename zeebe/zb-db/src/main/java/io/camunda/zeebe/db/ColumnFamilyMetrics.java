@@ -17,4 +17,16 @@ public interface ColumnFamilyMetrics {
   Timer measureDeleteLatency();
 
   Timer measureIterateLatency();
+
+  /** Called when a point read of a cached column family is served from the state cache. */
+  void recordCacheHit();
+
+  /** Called when a point read of a cached column family has to read from RocksDB. */
+  void recordCacheMiss();
+
+  /**
+   * Called when keys of the column family are deleted, each of which leaves a tombstone which
+   * iterations have to skip until it is compacted away.
+   */
+  void recordDeletes(long count);
 }
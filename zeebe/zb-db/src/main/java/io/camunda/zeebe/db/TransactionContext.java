@@ -34,4 +34,25 @@ public interface TransactionContext {
    * @return the transaction object
    */
   ZeebeDbTransaction getCurrentTransaction();
+
+  /**
+   * Enables or disables bulk writes for the transactions of this context. Bulk writes are meant to
+   * apply a large amount of changes which are known to be consistent, e.g. when replaying events:
+   * they are not tracked to detect conflicts with concurrent transactions, and foreign keys are not
+   * checked. Reads still reflect the changes which are made during the transaction.
+   *
+   * <p>Should only be changed between transactions. Bulk writes are disabled by default.
+   *
+   * @param enabled whether writes should be bulk writes
+   */
+  void setBulkWrites(boolean enabled);
+
+  /**
+   * Adds a listener which is notified whenever a transaction of this context is committed or
+   * rolled back, including the transactions which are opened implicitly by {@link
+   * #runInTransaction(TransactionOperation)}, and whenever a save point is set or rolled back to.
+   *
+   * @param listener the listener to notify
+   */
+  void addTransactionListener(TransactionListener listener);
 }
@@ -0,0 +1,36 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.db;
+
+/**
+ * Is notified when the transactions of a {@link TransactionContext} end, e.g. to keep in-memory
+ * data consistent with the changes which are committed to the database.
+ *
+ * <p>Listeners are called on the thread which ends the transaction.
+ */
+public interface TransactionListener {
+
+  /** Called after a transaction was committed successfully. */
+  void onCommit();
+
+  /** Called after a transaction was rolled back. */
+  void onRollback();
+
+  /**
+   * Called after a save point was set in the current transaction. Save points can be nested, i.e.
+   * earlier save points of the transaction are kept.
+   */
+  default void onSavePoint() {}
+
+  /**
+   * Called after the current transaction was rolled back to its latest save point, which discards
+   * the changes made since the save point was set and removes it. The transaction itself stays
+   * open.
+   */
+  default void onRollbackToSavePoint() {}
+}
@@ -38,4 +38,23 @@ public interface ZeebeDbTransaction {
    * @throws Exception if the underlying database has a non recoverable exception thrown
    */
   void rollback() throws Exception;
+
+  /**
+   * Sets a save point, to which the transaction can later be rolled back without discarding the
+   * changes made before it. Save points can be nested, and are discarded on commit or rollback.
+   *
+   * @throws ZeebeDbException if the underlying database has a recoverable exception thrown
+   * @throws Exception if the underlying database has a non recoverable exception thrown
+   */
+  void setSavePoint() throws Exception;
+
+  /**
+   * Discards all changes made since the latest save point, which is removed, such that a further
+   * call rolls back to the save point set before it. Must be preceded by a {@link #setSavePoint()}
+   * which was not rolled back yet.
+   *
+   * @throws ZeebeDbException if the underlying database has a recoverable exception thrown
+   * @throws Exception if the underlying database has a non recoverable exception thrown
+   */
+  void rollbackToSavePoint() throws Exception;
 }
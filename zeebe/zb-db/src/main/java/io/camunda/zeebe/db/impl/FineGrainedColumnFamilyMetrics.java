@@ -9,6 +9,7 @@ package io.camunda.zeebe.db.impl;
 
 import io.camunda.zeebe.db.ColumnFamilyMetrics;
 import io.camunda.zeebe.protocol.EnumValue;
+import io.prometheus.client.Counter;
 import io.prometheus.client.Histogram;
 import io.prometheus.client.Histogram.Child;
 import io.prometheus.client.Histogram.Timer;
@@ -24,10 +25,29 @@ public final class FineGrainedColumnFamilyMetrics implements ColumnFamilyMetrics
           .help("Latency of RocksDB operations per column family")
           .register();
 
+  private static final Counter STATE_CACHE_REQUESTS =
+      Counter.build()
+          .namespace("zeebe")
+          .name("rocksdb_state_cache_requests_total")
+          .labelNames("partition", "columnFamily", "result")
+          .help("Point reads of cached column families, by whether the state cache had the value")
+          .register();
+
+  private static final Counter DELETES =
+      Counter.build()
+          .namespace("zeebe")
+          .name("rocksdb_deletes_total")
+          .labelNames("partition", "columnFamily")
+          .help("Deleted keys per column family, each of which leaves a tombstone until compacted")
+          .register();
+
   private final Child getLatency;
   private final Child putLatency;
   private final Child deleteLatency;
   private final Child iterateLatency;
+  private final Counter.Child cacheHits;
+  private final Counter.Child cacheMisses;
+  private final Counter.Child deletes;
 
   public <ColumnFamilyNames extends Enum<? extends EnumValue> & EnumValue>
       FineGrainedColumnFamilyMetrics(final int partitionId, final ColumnFamilyNames columnFamily) {
@@ -37,6 +57,9 @@ public final class FineGrainedColumnFamilyMetrics implements ColumnFamilyMetrics
     putLatency = LATENCY.labels(partitionLabel, columnFamilyLabel, "put");
     deleteLatency = LATENCY.labels(partitionLabel, columnFamilyLabel, "delete");
     iterateLatency = LATENCY.labels(partitionLabel, columnFamilyLabel, "iterate");
+    cacheHits = STATE_CACHE_REQUESTS.labels(partitionLabel, columnFamilyLabel, "hit");
+    cacheMisses = STATE_CACHE_REQUESTS.labels(partitionLabel, columnFamilyLabel, "miss");
+    deletes = DELETES.labels(partitionLabel, columnFamilyLabel);
   }
 
   @Override
@@ -58,4 +81,19 @@ public final class FineGrainedColumnFamilyMetrics implements ColumnFamilyMetrics
   public Timer measureIterateLatency() {
     return iterateLatency.startTimer();
   }
+
+  @Override
+  public void recordCacheHit() {
+    cacheHits.inc();
+  }
+
+  @Override
+  public void recordCacheMiss() {
+    cacheMisses.inc();
+  }
+
+  @Override
+  public void recordDeletes(final long count) {
+    deletes.inc(count);
+  }
 }
@@ -31,4 +31,13 @@ public class NoopColumnFamilyMetrics implements ColumnFamilyMetrics {
   public Timer measureIterateLatency() {
     return null;
   }
+
+  @Override
+  public void recordCacheHit() {}
+
+  @Override
+  public void recordCacheMiss() {}
+
+  @Override
+  public void recordDeletes(final long count) {}
 }
@@ -11,9 +11,15 @@ import io.camunda.zeebe.snapshots.CRC32CChecksumProvider;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.LiveFileMetaData;
+import org.rocksdb.Options;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 
@@ -21,15 +27,33 @@ public class ChecksumProviderRocksDBImpl implements CRC32CChecksumProvider {
 
   @Override
   public Map<String, Long> getSnapshotChecksums(final Path snapshotPath) {
-    try (final var db = RocksDB.openReadOnly(snapshotPath.toString())) {
-      return db.getLiveFilesMetaData().stream()
-          .filter(fileMetaData -> fileMetaData.fileChecksum().length != 0)
-          .collect(Collectors.toMap(this::getMetadataName, this::rocksDBChecksumAsLong));
+    final var path = snapshotPath.toString();
+    final List<ColumnFamilyHandle> handles = new ArrayList<>();
+    // open all column families, such that the files of each of them are listed
+    try (final var options = new Options();
+        final var columnFamilyOptions = new ColumnFamilyOptions();
+        final var db =
+            RocksDB.openReadOnly(path, descriptors(options, path, columnFamilyOptions), handles)) {
+      try {
+        return db.getLiveFilesMetaData().stream()
+            .filter(fileMetaData -> fileMetaData.fileChecksum().length != 0)
+            .collect(Collectors.toMap(this::getMetadataName, this::rocksDBChecksumAsLong));
+      } finally {
+        handles.forEach(ColumnFamilyHandle::close);
+      }
     } catch (final RocksDBException e) {
       throw new RuntimeException(e);
     }
   }
 
+  private List<ColumnFamilyDescriptor> descriptors(
+      final Options options, final String path, final ColumnFamilyOptions columnFamilyOptions)
+      throws RocksDBException {
+    return RocksDB.listColumnFamilies(options, path).stream()
+        .map(name -> new ColumnFamilyDescriptor(name, columnFamilyOptions))
+        .toList();
+  }
+
   private String getMetadataName(final LiveFileMetaData fileMetaData) {
     return fileMetaData.fileName().substring(1);
     //        there is a leading '/' which breaks interactions with the Java Path.getFileName which
@@ -0,0 +1,83 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.db.impl.rocksdb;
+
+import io.camunda.zeebe.protocol.EnumValue;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A group of logical column families, which are stored together in their own physical RocksDB
+ * column family instead of the default one. The options of the physical column family are tailored
+ * to how the group is accessed.
+ *
+ * <p>Keys keep their logical column family prefix in the physical column family, such that data can
+ * be moved between layouts as is.
+ *
+ * @param name the name of the physical column family; must not be "default"
+ * @param accessPattern how the logical column families of the group are mostly accessed
+ * @param columnFamilies the values (i.e. key prefixes) of the logical column families
+ * @param prefixLength the length of the prefixes extracted for bloom filters; at least the length
+ *     of the column family prefix
+ */
+public record ColumnFamilyGroup(
+    String name, AccessPattern accessPattern, Set<Integer> columnFamilies, int prefixLength) {
+
+  public ColumnFamilyGroup {
+    Objects.requireNonNull(name);
+    Objects.requireNonNull(accessPattern);
+    columnFamilies = Set.copyOf(columnFamilies);
+
+    if (name.isBlank() || "default".equals(name)) {
+      throw new IllegalArgumentException(
+          "Expected column family group name to be neither blank nor 'default', but was '%s'"
+              .formatted(name));
+    }
+    if (prefixLength < Long.BYTES) {
+      throw new IllegalArgumentException(
+          "Expected prefix length to cover at least the column family prefix (%d bytes), but was %d"
+              .formatted(Long.BYTES, prefixLength));
+    }
+  }
+
+  public ColumnFamilyGroup(
+      final String name, final AccessPattern accessPattern, final Set<Integer> columnFamilies) {
+    this(name, accessPattern, columnFamilies, Long.BYTES);
+  }
+
+  public static ColumnFamilyGroup of(
+      final String name, final AccessPattern accessPattern, final EnumValue... columnFamilies) {
+    return new ColumnFamilyGroup(
+        name,
+        accessPattern,
+        Arrays.stream(columnFamilies).map(EnumValue::getValue).collect(Collectors.toSet()));
+  }
+
+  /**
+   * Returns a copy of this group whose physical column family extracts prefixes of the given
+   * length, e.g. {@code 2 * Long.BYTES} to cover the column family prefix and a first key component
+   * of type long. Prefix bloom filters then distinguish entities within a column family, such that
+   * scans over the keys of one entity, e.g. the children of one element instance, skip all files
+   * which do not contain it. Iterations over shorter prefixes seek in total order instead.
+   */
+  public ColumnFamilyGroup withPrefixLength(final int prefixLength) {
+    return new ColumnFamilyGroup(name, accessPattern, columnFamilies, prefixLength);
+  }
+
+  public enum AccessPattern {
+    /** Mostly read by key, e.g. to look up an entity; keeps whole key filters in the memtables. */
+    POINT_LOOKUP,
+    /**
+     * Mostly iterated in key order, e.g. to find due deadlines; seeks almost always find a key, so
+     * no filters are kept for the last level, which holds most of the data.
+     */
+    SCAN
+  }
+}
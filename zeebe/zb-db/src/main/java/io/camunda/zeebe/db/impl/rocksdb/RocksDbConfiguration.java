@@ -7,7 +7,9 @@
  */
 package io.camunda.zeebe.db.impl.rocksdb;
 
+import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 
 public final class RocksDbConfiguration {
 
@@ -41,8 +43,21 @@ public final class RocksDbConfiguration {
    */
   public static final boolean DEFAULT_SST_PARTITIONING_ENABLED = true;
 
+  /**
+   * Entries of jobs, message subscriptions or deadlines are inserted and deleted at high rates, and
+   * iterations over them have to skip the tombstones of the deleted entries until these are
+   * compacted away. With this feature, SST files which contain many tombstones are marked for
+   * compaction when they are written, such that RocksDB compacts them in the background. It is
+   * disabled by default, as the additional compactions cost I/O, which not every workload benefits
+   * from.
+   */
+  public static final boolean DEFAULT_DELETION_TRIGGERED_COMPACTION_ENABLED = false;
+
   public static final int DEFAULT_IO_RATE_BYTES_PER_SECOND = 0;
 
+  /** The state cache is disabled by default. */
+  public static final long DEFAULT_STATE_CACHE_SIZE = 0;
+
   private Properties columnFamilyOptions = new Properties();
   private boolean statisticsEnabled = DEFAULT_STATISTICS_ENABLED;
   private long memoryLimit = DEFAULT_MEMORY_LIMIT;
@@ -51,6 +66,8 @@ public final class RocksDbConfiguration {
   private boolean walDisabled = DEFAULT_WAL_DISABLED;
 
   private boolean sstPartitioningEnabled = DEFAULT_SST_PARTITIONING_ENABLED;
+  private boolean deletionTriggeredCompactionEnabled =
+      DEFAULT_DELETION_TRIGGERED_COMPACTION_ENABLED;
 
   /**
    * Defines how many files are kept open by RocksDB, per default it is unlimited (-1). This is done
@@ -72,6 +89,31 @@ public final class RocksDbConfiguration {
    */
   private int ioRateBytesPerSecond = DEFAULT_IO_RATE_BYTES_PER_SECOND;
 
+  /**
+   * Point reads of the given column families (by name) are served from a cache of committed values
+   * in front of RocksDB, which is bounded by the given size in bytes. Setting the size to 0 or
+   * less, or not naming any column family, disables the cache.
+   */
+  private long stateCacheSize = DEFAULT_STATE_CACHE_SIZE;
+
+  private Set<String> stateCacheColumnFamilies = Set.of();
+
+  /**
+   * Logical column families which are stored in their own physical RocksDB column families, instead
+   * of sharing the default one. Empty by default, i.e. all logical column families share the
+   * default column family and are only distinguished by their key prefix.
+   */
+  private List<ColumnFamilyGroup> columnFamilyGroups = List.of();
+
+  /**
+   * The entries of the given column families (by name) are counted by a persistent counter, which
+   * is updated within the same transaction as the entries, such that counting them does not require
+   * iterating over them. Every write which adds or removes an entry also reads and writes the
+   * counter, a single key per column family, and upserts and deletes of keys which may not exist
+   * additionally read the key to find out whether it exists.
+   */
+  private Set<String> countedColumnFamilies = Set.of();
+
   public RocksDbConfiguration() {}
 
   public Properties getColumnFamilyOptions() {
@@ -147,6 +189,44 @@ public final class RocksDbConfiguration {
     return this;
   }
 
+  public long getStateCacheSize() {
+    return stateCacheSize;
+  }
+
+  public RocksDbConfiguration setStateCacheSize(final long stateCacheSize) {
+    this.stateCacheSize = stateCacheSize;
+    return this;
+  }
+
+  public Set<String> getStateCacheColumnFamilies() {
+    return stateCacheColumnFamilies;
+  }
+
+  public RocksDbConfiguration setStateCacheColumnFamilies(
+      final Set<String> stateCacheColumnFamilies) {
+    this.stateCacheColumnFamilies = Set.copyOf(stateCacheColumnFamilies);
+    return this;
+  }
+
+  public List<ColumnFamilyGroup> getColumnFamilyGroups() {
+    return columnFamilyGroups;
+  }
+
+  public RocksDbConfiguration setColumnFamilyGroups(
+      final List<ColumnFamilyGroup> columnFamilyGroups) {
+    this.columnFamilyGroups = List.copyOf(columnFamilyGroups);
+    return this;
+  }
+
+  public Set<String> getCountedColumnFamilies() {
+    return countedColumnFamilies;
+  }
+
+  public RocksDbConfiguration setCountedColumnFamilies(final Set<String> countedColumnFamilies) {
+    this.countedColumnFamilies = Set.copyOf(countedColumnFamilies);
+    return this;
+  }
+
   public boolean isSstPartitioningEnabled() {
     return sstPartitioningEnabled;
   }
@@ -155,4 +235,14 @@ public final class RocksDbConfiguration {
     this.sstPartitioningEnabled = sstPartitioningEnabled;
     return this;
   }
+
+  public boolean isDeletionTriggeredCompactionEnabled() {
+    return deletionTriggeredCompactionEnabled;
+  }
+
+  public RocksDbConfiguration setDeletionTriggeredCompactionEnabled(
+      final boolean deletionTriggeredCompactionEnabled) {
+    this.deletionTriggeredCompactionEnabled = deletionTriggeredCompactionEnabled;
+    return this;
+  }
 }
@@ -15,11 +15,16 @@ import io.camunda.zeebe.db.ZeebeDb;
 import io.camunda.zeebe.db.ZeebeDbException;
 import io.camunda.zeebe.protocol.EnumValue;
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import org.agrona.CloseHelper;
 import org.rocksdb.Checkpoint;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.DBOptions;
 import org.rocksdb.Options;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
@@ -85,8 +90,18 @@ final class SnapshotOnlyDb<ColumnFamilyType extends Enum<? extends EnumValue> &
       ZeebeDb<ColumnFamilyType> openDb(
           final Options options, final String path, final List<AutoCloseable> managedResources)
           throws RocksDBException {
-    final RocksDB db = RocksDB.openReadOnly(options, path);
+    // all column families have to be opened, such that they are all part of the snapshot
+    final List<ColumnFamilyDescriptor> descriptors = new ArrayList<>();
+    for (final byte[] name : RocksDB.listColumnFamilies(options, path)) {
+      descriptors.add(new ColumnFamilyDescriptor(name, new ColumnFamilyOptions(options)));
+    }
+    descriptors.forEach(descriptor -> managedResources.add(descriptor.getOptions()));
+    final var dbOptions = new DBOptions(options);
+    managedResources.add(dbOptions);
+    final List<ColumnFamilyHandle> handles = new ArrayList<>();
+    final RocksDB db = RocksDB.openReadOnly(dbOptions, path, descriptors, handles);
     managedResources.add(db);
+    managedResources.addAll(handles);
 
     return new SnapshotOnlyDb<>(db, managedResources);
   }
@@ -11,6 +11,7 @@ import io.camunda.zeebe.db.ZeebeDb;
 import io.camunda.zeebe.protocol.EnumValue;
 import io.prometheus.client.Gauge;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -54,11 +55,45 @@ public final class ZeebeRocksDBMetricExporter<
       "Other estimated properties based on entries in RocksDb per column family and partition";
   private static final String LIVE_METRICS_PREFIX = "rocksdb_live";
   private static final RocksDBMetric[] LIVE_METRICS = {
+    new RocksDBMetric(
+        "rocksdb.num-entries-active-mem-table", LIVE_METRICS_PREFIX, LIVE_METRICS_HELP),
     new RocksDBMetric("rocksdb.num-entries-imm-mem-tables", LIVE_METRICS_PREFIX, LIVE_METRICS_HELP),
     new RocksDBMetric("rocksdb.estimate-num-keys", LIVE_METRICS_PREFIX, LIVE_METRICS_HELP),
     new RocksDBMetric("rocksdb.estimate-live-data-size", LIVE_METRICS_PREFIX, LIVE_METRICS_HELP),
   };
 
+  // RocksDB only reports the tombstones of the memtables; the ones flushed to SST files are only
+  // reflected by the estimated number of keys and by the obsolete keys dropped by compactions
+  private static final String TOMBSTONE_METRICS_HELP =
+      "Delete tombstones in the memtables of RocksDb per column family and partition, excluding the ones in SST files";
+  private static final String TOMBSTONE_METRICS_PREFIX = "rocksdb_tombstones";
+  private static final RocksDBMetric[] TOMBSTONE_METRICS = {
+    new RocksDBMetric(
+        "rocksdb.num-deletes-active-mem-table", TOMBSTONE_METRICS_PREFIX, TOMBSTONE_METRICS_HELP),
+    new RocksDBMetric(
+        "rocksdb.num-deletes-imm-mem-tables", TOMBSTONE_METRICS_PREFIX, TOMBSTONE_METRICS_HELP),
+  };
+
+  private static final Gauge TOMBSTONE_DENSITY =
+      Gauge.build()
+          .namespace(ZEEBE_NAMESPACE)
+          .name(TOMBSTONE_METRICS_PREFIX + "_density")
+          .help(
+              "Ratio of tombstones to entries in the memtables of RocksDb per partition, excluding SST files")
+          .labelNames(PARTITION)
+          .register();
+
+  // tickers of the RocksDB statistics, which are only available if statistics are enabled
+  private static final String STATISTICS_PROPERTY = "rocksdb.options-statistics";
+  private static final String STATISTICS_METRICS_HELP =
+      "Keys skipped by iterations, e.g. tombstones, and obsolete keys dropped by compactions";
+  private static final RocksDBMetric[] STATISTICS_METRICS = {
+    new RocksDBMetric(
+        "rocksdb.number.iter.skip", TOMBSTONE_METRICS_PREFIX, STATISTICS_METRICS_HELP),
+    new RocksDBMetric(
+        "rocksdb.compaction.key.drop.obsolete", TOMBSTONE_METRICS_PREFIX, STATISTICS_METRICS_HELP),
+  };
+
   private static final String WRITE_METRICS_HELP =
       "Properties related to writes, flushes and compactions for RocksDb per column family and partition";
   private static final String WRITE_METRICS_PREFIX = "rocksdb_writes";
@@ -86,6 +121,9 @@ public final class ZeebeRocksDBMetricExporter<
     exportMetrics(MEMORY_METRICS);
     exportMetrics(LIVE_METRICS);
     exportMetrics(SST_METRICS);
+    exportMetrics(TOMBSTONE_METRICS);
+    exportTombstoneDensity();
+    exportStatistics(STATISTICS_METRICS);
     exportMetrics(WRITE_METRICS);
 
     final long elapsedTime = System.currentTimeMillis() - startTime;
@@ -109,6 +147,58 @@ public final class ZeebeRocksDBMetricExporter<
     }
   }
 
+  private void exportTombstoneDensity() {
+    final var database = databaseSupplier.get();
+    if (database == null) {
+      return;
+    }
+    try {
+      // summed over all physical column families, i.e. also the ones of column family groups
+      final double deletes =
+          getLongProperty(database, "rocksdb.num-deletes-active-mem-table")
+              + getLongProperty(database, "rocksdb.num-deletes-imm-mem-tables");
+      final double entries =
+          getLongProperty(database, "rocksdb.num-entries-active-mem-table")
+              + getLongProperty(database, "rocksdb.num-entries-imm-mem-tables");
+      TOMBSTONE_DENSITY.labels(partition).set(entries > 0 ? deletes / entries : 0);
+    } catch (final Exception exception) {
+      LOG.debug("Error occurred on exporting the tombstone density", exception);
+    }
+  }
+
+  private long getLongProperty(final ZeebeDb<ColumnFamilyType> database, final String name) {
+    return database.getProperty(name).map(Long::parseLong).orElse(0L);
+  }
+
+  /**
+   * Exports the given tickers of the RocksDB statistics, which are reported as a single property
+   * with one line per ticker, e.g. {@code rocksdb.number.iter.skip COUNT : 42}.
+   */
+  private void exportStatistics(final RocksDBMetric[] metrics) {
+    final var database = databaseSupplier.get();
+    if (database == null) {
+      return;
+    }
+    try {
+      final var statistics = database.getProperty(STATISTICS_PROPERTY).orElse("");
+      for (final RocksDBMetric metric : metrics) {
+        parseTicker(statistics, metric.getPropertyName())
+            .ifPresent(value -> metric.exportValue(partition, value));
+      }
+    } catch (final Exception exception) {
+      LOG.debug("Error occurred on exporting the RocksDB statistics", exception);
+    }
+  }
+
+  static Optional<Double> parseTicker(final String statistics, final String ticker) {
+    final var prefix = ticker + " COUNT : ";
+    return statistics
+        .lines()
+        .filter(line -> line.startsWith(prefix))
+        .findFirst()
+        .map(line -> Double.parseDouble(line.substring(prefix.length()).trim()));
+  }
+
   private static final class RocksDBMetric {
 
     private final String propertyName;
@@ -129,7 +219,7 @@ public final class ZeebeRocksDBMetricExporter<
     private String gaugeSuffix() {
       final String suffix =
           "_" + propertyName.substring(propertyName.indexOf(".") + 1); // cut off "rocksdb." prefix
-      return suffix.replaceAll("-", "_");
+      return suffix.replaceAll("[-.]", "_");
     }
 
     public void exportValue(final String partitionID, final Double value) {
@@ -18,7 +18,9 @@ import java.io.File;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import org.agrona.CloseHelper;
@@ -40,11 +42,19 @@ import org.rocksdb.SstPartitionerFixedPrefixFactory;
 import org.rocksdb.Statistics;
 import org.rocksdb.StatsLevel;
 import org.rocksdb.TableFormatConfig;
+import org.rocksdb.TablePropertiesCollectorFactory;
+import org.rocksdb.WriteBufferManager;
 
 public final class ZeebeRocksDbFactory<
         ColumnFamilyType extends Enum<? extends EnumValue> & EnumValue>
     implements ZeebeDbFactory<ColumnFamilyType> {
 
+  // an SST file is compacted if any 10k consecutive entries in it contain at least 5k tombstones,
+  // or if at least half of all its entries are tombstones
+  private static final long DELETION_COMPACTION_WINDOW_SIZE = 10_000;
+  private static final long DELETION_COMPACTION_TRIGGER = 5_000;
+  private static final double DELETION_COMPACTION_RATIO = 0.5;
+
   static {
     RocksDB.loadLibrary();
   }
@@ -102,15 +112,19 @@ public final class ZeebeRocksDbFactory<
   }
 
   private RocksDbOptions prepareOptions(final List<AutoCloseable> managedResources) {
+    final var blockCache = createBlockCache(managedResources);
     // column family options have to be closed as last
-    final var columnFamilyOptions = createColumnFamilyOptions(managedResources);
+    final var columnFamilyOptions = createColumnFamilyOptions(managedResources, blockCache);
     managedResources.add(columnFamilyOptions);
-    final var dbOptions = createDefaultDbOptions(managedResources);
+    final var groupColumnFamilyOptions =
+        createGroupColumnFamilyOptions(managedResources, columnFamilyOptions);
+    final var dbOptions = createDefaultDbOptions(managedResources, blockCache);
     managedResources.add(dbOptions);
-    return new RocksDbOptions(dbOptions, columnFamilyOptions);
+    return new RocksDbOptions(dbOptions, columnFamilyOptions, groupColumnFamilyOptions);
   }
 
-  private DBOptions createDefaultDbOptions(final List<AutoCloseable> closeables) {
+  private DBOptions createDefaultDbOptions(
+      final List<AutoCloseable> closeables, final LRUCache blockCache) {
     final var props = new Properties();
     props.put("file_checksum_gen_factory", "FileChecksumGenCrc32cFactory");
     //    Enables full file checksum
@@ -123,8 +137,8 @@ public final class ZeebeRocksDbFactory<
             .setMaxOpenFiles(rocksDbConfiguration.getMaxOpenFiles())
             // 1 flush, 1 compaction
             .setMaxBackgroundJobs(2)
-            // we only use the default CF
-            .setCreateMissingColumnFamilies(false)
+            // we only use the default CF, unless column family groups are configured
+            .setCreateMissingColumnFamilies(hasColumnFamilyGroups())
             // may not be necessary when WAL is disabled, but nevertheless recommended to avoid
             // many small SST files
             .setAvoidFlushDuringRecovery(true)
@@ -143,6 +157,20 @@ public final class ZeebeRocksDbFactory<
       dbOptions.setRateLimiter(rateLimiter);
     }
 
+    if (hasColumnFamilyGroups()) {
+      // every column family has its own memtables, so we bound the memory of all of them together
+      // by charging it to the block cache, which is sized for the whole memory budget in this case
+      final var memtableMemory =
+          rocksDbConfiguration.getMemoryLimit() - rocksDbConfiguration.getMemoryLimit() / 3;
+      final var writeBufferManager = new WriteBufferManager(memtableMemory, blockCache);
+      closeables.add(writeBufferManager);
+      dbOptions
+          .setWriteBufferManager(writeBufferManager)
+          // with the WAL disabled, only atomic flushes keep the column families consistent with
+          // each other, e.g. when taking a checkpoint
+          .setAtomicFlush(true);
+    }
+
     if (rocksDbConfiguration.isStatisticsEnabled()) {
       final var statistics = new Statistics();
       closeables.add(statistics);
@@ -162,6 +190,11 @@ public final class ZeebeRocksDbFactory<
    * @return Options which are used on all column families
    */
   ColumnFamilyOptions createColumnFamilyOptions(final List<AutoCloseable> closeables) {
+    return createColumnFamilyOptions(closeables, createBlockCache(closeables));
+  }
+
+  private ColumnFamilyOptions createColumnFamilyOptions(
+      final List<AutoCloseable> closeables, final LRUCache blockCache) {
     final var userProvidedColumnFamilyOptions = rocksDbConfiguration.getColumnFamilyOptions();
     final var hasUserOptions = !userProvidedColumnFamilyOptions.isEmpty();
 
@@ -169,7 +202,57 @@ public final class ZeebeRocksDbFactory<
       return createFromUserOptions(userProvidedColumnFamilyOptions);
     }
 
-    return createDefaultColumnFamilyOptions(closeables);
+    return createDefaultColumnFamilyOptions(blockCache, closeables);
+  }
+
+  /**
+   * Derives the options of the physical column family of each configured {@link
+   * ColumnFamilyGroup} from the given options, tailored to the access pattern of the group. User
+   * provided options are used as is.
+   *
+   * @return the options of each group by group name
+   */
+  private Map<String, ColumnFamilyOptions> createGroupColumnFamilyOptions(
+      final List<AutoCloseable> closeables, final ColumnFamilyOptions columnFamilyOptions) {
+    final var hasUserOptions = !rocksDbConfiguration.getColumnFamilyOptions().isEmpty();
+    final Map<String, ColumnFamilyOptions> groupOptions = new HashMap<>();
+    for (final var group : rocksDbConfiguration.getColumnFamilyGroups()) {
+      final var options = new ColumnFamilyOptions(columnFamilyOptions);
+      closeables.add(options);
+      if (!hasUserOptions) {
+        switch (group.accessPattern()) {
+          // whole key filters in the memtables speed up gets of recently written keys
+          case POINT_LOOKUP -> options.setMemtableWholeKeyFiltering(true);
+          // scans almost always find a key, so filters on the last level are a waste of memory
+          case SCAN -> options.setOptimizeFiltersForHits(true);
+          default ->
+              throw new IllegalStateException(
+                  "Unknown access pattern: " + group.accessPattern());
+        }
+        if (group.prefixLength() != Long.BYTES) {
+          options.useFixedLengthPrefixExtractor(group.prefixLength());
+        }
+      }
+      groupOptions.put(group.name(), options);
+    }
+    return groupOptions;
+  }
+
+  private LRUCache createBlockCache(final List<AutoCloseable> closeables) {
+    final var totalMemoryBudget = rocksDbConfiguration.getMemoryLimit();
+    // the memtables of column family groups are charged to the block cache, so it must then
+    // cover the whole memory budget; see createDefaultDbOptions
+    final var blockCacheMemory =
+        hasColumnFamilyGroups() ? totalMemoryBudget : totalMemoryBudget / 3;
+    // you can use the perf context to check if we're often blocked on the block cache mutex, in
+    // which case we want to increase the number of shards (shard count == 2^shardBits)
+    final var cache = new LRUCache(blockCacheMemory, 8, false, 0.15);
+    closeables.add(cache);
+    return cache;
+  }
+
+  private boolean hasColumnFamilyGroups() {
+    return !rocksDbConfiguration.getColumnFamilyGroups().isEmpty();
   }
 
   private ColumnFamilyOptions createFromUserOptions(
@@ -189,7 +272,7 @@ public final class ZeebeRocksDbFactory<
   }
 
   private ColumnFamilyOptions createDefaultColumnFamilyOptions(
-      final List<AutoCloseable> closeables) {
+      final LRUCache blockCache, final List<AutoCloseable> closeables) {
     final var columnFamilyOptions = new ColumnFamilyOptions();
 
     final var totalMemoryBudget = rocksDbConfiguration.getMemoryLimit();
@@ -213,13 +296,25 @@ public final class ZeebeRocksDbFactory<
             ((totalMemoryBudget - blockCacheMemory) / (double) maxConcurrentMemtableCount)
                 * (1 - memtablePrefixFilterMemory));
 
-    final var tableConfig = createTableFormatConfig(closeables, blockCacheMemory);
+    final var tableConfig = createTableFormatConfig(closeables, blockCache);
 
     if (rocksDbConfiguration.isSstPartitioningEnabled()) {
       columnFamilyOptions.setSstPartitionerFactory(
           new SstPartitionerFixedPrefixFactory(Long.BYTES));
     }
 
+    if (rocksDbConfiguration.isDeletionTriggeredCompactionEnabled()) {
+      // marks SST files with many tombstones for compaction when they are written, such that
+      // iterations over high-churn column families don't have to skip them for long
+      final var compactOnDeletion =
+          TablePropertiesCollectorFactory.NewCompactOnDeletionCollectorFactory(
+              DELETION_COMPACTION_WINDOW_SIZE,
+              DELETION_COMPACTION_TRIGGER,
+              DELETION_COMPACTION_RATIO);
+      closeables.add(compactOnDeletion);
+      columnFamilyOptions.setTablePropertiesCollectorFactory(List.of(compactOnDeletion));
+    }
+
     return columnFamilyOptions
         // to extract our column family type (used as prefix) and seek faster
         .useFixedLengthPrefixExtractor(Long.BYTES)
@@ -270,12 +365,7 @@ public final class ZeebeRocksDbFactory<
   }
 
   private TableFormatConfig createTableFormatConfig(
-      final List<AutoCloseable> closeables, final long blockCacheMemory) {
-    // you can use the perf context to check if we're often blocked on the block cache mutex, in
-    // which case we want to increase the number of shards (shard count == 2^shardBits)
-    final var cache = new LRUCache(blockCacheMemory, 8, false, 0.15);
-    closeables.add(cache);
-
+      final List<AutoCloseable> closeables, final LRUCache cache) {
     final var filter = new BloomFilter(10, false);
     closeables.add(filter);
 
@@ -25,6 +25,9 @@ public class ColumnFamilyContext {
   // we can also simply use one buffer
   private final ExpandableArrayBuffer keyBuffer = new ExpandableArrayBuffer();
   private final ExpandableArrayBuffer valueBuffer = new ExpandableArrayBuffer();
+  // values are read into this buffer instead of a new array per read; it must not be the one
+  // values are written from, as the read value may be written back, e.g. on update
+  private final ExpandableArrayBuffer readValueBuffer = new ExpandableArrayBuffer();
 
   private final DirectBuffer keyViewBuffer = new UnsafeBuffer(0, 0);
   private final DirectBuffer valueViewBuffer = new UnsafeBuffer(0, 0);
@@ -89,6 +92,24 @@ public class ColumnFamilyContext {
     }
   }
 
+  public ExpandableArrayBuffer getReadValueBuffer() {
+    return readValueBuffer;
+  }
+
+  /**
+   * Wraps the value view around the value which was last read into the {@link
+   * #getReadValueBuffer()}. The view is only valid until the next read.
+   *
+   * @param valueLength the length of the read value, or {@link ZeebeTransaction#NOT_FOUND}
+   */
+  public void wrapReadValueView(final int valueLength) {
+    if (valueLength > 0) {
+      valueViewBuffer.wrap(readValueBuffer.byteArray(), 0, valueLength);
+    } else {
+      valueViewBuffer.wrap(ZERO_SIZE_ARRAY);
+    }
+  }
+
   public DirectBuffer getValueView() {
     return isValueViewEmpty() ? null : valueViewBuffer;
   }
@@ -0,0 +1,79 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.db.impl.rocksdb.transaction;
+
+import io.camunda.zeebe.db.impl.rocksdb.ColumnFamilyGroup;
+import java.util.List;
+import java.util.Map;
+import org.agrona.collections.Int2ObjectHashMap;
+import org.rocksdb.ColumnFamilyHandle;
+
+/**
+ * Maps logical column families, by their value, to the physical RocksDB column families which store
+ * them. Logical column families which are not part of any {@link ColumnFamilyGroup} are stored in
+ * the default column family.
+ */
+final class ColumnFamilyLayout {
+  private final PhysicalColumnFamily defaultColumnFamily;
+  private final Int2ObjectHashMap<PhysicalColumnFamily> groupedColumnFamilies =
+      new Int2ObjectHashMap<>();
+
+  ColumnFamilyLayout(
+      final ColumnFamilyHandle defaultHandle,
+      final List<ColumnFamilyGroup> groups,
+      final Map<String, ColumnFamilyHandle> groupHandles) {
+    defaultColumnFamily = new PhysicalColumnFamily(defaultHandle, Long.BYTES);
+    for (final var group : groups) {
+      final var handle = groupHandles.get(group.name());
+      if (handle == null) {
+        throw new IllegalStateException(
+            "Expected a handle for the column family of group '%s', but none was opened"
+                .formatted(group.name()));
+      }
+
+      final var physicalColumnFamily = new PhysicalColumnFamily(handle, group.prefixLength());
+      for (final int columnFamily : group.columnFamilies()) {
+        final var previous = groupedColumnFamilies.put(columnFamily, physicalColumnFamily);
+        if (previous != null && previous.handle() != handle) {
+          throw new IllegalArgumentException(
+              "Expected column family %d to be part of a single group, but it is part of '%s' too"
+                  .formatted(columnFamily, group.name()));
+        }
+      }
+    }
+  }
+
+  ColumnFamilyHandle defaultHandle() {
+    return defaultColumnFamily.handle();
+  }
+
+  ColumnFamilyHandle handleOf(final int columnFamily) {
+    return physicalColumnFamilyOf(columnFamily).handle();
+  }
+
+  long nativeHandleOf(final int columnFamily) {
+    return physicalColumnFamilyOf(columnFamily).nativeHandle();
+  }
+
+  /** Returns the length of the prefixes extracted for bloom filters of the given column family. */
+  int prefixLengthOf(final int columnFamily) {
+    return physicalColumnFamilyOf(columnFamily).prefixLength();
+  }
+
+  private PhysicalColumnFamily physicalColumnFamilyOf(final int columnFamily) {
+    final var physicalColumnFamily = groupedColumnFamilies.get(columnFamily);
+    return physicalColumnFamily != null ? physicalColumnFamily : defaultColumnFamily;
+  }
+
+  private record PhysicalColumnFamily(
+      ColumnFamilyHandle handle, long nativeHandle, int prefixLength) {
+    private PhysicalColumnFamily(final ColumnFamilyHandle handle, final int prefixLength) {
+      this(handle, ZeebeTransactionDb.getNativeHandle(handle), prefixLength);
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.db.impl.rocksdb.transaction;
+
+import io.camunda.zeebe.db.impl.ZeebeDbConstants;
+import io.camunda.zeebe.db.impl.rocksdb.Loggers;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+import org.slf4j.Logger;
+
+/**
+ * Moves the data of logical column families into the physical column families which store them
+ * according to a {@link ColumnFamilyLayout}, e.g. when opening a database which was written with
+ * all logical column families in the default column family, or with different groups.
+ *
+ * <p>As keys keep their logical column family prefix in every physical column family, data is
+ * moved as is. The distinct prefixes of a physical column family are found by seeking past each
+ * one, such that data which is already in the right place is not read. Each logical column family
+ * is first copied to its target, and only then deleted from its source, so migrating again after
+ * a crash completes the move.
+ */
+final class ColumnFamilyLayoutMigration {
+  private static final Logger LOG = Loggers.DB_LOGGER;
+  // bounds the memory used while copying
+  private static final int MAX_BATCH_SIZE = 4 * 1024 * 1024;
+
+  private final RocksDB db;
+  private final ColumnFamilyLayout layout;
+  private final WriteOptions writeOptions;
+
+  ColumnFamilyLayoutMigration(
+      final RocksDB db, final ColumnFamilyLayout layout, final WriteOptions writeOptions) {
+    this.db = db;
+    this.layout = layout;
+    this.writeOptions = writeOptions;
+  }
+
+  /**
+   * Moves all data which is stored in the given physical column families, but belongs to another
+   * one according to the layout.
+   */
+  void migrate(final Collection<ColumnFamilyHandle> physicalColumnFamilies)
+      throws RocksDBException {
+    for (final var source : physicalColumnFamilies) {
+      migrate(source);
+    }
+  }
+
+  private void migrate(final ColumnFamilyHandle source) throws RocksDBException {
+    try (final var readOptions = new ReadOptions().setTotalOrderSeek(true);
+        final var iterator = db.newIterator(source, readOptions)) {
+      iterator.seekToFirst();
+      while (iterator.isValid()) {
+        final long columnFamily = readPrefix(iterator.key());
+        final var target = layout.handleOf(Math.toIntExact(columnFamily));
+        if (target != source) {
+          move(columnFamily, source, target);
+        }
+
+        iterator.seek(prefixKey(columnFamily + 1));
+      }
+      iterator.status();
+    }
+  }
+
+  private void move(
+      final long columnFamily, final ColumnFamilyHandle source, final ColumnFamilyHandle target)
+      throws RocksDBException {
+    final var start = prefixKey(columnFamily);
+    final var end = prefixKey(columnFamily + 1);
+    long movedEntries = 0;
+
+    try (final var readOptions = new ReadOptions().setTotalOrderSeek(true);
+        final var iterator = db.newIterator(source, readOptions);
+        final var batch = new WriteBatch()) {
+      for (iterator.seek(start);
+          iterator.isValid() && readPrefix(iterator.key()) == columnFamily;
+          iterator.next()) {
+        batch.put(target, iterator.key(), iterator.value());
+        movedEntries++;
+        if (batch.getDataSize() >= MAX_BATCH_SIZE) {
+          db.write(writeOptions, batch);
+          batch.clear();
+        }
+      }
+      iterator.status();
+
+      if (batch.count() > 0) {
+        db.write(writeOptions, batch);
+      }
+    }
+
+    db.deleteRange(source, writeOptions, start, end);
+    LOG.info(
+        "Moved {} entries of column family {} from physical column family {} to {}",
+        movedEntries,
+        columnFamily,
+        new String(source.getName(), StandardCharsets.UTF_8),
+        new String(target.getName(), StandardCharsets.UTF_8));
+  }
+
+  private static long readPrefix(final byte[] key) {
+    return ByteBuffer.wrap(key, 0, Long.BYTES).order(ZeebeDbConstants.ZB_DB_BYTE_ORDER).getLong();
+  }
+
+  private static byte[] prefixKey(final long columnFamily) {
+    final var key = new byte[Long.BYTES];
+    ByteBuffer.wrap(key).order(ZeebeDbConstants.ZB_DB_BYTE_ORDER).putLong(columnFamily);
+    return key;
+  }
+}
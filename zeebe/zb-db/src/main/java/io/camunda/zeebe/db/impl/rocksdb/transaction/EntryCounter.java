@@ -0,0 +1,69 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.db.impl.rocksdb.transaction;
+
+import io.camunda.zeebe.db.impl.ZeebeDbConstants;
+import org.agrona.ExpandableArrayBuffer;
+
+/**
+ * A persistent counter of the entries of a logical column family, which is updated within the same
+ * transaction as the entries themselves, such that counting them does not require iterating over
+ * them.
+ *
+ * <p>Counters are stored under a reserved column family prefix, which is not used by any logical
+ * column family, followed by the value of the counted column family. They are therefore never
+ * visited when iterating over a logical column family.
+ */
+final class EntryCounter {
+  /** Key prefix of all counters; must not be the value of any logical column family. */
+  static final int COUNTERS_PREFIX = Integer.MAX_VALUE;
+
+  private static final int KEY_LENGTH = 2 * Long.BYTES;
+
+  private final ExpandableArrayBuffer key = new ExpandableArrayBuffer(KEY_LENGTH);
+  private final ExpandableArrayBuffer value = new ExpandableArrayBuffer(Long.BYTES);
+  private final long columnFamilyHandle;
+  private final long readOptionsHandle;
+
+  EntryCounter(
+      final int columnFamily, final long columnFamilyHandle, final long readOptionsHandle) {
+    this.columnFamilyHandle = columnFamilyHandle;
+    this.readOptionsHandle = readOptionsHandle;
+    key.putLong(0, COUNTERS_PREFIX, ZeebeDbConstants.ZB_DB_BYTE_ORDER);
+    key.putLong(Long.BYTES, columnFamily, ZeebeDbConstants.ZB_DB_BYTE_ORDER);
+  }
+
+  /** Returns whether the counter was stored before, i.e. whether it was ever initialized. */
+  boolean exists(final ZeebeTransaction transaction) throws Exception {
+    return transaction.getValueLength(
+            columnFamilyHandle, readOptionsHandle, key.byteArray(), KEY_LENGTH)
+        != ZeebeTransaction.NOT_FOUND;
+  }
+
+  /** Returns the count as seen by the given transaction, or 0 if it was never stored. */
+  long get(final ZeebeTransaction transaction) throws Exception {
+    final int length =
+        transaction.get(columnFamilyHandle, readOptionsHandle, key.byteArray(), KEY_LENGTH, value);
+    return length == ZeebeTransaction.NOT_FOUND
+        ? 0
+        : value.getLong(0, ZeebeDbConstants.ZB_DB_BYTE_ORDER);
+  }
+
+  void add(final ZeebeTransaction transaction, final long delta) throws Exception {
+    set(transaction, get(transaction) + delta);
+  }
+
+  void set(final ZeebeTransaction transaction, final long count) throws Exception {
+    value.putLong(0, count, ZeebeDbConstants.ZB_DB_BYTE_ORDER);
+    transaction.put(columnFamilyHandle, key.byteArray(), KEY_LENGTH, value.byteArray(), Long.BYTES);
+  }
+
+  void delete(final ZeebeTransaction transaction) throws Exception {
+    transaction.delete(columnFamilyHandle, key.byteArray(), KEY_LENGTH);
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.db.impl.rocksdb.transaction;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import org.rocksdb.DirectSlice;
+import org.rocksdb.ReadOptions;
+
+/**
+ * Pools the read options used to iterate over all keys with a given prefix, such that iterating
+ * does not allocate native objects. Each acquired {@link PrefixReadOptions} bounds iterators by
+ * the smallest key after all keys with the prefix ({@code iterate_upper_bound}), so RocksDB stops
+ * reading as soon as the prefix is exceeded instead of at the end of the next data block.
+ *
+ * <p>Iterations may be nested, e.g. when visiting a column family while iterating over another,
+ * and as the upper bound of an iterator must not change while it is in use, every iteration has to
+ * acquire its own read options and release them once the iterator is closed.
+ *
+ * <p>Not thread safe; there is a pool per transaction, i.e. per transaction context.
+ */
+final class PrefixReadOptionsPool implements AutoCloseable {
+  private static final int INITIAL_BOUND_CAPACITY = 64;
+
+  private final ArrayDeque<PrefixReadOptions> available = new ArrayDeque<>();
+  private final List<PrefixReadOptions> all = new ArrayList<>();
+
+  /**
+   * Acquires read options whose iterators only visit keys starting with the given prefix.
+   *
+   * @param prefix the prefix, including the column family prefix
+   * @param prefixLength the length of the prefix
+   * @param prefixSeek whether the prefix is at least as long as the prefix extractor of the
+   *     physical column family, in which case the prefix bloom filters are used; otherwise, the
+   *     iterators seek in total order, as RocksDB cannot extract a prefix from a shorter key
+   */
+  PrefixReadOptions acquire(
+      final byte[] prefix, final int prefixLength, final boolean prefixSeek) {
+    var readOptions = available.poll();
+    if (readOptions == null) {
+      readOptions = new PrefixReadOptions();
+      all.add(readOptions);
+    }
+
+    readOptions.bound(prefix, prefixLength, prefixSeek);
+    return readOptions;
+  }
+
+  @Override
+  public void close() {
+    all.forEach(PrefixReadOptions::closeNative);
+    all.clear();
+    available.clear();
+  }
+
+  final class PrefixReadOptions implements AutoCloseable {
+    private final ReadOptions readOptions =
+        new ReadOptions()
+            // setting a positive value to read-ahead is only useful when using network storage
+            // with high latency, at the cost of making iterators more expensive
+            .setReadaheadSize(0);
+    private ByteBuffer upperBound = ByteBuffer.allocateDirect(INITIAL_BOUND_CAPACITY);
+    private DirectSlice upperBoundSlice = new DirectSlice(upperBound, INITIAL_BOUND_CAPACITY);
+
+    private PrefixReadOptions() {
+      readOptions.setIterateUpperBound(upperBoundSlice);
+    }
+
+    ReadOptions readOptions() {
+      return readOptions;
+    }
+
+    /** Returns the read options to the pool; must only be called once the iterator is closed. */
+    @Override
+    public void close() {
+      available.push(this);
+    }
+
+    private void bound(final byte[] prefix, final int prefixLength, final boolean prefixSeek) {
+      readOptions.setPrefixSameAsStart(prefixSeek).setTotalOrderSeek(!prefixSeek);
+
+      // the smallest key greater than all keys with the prefix is the prefix with its last byte
+      // incremented, after dropping trailing bytes which cannot be incremented; the column family
+      // prefix always contains a byte which can be, as column family values are small
+      int boundLength = prefixLength;
+      while (boundLength > 0 && prefix[boundLength - 1] == (byte) 0xFF) {
+        boundLength--;
+      }
+
+      if (boundLength > upperBound.capacity()) {
+        growUpperBound(boundLength);
+      }
+
+      upperBound.clear();
+      upperBound.put(prefix, 0, boundLength);
+      upperBound.put(boundLength - 1, (byte) (prefix[boundLength - 1] + 1));
+      upperBoundSlice.setLength(boundLength);
+    }
+
+    private void growUpperBound(final int capacity) {
+      upperBoundSlice.close();
+      upperBound = ByteBuffer.allocateDirect(Math.max(capacity, upperBound.capacity() * 2));
+      upperBoundSlice = new DirectSlice(upperBound, upperBound.capacity());
+      readOptions.setIterateUpperBound(upperBoundSlice);
+    }
+
+    private void closeNative() {
+      readOptions.close();
+      upperBoundSlice.close();
+    }
+  }
+}
@@ -16,8 +16,10 @@ import static org.rocksdb.Status.Code.Ok;
 import static org.rocksdb.Status.Code.TimedOut;
 import static org.rocksdb.Status.Code.TryAgain;
 
+import io.camunda.zeebe.db.impl.rocksdb.Loggers;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.util.EnumSet;
 import org.rocksdb.RocksDB;
@@ -26,17 +28,43 @@ import org.rocksdb.RocksObject;
 import org.rocksdb.Status;
 import org.rocksdb.Status.Code;
 import org.rocksdb.Transaction;
+import org.slf4j.Logger;
 
 public final class RocksDbInternal {
 
+  private static final Logger LOG = Loggers.DB_LOGGER;
+
   static final EnumSet<Code> RECOVERABLE_ERROR_CODES =
       EnumSet.of(Ok, Aborted, Expired, IOError, Busy, TimedOut, TryAgain, MergeInProgress);
 
+  private static final MethodType PUT_UNTRACKED_TYPE =
+      MethodType.methodType(
+          void.class, long.class, byte[].class, int.class, byte[].class, int.class, long.class);
+  private static final MethodType DELETE_UNTRACKED_TYPE =
+      MethodType.methodType(void.class, long.class, byte[].class, int.class, long.class);
+  private static final MethodType GET_INTO_ARRAY_TYPE =
+      MethodType.methodType(
+          int.class,
+          long.class,
+          long.class,
+          byte[].class,
+          int.class,
+          int.class,
+          byte[].class,
+          int.class,
+          int.class,
+          long.class);
+
   static Field nativeHandle;
 
   static MethodHandle putWithHandle;
   static MethodHandle getWithHandle;
+  // may be null if the RocksDB version in use does not offer it; use getWithHandle instead then
+  static MethodHandle getIntoArrayWithHandle;
   static MethodHandle removeWithHandle;
+  // may be null if the RocksDB version in use does not offer them; use the tracked variants then
+  static MethodHandle putUntrackedWithHandle;
+  static MethodHandle removeUntrackedWithHandle;
 
   static {
     RocksDB.loadLibrary();
@@ -53,7 +81,10 @@ public final class RocksDbInternal {
 
     putWithHandle();
     getWithHandle();
+    getIntoArrayWithHandle();
     removeWithHandle();
+    putUntrackedWithHandle();
+    removeUntrackedWithHandle();
   }
 
   private static void nativeHandles() throws NoSuchFieldException {
@@ -104,6 +135,47 @@ public final class RocksDbInternal {
     }
   }
 
+  /*
+   private native int get(final long handle, final long readOptionsHandle, final byte[] key,
+      final int keyOffset, final int keyLength, final byte[] value, final int valueOffset,
+      final int valueLength, final long columnFamilyHandle) throws RocksDBException;
+  */
+  private static void getIntoArrayWithHandle() {
+    try {
+      final var method =
+          Transaction.class.getDeclaredMethod(
+              "get",
+              Long.TYPE,
+              Long.TYPE,
+              byte[].class,
+              Integer.TYPE,
+              Integer.TYPE,
+              byte[].class,
+              Integer.TYPE,
+              Integer.TYPE,
+              Long.TYPE);
+      method.setAccessible(true);
+      final var handle = MethodHandles.lookup().unreflect(method);
+      // only use it if it can be invoked like the other handles, i.e. without a receiver
+      if (handle.type().equals(GET_INTO_ARRAY_TYPE)) {
+        getIntoArrayWithHandle = handle;
+      } else {
+        getIntoArrayWithHandle = null;
+        LOG.warn(
+            "Expected RocksDB to offer reading values into an existing array with the type {}, but"
+                + " it has the type {}. Every read of a value allocates a new array instead.",
+            GET_INTO_ARRAY_TYPE,
+            handle.type());
+      }
+    } catch (final NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+      getIntoArrayWithHandle = null;
+      LOG.warn(
+          "Expected RocksDB to offer reading values into an existing array, but it does not."
+              + " Every read of a value allocates a new array instead.",
+          e);
+    }
+  }
+
   private static void removeWithHandle() throws NoSuchMethodException {
     final var method =
         Transaction.class.getDeclaredMethod(
@@ -116,6 +188,52 @@ public final class RocksDbInternal {
     }
   }
 
+  /*
+   private native void putUntracked(final long handle, final byte[] key, final int keyLength,
+       final byte[] value, final int valueLength, final long columnFamilyHandle)
+       throws RocksDBException;
+  */
+  private static void putUntrackedWithHandle() {
+    putUntrackedWithHandle =
+        resolveOptional(
+            PUT_UNTRACKED_TYPE,
+            "putUntracked",
+            Long.TYPE,
+            byte[].class,
+            Integer.TYPE,
+            byte[].class,
+            Integer.TYPE,
+            Long.TYPE);
+  }
+
+  /*
+   private native void deleteUntracked(final long handle, final byte[] key, final int keyLength,
+       final long columnFamilyHandle) throws RocksDBException;
+  */
+  private static void removeUntrackedWithHandle() {
+    removeUntrackedWithHandle =
+        resolveOptional(
+            DELETE_UNTRACKED_TYPE,
+            "deleteUntracked",
+            Long.TYPE,
+            byte[].class,
+            Integer.TYPE,
+            Long.TYPE);
+  }
+
+  private static MethodHandle resolveOptional(
+      final MethodType expectedType, final String name, final Class<?>... parameterTypes) {
+    try {
+      final var method = Transaction.class.getDeclaredMethod(name, parameterTypes);
+      method.setAccessible(true);
+      final var handle = MethodHandles.lookup().unreflect(method);
+      // only use it if it can be invoked like the other handles, i.e. without a receiver
+      return handle.type().equals(expectedType) ? handle : null;
+    } catch (final NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+      return null;
+    }
+  }
+
   static boolean isRocksDbExceptionRecoverable(final RocksDBException rdbex) {
     final Status status = rdbex.getStatus();
     return RECOVERABLE_ERROR_CODES.contains(status.getCode());
@@ -7,6 +7,7 @@
  */
 package io.camunda.zeebe.db.impl.rocksdb.transaction;
 
+import java.util.Map;
 import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.DBOptions;
 
@@ -15,11 +16,27 @@ import org.rocksdb.DBOptions;
  * change these depending on its own configuration. As each of the parts must be individually
  * closed, this record allows easily passing both configurations around within Zeebe.
  *
- * <p>While each column family in RocksDB can be configured differently, Zeebe only uses a single
- * RocksDB column family. We therefore don't have to differentiate further than a single database
- * options and a single column family options.
+ * <p>By default, Zeebe only uses a single RocksDB column family, which uses {@code cfOptions}. If
+ * groups of logical column families are stored in their own physical column families, see {@link
+ * io.camunda.zeebe.db.impl.rocksdb.ColumnFamilyGroup}, these use the options tailored to them.
  *
  * @param dbOptions The database options used to open the RocksDB database
  * @param cfOptions The column family options used to open the RocksDB database
+ * @param groupCfOptions The column family options of each column family group, by group name
  */
-public record RocksDbOptions(DBOptions dbOptions, ColumnFamilyOptions cfOptions) {}
+public record RocksDbOptions(
+    DBOptions dbOptions,
+    ColumnFamilyOptions cfOptions,
+    Map<String, ColumnFamilyOptions> groupCfOptions) {
+
+  public RocksDbOptions(final DBOptions dbOptions, final ColumnFamilyOptions cfOptions) {
+    this(dbOptions, cfOptions, Map.of());
+  }
+
+  /**
+   * @return the options of the given physical column family, falling back to {@link #cfOptions()}
+   */
+  public ColumnFamilyOptions cfOptions(final String columnFamilyName) {
+    return groupCfOptions.getOrDefault(columnFamilyName, cfOptions);
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.db.impl.rocksdb.transaction;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A size bounded cache of committed values, shared by all transactions of a database. Keys are the
+ * serialized keys as stored in RocksDB, i.e. they include the column family prefix.
+ *
+ * <p>Only committed values are cached. Uncommitted writes are kept by the {@link ZeebeTransaction}
+ * which made them, and are published here once it commits, or discarded on rollback.
+ *
+ * <p>Values read from RocksDB are only added if no transaction committed since the read started,
+ * as the read value could be outdated otherwise. Cached arrays are never modified; callers must
+ * copy them before handing them out.
+ *
+ * <p>Reads do not lock, as the cache is meant for frequently read keys: they only mark the entry as
+ * recently used. Entries are evicted in the order they were added, but an entry which was read
+ * since it was added or last skipped is skipped once (second chance), which approximates evicting
+ * the least recently used entry. Adding and removing entries is serialized by the monitor of the
+ * cache.
+ */
+final class StateCache {
+  // rough estimate of the memory used by an entry on top of its key and value
+  private static final int ENTRY_OVERHEAD = 64;
+
+  private final Map<ByteBuffer, CachedValue> entries = new ConcurrentHashMap<>();
+  // the eviction order; may contain entries which were removed or replaced since, which are skipped
+  private final ArrayDeque<CachedEntry> evictionQueue = new ArrayDeque<>();
+  private final long maxSize;
+  private long size;
+  private volatile long commits;
+
+  StateCache(final long maxSize) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException(
+          "Expected state cache size to be greater than 0, but was " + maxSize);
+    }
+
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * @return the cached value of the given key, or null if it is not cached
+   */
+  byte[] get(final ByteBuffer key) {
+    final var cached = entries.get(key);
+    if (cached == null) {
+      return null;
+    }
+
+    if (!cached.referenced) {
+      cached.referenced = true;
+    }
+    return cached.value;
+  }
+
+  /**
+   * @return a token to pass to {@link #populate(ByteBuffer, byte[], long)} after reading a value
+   */
+  long commits() {
+    return commits;
+  }
+
+  /**
+   * Adds a value which was read from RocksDB, unless a transaction committed since {@link
+   * #commits()} was called before reading it.
+   *
+   * @param key the key, which is owned by the cache from now on
+   * @param value the value, which is owned by the cache from now on
+   */
+  synchronized void populate(final ByteBuffer key, final byte[] value, final long commits) {
+    if (this.commits == commits) {
+      put(key, value);
+    }
+  }
+
+  /**
+   * Publishes the writes of a committed transaction. A null value means that the key was deleted.
+   * The keys and values are owned by the cache from now on.
+   */
+  synchronized void publish(final Map<ByteBuffer, byte[]> writes) {
+    commits++;
+    for (final var write : writes.entrySet()) {
+      if (write.getValue() == null) {
+        remove(write.getKey());
+      } else {
+        put(write.getKey(), write.getValue());
+      }
+    }
+  }
+
+  /**
+   * Removes the given keys, e.g. if a transaction which wrote them failed to commit, such that it
+   * is unknown whether the cached values are still up to date. Values which are currently read
+   * from RocksDB are not added afterwards, as if a transaction committed.
+   */
+  synchronized void invalidate(final Collection<ByteBuffer> keys) {
+    commits++;
+    for (final var key : keys) {
+      remove(key);
+    }
+  }
+
+  synchronized long size() {
+    return size;
+  }
+
+  private void put(final ByteBuffer key, final byte[] value) {
+    remove(key);
+
+    final long entrySize = entrySize(key, value);
+    if (entrySize > maxSize) {
+      return;
+    }
+
+    final var cached = new CachedValue(value);
+    entries.put(key, cached);
+    evictionQueue.add(new CachedEntry(key, cached));
+    size += entrySize;
+
+    evict();
+  }
+
+  private void evict() {
+    while (size > maxSize) {
+      final var eldest = evictionQueue.poll();
+      if (entries.get(eldest.key) != eldest.value) {
+        continue;
+      }
+
+      if (eldest.value.referenced) {
+        eldest.value.referenced = false;
+        evictionQueue.add(eldest);
+      } else {
+        entries.remove(eldest.key);
+        size -= entrySize(eldest.key, eldest.value.value);
+      }
+    }
+
+    // drop the entries which were removed or replaced, such that the queue does not grow unbounded
+    if (evictionQueue.size() > 2 * entries.size() + 16) {
+      evictionQueue.removeIf(entry -> entries.get(entry.key) != entry.value);
+    }
+  }
+
+  private void remove(final ByteBuffer key) {
+    final var cached = entries.remove(key);
+    if (cached != null) {
+      size -= entrySize(key, cached.value);
+    }
+  }
+
+  private static long entrySize(final ByteBuffer key, final byte[] value) {
+    return (long) key.remaining() + value.length + ENTRY_OVERHEAD;
+  }
+
+  private static final class CachedValue {
+    private final byte[] value;
+    // set by reads without locking; a lost update only affects the eviction order
+    private volatile boolean referenced;
+
+    private CachedValue(final byte[] value) {
+      this.value = value;
+    }
+  }
+
+  private record CachedEntry(ByteBuffer key, CachedValue value) {}
+}
@@ -18,13 +18,18 @@ import io.camunda.zeebe.db.DbValue;
 import io.camunda.zeebe.db.KeyValuePairVisitor;
 import io.camunda.zeebe.db.TransactionContext;
 import io.camunda.zeebe.db.ZeebeDbInconsistentException;
+import io.camunda.zeebe.db.impl.rocksdb.transaction.PrefixReadOptionsPool.PrefixReadOptions;
 import io.camunda.zeebe.protocol.EnumValue;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import org.agrona.DirectBuffer;
+import org.agrona.LangUtil;
+import org.agrona.collections.MutableLong;
+import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksIterator;
 
@@ -56,6 +61,15 @@ class TransactionalColumnFamily<
   private final ColumnFamilyContext columnFamilyContext;
   private final ForeignKeyChecker foreignKeyChecker;
   private final ColumnFamilyMetrics metrics;
+  // whether point reads are served from the state cache, see StateCache
+  private final boolean cached;
+  // null if the entries of this column family are not counted
+  private final EntryCounter entryCounter;
+  // the physical column family which stores this logical one, see ColumnFamilyLayout
+  private final ColumnFamilyHandle handle;
+  private final long nativeHandle;
+  // the length of the value read by exists(), kept to not allocate a holder on every read
+  private int existingValueLength;
 
   TransactionalColumnFamily(
       final ZeebeTransactionDb<ColumnFamilyNames> transactionDb,
@@ -64,7 +78,9 @@ class TransactionalColumnFamily<
       final TransactionContext context,
       final KeyType keyInstance,
       final ValueType valueInstance,
-      final ColumnFamilyMetrics metrics) {
+      final ColumnFamilyMetrics metrics,
+      final boolean cached,
+      final EntryCounter entryCounter) {
     this.transactionDb = transactionDb;
     this.consistencyChecksSettings = consistencyChecksSettings;
     this.columnFamily = columnFamily;
@@ -72,6 +88,10 @@ class TransactionalColumnFamily<
     this.keyInstance = keyInstance;
     this.valueInstance = valueInstance;
     this.metrics = metrics;
+    this.cached = cached;
+    this.entryCounter = entryCounter;
+    handle = transactionDb.getColumnFamilyHandle(columnFamily.getValue());
+    nativeHandle = transactionDb.getColumnFamilyNativeHandle(columnFamily.getValue());
     columnFamilyContext = new ColumnFamilyContext(columnFamily.getValue());
     foreignKeyChecker = new ForeignKeyChecker(transactionDb, consistencyChecksSettings);
   }
@@ -86,12 +106,8 @@ class TransactionalColumnFamily<
 
             assertKeyDoesNotExist(transaction);
             assertForeignKeysExist(transaction, key, value);
-            transaction.put(
-                transactionDb.getDefaultNativeHandle(),
-                columnFamilyContext.getKeyBufferArray(),
-                columnFamilyContext.getKeyLength(),
-                columnFamilyContext.getValueBufferArray(),
-                value.getLength());
+            putValue(transaction, value.getLength());
+            addToEntryCounter(transaction, 1);
           });
     }
   }
@@ -105,12 +121,7 @@ class TransactionalColumnFamily<
             columnFamilyContext.writeValue(value);
             assertKeyExists(transaction);
             assertForeignKeysExist(transaction, key, value);
-            transaction.put(
-                transactionDb.getDefaultNativeHandle(),
-                columnFamilyContext.getKeyBufferArray(),
-                columnFamilyContext.getKeyLength(),
-                columnFamilyContext.getValueBufferArray(),
-                value.getLength());
+            putValue(transaction, value.getLength());
           });
     }
   }
@@ -122,13 +133,13 @@ class TransactionalColumnFamily<
           transaction -> {
             columnFamilyContext.writeKey(key);
             columnFamilyContext.writeValue(value);
+            final boolean isNewEntry =
+                entryCounter != null && getValueLength(transaction) == ZeebeTransaction.NOT_FOUND;
             assertForeignKeysExist(transaction, key, value);
-            transaction.put(
-                transactionDb.getDefaultNativeHandle(),
-                columnFamilyContext.getKeyBufferArray(),
-                columnFamilyContext.getKeyLength(),
-                columnFamilyContext.getValueBufferArray(),
-                value.getLength());
+            putValue(transaction, value.getLength());
+            if (isNewEntry) {
+              addToEntryCounter(transaction, 1);
+            }
           });
     }
   }
@@ -139,13 +150,8 @@ class TransactionalColumnFamily<
       ensureInOpenTransaction(
           transaction -> {
             columnFamilyContext.writeKey(key);
-            final byte[] value =
-                transaction.get(
-                    transactionDb.getDefaultNativeHandle(),
-                    transactionDb.getReadOptionsNativeHandle(),
-                    columnFamilyContext.getKeyBufferArray(),
-                    columnFamilyContext.getKeyLength());
-            columnFamilyContext.wrapValueView(value);
+            final int valueLength = cached ? readCachedValue(transaction) : readValue(transaction);
+            columnFamilyContext.wrapReadValueView(valueLength);
           });
       final var valueBuffer = columnFamilyContext.getValueView();
       if (valueBuffer != null) {
@@ -225,10 +231,8 @@ class TransactionalColumnFamily<
           transaction -> {
             columnFamilyContext.writeKey(key);
             assertKeyExists(transaction);
-            transaction.delete(
-                transactionDb.getDefaultNativeHandle(),
-                columnFamilyContext.getKeyBufferArray(),
-                columnFamilyContext.getKeyLength());
+            deleteKey(transaction);
+            addToEntryCounter(transaction, -1);
           });
     }
   }
@@ -239,34 +243,45 @@ class TransactionalColumnFamily<
       ensureInOpenTransaction(
           transaction -> {
             columnFamilyContext.writeKey(key);
-            transaction.delete(
-                transactionDb.getDefaultNativeHandle(),
-                columnFamilyContext.getKeyBufferArray(),
-                columnFamilyContext.getKeyLength());
+            final boolean isExistingEntry =
+                entryCounter != null && getValueLength(transaction) != ZeebeTransaction.NOT_FOUND;
+            deleteKey(transaction);
+            if (isExistingEntry) {
+              addToEntryCounter(transaction, -1);
+            }
           });
     }
   }
 
+  @Override
+  public long deletePrefix(final DbKey prefix) {
+    try (final var timer = metrics.measureDeleteLatency()) {
+      final var deleted = new MutableLong();
+      ensureInOpenTransaction(transaction -> deleted.set(deleteEachInPrefix(transaction, prefix)));
+      return deleted.get();
+    }
+  }
+
   @Override
   public boolean exists(final KeyType key) {
     try (final var timer = metrics.measureGetLatency()) {
+      existingValueLength = ZeebeTransaction.NOT_FOUND;
       ensureInOpenTransaction(
           transaction -> {
             columnFamilyContext.writeKey(key);
-            final byte[] value =
-                transaction.get(
-                    transactionDb.getDefaultNativeHandle(),
-                    transactionDb.getReadOptionsNativeHandle(),
-                    columnFamilyContext.getKeyBufferArray(),
-                    columnFamilyContext.getKeyLength());
-            columnFamilyContext.wrapValueView(value);
+            existingValueLength = getValueLength(transaction);
           });
-      return !columnFamilyContext.isValueViewEmpty();
+      // empty values are treated like missing ones, as when reading them
+      return existingValueLength > 0;
     }
   }
 
   @Override
   public boolean isEmpty() {
+    if (entryCounter != null) {
+      return count() == 0;
+    }
+
     final AtomicBoolean isEmpty = new AtomicBoolean(true);
     ensureInOpenTransaction(
         transaction ->
@@ -282,6 +297,17 @@ class TransactionalColumnFamily<
 
   @Override
   public long count() {
+    if (entryCounter != null) {
+      final var count = new MutableLong();
+      ensureInOpenTransaction(transaction -> count.set(entryCounter.get(transaction)));
+      return count.get();
+    }
+
+    return countEntries();
+  }
+
+  /** Counts the entries by iterating over them, even if they are counted by an entry counter. */
+  long countEntries() {
     return countEachInPrefix(new DbNullKey());
   }
 
@@ -292,7 +318,7 @@ class TransactionalColumnFamily<
 
   private void assertForeignKeysExist(final ZeebeTransaction transaction, final Object... keys)
       throws Exception {
-    if (!consistencyChecksSettings.enableForeignKeyChecks()) {
+    if (!consistencyChecksSettings.enableForeignKeyChecks() || transaction.isBulkWrites()) {
       return;
     }
     for (final var key : keys) {
@@ -306,13 +332,8 @@ class TransactionalColumnFamily<
     if (!consistencyChecksSettings.enablePreconditions()) {
       return;
     }
-    final var value =
-        transaction.get(
-            transactionDb.getDefaultNativeHandle(),
-            transactionDb.getReadOptionsNativeHandle(),
-            columnFamilyContext.getKeyBufferArray(),
-            columnFamilyContext.getKeyLength());
-    if (value != null) {
+    final var valueLength = getValueLength(transaction);
+    if (valueLength != ZeebeTransaction.NOT_FOUND) {
       throw new ZeebeDbInconsistentException(
           "Key " + keyInstance + " in ColumnFamily " + columnFamily + " already exists");
     }
@@ -322,18 +343,117 @@ class TransactionalColumnFamily<
     if (!consistencyChecksSettings.enablePreconditions()) {
       return;
     }
-    final var value =
-        transaction.get(
-            transactionDb.getDefaultNativeHandle(),
-            transactionDb.getReadOptionsNativeHandle(),
-            columnFamilyContext.getKeyBufferArray(),
-            columnFamilyContext.getKeyLength());
-    if (value == null) {
+    final var valueLength = getValueLength(transaction);
+    if (valueLength == ZeebeTransaction.NOT_FOUND) {
       throw new ZeebeDbInconsistentException(
           "Key " + keyInstance + " in ColumnFamily " + columnFamily + " does not exist");
     }
   }
 
+  private void putValue(final ZeebeTransaction transaction, final int valueLength)
+      throws Exception {
+    transaction.put(
+        nativeHandle,
+        columnFamilyContext.getKeyBufferArray(),
+        columnFamilyContext.getKeyLength(),
+        columnFamilyContext.getValueBufferArray(),
+        valueLength);
+    if (cached) {
+      transaction.cacheWrite(
+          columnFamilyContext.getKeyBufferArray(),
+          columnFamilyContext.getKeyLength(),
+          columnFamilyContext.getValueBufferArray(),
+          valueLength);
+    }
+  }
+
+  private void deleteKey(final ZeebeTransaction transaction) throws Exception {
+    transaction.delete(
+        nativeHandle,
+        columnFamilyContext.getKeyBufferArray(),
+        columnFamilyContext.getKeyLength());
+    if (cached) {
+      transaction.cacheDelete(
+          columnFamilyContext.getKeyBufferArray(), columnFamilyContext.getKeyLength());
+    }
+    metrics.recordDeletes(1);
+  }
+
+  /**
+   * Adds the given number of entries to the entry counter, if the entries are counted. Insert,
+   * update and delete of an existing key rely on their contract whether the key exists, as checked
+   * by the preconditions, so only upsert and delete if exists read the key to count it.
+   */
+  private void addToEntryCounter(final ZeebeTransaction transaction, final long delta)
+      throws Exception {
+    if (entryCounter != null) {
+      entryCounter.add(transaction, delta);
+    }
+  }
+
+  /** Reads the value of the current key into the read value buffer, bypassing the cache. */
+  private int readValue(final ZeebeTransaction transaction) throws Exception {
+    return transaction.get(
+        nativeHandle,
+        transactionDb.getReadOptionsNativeHandle(),
+        columnFamilyContext.getKeyBufferArray(),
+        columnFamilyContext.getKeyLength(),
+        columnFamilyContext.getReadValueBuffer());
+  }
+
+  /**
+   * Reads the value of the current key into the read value buffer, from the state cache if
+   * possible. Values read from RocksDB are added to the cache.
+   */
+  private int readCachedValue(final ZeebeTransaction transaction) throws Exception {
+    final byte[] key = columnFamilyContext.getKeyBufferArray();
+    final int keyLength = columnFamilyContext.getKeyLength();
+    final byte[] cachedValue = transaction.getCached(ByteBuffer.wrap(key, 0, keyLength));
+    if (cachedValue != ZeebeTransaction.NOT_CACHED) {
+      metrics.recordCacheHit();
+      if (cachedValue == null) {
+        return ZeebeTransaction.NOT_FOUND;
+      }
+      columnFamilyContext.getReadValueBuffer().putBytes(0, cachedValue);
+      return cachedValue.length;
+    }
+
+    metrics.recordCacheMiss();
+    final long cacheCommits = transaction.getCacheCommits();
+    final int valueLength = readValue(transaction);
+    if (valueLength != ZeebeTransaction.NOT_FOUND) {
+      transaction.populateCache(
+          key,
+          keyLength,
+          columnFamilyContext.getReadValueBuffer().byteArray(),
+          valueLength,
+          cacheCommits);
+    }
+    return valueLength;
+  }
+
+  /**
+   * Returns the length of the value of the current key, without reading it into the read value
+   * buffer, such that a previously read value remains valid.
+   */
+  private int getValueLength(final ZeebeTransaction transaction) throws Exception {
+    if (cached) {
+      final byte[] cachedValue =
+          transaction.getCached(
+              ByteBuffer.wrap(
+                  columnFamilyContext.getKeyBufferArray(), 0, columnFamilyContext.getKeyLength()));
+      if (cachedValue != ZeebeTransaction.NOT_CACHED) {
+        return cachedValue != null ? cachedValue.length : ZeebeTransaction.NOT_FOUND;
+      }
+    }
+
+    return transaction.getValueLength(
+        nativeHandle,
+        transactionDb.getReadOptionsNativeHandle(),
+        columnFamilyContext.getKeyBufferArray(),
+        columnFamilyContext.getKeyLength());
+  }
+
   /**
    * Make sure to use this method in all public methods of this class to ensure that all operations
    * on the column family occur inside a transaction. Within private methods we can assume that a
@@ -346,7 +466,16 @@ class TransactionalColumnFamily<
 
   RocksIterator newIterator(final TransactionContext context, final ReadOptions options) {
     final var currentTransaction = (ZeebeTransaction) context.getCurrentTransaction();
-    return currentTransaction.newIterator(options, transactionDb.getDefaultHandle());
+    return currentTransaction.newIterator(options, handle);
+  }
+
+  private PrefixReadOptions acquirePrefixReadOptions(
+      final byte[] prefixKey, final int prefixLength) {
+    final var currentTransaction = (ZeebeTransaction) context.getCurrentTransaction();
+    return currentTransaction.acquirePrefixReadOptions(
+        prefixKey,
+        prefixLength,
+        transactionDb.isPrefixSeek(columnFamily.getValue(), prefixLength));
   }
 
   /**
@@ -380,19 +509,17 @@ class TransactionalColumnFamily<
       Objects.requireNonNull(visitor);
 
       /*
-       * NOTE: it doesn't seem possible in Java RocksDB to set a flexible prefix extractor on
-       * iterators at the moment, so using prefixes seem to be mostly related to skipping files that
-       * do not contain keys with the given prefix (which is useful anyway), but it will still iterate
-       * over all keys contained in those files, so we still need to make sure the key actually
-       * matches the prefix.
-       *
-       * <p>While iterating over subsequent keys we have to validate it.
+       * NOTE: the iterator is bounded by the smallest key after all keys with the given prefix,
+       * so RocksDB stops at the end of the prefix instead of reading the rest of the data block.
+       * Prefix bloom filters are only used if the prefix covers the prefix extractor of the
+       * physical column family, see PrefixReadOptionsPool. We still validate that subsequent keys
+       * match the prefix, which is cheap and keeps the iteration correct regardless of the bound.
        */
       columnFamilyContext.withPrefixKey(
           prefix,
           (prefixKey, prefixLength) -> {
-            try (final RocksIterator iterator =
-                newIterator(context, transactionDb.getPrefixReadOptions())) {
+            try (final var readOptions = acquirePrefixReadOptions(prefixKey, prefixLength);
+                final RocksIterator iterator = newIterator(context, readOptions.readOptions())) {
 
               boolean shouldVisitNext = true;
 
@@ -427,19 +554,17 @@ class TransactionalColumnFamily<
     final var count = new AtomicLong(0);
 
     /*
-     * NOTE: it doesn't seem possible in Java RocksDB to set a flexible prefix extractor on
-     * iterators at the moment, so using prefixes seem to be mostly related to skipping files that
-     * do not contain keys with the given prefix (which is useful anyway), but it will still iterate
-     * over all keys contained in those files, so we still need to make sure the key actually
-     * matches the prefix.
-     *
-     * <p>While iterating over subsequent keys we have to validate it.
+     * NOTE: the iterator is bounded by the smallest key after all keys with the given prefix,
+     * so RocksDB stops at the end of the prefix instead of reading the rest of the data block.
+     * Prefix bloom filters are only used if the prefix covers the prefix extractor of the
+     * physical column family, see PrefixReadOptionsPool. We still validate that subsequent keys
+     * match the prefix, which is cheap and keeps the iteration correct regardless of the bound.
      */
     columnFamilyContext.withPrefixKey(
         prefix,
         (prefixKey, prefixLength) -> {
-          try (final RocksIterator iterator =
-              newIterator(context, transactionDb.getPrefixReadOptions())) {
+          try (final var readOptions = acquirePrefixReadOptions(prefixKey, prefixLength);
+              final RocksIterator iterator = newIterator(context, readOptions.readOptions())) {
 
             for (iterator.seek(columnFamilyContext.keyWithColumnFamily(seekTarget));
                 iterator.isValid();
@@ -457,6 +582,56 @@ class TransactionalColumnFamily<
     return count.get();
   }
 
+  /**
+   * Deletes all entries with the given prefix. Like {@link #countEachInPrefix(DbKey)}, it only
+   * reads the keys, which are deleted as returned by the iterator.
+   *
+   * <p>RocksDB does not support range deletions within transactions, so each key is deleted on its
+   * own, which keeps the deletes visible to subsequent reads of the transaction and allows rolling
+   * them back to a save point.
+   *
+   * @param prefix of all keys that are deleted
+   * @return the number of deleted entries
+   */
+  private long deleteEachInPrefix(final ZeebeTransaction transaction, final DbKey prefix)
+      throws Exception {
+    final var seekTarget = Objects.requireNonNull(prefix);
+    final var deleted = new MutableLong();
+
+    columnFamilyContext.withPrefixKey(
+        prefix,
+        (prefixKey, prefixLength) -> {
+          try (final var readOptions = acquirePrefixReadOptions(prefixKey, prefixLength);
+              final RocksIterator iterator = newIterator(context, readOptions.readOptions())) {
+
+            for (iterator.seek(columnFamilyContext.keyWithColumnFamily(seekTarget));
+                iterator.isValid();
+                iterator.next()) {
+              final byte[] keyBytes = iterator.key();
+              if (!startsWith(prefixKey, 0, prefixLength, keyBytes, 0, keyBytes.length)) {
+                break;
+              }
+
+              transaction.delete(nativeHandle, keyBytes, keyBytes.length);
+              if (cached) {
+                transaction.cacheDelete(keyBytes, keyBytes.length);
+              }
+              deleted.increment();
+            }
+          } catch (final Exception e) {
+            LangUtil.rethrowUnchecked(e);
+          }
+        });
+
+    if (deleted.get() > 0) {
+      if (entryCounter != null) {
+        entryCounter.add(transaction, -deleted.get());
+      }
+      metrics.recordDeletes(deleted.get());
+    }
+    return deleted.get();
+  }
+
   private boolean visit(
       final KeyType keyInstance,
       final ValueType valueInstance,
@@ -9,28 +9,67 @@ package io.camunda.zeebe.db.impl.rocksdb.transaction;
 
 import static io.camunda.zeebe.db.impl.rocksdb.transaction.RocksDbInternal.isRocksDbExceptionRecoverable;
 
+import io.camunda.zeebe.db.TransactionContext;
+import io.camunda.zeebe.db.TransactionListener;
 import io.camunda.zeebe.db.TransactionOperation;
 import io.camunda.zeebe.db.ZeebeDbException;
 import io.camunda.zeebe.db.ZeebeDbTransaction;
+import io.camunda.zeebe.db.impl.rocksdb.transaction.PrefixReadOptionsPool.PrefixReadOptions;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.agrona.ExpandableArrayBuffer;
 import org.agrona.LangUtil;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
 import org.rocksdb.Transaction;
 
 public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
 
+  /** Returned by reads into a buffer if the key does not exist. */
+  public static final int NOT_FOUND = RocksDB.NOT_FOUND;
+
+  /** Returned by {@link #getCached(ByteBuffer)} if the value of a key is not cached. */
+  static final byte[] NOT_CACHED = new byte[0];
+
+  private static final byte[] EMPTY_VALUE = new byte[0];
+
   private final long nativeHandle;
   private final TransactionRenovator transactionRenovator;
+  // null if the state cache is disabled
+  private final StateCache stateCache;
+  // uncommitted writes to cached column families; a null value marks a deleted key
+  private final Map<ByteBuffer, byte[]> cachedWrites = new HashMap<>();
+  // per save point, the latest one first: the cached writes before it of the keys written since;
+  // NOT_CACHED if there was none
+  private final Deque<Map<ByteBuffer, byte[]>> cachedWritesBeforeSavePoints = new ArrayDeque<>();
+  private final PrefixReadOptionsPool prefixReadOptionsPool = new PrefixReadOptionsPool();
+  private final List<TransactionListener> listeners = new ArrayList<>();
 
   private boolean inCurrentTransaction;
+  private boolean bulkWrites;
   private Transaction transaction;
 
   public ZeebeTransaction(
       final Transaction transaction, final TransactionRenovator transactionRenovator) {
+    this(transaction, transactionRenovator, null);
+  }
+
+  ZeebeTransaction(
+      final Transaction transaction,
+      final TransactionRenovator transactionRenovator,
+      final StateCache stateCache) {
     this.transactionRenovator = transactionRenovator;
     this.transaction = transaction;
+    this.stateCache = stateCache;
     try {
       nativeHandle = RocksDbInternal.nativeHandle.getLong(transaction);
     } catch (final Exception ex) {
@@ -45,6 +84,11 @@ public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
       final byte[] value,
       final int valueLength)
       throws Exception {
+    if (bulkWrites && RocksDbInternal.putUntrackedWithHandle != null) {
+      putUntracked(columnFamilyHandle, key, keyLength, value, valueLength);
+      return;
+    }
+
     try {
       final int keyOffset = 0;
       final int valueOffset = 0;
@@ -80,8 +124,73 @@ public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
     }
   }
 
+  /**
+   * Reads the value of the given key into the given buffer, starting at offset 0, instead of
+   * allocating a new array for it. The buffer is grown if the value does not fit into it.
+   *
+   * <p>Falls back to {@link #get(long, long, byte[], int)} and copies the value if the RocksDB
+   * version in use cannot read into an existing array.
+   *
+   * @return the length of the value, or {@link #NOT_FOUND} if the key does not exist
+   */
+  public int get(
+      final long columnFamilyHandle,
+      final long readOptionsHandle,
+      final byte[] key,
+      final int keyLength,
+      final ExpandableArrayBuffer valueBuffer)
+      throws Exception {
+    if (RocksDbInternal.getIntoArrayWithHandle == null) {
+      final byte[] value = get(columnFamilyHandle, readOptionsHandle, key, keyLength);
+      if (value == null) {
+        return NOT_FOUND;
+      }
+
+      valueBuffer.putBytes(0, value);
+      return value.length;
+    }
+
+    int valueLength =
+        getIntoArray(
+            columnFamilyHandle, readOptionsHandle, key, keyLength, valueBuffer.byteArray());
+    if (valueLength > valueBuffer.capacity()) {
+      // only a part of the value was read, so grow the buffer and read it again
+      valueBuffer.checkLimit(valueLength);
+      valueLength =
+          getIntoArray(
+              columnFamilyHandle, readOptionsHandle, key, keyLength, valueBuffer.byteArray());
+    }
+
+    return valueLength;
+  }
+
+  /**
+   * Returns the length of the value of the given key, without copying the value if the RocksDB
+   * version in use allows it.
+   *
+   * @return the length of the value, or {@link #NOT_FOUND} if the key does not exist
+   */
+  public int getValueLength(
+      final long columnFamilyHandle,
+      final long readOptionsHandle,
+      final byte[] key,
+      final int keyLength)
+      throws Exception {
+    if (RocksDbInternal.getIntoArrayWithHandle == null) {
+      final byte[] value = get(columnFamilyHandle, readOptionsHandle, key, keyLength);
+      return value == null ? NOT_FOUND : value.length;
+    }
+
+    return getIntoArray(columnFamilyHandle, readOptionsHandle, key, keyLength, EMPTY_VALUE);
+  }
+
   public void delete(final long columnFamilyHandle, final byte[] key, final int keyLength)
       throws Exception {
+    if (bulkWrites && RocksDbInternal.removeUntrackedWithHandle != null) {
+      deleteUntracked(columnFamilyHandle, key, keyLength);
+      return;
+    }
+
     try {
       RocksDbInternal.removeWithHandle.invokeExact(
           nativeHandle, key, keyLength, columnFamilyHandle, false);
@@ -94,8 +203,85 @@ public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
     return transaction.getIterator(options, handle);
   }
 
+  /**
+   * Acquires pooled read options for iterating over the keys with the given prefix, which must be
+   * closed once the iterator is closed. See {@link PrefixReadOptionsPool}.
+   */
+  PrefixReadOptions acquirePrefixReadOptions(
+      final byte[] prefix, final int prefixLength, final boolean prefixSeek) {
+    return prefixReadOptionsPool.acquire(prefix, prefixLength, prefixSeek);
+  }
+
+  /**
+   * Returns the value of the given key as seen by this transaction, if it is known without reading
+   * from RocksDB: either the uncommitted write of this transaction, or the cached committed value.
+   * The returned array must not be modified.
+   *
+   * @return the value, null if this transaction deleted the key, or {@link #NOT_CACHED}
+   */
+  byte[] getCached(final ByteBuffer key) {
+    final byte[] write = cachedWrites.getOrDefault(key, NOT_CACHED);
+    if (write != NOT_CACHED) {
+      return write;
+    }
+
+    final byte[] value = stateCache.get(key);
+    return value != null ? value : NOT_CACHED;
+  }
+
+  /**
+   * @return a token to pass to {@link #populateCache(byte[], int, byte[], int, long)}, which must
+   *     be obtained before reading the value from RocksDB
+   */
+  long getCacheCommits() {
+    return stateCache.commits();
+  }
+
+  /** Caches a committed value which was read from RocksDB; the given arrays are copied. */
+  void populateCache(
+      final byte[] key,
+      final int keyLength,
+      final byte[] value,
+      final int valueLength,
+      final long cacheCommits) {
+    stateCache.populate(
+        ByteBuffer.wrap(Arrays.copyOf(key, keyLength)),
+        Arrays.copyOf(value, valueLength),
+        cacheCommits);
+  }
+
+  /** Remembers a write to a cached column family, which is published on commit. */
+  void cacheWrite(
+      final byte[] key, final int keyLength, final byte[] value, final int valueLength) {
+    putCachedWrite(
+        ByteBuffer.wrap(Arrays.copyOf(key, keyLength)), Arrays.copyOf(value, valueLength));
+  }
+
+  /** Remembers a delete in a cached column family, which is published on commit. */
+  void cacheDelete(final byte[] key, final int keyLength) {
+    putCachedWrite(ByteBuffer.wrap(Arrays.copyOf(key, keyLength)), null);
+  }
+
+  /** Enables or disables bulk writes, see {@link TransactionContext#setBulkWrites(boolean)}. */
+  void setBulkWrites(final boolean bulkWrites) {
+    this.bulkWrites = bulkWrites;
+  }
+
+  /**
+   * Adds a listener which is notified on commit, rollback and save points, see {@link
+   * TransactionContext#addTransactionListener(TransactionListener)}.
+   */
+  void addListener(final TransactionListener listener) {
+    listeners.add(listener);
+  }
+
+  boolean isBulkWrites() {
+    return bulkWrites;
+  }
+
   void resetTransaction() {
     transaction = transactionRenovator.renewTransaction(transaction);
+    clearCachedWrites();
     inCurrentTransaction = true;
   }
 
@@ -142,18 +328,154 @@ public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
     }
   }
 
+  @Override
+  public void setSavePoint() throws RocksDBException {
+    try {
+      transaction.setSavePoint();
+      cachedWritesBeforeSavePoints.push(new HashMap<>());
+    } catch (final RocksDBException rdbex) {
+      final String errorMessage = "Unexpected error occurred while setting a save point.";
+      if (isRocksDbExceptionRecoverable(rdbex)) {
+        throw new ZeebeDbException(errorMessage, rdbex);
+      }
+      throw rdbex;
+    }
+    for (final var listener : listeners) {
+      listener.onSavePoint();
+    }
+  }
+
+  @Override
+  public void rollbackToSavePoint() throws RocksDBException {
+    if (cachedWritesBeforeSavePoints.isEmpty()) {
+      throw new IllegalStateException(
+          "Expected to roll back to a save point, but all save points set since the last roll "
+              + "back or commit were already rolled back");
+    }
+
+    try {
+      transaction.rollbackToSavePoint();
+      // a key first written after this save point has the same value before it as before any
+      // earlier save point, so the undo maps of the earlier save points stay valid
+      cachedWritesBeforeSavePoints
+          .pop()
+          .forEach(
+              (key, value) -> {
+                if (value == NOT_CACHED) {
+                  cachedWrites.remove(key);
+                } else {
+                  cachedWrites.put(key, value);
+                }
+              });
+    } catch (final RocksDBException rdbex) {
+      final String errorMessage = "Unexpected error occurred during RocksDB save point rollback.";
+      if (isRocksDbExceptionRecoverable(rdbex)) {
+        throw new ZeebeDbException(errorMessage, rdbex);
+      }
+      throw rdbex;
+    }
+    for (final var listener : listeners) {
+      listener.onRollbackToSavePoint();
+    }
+  }
+
   void commitInternal() throws RocksDBException {
     inCurrentTransaction = false;
-    transaction.commit();
+    try {
+      transaction.commit();
+    } catch (final RocksDBException | RuntimeException e) {
+      // the cached writes are kept, such that they are still published if the commit is retried,
+      // but the keys are invalidated in case the failed commit was partially applied
+      if (!cachedWrites.isEmpty()) {
+        stateCache.invalidate(cachedWrites.keySet());
+      }
+      throw e;
+    }
+
+    if (!cachedWrites.isEmpty()) {
+      stateCache.publish(cachedWrites);
+    }
+    clearCachedWrites();
+    for (final var listener : listeners) {
+      listener.onCommit();
+    }
   }
 
   void rollbackInternal() throws RocksDBException {
     inCurrentTransaction = false;
+    clearCachedWrites();
+    for (final var listener : listeners) {
+      listener.onRollback();
+    }
     transaction.rollback();
   }
 
   @Override
   public void close() {
     transaction.close();
+    prefixReadOptionsPool.close();
+  }
+
+  private void putCachedWrite(final ByteBuffer key, final byte[] value) {
+    final var cachedWritesBeforeSavePoint = cachedWritesBeforeSavePoints.peek();
+    if (cachedWritesBeforeSavePoint != null && !cachedWritesBeforeSavePoint.containsKey(key)) {
+      cachedWritesBeforeSavePoint.put(key, cachedWrites.getOrDefault(key, NOT_CACHED));
+    }
+    cachedWrites.put(key, value);
+  }
+
+  private void clearCachedWrites() {
+    cachedWrites.clear();
+    cachedWritesBeforeSavePoints.clear();
+  }
+
+  private void putUntracked(
+      final long columnFamilyHandle,
+      final byte[] key,
+      final int keyLength,
+      final byte[] value,
+      final int valueLength) {
+    try {
+      RocksDbInternal.putUntrackedWithHandle.invokeExact(
+          nativeHandle, key, keyLength, value, valueLength, columnFamilyHandle);
+    } catch (final Throwable e) {
+      LangUtil.rethrowUnchecked(e);
+    }
+  }
+
+  private void deleteUntracked(
+      final long columnFamilyHandle, final byte[] key, final int keyLength) {
+    try {
+      RocksDbInternal.removeUntrackedWithHandle.invokeExact(
+          nativeHandle, key, keyLength, columnFamilyHandle);
+    } catch (final Throwable e) {
+      LangUtil.rethrowUnchecked(e);
+    }
+  }
+
+  private int getIntoArray(
+      final long columnFamilyHandle,
+      final long readOptionsHandle,
+      final byte[] key,
+      final int keyLength,
+      final byte[] value) {
+    try {
+      final int keyOffset = 0;
+      final int valueOffset = 0;
+      return (int)
+          RocksDbInternal.getIntoArrayWithHandle.invokeExact(
+              nativeHandle,
+              readOptionsHandle,
+              key,
+              keyOffset,
+              keyLength,
+              value,
+              valueOffset,
+              value.length,
+              columnFamilyHandle);
+    } catch (final Throwable e) {
+      LangUtil.rethrowUnchecked(e);
+      return NOT_FOUND; // unreachable
+    }
   }
 }
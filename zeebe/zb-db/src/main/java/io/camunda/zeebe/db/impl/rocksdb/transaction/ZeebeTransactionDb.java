@@ -15,6 +15,7 @@ import io.camunda.zeebe.db.DbValue;
 import io.camunda.zeebe.db.TransactionContext;
 import io.camunda.zeebe.db.ZeebeDb;
 import io.camunda.zeebe.db.ZeebeDbException;
+import io.camunda.zeebe.db.ZeebeDbInconsistentException;
 import io.camunda.zeebe.db.impl.DbNil;
 import io.camunda.zeebe.db.impl.FineGrainedColumnFamilyMetrics;
 import io.camunda.zeebe.db.impl.NoopColumnFamilyMetrics;
@@ -22,15 +23,21 @@ import io.camunda.zeebe.db.impl.rocksdb.Loggers;
 import io.camunda.zeebe.db.impl.rocksdb.RocksDbConfiguration;
 import io.camunda.zeebe.protocol.EnumValue;
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.rocksdb.Checkpoint;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.OptimisticTransactionDB;
+import org.rocksdb.Options;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
@@ -45,39 +52,61 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<? extends EnumVal
   private static final Logger LOG = Loggers.DB_LOGGER;
   private static final String ERROR_MESSAGE_CLOSE_RESOURCE =
       "Expected to close RocksDB resource successfully, but exception was thrown. Will continue to close remaining resources.";
+  // properties which are reported per physical column family, and are summed up over all of them;
+  // all others are either reported for the whole database or shared, e.g. the block cache usage
+  private static final Set<String> COLUMN_FAMILY_PROPERTIES =
+      Set.of(
+          "rocksdb.cur-size-all-mem-tables",
+          "rocksdb.cur-size-active-mem-table",
+          "rocksdb.size-all-mem-tables",
+          "rocksdb.estimate-table-readers-mem",
+          "rocksdb.total-sst-files-size",
+          "rocksdb.live-sst-files-size",
+          "rocksdb.num-entries-imm-mem-tables",
+          "rocksdb.estimate-num-keys",
+          "rocksdb.estimate-live-data-size",
+          "rocksdb.mem-table-flush-pending",
+          "rocksdb.num-entries-active-mem-table",
+          "rocksdb.num-deletes-active-mem-table",
+          "rocksdb.num-deletes-imm-mem-tables");
   private final OptimisticTransactionDB optimisticTransactionDB;
   private final List<AutoCloseable> closables;
-  private final ReadOptions prefixReadOptions;
   private final ReadOptions defaultReadOptions;
   private final WriteOptions defaultWriteOptions;
-  private final ColumnFamilyHandle defaultHandle;
-  private final long defaultNativeHandle;
+  private final ColumnFamilyLayout layout;
+  private final List<ColumnFamilyHandle> physicalHandles;
   private final ConsistencyChecksSettings consistencyChecksSettings;
   private final AccessMetricsConfiguration accessMetricsConfiguration;
+  private final Set<String> stateCacheColumnFamilies;
+  // null if the state cache is disabled
+  private final StateCache stateCache;
+  private final Set<String> countedColumnFamilies;
+  // values of the column families whose entry counters were already prepared
+  private final Set<Integer> preparedEntryCounters = new HashSet<>();
+  // used to prepare entry counters independently of the transactions of the callers
+  private TransactionContext entryCounterContext;
 
   protected ZeebeTransactionDb(
-      final ColumnFamilyHandle defaultHandle,
+      final ColumnFamilyLayout layout,
+      final List<ColumnFamilyHandle> physicalHandles,
       final OptimisticTransactionDB optimisticTransactionDB,
       final List<AutoCloseable> closables,
       final RocksDbConfiguration rocksDbConfiguration,
       final ConsistencyChecksSettings consistencyChecksSettings,
       final AccessMetricsConfiguration accessMetricsConfiguration) {
-    this.defaultHandle = defaultHandle;
-    defaultNativeHandle = getNativeHandle(defaultHandle);
+    this.layout = layout;
+    this.physicalHandles = physicalHandles;
     this.optimisticTransactionDB = optimisticTransactionDB;
     this.closables = closables;
     this.consistencyChecksSettings = consistencyChecksSettings;
     this.accessMetricsConfiguration = accessMetricsConfiguration;
+    stateCacheColumnFamilies = rocksDbConfiguration.getStateCacheColumnFamilies();
+    stateCache =
+        rocksDbConfiguration.getStateCacheSize() > 0 && !stateCacheColumnFamilies.isEmpty()
+            ? new StateCache(rocksDbConfiguration.getStateCacheSize())
+            : null;
+    countedColumnFamilies = rocksDbConfiguration.getCountedColumnFamilies();
 
-    prefixReadOptions =
-        new ReadOptions()
-            .setPrefixSameAsStart(true)
-            .setTotalOrderSeek(false)
-            // setting a positive value to read-ahead is only useful when using network storage with
-            // high latency, at the cost of making iterators more expensive (memory and computation
-            // wise)
-            .setReadaheadSize(0);
-    closables.add(prefixReadOptions);
     defaultReadOptions = new ReadOptions();
     closables.add(defaultReadOptions);
     defaultWriteOptions = new WriteOptions().setDisableWAL(rocksDbConfiguration.isWalDisabled());
@@ -93,25 +122,49 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<? extends EnumVal
           final ConsistencyChecksSettings consistencyChecksSettings,
           final AccessMetricsConfiguration metrics)
           throws RocksDBException {
-    final var cfDescriptors =
-        Arrays.asList( // todo: could consider using List.of
-            new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY, options.cfOptions()));
+    final var groups = rocksDbConfiguration.getColumnFamilyGroups();
+    // besides the default and the configured column families, we open all existing ones, as they
+    // may contain data of a previous layout which has to be moved
+    final Set<String> layoutNames = new LinkedHashSet<>();
+    layoutNames.add(new String(RocksDB.DEFAULT_COLUMN_FAMILY, StandardCharsets.UTF_8));
+    groups.forEach(group -> layoutNames.add(group.name()));
+    final Set<String> columnFamilyNames = new LinkedHashSet<>(layoutNames);
+    columnFamilyNames.addAll(listExistingColumnFamilies(options, path));
+
+    final List<ColumnFamilyDescriptor> cfDescriptors = new ArrayList<>();
+    for (final var name : columnFamilyNames) {
+      final var nameBytes = name.getBytes(StandardCharsets.UTF_8);
+      cfDescriptors.add(new ColumnFamilyDescriptor(nameBytes, options.cfOptions(name)));
+    }
     final List<ColumnFamilyHandle> cfHandles = new ArrayList<>();
     final OptimisticTransactionDB optimisticTransactionDB =
         OptimisticTransactionDB.open(options.dbOptions(), path, cfDescriptors, cfHandles);
     closables.add(optimisticTransactionDB);
 
-    if (cfHandles.size() != 1) {
+    if (cfHandles.size() != cfDescriptors.size()) {
       throw new IllegalStateException(
-          "Expected a handle for the default column family but found %d handles"
-              .formatted(cfHandles.size()));
+          "Expected a handle for each of the %d column families but found %d handles"
+              .formatted(cfDescriptors.size(), cfHandles.size()));
     }
+    closables.addAll(cfHandles);
 
-    final ColumnFamilyHandle defaultColumnFamilyHandle = cfHandles.getFirst();
-    closables.add(defaultColumnFamilyHandle);
+    final Map<String, ColumnFamilyHandle> handlesByName = new LinkedHashMap<>();
+    final var names = List.copyOf(columnFamilyNames);
+    for (int i = 0; i < names.size(); i++) {
+      handlesByName.put(names.get(i), cfHandles.get(i));
+    }
+    final var layout = new ColumnFamilyLayout(cfHandles.getFirst(), groups, handlesByName);
+    final var physicalHandles =
+        migrateLayout(
+            optimisticTransactionDB,
+            layout,
+            handlesByName,
+            layoutNames,
+            rocksDbConfiguration.isWalDisabled());
 
     return new ZeebeTransactionDb<>(
-        defaultColumnFamilyHandle,
+        layout,
+        physicalHandles,
         optimisticTransactionDB,
         closables,
         rocksDbConfiguration,
@@ -119,6 +172,48 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<? extends EnumVal
         metrics);
   }
 
+  private static List<String> listExistingColumnFamilies(
+      final RocksDbOptions options, final String path) throws RocksDBException {
+    if (!new File(path, "CURRENT").exists()) {
+      return List.of();
+    }
+
+    try (final var listOptions = new Options(options.dbOptions(), options.cfOptions())) {
+      return RocksDB.listColumnFamilies(listOptions, path).stream()
+          .map(name -> new String(name, StandardCharsets.UTF_8))
+          .toList();
+    }
+  }
+
+  /**
+   * Moves data which is not stored according to the layout, e.g. after enabling or changing column
+   * family groups, and drops physical column families which are not part of the layout anymore.
+   *
+   * @return the handles of the physical column families of the layout
+   */
+  private static List<ColumnFamilyHandle> migrateLayout(
+      final OptimisticTransactionDB db,
+      final ColumnFamilyLayout layout,
+      final Map<String, ColumnFamilyHandle> handlesByName,
+      final Set<String> layoutNames,
+      final boolean walDisabled)
+      throws RocksDBException {
+    try (final var writeOptions = new WriteOptions().setDisableWAL(walDisabled)) {
+      new ColumnFamilyLayoutMigration(db, layout, writeOptions).migrate(handlesByName.values());
+    }
+
+    final List<ColumnFamilyHandle> physicalHandles = new ArrayList<>();
+    for (final var entry : handlesByName.entrySet()) {
+      if (layoutNames.contains(entry.getKey())) {
+        physicalHandles.add(entry.getValue());
+      } else {
+        LOG.info("Dropping column family {}, which is not part of the layout", entry.getKey());
+        db.dropColumnFamily(entry.getValue());
+      }
+    }
+    return physicalHandles;
+  }
+
   static long getNativeHandle(final RocksObject object) {
     try {
       return RocksDbInternal.nativeHandle.getLong(object);
@@ -128,20 +223,25 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<? extends EnumVal
     }
   }
 
-  protected ReadOptions getPrefixReadOptions() {
-    return prefixReadOptions;
-  }
-
-  protected ColumnFamilyHandle getDefaultHandle() {
-    return defaultHandle;
+  /**
+   * Returns whether iterations over the given prefix of the given column family can use prefix
+   * seeks, i.e. whether the prefix covers the prefix extracted by the physical column family.
+   */
+  protected boolean isPrefixSeek(final int columnFamily, final int prefixLength) {
+    return prefixLength >= layout.prefixLengthOf(columnFamily);
   }
 
   protected long getReadOptionsNativeHandle() {
     return getNativeHandle(defaultReadOptions);
   }
 
-  protected long getDefaultNativeHandle() {
-    return defaultNativeHandle;
+  /** Returns the handle of the physical column family which stores the given logical one. */
+  protected ColumnFamilyHandle getColumnFamilyHandle(final int columnFamily) {
+    return layout.handleOf(columnFamily);
+  }
+
+  protected long getColumnFamilyNativeHandle(final int columnFamily) {
+    return layout.nativeHandleOf(columnFamily);
   }
 
   @Override
@@ -158,6 +258,7 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<? extends EnumVal
               new FineGrainedColumnFamilyMetrics(
                   accessMetricsConfiguration.partitionId(), columnFamily);
         };
+    prepareEntryCounter(columnFamily);
     return new TransactionalColumnFamily<>(
         this,
         consistencyChecksSettings,
@@ -165,7 +266,71 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<? extends EnumVal
         context,
         keyInstance,
         valueInstance,
-        metrics);
+        metrics,
+        stateCache != null && stateCacheColumnFamilies.contains(columnFamily.name()),
+        countedColumnFamilies.contains(columnFamily.name())
+            ? newEntryCounter(columnFamily.getValue())
+            : null);
+  }
+
+  private EntryCounter newEntryCounter(final int columnFamily) {
+    return new EntryCounter(
+        columnFamily,
+        layout.nativeHandleOf(EntryCounter.COUNTERS_PREFIX),
+        getReadOptionsNativeHandle());
+  }
+
+  /**
+   * Prepares the entry counter of the given column family, once per column family. If its entries
+   * are counted, but the counter was never stored, it is initialized by counting the entries. If
+   * consistency checks are enabled, an existing counter is compared with the actual count.
+   * Counters of column families which are not counted anymore are removed, as they are not
+   * maintained and would be outdated if counting is enabled again.
+   */
+  private synchronized void prepareEntryCounter(final ColumnFamilyNames columnFamily) {
+    if (!preparedEntryCounters.add(columnFamily.getValue())) {
+      return;
+    }
+
+    if (entryCounterContext == null) {
+      entryCounterContext = createContext();
+    }
+    final var counter = newEntryCounter(columnFamily.getValue());
+    final var isCounted = countedColumnFamilies.contains(columnFamily.name());
+    entryCounterContext.runInTransaction(
+        () -> {
+          final var transaction = (ZeebeTransaction) entryCounterContext.getCurrentTransaction();
+          if (!isCounted) {
+            if (counter.exists(transaction)) {
+              counter.delete(transaction);
+            }
+            return;
+          }
+
+          final var entries =
+              new TransactionalColumnFamily<>(
+                  this,
+                  consistencyChecksSettings,
+                  columnFamily,
+                  entryCounterContext,
+                  DbNullKey.INSTANCE,
+                  DbNil.INSTANCE,
+                  new NoopColumnFamilyMetrics(),
+                  false,
+                  null);
+          if (!counter.exists(transaction)) {
+            counter.set(transaction, entries.countEntries());
+            LOG.debug("Initialized entry counter of column family {}", columnFamily);
+          } else if (consistencyChecksSettings.enablePreconditions()) {
+            final long expected = entries.countEntries();
+            final long actual = counter.get(transaction);
+            if (expected != actual) {
+              throw new ZeebeDbInconsistentException(
+                  "Expected entry counter of column family %s to be %d, but was %d"
+                      .formatted(columnFamily, expected, actual));
+            }
+          }
+        });
   }
 
   @Override
@@ -184,7 +349,15 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<? extends EnumVal
   public Optional<String> getProperty(final String propertyName) {
     String propertyValue = null;
     try {
-      propertyValue = optimisticTransactionDB.getProperty(defaultHandle, propertyName);
+      if (physicalHandles.size() > 1 && COLUMN_FAMILY_PROPERTIES.contains(propertyName)) {
+        long sum = 0;
+        for (final var handle : physicalHandles) {
+          sum += optimisticTransactionDB.getLongProperty(handle, propertyName);
+        }
+        propertyValue = Long.toString(sum);
+      } else {
+        propertyValue = optimisticTransactionDB.getProperty(layout.defaultHandle(), propertyName);
+      }
     } catch (final RocksDBException rde) {
       LOG.debug(rde.getMessage(), rde);
     }
@@ -194,7 +367,7 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<? extends EnumVal
   @Override
   public TransactionContext createContext() {
     final Transaction transaction = optimisticTransactionDB.beginTransaction(defaultWriteOptions);
-    final ZeebeTransaction zeebeTransaction = new ZeebeTransaction(transaction, this);
+    final ZeebeTransaction zeebeTransaction = new ZeebeTransaction(transaction, this, stateCache);
     closables.add(zeebeTransaction);
     return new DefaultTransactionContext(zeebeTransaction);
   }
@@ -63,6 +63,44 @@ public final class DbStringColumnFamilyTest {
     assertThat(value.toString()).isEqualTo("baring");
   }
 
+  @Test
+  public void shouldGetValuesOfDifferentSizes() {
+    // given - values which are read into the same, growing buffer
+    final var largeValue = "x".repeat(4096);
+    upsertKeyValuePair("small", "value");
+    upsertKeyValuePair("large", largeValue);
+    upsertKeyValuePair("smaller", "v");
+
+    // when - then
+    key.wrapString("small");
+    assertThat(columnFamily.get(key).toString()).isEqualTo("value");
+    key.wrapString("large");
+    assertThat(columnFamily.get(key).toString()).isEqualTo(largeValue);
+    key.wrapString("smaller");
+    assertThat(columnFamily.get(key).toString()).isEqualTo("v");
+    key.wrapString("missing");
+    assertThat(columnFamily.get(key)).isNull();
+  }
+
+  @Test
+  public void shouldUpdateWithReadValue() {
+    // given
+    upsertKeyValuePair("foo", "baring");
+    upsertKeyValuePair("bar", "other");
+    key.wrapString("foo");
+    final var readValue = columnFamily.get(key);
+
+    // when - writing back the value which views the read buffer
+    key.wrapString("bar");
+    columnFamily.update(key, readValue);
+
+    // then
+    assertThat(columnFamily.exists(key)).isTrue();
+    assertThat(columnFamily.get(key).toString()).isEqualTo("baring");
+    key.wrapString("foo");
+    assertThat(columnFamily.get(key).toString()).isEqualTo("baring");
+  }
+
   @Test
   public void shouldUseForeachValue() {
     // given
@@ -0,0 +1,162 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.db.impl;
+
+import io.camunda.zeebe.db.AccessMetricsConfiguration;
+import io.camunda.zeebe.db.AccessMetricsConfiguration.Kind;
+import io.camunda.zeebe.db.ColumnFamily;
+import io.camunda.zeebe.db.ConsistencyChecksSettings;
+import io.camunda.zeebe.db.TransactionContext;
+import io.camunda.zeebe.db.ZeebeDb;
+import io.camunda.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import io.camunda.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
+import io.camunda.zeebe.protocol.EnumValue;
+import io.camunda.zeebe.util.FileUtil;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.agrona.collections.MutableLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the cleanup of scopes under high churn, as done by the engine when an element instance
+ * is removed together with its variables: every operation creates a scope with a few entries,
+ * deletes all entries of the scope, and iterates over the live scope which follows it, such that
+ * the iteration has to skip the tombstones of the deleted scopes. The entries of a scope are either
+ * deleted with {@link ColumnFamily#deletePrefix(io.camunda.zeebe.db.DbKey)} or by visiting and
+ * deleting each of them, as done before.
+ *
+ * <p>Run it via {@link #main(String[])}, which compares both ways of deleting a scope. It is not
+ * run as a test, as no reference score was measured for it in CI.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(
+    value = 1,
+    jvmArgs = {"-Xmx1g", "-Xms1g"})
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class DeletePrefixPerformanceTest {
+  private static final int CHURNED_SCOPES = 100_000;
+  private static final int ENTRIES_PER_SCOPE = 10;
+  private static final int VALUE_SIZE = 128;
+  // the live scope is ordered after all churned ones
+  private static final long LIVE_SCOPE = Long.MAX_VALUE;
+
+  @Param({"false", "true"})
+  public boolean deletePrefix;
+
+  private Path directory;
+  private ZeebeDb<TestColumnFamilies> zeebeDb;
+  private TransactionContext context;
+  private ColumnFamily<DbCompositeKey<DbLong, DbString>, DbString> variables;
+  private DbLong scopeKey;
+  private DbString variableName;
+  private DbString variableValue;
+  private DbCompositeKey<DbLong, DbString> scopeVariableKey;
+  private final MutableLong visited = new MutableLong();
+  private long nextScope;
+
+  @Setup
+  public void setup() throws IOException {
+    directory = Files.createTempDirectory("delete-prefix");
+    zeebeDb =
+        new ZeebeRocksDbFactory<TestColumnFamilies>(
+                new RocksDbConfiguration(),
+                new ConsistencyChecksSettings(false, false),
+                new AccessMetricsConfiguration(Kind.NONE, 1))
+            .createDb(directory.toFile());
+    context = zeebeDb.createContext();
+
+    scopeKey = new DbLong();
+    variableName = new DbString();
+    variableValue = new DbString();
+    scopeVariableKey = new DbCompositeKey<>(scopeKey, variableName);
+    variables =
+        zeebeDb.createColumnFamily(
+            TestColumnFamilies.VARIABLES, context, scopeVariableKey, variableValue);
+
+    variableValue.wrapString("v".repeat(VALUE_SIZE));
+    context.runInTransaction(() -> createScope(LIVE_SCOPE));
+    for (int scope = 0; scope < CHURNED_SCOPES; scope++) {
+      churnScope();
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    zeebeDb.close();
+    FileUtil.deleteFolder(directory);
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(DeletePrefixPerformanceTest.class.getName())
+                .build())
+        .run();
+  }
+
+  @Benchmark
+  public long measureChurn() {
+    churnScope();
+
+    visited.set(0);
+    scopeKey.wrapLong(LIVE_SCOPE);
+    variables.whileEqualPrefix(scopeKey, (key, value) -> visited.increment());
+    return visited.get();
+  }
+
+  private void churnScope() {
+    final long scope = nextScope++;
+    context.runInTransaction(() -> createScope(scope));
+    context.runInTransaction(() -> deleteScope(scope));
+  }
+
+  private void createScope(final long scope) {
+    scopeKey.wrapLong(scope);
+    for (int entry = 0; entry < ENTRIES_PER_SCOPE; entry++) {
+      variableName.wrapString("variable-" + entry);
+      variables.insert(scopeVariableKey, variableValue);
+    }
+  }
+
+  private void deleteScope(final long scope) {
+    scopeKey.wrapLong(scope);
+    if (deletePrefix) {
+      variables.deletePrefix(scopeKey);
+    } else {
+      variables.whileEqualPrefix(scopeKey, (key, value) -> variables.deleteExisting(key));
+    }
+  }
+
+  private enum TestColumnFamilies implements EnumValue {
+    VARIABLES;
+
+    @Override
+    public int getValue() {
+      return ordinal();
+    }
+  }
+}
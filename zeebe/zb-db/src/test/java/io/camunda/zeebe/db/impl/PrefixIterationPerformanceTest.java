@@ -0,0 +1,167 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.db.impl;
+
+import io.camunda.zeebe.db.AccessMetricsConfiguration;
+import io.camunda.zeebe.db.AccessMetricsConfiguration.Kind;
+import io.camunda.zeebe.db.ColumnFamily;
+import io.camunda.zeebe.db.ConsistencyChecksSettings;
+import io.camunda.zeebe.db.TransactionContext;
+import io.camunda.zeebe.db.ZeebeDb;
+import io.camunda.zeebe.db.impl.rocksdb.ColumnFamilyGroup;
+import io.camunda.zeebe.db.impl.rocksdb.ColumnFamilyGroup.AccessPattern;
+import io.camunda.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import io.camunda.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
+import io.camunda.zeebe.protocol.EnumValue;
+import io.camunda.zeebe.util.FileUtil;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.agrona.collections.MutableLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures prefix iterations over a large state, as done by the engine to collect the variables
+ * of a scope or to visit the children of an element instance. The prefix length of the column
+ * family group is a parameter: with 8 bytes, only the column family prefix is extracted for the
+ * bloom filters, whereas 16 bytes also cover the scope key.
+ *
+ * <p>Run it via {@link #main(String[])}, which compares both prefix lengths. It is not run as a
+ * test, as no reference score was measured for it in CI.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(
+    value = 1,
+    jvmArgs = {"-Xmx1g", "-Xms1g"})
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class PrefixIterationPerformanceTest {
+  private static final int SCOPE_COUNT = 50_000;
+  private static final int ENTRIES_PER_SCOPE = 10;
+  private static final int VALUE_SIZE = 128;
+
+  @Param({"8", "16"})
+  public int prefixLength;
+
+  private Path directory;
+  private ZeebeDb<TestColumnFamilies> zeebeDb;
+  private ColumnFamily<DbCompositeKey<DbLong, DbLong>, DbNil> children;
+  private ColumnFamily<DbCompositeKey<DbLong, DbString>, DbString> variables;
+  private DbLong scopeKey;
+  private final MutableLong visited = new MutableLong();
+
+  @Setup
+  public void setup() throws IOException {
+    directory = Files.createTempDirectory("prefix-iteration");
+    final var group =
+        ColumnFamilyGroup.of(
+                "scoped",
+                AccessPattern.POINT_LOOKUP,
+                TestColumnFamilies.CHILDREN,
+                TestColumnFamilies.VARIABLES)
+            .withPrefixLength(prefixLength);
+    zeebeDb =
+        new ZeebeRocksDbFactory<TestColumnFamilies>(
+                new RocksDbConfiguration().setColumnFamilyGroups(List.of(group)),
+                new ConsistencyChecksSettings(false, false),
+                new AccessMetricsConfiguration(Kind.NONE, 1))
+            .createDb(directory.resolve("runtime").toFile());
+
+    final TransactionContext context = zeebeDb.createContext();
+    scopeKey = new DbLong();
+    final var childKey = new DbLong();
+    final var variableName = new DbString();
+    final var variableValue = new DbString();
+    final var scopeChildKey = new DbCompositeKey<>(scopeKey, childKey);
+    final var scopeVariableKey = new DbCompositeKey<>(scopeKey, variableName);
+    children =
+        zeebeDb.createColumnFamily(
+            TestColumnFamilies.CHILDREN, context, scopeChildKey, DbNil.INSTANCE);
+    variables =
+        zeebeDb.createColumnFamily(
+            TestColumnFamilies.VARIABLES, context, scopeVariableKey, variableValue);
+
+    variableValue.wrapString("v".repeat(VALUE_SIZE));
+    for (int scope = 0; scope < SCOPE_COUNT; scope++) {
+      final var currentScope = scope;
+      context.runInTransaction(
+          () -> {
+            scopeKey.wrapLong(currentScope);
+            for (int entry = 0; entry < ENTRIES_PER_SCOPE; entry++) {
+              childKey.wrapLong(entry);
+              children.upsert(scopeChildKey, DbNil.INSTANCE);
+              variableName.wrapString("variable-" + entry);
+              variables.upsert(scopeVariableKey, variableValue);
+            }
+          });
+    }
+
+    // creating a snapshot flushes the memtables, such that the iterations read from SST files
+    zeebeDb.createSnapshot(directory.resolve("snapshot").toFile());
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    zeebeDb.close();
+    FileUtil.deleteFolder(directory);
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(PrefixIterationPerformanceTest.class.getName())
+                .build())
+        .run();
+  }
+
+  @Benchmark
+  public long measureChildIteration() {
+    visited.set(0);
+    scopeKey.wrapLong(ThreadLocalRandom.current().nextInt(SCOPE_COUNT));
+    children.whileEqualPrefix(scopeKey, (key, value) -> visited.increment());
+    return visited.get();
+  }
+
+  @Benchmark
+  public long measureVariableCollection() {
+    visited.set(0);
+    scopeKey.wrapLong(ThreadLocalRandom.current().nextInt(SCOPE_COUNT));
+    variables.whileEqualPrefix(
+        scopeKey, (key, value) -> visited.getAndAdd(value.getBuffer().capacity()));
+    return visited.get();
+  }
+
+  private enum TestColumnFamilies implements EnumValue {
+    CHILDREN,
+    VARIABLES;
+
+    @Override
+    public int getValue() {
+      return ordinal();
+    }
+  }
+}
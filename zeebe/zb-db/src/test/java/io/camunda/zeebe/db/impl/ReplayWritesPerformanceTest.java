@@ -0,0 +1,167 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.db.impl;
+
+import io.camunda.zeebe.db.AccessMetricsConfiguration;
+import io.camunda.zeebe.db.AccessMetricsConfiguration.Kind;
+import io.camunda.zeebe.db.ColumnFamily;
+import io.camunda.zeebe.db.ConsistencyChecksSettings;
+import io.camunda.zeebe.db.TransactionContext;
+import io.camunda.zeebe.db.ZeebeDb;
+import io.camunda.zeebe.db.ZeebeDbTransaction;
+import io.camunda.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import io.camunda.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
+import io.camunda.zeebe.protocol.EnumValue;
+import io.camunda.zeebe.util.FileUtil;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures how fast a large log of events can be applied to the state, the way the replay does it:
+ * every event creates an entity and an index entry, and removes an older entity, as most entities
+ * have a short lifecycle. Either each event is committed on its own with tracked writes, as done
+ * before bulk writes existed, or the events are written in bulk and committed every {@link
+ * #commitInterval} events, with a save point per event.
+ *
+ * <p>The score is the number of applied events per second.
+ *
+ * <p>Run it via {@link #main(String[])}, which compares tracked and bulk writes at both commit
+ * intervals. It is not run as a test, as no reference score was measured for it in CI.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(
+    value = 1,
+    jvmArgs = {"-Xmx1g", "-Xms1g"})
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ReplayWritesPerformanceTest {
+  private static final int EVENTS_PER_INVOCATION = 10_000;
+  private static final int LIVE_ENTITIES = 1_000;
+  private static final int VALUE_SIZE = 256;
+
+  @Param({"false", "true"})
+  public boolean bulkWrites;
+
+  @Param({"1", "1000"})
+  public int commitInterval;
+
+  private Path directory;
+  private ZeebeDb<TestColumnFamilies> zeebeDb;
+  private TransactionContext context;
+  private ColumnFamily<DbLong, DbString> entities;
+  private ColumnFamily<DbCompositeKey<DbLong, DbLong>, DbNil> index;
+  private DbLong entityKey;
+  private DbLong scopeKey;
+  private DbCompositeKey<DbLong, DbLong> indexKey;
+  private DbString entity;
+  private long nextKey;
+
+  @Setup
+  public void setup() throws IOException {
+    directory = Files.createTempDirectory("replay-writes");
+    zeebeDb =
+        new ZeebeRocksDbFactory<TestColumnFamilies>(
+                new RocksDbConfiguration(),
+                new ConsistencyChecksSettings(true, false),
+                new AccessMetricsConfiguration(Kind.NONE, 1))
+            .createDb(directory.toFile());
+    context = zeebeDb.createContext();
+    context.setBulkWrites(bulkWrites);
+
+    entityKey = new DbLong();
+    scopeKey = new DbLong();
+    indexKey = new DbCompositeKey<>(scopeKey, entityKey);
+    entity = new DbString();
+    entity.wrapString("e".repeat(VALUE_SIZE));
+    entities = zeebeDb.createColumnFamily(TestColumnFamilies.ENTITIES, context, entityKey, entity);
+    index =
+        zeebeDb.createColumnFamily(TestColumnFamilies.INDEX, context, indexKey, DbNil.INSTANCE);
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    zeebeDb.close();
+    FileUtil.deleteFolder(directory);
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(ReplayWritesPerformanceTest.class.getName())
+                .build())
+        .run();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(EVENTS_PER_INVOCATION)
+  public long measureReplay() throws Exception {
+    ZeebeDbTransaction transaction = null;
+    for (int event = 0; event < EVENTS_PER_INVOCATION; event++) {
+      if (transaction == null) {
+        transaction = context.getCurrentTransaction();
+      }
+
+      transaction.setSavePoint();
+      transaction.run(this::applyEvent);
+
+      if ((event + 1) % commitInterval == 0) {
+        transaction.commit();
+        transaction = null;
+      }
+    }
+
+    if (transaction != null) {
+      transaction.commit();
+    }
+    return nextKey;
+  }
+
+  private void applyEvent() {
+    final long key = nextKey++;
+    entityKey.wrapLong(key);
+    scopeKey.wrapLong(key % LIVE_ENTITIES);
+    entities.insert(entityKey, entity);
+    index.insert(indexKey, DbNil.INSTANCE);
+
+    if (key >= LIVE_ENTITIES) {
+      entityKey.wrapLong(key - LIVE_ENTITIES);
+      entities.deleteExisting(entityKey);
+      index.deleteExisting(indexKey);
+    }
+  }
+
+  private enum TestColumnFamilies implements EnumValue {
+    ENTITIES,
+    INDEX;
+
+    @Override
+    public int getValue() {
+      return ordinal();
+    }
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.db.impl.rocksdb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.camunda.zeebe.db.AccessMetricsConfiguration;
+import io.camunda.zeebe.db.AccessMetricsConfiguration.Kind;
+import io.camunda.zeebe.db.ConsistencyChecksSettings;
+import io.camunda.zeebe.db.ZeebeDb;
+import io.camunda.zeebe.db.impl.DbLong;
+import io.camunda.zeebe.db.impl.DbString;
+import io.camunda.zeebe.db.impl.rocksdb.ColumnFamilyGroup.AccessPattern;
+import io.camunda.zeebe.protocol.EnumValue;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+
+final class ColumnFamilyGroupTest {
+
+  private static final List<ColumnFamilyGroup> GROUPS =
+      List.of(
+          ColumnFamilyGroup.of(
+              "lookups",
+              AccessPattern.POINT_LOOKUP,
+              TestColumnFamilies.FIRST,
+              TestColumnFamilies.SECOND),
+          ColumnFamilyGroup.of("scans", AccessPattern.SCAN, TestColumnFamilies.THIRD));
+
+  private final DbLong key = new DbLong();
+  private final DbString value = new DbString();
+
+  @TempDir private File directory;
+
+  @Test
+  void shouldMoveDataIntoGroupsWhenEnabled() throws Exception {
+    // given
+    try (final var db = openDb(List.of())) {
+      write(db, TestColumnFamilies.FIRST, 1, "first");
+      write(db, TestColumnFamilies.THIRD, 1, "third");
+      write(db, TestColumnFamilies.UNGROUPED, 1, "ungrouped");
+    }
+
+    // when
+    try (final var db = openDb(GROUPS)) {
+
+      // then
+      assertThat(read(db, TestColumnFamilies.FIRST, 1)).isEqualTo("first");
+      assertThat(read(db, TestColumnFamilies.THIRD, 1)).isEqualTo("third");
+      assertThat(read(db, TestColumnFamilies.UNGROUPED, 1)).isEqualTo("ungrouped");
+    }
+    assertThat(listColumnFamilies()).containsExactlyInAnyOrder("default", "lookups", "scans");
+  }
+
+  @Test
+  void shouldMoveDataBackWhenDisabled() throws Exception {
+    // given
+    try (final var db = openDb(GROUPS)) {
+      write(db, TestColumnFamilies.SECOND, 1, "second");
+      write(db, TestColumnFamilies.THIRD, 1, "third");
+    }
+
+    // when
+    try (final var db = openDb(List.of())) {
+
+      // then
+      assertThat(read(db, TestColumnFamilies.SECOND, 1)).isEqualTo("second");
+      assertThat(read(db, TestColumnFamilies.THIRD, 1)).isEqualTo("third");
+    }
+    assertThat(listColumnFamilies()).containsExactly("default");
+  }
+
+  @Test
+  void shouldOnlyIterateOverOwnColumnFamilyInGroup() throws Exception {
+    // given
+    try (final var db = openDb(GROUPS)) {
+      write(db, TestColumnFamilies.FIRST, 1, "first");
+      write(db, TestColumnFamilies.FIRST, 2, "first");
+      write(db, TestColumnFamilies.SECOND, 1, "second");
+
+      // when
+      final List<String> values = new ArrayList<>();
+      db.createColumnFamily(TestColumnFamilies.FIRST, db.createContext(), key, value)
+          .forEach(v -> values.add(v.toString()));
+
+      // then
+      assertThat(values).containsExactly("first", "first");
+    }
+  }
+
+  @Test
+  void shouldIncludeGroupsInSnapshot(@TempDir final File snapshotParent) throws Exception {
+    // given
+    final var snapshotDirectory = new File(snapshotParent, "snapshot");
+    try (final var db = openDb(GROUPS)) {
+      write(db, TestColumnFamilies.FIRST, 1, "first");
+      write(db, TestColumnFamilies.UNGROUPED, 1, "ungrouped");
+
+      // when
+      db.createSnapshot(snapshotDirectory);
+    }
+
+    // then
+    try (final var db = createFactory(GROUPS).createDb(snapshotDirectory)) {
+      assertThat(read(db, TestColumnFamilies.FIRST, 1)).isEqualTo("first");
+      assertThat(read(db, TestColumnFamilies.UNGROUPED, 1)).isEqualTo("ungrouped");
+    }
+  }
+
+  private ZeebeDb<TestColumnFamilies> openDb(final List<ColumnFamilyGroup> groups) {
+    return createFactory(groups).createDb(directory);
+  }
+
+  private ZeebeRocksDbFactory<TestColumnFamilies> createFactory(
+      final List<ColumnFamilyGroup> groups) {
+    return new ZeebeRocksDbFactory<>(
+        new RocksDbConfiguration().setColumnFamilyGroups(groups),
+        new ConsistencyChecksSettings(true, true),
+        new AccessMetricsConfiguration(Kind.NONE, 1));
+  }
+
+  private void write(
+      final ZeebeDb<TestColumnFamilies> db,
+      final TestColumnFamilies columnFamily,
+      final long keyValue,
+      final String valueString) {
+    key.wrapLong(keyValue);
+    value.wrapString(valueString);
+    db.createColumnFamily(columnFamily, db.createContext(), key, value).insert(key, value);
+  }
+
+  private String read(
+      final ZeebeDb<TestColumnFamilies> db,
+      final TestColumnFamilies columnFamily,
+      final long keyValue) {
+    key.wrapLong(keyValue);
+    final var read = db.createColumnFamily(columnFamily, db.createContext(), key, value).get(key);
+    return read == null ? null : read.toString();
+  }
+
+  private List<String> listColumnFamilies() throws RocksDBException {
+    try (final var options = new Options()) {
+      return RocksDB.listColumnFamilies(options, directory.getAbsolutePath()).stream()
+          .map(name -> new String(name, StandardCharsets.UTF_8))
+          .toList();
+    }
+  }
+
+  private enum TestColumnFamilies implements EnumValue {
+    FIRST,
+    SECOND,
+    THIRD,
+    UNGROUPED;
+
+    @Override
+    public int getValue() {
+      return ordinal();
+    }
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.db.impl.rocksdb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.camunda.zeebe.db.AccessMetricsConfiguration;
+import io.camunda.zeebe.db.AccessMetricsConfiguration.Kind;
+import io.camunda.zeebe.db.ConsistencyChecksSettings;
+import io.camunda.zeebe.db.impl.DbLong;
+import io.camunda.zeebe.db.impl.DbString;
+import io.camunda.zeebe.db.impl.rocksdb.ColumnFamilyGroup.AccessPattern;
+import io.camunda.zeebe.protocol.EnumValue;
+import io.prometheus.client.CollectorRegistry;
+import java.io.File;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class ZeebeRocksDBMetricExporterTest {
+
+  private static final String STATISTICS =
+      """
+      rocksdb.block.cache.miss COUNT : 12
+      rocksdb.number.iter.skip COUNT : 4213
+      rocksdb.number.iter.skip.extra COUNT : 7
+      rocksdb.db.get.micros P50 : 1.000000 P95 : 2.000000 COUNT : 30 SUM : 45
+      """;
+
+  @Test
+  void shouldParseTicker() {
+    // when
+    final var value =
+        ZeebeRocksDBMetricExporter.parseTicker(STATISTICS, "rocksdb.number.iter.skip");
+
+    // then
+    assertThat(value).contains(4213.0);
+  }
+
+  @Test
+  void shouldNotParseMissingTicker() {
+    // when
+    final var value =
+        ZeebeRocksDBMetricExporter.parseTicker(STATISTICS, "rocksdb.compaction.key.drop.obsolete");
+
+    // then
+    assertThat(value).isEmpty();
+  }
+
+  @Test
+  void shouldNotParseTickerWithoutStatistics() {
+    // when
+    final var value = ZeebeRocksDBMetricExporter.parseTicker("", "rocksdb.number.iter.skip");
+
+    // then
+    assertThat(value).isEmpty();
+  }
+
+  @Test
+  void shouldExportTombstoneDensityOfGroupedColumnFamilies(@TempDir final File directory) {
+    // given - the only column family is stored in a group, not in the default column family
+    final var factory =
+        new ZeebeRocksDbFactory<TestColumnFamilies>(
+            new RocksDbConfiguration()
+                .setColumnFamilyGroups(
+                    List.of(
+                        ColumnFamilyGroup.of(
+                            "group", AccessPattern.POINT_LOOKUP, TestColumnFamilies.GROUPED))),
+            new ConsistencyChecksSettings(true, true),
+            new AccessMetricsConfiguration(Kind.NONE, 1));
+    try (final var db = factory.createDb(directory)) {
+      final var key = new DbLong();
+      final var value = new DbString();
+      final var columnFamily =
+          db.createColumnFamily(TestColumnFamilies.GROUPED, db.createContext(), key, value);
+      key.wrapLong(1);
+      value.wrapString("value");
+      columnFamily.insert(key, value);
+      columnFamily.deleteExisting(key);
+
+      // when
+      new ZeebeRocksDBMetricExporter<>("grouped", () -> db).exportMetrics();
+    }
+
+    // then - the delete is only counted if the group is included
+    assertThat(
+            CollectorRegistry.defaultRegistry.getSampleValue(
+                "zeebe_rocksdb_tombstones_density",
+                new String[] {"partition"},
+                new String[] {"grouped"}))
+        .isPositive();
+  }
+
+  @Test
+  void shouldExportMemtableEntriesAsLiveMetric(@TempDir final File directory) {
+    // given
+    final var factory =
+        new ZeebeRocksDbFactory<TestColumnFamilies>(
+            new RocksDbConfiguration(),
+            new ConsistencyChecksSettings(true, true),
+            new AccessMetricsConfiguration(Kind.NONE, 1));
+    try (final var db = factory.createDb(directory)) {
+      final var key = new DbLong();
+      final var value = new DbString();
+      final var columnFamily =
+          db.createColumnFamily(TestColumnFamilies.GROUPED, db.createContext(), key, value);
+      key.wrapLong(1);
+      value.wrapString("value");
+      columnFamily.insert(key, value);
+
+      // when
+      new ZeebeRocksDBMetricExporter<>("entries", () -> db).exportMetrics();
+    }
+
+    // then - entries are not reported as tombstones
+    assertThat(
+            CollectorRegistry.defaultRegistry.getSampleValue(
+                "zeebe_rocksdb_live_num_entries_active_mem_table",
+                new String[] {"partition"},
+                new String[] {"entries"}))
+        .isPositive();
+    assertThat(
+            CollectorRegistry.defaultRegistry.getSampleValue(
+                "zeebe_rocksdb_tombstones_num_entries_active_mem_table",
+                new String[] {"partition"},
+                new String[] {"entries"}))
+        .isNull();
+  }
+
+  private enum TestColumnFamilies implements EnumValue {
+    GROUPED;
+
+    @Override
+    public int getValue() {
+      return ordinal();
+    }
+  }
+}
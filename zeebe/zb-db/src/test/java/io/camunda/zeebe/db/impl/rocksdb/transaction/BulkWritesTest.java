@@ -0,0 +1,192 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.db.impl.rocksdb.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.camunda.zeebe.db.AccessMetricsConfiguration;
+import io.camunda.zeebe.db.AccessMetricsConfiguration.Kind;
+import io.camunda.zeebe.db.ColumnFamily;
+import io.camunda.zeebe.db.ConsistencyChecksSettings;
+import io.camunda.zeebe.db.TransactionContext;
+import io.camunda.zeebe.db.ZeebeDb;
+import io.camunda.zeebe.db.ZeebeDbInconsistentException;
+import io.camunda.zeebe.db.impl.DbForeignKey;
+import io.camunda.zeebe.db.impl.DbLong;
+import io.camunda.zeebe.db.impl.DbString;
+import io.camunda.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import io.camunda.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
+import io.camunda.zeebe.protocol.EnumValue;
+import java.io.File;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class BulkWritesTest {
+
+  private final DbLong key = new DbLong();
+  private final DbString value = new DbString();
+  private final DbLong referenceKey = new DbLong();
+  private final DbForeignKey<DbLong> reference =
+      new DbForeignKey<>(new DbLong(), TestColumnFamilies.ENTRIES);
+
+  private ZeebeDb<TestColumnFamilies> zeebeDb;
+  private TransactionContext context;
+  private ColumnFamily<DbLong, DbString> entries;
+  private ColumnFamily<DbLong, DbForeignKey<DbLong>> references;
+
+  @BeforeEach
+  void setup(final @TempDir File directory) {
+    final var configuration =
+        new RocksDbConfiguration()
+            .setStateCacheSize(1024 * 1024)
+            .setStateCacheColumnFamilies(Set.of(TestColumnFamilies.ENTRIES.name()))
+            .setCountedColumnFamilies(Set.of(TestColumnFamilies.ENTRIES.name()));
+    zeebeDb =
+        new ZeebeRocksDbFactory<TestColumnFamilies>(
+                configuration,
+                new ConsistencyChecksSettings(true, true),
+                new AccessMetricsConfiguration(Kind.NONE, 1))
+            .createDb(directory);
+    context = zeebeDb.createContext();
+    entries = zeebeDb.createColumnFamily(TestColumnFamilies.ENTRIES, context, key, value);
+    references =
+        zeebeDb.createColumnFamily(TestColumnFamilies.REFERENCES, context, referenceKey, reference);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    zeebeDb.close();
+  }
+
+  @Test
+  void shouldReadOwnBulkWrites() throws Exception {
+    // given
+    context.setBulkWrites(true);
+    final var transaction = context.getCurrentTransaction();
+
+    // when
+    transaction.run(
+        () -> {
+          upsert(1, "foo");
+          upsert(2, "bar");
+          key.wrapLong(2);
+          entries.deleteExisting(key);
+        });
+
+    // then
+    transaction.run(
+        () -> {
+          assertThat(get(1)).isEqualTo("foo");
+          assertThat(get(2)).isNull();
+        });
+    transaction.commit();
+    assertThat(get(1)).isEqualTo("foo");
+    assertThat(entries.count()).isOne();
+  }
+
+  @Test
+  void shouldNotCheckForeignKeysOfBulkWrites() {
+    // given
+    referenceKey.wrapLong(1);
+    reference.inner().wrapLong(2);
+    assertThatThrownBy(() -> references.insert(referenceKey, reference))
+        .isInstanceOf(ZeebeDbInconsistentException.class);
+
+    // when
+    context.setBulkWrites(true);
+    references.insert(referenceKey, reference);
+
+    // then
+    assertThat(references.exists(referenceKey)).isTrue();
+  }
+
+  @Test
+  void shouldRollBackToSavePoint() throws Exception {
+    // given
+    upsert(1, "committed");
+    final var transaction = context.getCurrentTransaction();
+    transaction.run(() -> upsert(2, "before"));
+    transaction.setSavePoint();
+    transaction.run(
+        () -> {
+          upsert(1, "after");
+          upsert(2, "after");
+          upsert(3, "after");
+        });
+
+    // when
+    transaction.rollbackToSavePoint();
+    transaction.commit();
+
+    // then
+    assertThat(get(1)).isEqualTo("committed");
+    assertThat(get(2)).isEqualTo("before");
+    assertThat(get(3)).isNull();
+    assertThat(entries.count()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldRollBackDeletesToSavePoint() throws Exception {
+    // given
+    upsert(1, "committed");
+    final var transaction = context.getCurrentTransaction();
+    transaction.setSavePoint();
+    transaction.run(
+        () -> {
+          key.wrapLong(1);
+          entries.deleteExisting(key);
+        });
+
+    // when
+    transaction.rollbackToSavePoint();
+
+    // then
+    transaction.run(() -> assertThat(get(1)).isEqualTo("committed"));
+    transaction.commit();
+    assertThat(get(1)).isEqualTo("committed");
+    assertThat(entries.count()).isOne();
+  }
+
+  @Test
+  void shouldRejectRollbackWithoutSavePoint() throws Exception {
+    // given
+    final var transaction = context.getCurrentTransaction();
+    transaction.setSavePoint();
+    transaction.rollbackToSavePoint();
+
+    // when - then
+    assertThatThrownBy(transaction::rollbackToSavePoint)
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  private void upsert(final long keyValue, final String valueString) {
+    key.wrapLong(keyValue);
+    value.wrapString(valueString);
+    entries.upsert(key, value);
+  }
+
+  private String get(final long keyValue) {
+    key.wrapLong(keyValue);
+    final var read = entries.get(key);
+    return read == null ? null : read.toString();
+  }
+
+  private enum TestColumnFamilies implements EnumValue {
+    ENTRIES,
+    REFERENCES;
+
+    @Override
+    public int getValue() {
+      return ordinal();
+    }
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.db.impl.rocksdb.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.camunda.zeebe.db.AccessMetricsConfiguration;
+import io.camunda.zeebe.db.AccessMetricsConfiguration.Kind;
+import io.camunda.zeebe.db.ColumnFamily;
+import io.camunda.zeebe.db.ConsistencyChecksSettings;
+import io.camunda.zeebe.db.TransactionContext;
+import io.camunda.zeebe.db.ZeebeDb;
+import io.camunda.zeebe.db.impl.DbCompositeKey;
+import io.camunda.zeebe.db.impl.DbLong;
+import io.camunda.zeebe.db.impl.DbString;
+import io.camunda.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import io.camunda.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
+import io.camunda.zeebe.protocol.EnumValue;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class DeletePrefixTest {
+
+  private final DbLong scopeKey = new DbLong();
+  private final DbLong entryKey = new DbLong();
+  private final DbCompositeKey<DbLong, DbLong> scopeEntryKey =
+      new DbCompositeKey<>(scopeKey, entryKey);
+  private final DbString value = new DbString();
+
+  private ZeebeDb<TestColumnFamilies> zeebeDb;
+  private TransactionContext context;
+  private ColumnFamily<DbCompositeKey<DbLong, DbLong>, DbString> entries;
+
+  @BeforeEach
+  void setup(final @TempDir File directory) {
+    final var configuration =
+        new RocksDbConfiguration()
+            .setStateCacheSize(1024 * 1024)
+            .setStateCacheColumnFamilies(Set.of(TestColumnFamilies.ENTRIES.name()))
+            .setCountedColumnFamilies(Set.of(TestColumnFamilies.ENTRIES.name()));
+    zeebeDb =
+        new ZeebeRocksDbFactory<TestColumnFamilies>(
+                configuration,
+                new ConsistencyChecksSettings(true, true),
+                new AccessMetricsConfiguration(Kind.NONE, 1))
+            .createDb(directory);
+    context = zeebeDb.createContext();
+    entries =
+        zeebeDb.createColumnFamily(TestColumnFamilies.ENTRIES, context, scopeEntryKey, value);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    zeebeDb.close();
+  }
+
+  @Test
+  void shouldOnlyDeleteEntriesWithPrefix() {
+    // given
+    insert(1, 1, 2);
+    insert(2, 3, 4, 5);
+    insert(3, 6);
+
+    // when
+    scopeKey.wrapLong(2);
+    final var deleted = entries.deletePrefix(scopeKey);
+
+    // then
+    assertThat(deleted).isEqualTo(3);
+    assertThat(collectEntries(1)).containsExactly(1L, 2L);
+    assertThat(collectEntries(2)).isEmpty();
+    assertThat(collectEntries(3)).containsExactly(6L);
+    assertThat(entries.count()).isEqualTo(3);
+  }
+
+  @Test
+  void shouldNotReadDeletedEntriesFromCache() {
+    // given
+    insert(1, 1, 2);
+    assertThat(get(1, 1)).isEqualTo("value-1");
+
+    // when
+    scopeKey.wrapLong(1);
+    entries.deletePrefix(scopeKey);
+
+    // then
+    assertThat(get(1, 1)).isNull();
+    assertThat(get(1, 2)).isNull();
+  }
+
+  @Test
+  void shouldDeleteEntriesWrittenInSameTransaction() throws Exception {
+    // given
+    insert(1, 1);
+    final var transaction = context.getCurrentTransaction();
+
+    // when
+    transaction.run(
+        () -> {
+          insert(1, 2, 3);
+          scopeKey.wrapLong(1);
+          entries.deletePrefix(scopeKey);
+          insert(1, 4);
+        });
+
+    // then
+    transaction.run(() -> assertThat(collectEntries(1)).containsExactly(4L));
+    transaction.commit();
+    assertThat(collectEntries(1)).containsExactly(4L);
+    assertThat(entries.count()).isOne();
+  }
+
+  @Test
+  void shouldRollBackDeletedEntries() throws Exception {
+    // given
+    insert(1, 1, 2);
+    final var transaction = context.getCurrentTransaction();
+    transaction.setSavePoint();
+    transaction.run(
+        () -> {
+          scopeKey.wrapLong(1);
+          entries.deletePrefix(scopeKey);
+        });
+
+    // when
+    transaction.rollbackToSavePoint();
+    transaction.commit();
+
+    // then
+    assertThat(collectEntries(1)).containsExactly(1L, 2L);
+    assertThat(get(1, 1)).isEqualTo("value-1");
+    assertThat(entries.count()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldDeleteNothingIfNoEntryHasPrefix() {
+    // given
+    insert(1, 1);
+
+    // when
+    scopeKey.wrapLong(2);
+    final var deleted = entries.deletePrefix(scopeKey);
+
+    // then
+    assertThat(deleted).isZero();
+    assertThat(entries.count()).isOne();
+  }
+
+  private void insert(final long scope, final long... keys) {
+    for (final long key : keys) {
+      scopeKey.wrapLong(scope);
+      entryKey.wrapLong(key);
+      value.wrapString("value-" + key);
+      entries.insert(scopeEntryKey, value);
+    }
+  }
+
+  private String get(final long scope, final long key) {
+    scopeKey.wrapLong(scope);
+    entryKey.wrapLong(key);
+    final var read = entries.get(scopeEntryKey);
+    return read == null ? null : read.toString();
+  }
+
+  private List<Long> collectEntries(final long scope) {
+    final List<Long> visited = new ArrayList<>();
+    scopeKey.wrapLong(scope);
+    entries.whileEqualPrefix(scopeKey, (key, entry) -> visited.add(key.second().getValue()));
+    return visited;
+  }
+
+  private enum TestColumnFamilies implements EnumValue {
+    ENTRIES;
+
+    @Override
+    public int getValue() {
+      return ordinal();
+    }
+  }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.db.impl.rocksdb.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.camunda.zeebe.db.AccessMetricsConfiguration;
+import io.camunda.zeebe.db.AccessMetricsConfiguration.Kind;
+import io.camunda.zeebe.db.ColumnFamily;
+import io.camunda.zeebe.db.ConsistencyChecksSettings;
+import io.camunda.zeebe.db.ZeebeDbInconsistentException;
+import io.camunda.zeebe.db.impl.DbLong;
+import io.camunda.zeebe.db.impl.DbString;
+import io.camunda.zeebe.db.impl.DefaultColumnFamily;
+import io.camunda.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import io.camunda.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class EntryCounterTest {
+
+  private final DbLong key = new DbLong();
+  private final DbString value = new DbString();
+
+  @TempDir private File directory;
+
+  @Test
+  void shouldCountInsertedAndDeletedEntries() throws Exception {
+    try (final var db = openDb(true)) {
+      // given
+      final var columnFamily = createColumnFamily(db);
+      insert(columnFamily, 1);
+      insert(columnFamily, 2);
+      insert(columnFamily, 3);
+
+      // when
+      key.wrapLong(1);
+      columnFamily.deleteExisting(key);
+      key.wrapLong(4);
+      columnFamily.deleteIfExists(key);
+      key.wrapLong(2);
+      columnFamily.upsert(key, value);
+
+      // then
+      assertThat(columnFamily.count()).isEqualTo(2);
+      assertThat(columnFamily.isEmpty()).isFalse();
+      final List<Long> keys = new ArrayList<>();
+      columnFamily.forEach((k, v) -> keys.add(k.getValue()));
+      assertThat(keys).containsExactly(2L, 3L);
+    }
+  }
+
+  @Test
+  void shouldNotCountUpdatedEntries() throws Exception {
+    try (final var db = openDb(true)) {
+      // given
+      final var columnFamily = createColumnFamily(db);
+      insert(columnFamily, 1);
+
+      // when
+      key.wrapLong(1);
+      value.wrapString("updated");
+      columnFamily.update(key, value);
+      columnFamily.upsert(key, value);
+
+      // then
+      assertThat(columnFamily.count()).isOne();
+    }
+  }
+
+  @Test
+  void shouldNotCountRolledBackEntries() throws Exception {
+    try (final var db = openDb(true)) {
+      // given
+      final var context = db.createContext();
+      final var columnFamily =
+          db.createColumnFamily(DefaultColumnFamily.DEFAULT, context, key, value);
+      insert(columnFamily, 1);
+
+      // when
+      assertThatThrownBy(
+              () ->
+                  context.runInTransaction(
+                      () -> {
+                        insert(columnFamily, 2);
+                        throw new IllegalStateException("expected");
+                      }))
+          .hasMessage("expected");
+
+      // then
+      assertThat(columnFamily.count()).isOne();
+    }
+  }
+
+  @Test
+  void shouldInitializeCounterOfExistingEntries() throws Exception {
+    // given
+    try (final var db = openDb(false)) {
+      final var columnFamily = createColumnFamily(db);
+      insert(columnFamily, 1);
+      insert(columnFamily, 2);
+    }
+
+    // when
+    try (final var db = openDb(true)) {
+
+      // then
+      assertThat(createColumnFamily(db).count()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void shouldRecountEntriesAfterCountingWasDisabled() throws Exception {
+    // given
+    try (final var db = openDb(true)) {
+      insert(createColumnFamily(db), 1);
+    }
+    try (final var db = openDb(false)) {
+      insert(createColumnFamily(db), 2);
+    }
+
+    // when
+    try (final var db = openDb(true)) {
+
+      // then
+      assertThat(createColumnFamily(db).count()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void shouldDetectInconsistentCounter() throws Exception {
+    // given
+    try (final var db = openDb(true)) {
+      insert(createColumnFamily(db), 1);
+      final var counter =
+          new EntryCounter(
+              DefaultColumnFamily.DEFAULT.getValue(),
+              db.getColumnFamilyNativeHandle(EntryCounter.COUNTERS_PREFIX),
+              db.getReadOptionsNativeHandle());
+      final var context = db.createContext();
+      context.runInTransaction(
+          () -> counter.set((ZeebeTransaction) context.getCurrentTransaction(), 5));
+    }
+
+    // when
+    try (final var db = openDb(true)) {
+
+      // then
+      assertThatThrownBy(() -> createColumnFamily(db))
+          .isInstanceOf(ZeebeDbInconsistentException.class)
+          .hasMessageContaining("to be 1, but was 5");
+    }
+  }
+
+  private ZeebeTransactionDb<DefaultColumnFamily> openDb(final boolean counted) {
+    final var configuration =
+        new RocksDbConfiguration()
+            .setCountedColumnFamilies(
+                counted ? Set.of(DefaultColumnFamily.DEFAULT.name()) : Set.of());
+    return new ZeebeRocksDbFactory<DefaultColumnFamily>(
+            configuration,
+            new ConsistencyChecksSettings(true, true),
+            new AccessMetricsConfiguration(Kind.NONE, 1))
+        .createDb(directory);
+  }
+
+  private ColumnFamily<DbLong, DbString> createColumnFamily(
+      final ZeebeTransactionDb<DefaultColumnFamily> db) {
+    return db.createColumnFamily(DefaultColumnFamily.DEFAULT, db.createContext(), key, value);
+  }
+
+  private void insert(final ColumnFamily<DbLong, DbString> columnFamily, final long keyValue) {
+    key.wrapLong(keyValue);
+    value.wrapString("value-" + keyValue);
+    columnFamily.insert(key, value);
+  }
+}
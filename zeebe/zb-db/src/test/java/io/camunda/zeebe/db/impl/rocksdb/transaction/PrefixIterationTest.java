@@ -0,0 +1,178 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.db.impl.rocksdb.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.camunda.zeebe.db.AccessMetricsConfiguration;
+import io.camunda.zeebe.db.AccessMetricsConfiguration.Kind;
+import io.camunda.zeebe.db.ColumnFamily;
+import io.camunda.zeebe.db.ConsistencyChecksSettings;
+import io.camunda.zeebe.db.TransactionContext;
+import io.camunda.zeebe.db.impl.DbCompositeKey;
+import io.camunda.zeebe.db.impl.DbLong;
+import io.camunda.zeebe.db.impl.DbNil;
+import io.camunda.zeebe.db.impl.rocksdb.ColumnFamilyGroup;
+import io.camunda.zeebe.db.impl.rocksdb.ColumnFamilyGroup.AccessPattern;
+import io.camunda.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import io.camunda.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
+import io.camunda.zeebe.protocol.EnumValue;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class PrefixIterationTest {
+
+  private static final List<ColumnFamilyGroup> GROUPS =
+      List.of(
+          ColumnFamilyGroup.of(
+                  "scoped",
+                  AccessPattern.POINT_LOOKUP,
+                  TestColumnFamilies.PARENTS,
+                  TestColumnFamilies.CHILDREN,
+                  TestColumnFamilies.NEXT)
+              .withPrefixLength(2 * Long.BYTES));
+
+  private final DbLong parentKey = new DbLong();
+  private final DbLong childKey = new DbLong();
+  private final DbCompositeKey<DbLong, DbLong> parentChildKey =
+      new DbCompositeKey<>(parentKey, childKey);
+  private final DbLong otherParentKey = new DbLong();
+  private final DbLong otherChildKey = new DbLong();
+  private final DbCompositeKey<DbLong, DbLong> otherParentChildKey =
+      new DbCompositeKey<>(otherParentKey, otherChildKey);
+
+  @TempDir private File directory;
+
+  private ZeebeTransactionDb<TestColumnFamilies> db;
+  private ColumnFamily<DbCompositeKey<DbLong, DbLong>, DbNil> children;
+  private ColumnFamily<DbCompositeKey<DbLong, DbLong>, DbNil> parents;
+
+  @BeforeEach
+  void setup() {
+    db =
+        new ZeebeRocksDbFactory<TestColumnFamilies>(
+                new RocksDbConfiguration().setColumnFamilyGroups(GROUPS),
+                new ConsistencyChecksSettings(true, true),
+                new AccessMetricsConfiguration(Kind.NONE, 1))
+            .createDb(directory);
+    final TransactionContext context = db.createContext();
+    children =
+        db.createColumnFamily(TestColumnFamilies.CHILDREN, context, parentChildKey, DbNil.INSTANCE);
+    parents =
+        db.createColumnFamily(
+            TestColumnFamilies.PARENTS, context, otherParentChildKey, DbNil.INSTANCE);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    db.close();
+  }
+
+  @Test
+  void shouldOnlyVisitKeysWithPrefix() {
+    // given
+    insertChildren(1, 1, 2);
+    insertChildren(2, 3, 4);
+    insertChildren(3, 5);
+
+    // when
+    final var visited = collectChildren(2);
+
+    // then
+    assertThat(visited).containsExactly(3L, 4L);
+  }
+
+  @Test
+  void shouldVisitAllKeysWithPrefixShorterThanExtractedPrefix() {
+    // given
+    insertChildren(1, 1, 2);
+    insertChildren(2, 3);
+
+    // when
+    final List<Long> visited = new ArrayList<>();
+    children.forEach((key, value) -> visited.add(key.second().getValue()));
+
+    // then
+    assertThat(visited).containsExactly(1L, 2L, 3L);
+    assertThat(children.count()).isEqualTo(3);
+  }
+
+  @Test
+  void shouldNotVisitNextColumnFamilyWhenPrefixCannotBeIncremented() {
+    // given -- the prefix of parent -1 ends with 0xFF bytes, and the keys of the next column family
+    // in the same group directly follow the keys of this one
+    insertChildren(-1, 1, 2);
+    otherParentKey.wrapLong(0);
+    otherChildKey.wrapLong(3);
+    db.createColumnFamily(
+            TestColumnFamilies.NEXT, db.createContext(), otherParentChildKey, DbNil.INSTANCE)
+        .insert(otherParentChildKey, DbNil.INSTANCE);
+
+    // when
+    final var visited = collectChildren(-1);
+
+    // then
+    assertThat(visited).containsExactly(1L, 2L);
+  }
+
+  @Test
+  void shouldIterateNestedOverDifferentPrefixes() {
+    // given
+    for (long parent = 1; parent <= 3; parent++) {
+      otherParentKey.wrapLong(0);
+      otherChildKey.wrapLong(parent);
+      parents.insert(otherParentChildKey, DbNil.INSTANCE);
+      insertChildren(parent, parent * 10, parent * 10 + 1);
+    }
+
+    // when
+    final List<Long> visited = new ArrayList<>();
+    otherParentKey.wrapLong(0);
+    parents.whileEqualPrefix(
+        otherParentKey,
+        (parent, nil) -> {
+          parentKey.wrapLong(parent.second().getValue());
+          children.whileEqualPrefix(
+              parentKey, (child, value) -> visited.add(child.second().getValue()));
+        });
+
+    // then
+    assertThat(visited).containsExactly(10L, 11L, 20L, 21L, 30L, 31L);
+  }
+
+  private void insertChildren(final long parent, final long... childKeys) {
+    parentKey.wrapLong(parent);
+    for (final long child : childKeys) {
+      childKey.wrapLong(child);
+      children.insert(parentChildKey, DbNil.INSTANCE);
+    }
+  }
+
+  private List<Long> collectChildren(final long parent) {
+    final List<Long> visited = new ArrayList<>();
+    parentKey.wrapLong(parent);
+    children.whileEqualPrefix(parentKey, (key, value) -> visited.add(key.second().getValue()));
+    return visited;
+  }
+
+  private enum TestColumnFamilies implements EnumValue {
+    PARENTS,
+    CHILDREN,
+    NEXT;
+
+    @Override
+    public int getValue() {
+      return ordinal();
+    }
+  }
+}
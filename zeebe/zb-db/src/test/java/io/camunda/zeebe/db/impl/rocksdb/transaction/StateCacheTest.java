@@ -0,0 +1,293 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Camunda License 1.0. You may not use this file
+ * except in compliance with the Camunda License 1.0.
+ */
+package io.camunda.zeebe.db.impl.rocksdb.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import io.camunda.zeebe.db.AccessMetricsConfiguration;
+import io.camunda.zeebe.db.AccessMetricsConfiguration.Kind;
+import io.camunda.zeebe.db.ColumnFamily;
+import io.camunda.zeebe.db.ConsistencyChecksSettings;
+import io.camunda.zeebe.db.TransactionContext;
+import io.camunda.zeebe.db.ZeebeDb;
+import io.camunda.zeebe.db.impl.DbLong;
+import io.camunda.zeebe.db.impl.DbString;
+import io.camunda.zeebe.db.impl.DefaultColumnFamily;
+import io.camunda.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import io.camunda.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.Transaction;
+
+final class StateCacheTest {
+
+  private final DbLong key = new DbLong();
+  private final DbString value = new DbString();
+
+  private ZeebeDb<DefaultColumnFamily> zeebeDb;
+  private TransactionContext context;
+  private ColumnFamily<DbLong, DbString> columnFamily;
+
+  @BeforeEach
+  void setup(final @TempDir File directory) {
+    final var configuration =
+        new RocksDbConfiguration()
+            .setStateCacheSize(1024 * 1024)
+            .setStateCacheColumnFamilies(Set.of(DefaultColumnFamily.DEFAULT.name()));
+    zeebeDb =
+        new ZeebeRocksDbFactory<DefaultColumnFamily>(
+                configuration,
+                new ConsistencyChecksSettings(true, true),
+                new AccessMetricsConfiguration(Kind.NONE, 1))
+            .createDb(directory);
+    context = zeebeDb.createContext();
+    columnFamily = zeebeDb.createColumnFamily(DefaultColumnFamily.DEFAULT, context, key, value);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    zeebeDb.close();
+  }
+
+  @Test
+  void shouldReadUncommittedWriteInSameTransaction() {
+    // given
+    context.runInTransaction(
+        () -> {
+          upsert(1, "foo");
+
+          // when
+          final var read = get(1);
+
+          // then
+          assertThat(read).isEqualTo("foo");
+        });
+  }
+
+  @Test
+  void shouldDiscardWritesOnRollback() {
+    // given
+    upsert(1, "foo");
+
+    // when
+    assertThatThrownBy(
+            () ->
+                context.runInTransaction(
+                    () -> {
+                      upsert(1, "bar");
+                      upsert(2, "baz");
+                      throw new IllegalStateException("expected");
+                    }))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("expected");
+
+    // then
+    assertThat(get(1)).isEqualTo("foo");
+    assertThat(get(2)).isNull();
+  }
+
+  @Test
+  void shouldReadCommittedWritesFromOtherContext() {
+    // given
+    final var otherContext = zeebeDb.createContext();
+    final var otherKey = new DbLong();
+    final var otherColumnFamily =
+        zeebeDb.createColumnFamily(
+            DefaultColumnFamily.DEFAULT, otherContext, otherKey, new DbString());
+    otherKey.wrapLong(1);
+    assertThat(otherColumnFamily.get(otherKey)).isNull();
+
+    // when
+    upsert(1, "foo");
+
+    // then
+    assertThat(otherColumnFamily.get(otherKey)).hasToString("foo");
+  }
+
+  @Test
+  void shouldNotReadDeletedValue() {
+    // given
+    upsert(1, "foo");
+    assertThat(get(1)).isEqualTo("foo");
+
+    // when
+    key.wrapLong(1);
+    columnFamily.deleteExisting(key);
+
+    // then
+    assertThat(get(1)).isNull();
+    assertThat(columnFamily.exists(key)).isFalse();
+  }
+
+  @Test
+  void shouldNotReadValueDeletedInSameTransaction() {
+    // given
+    upsert(1, "foo");
+
+    // when
+    context.runInTransaction(
+        () -> {
+          key.wrapLong(1);
+          columnFamily.deleteExisting(key);
+
+          // then
+          assertThat(get(1)).isNull();
+          assertThat(columnFamily.exists(key)).isFalse();
+          assertThatThrownBy(() -> columnFamily.update(key, value))
+              .hasMessageContaining("does not exist");
+        });
+  }
+
+  @Test
+  void shouldUpdateCachedValue() {
+    // given
+    upsert(1, "foo");
+    assertThat(get(1)).isEqualTo("foo");
+
+    // when
+    key.wrapLong(1);
+    value.wrapString("bar");
+    columnFamily.update(key, value);
+
+    // then
+    assertThat(get(1)).isEqualTo("bar");
+  }
+
+  @Test
+  void shouldRollBackCachedWritesToNestedSavePoints() throws Exception {
+    // given
+    upsert(1, "committed");
+    final var transaction = context.getCurrentTransaction();
+    transaction.setSavePoint();
+    transaction.run(() -> upsert(1, "outer"));
+    transaction.setSavePoint();
+    transaction.run(
+        () -> {
+          upsert(1, "inner");
+          upsert(2, "inner");
+        });
+
+    // when
+    transaction.rollbackToSavePoint();
+
+    // then
+    transaction.run(
+        () -> {
+          assertThat(get(1)).isEqualTo("outer");
+          assertThat(get(2)).isNull();
+        });
+
+    // when
+    transaction.rollbackToSavePoint();
+
+    // then
+    transaction.run(() -> assertThat(get(1)).isEqualTo("committed"));
+    transaction.commit();
+    assertThat(get(1)).isEqualTo("committed");
+    assertThat(get(2)).isNull();
+  }
+
+  @Test
+  void shouldPublishWritesOfRetriedCommit() throws Exception {
+    // given
+    final var cache = new StateCache(1024);
+    cache.populate(key(1), new byte[] {1}, cache.commits());
+    final var rocksDbTransaction = mock(Transaction.class);
+    doThrow(new RocksDBException("expected")).doNothing().when(rocksDbTransaction).commit();
+    final var transaction = new ZeebeTransaction(rocksDbTransaction, null, cache);
+    transaction.cacheWrite(key(1).array(), Long.BYTES, new byte[] {2}, 1);
+
+    // when
+    assertThatThrownBy(transaction::commitInternal).isInstanceOf(RocksDBException.class);
+
+    // then - the old value is not read while it is unknown whether it was overwritten
+    assertThat(cache.get(key(1))).isNull();
+
+    // when
+    transaction.commitInternal();
+
+    // then
+    assertThat(cache.get(key(1))).containsExactly(2);
+  }
+
+  @Test
+  void shouldEvictLeastRecentlyUsedEntries() {
+    // given - room for two entries of 8 bytes key and 8 bytes value each
+    final var cache = new StateCache(2 * (16 + 64));
+    cache.populate(key(1), new byte[8], cache.commits());
+    cache.populate(key(2), new byte[8], cache.commits());
+
+    // when
+    cache.get(key(1));
+    cache.populate(key(3), new byte[8], cache.commits());
+
+    // then
+    assertThat(cache.get(key(1))).isNotNull();
+    assertThat(cache.get(key(2))).isNull();
+    assertThat(cache.get(key(3))).isNotNull();
+    assertThat(cache.size()).isEqualTo(2 * (16 + 64));
+  }
+
+  @Test
+  void shouldNotPopulateValueReadBeforeCommit() {
+    // given
+    final var cache = new StateCache(1024);
+    final var commits = cache.commits();
+
+    // when - a transaction commits while the value is read
+    cache.publish(Map.of(key(2), new byte[] {2}));
+    cache.populate(key(1), new byte[] {1}, commits);
+
+    // then
+    assertThat(cache.get(key(1))).isNull();
+    assertThat(cache.get(key(2))).containsExactly(2);
+  }
+
+  @Test
+  void shouldRemoveDeletedKeysOnPublish() {
+    // given
+    final var cache = new StateCache(1024);
+    cache.populate(key(1), new byte[] {1}, cache.commits());
+    final Map<ByteBuffer, byte[]> writes = new HashMap<>();
+    writes.put(key(1), null);
+
+    // when
+    cache.publish(writes);
+
+    // then
+    assertThat(cache.get(key(1))).isNull();
+    assertThat(cache.size()).isZero();
+  }
+
+  private void upsert(final long keyValue, final String valueString) {
+    key.wrapLong(keyValue);
+    value.wrapString(valueString);
+    columnFamily.upsert(key, value);
+  }
+
+  private String get(final long keyValue) {
+    key.wrapLong(keyValue);
+    final var read = columnFamily.get(key);
+    return read == null ? null : read.toString();
+  }
+
+  private static ByteBuffer key(final long keyValue) {
+    return ByteBuffer.allocate(Long.BYTES).putLong(0, keyValue);
+  }
+}
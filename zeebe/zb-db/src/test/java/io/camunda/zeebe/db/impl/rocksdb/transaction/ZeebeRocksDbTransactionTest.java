@@ -7,11 +7,13 @@
  */
 package io.camunda.zeebe.db.impl.rocksdb.transaction;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 
 import io.camunda.zeebe.db.TransactionContext;
+import io.camunda.zeebe.db.TransactionListener;
 import io.camunda.zeebe.db.ZeebeDb;
 import io.camunda.zeebe.db.ZeebeDbException;
 import io.camunda.zeebe.db.ZeebeDbFactory;
@@ -20,6 +22,8 @@ import io.camunda.zeebe.db.impl.DefaultColumnFamily;
 import io.camunda.zeebe.db.impl.DefaultZeebeDbFactory;
 import io.camunda.zeebe.util.exception.RecoverableException;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -214,4 +218,70 @@ public final class ZeebeRocksDbTransactionTest {
     // when
     currentTransaction.rollback();
   }
+
+  @Test
+  public void shouldNotifyListenersOnCommit() throws Exception {
+    // given
+    final var listener = new RecordingListener();
+    transactionContext.addTransactionListener(listener);
+
+    // when
+    transactionContext.getCurrentTransaction().commit();
+    transactionContext.getCurrentTransaction().rollback();
+
+    // then
+    assertThat(listener.events).containsExactly("commit", "rollback");
+  }
+
+  @Test
+  public void shouldNotifyListenersOnImplicitTransaction() {
+    // given
+    final var listener = new RecordingListener();
+    transactionContext.addTransactionListener(listener);
+
+    // when
+    transactionContext.runInTransaction(() -> listener.events.add("run"));
+
+    // then - the implicit transaction is always rolled back after it was committed
+    assertThat(listener.events).containsExactly("run", "commit", "rollback");
+  }
+
+  @Test
+  public void shouldNotifyListenersOnSavePoint() throws Exception {
+    // given
+    final var listener = new RecordingListener();
+    transactionContext.addTransactionListener(listener);
+    final var transaction = transactionContext.getCurrentTransaction();
+
+    // when
+    transaction.setSavePoint();
+    transaction.rollbackToSavePoint();
+
+    // then - the transaction itself is not rolled back
+    assertThat(listener.events).containsExactly("savePoint", "rollbackToSavePoint");
+  }
+
+  private static final class RecordingListener implements TransactionListener {
+    private final List<String> events = new ArrayList<>();
+
+    @Override
+    public void onCommit() {
+      events.add("commit");
+    }
+
+    @Override
+    public void onRollback() {
+      events.add("rollback");
+    }
+
+    @Override
+    public void onSavePoint() {
+      events.add("savePoint");
+    }
+
+    @Override
+    public void onRollbackToSavePoint() {
+      events.add("rollbackToSavePoint");
+    }
+  }
 }